@@ -0,0 +1,233 @@
+package com.agustinbenitez.obsidianarcane;
+
+import com.agustinbenitez.obsidianarcane.memory.ResourceScope;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntMap;
+
+/**
+ * Servicio de fuentes compartidas para todas las pantallas
+ *
+ * Cada tamaño se rasteriza una sola vez. Si existe una fuente TTF, las páginas de glifos
+ * generadas por FreeType se guardan en disco (formato BMFont + PNG) con una clave
+ * fuente/tamaño/hash del charset, y los siguientes arranques las cargan sin usar FreeType.
+ * Sin TTF se usa la fuente por defecto de LibGDX escalada con filtrado lineal.
+ */
+public class FontManager {
+
+    // Tamaños usados por las pantallas (en pixels)
+    public static final int SIZE_SMALL = 15;
+    public static final int SIZE_MEDIUM = 18;
+    public static final int SIZE_LARGE = 22;
+    public static final int SIZE_HEADING = 30;
+    public static final int SIZE_TITLE = 38;
+
+    // Caracteres para español e inglés (acentos, eñe, signos de apertura y flechas de las instrucciones)
+    public static final String CHARSET = FreeTypeFontGenerator.DEFAULT_CHARS + "áéíóúÁÉÍÓÚñÑüÜ¿¡↑↓";
+
+    private static final String FONT_FILE = "fonts/DejaVuSans.ttf";
+    private static final String CACHE_DIRECTORY = "cache/fonts/";
+    private static final int PAGE_SIZE = 512;
+    private static final int DEFAULT_FONT_SIZE = 15;
+
+    private static FontManager instance;
+
+    private final IntMap<SharedFont> fonts = new IntMap<>();
+    // Páginas de glifos compartidas (las instancias de cada pantalla no son dueñas de ellas)
+    private final ResourceScope resources = new ResourceScope("FontManager", "fonts");
+
+    /**
+     * Datos de glifos y páginas compartidos por todas las instancias de un tamaño
+     */
+    private static class SharedFont {
+        BitmapFont.BitmapFontData data;
+        Array<TextureRegion> regions;
+        BitmapFont owner; // Solo para la fuente por defecto
+    }
+
+    private FontManager() {
+    }
+
+    public static FontManager getInstance() {
+        if (instance == null) {
+            instance = new FontManager();
+        }
+        return instance;
+    }
+
+    /**
+     * Crea una fuente del tamaño pedido que comparte glifos y texturas con las demás
+     * Cada pantalla puede cambiar el color de su instancia y llamar a dispose() sin
+     * afectar al resto; la escala es compartida y no debe modificarse.
+     */
+    public BitmapFont createFont(int size) {
+        SharedFont shared = fonts.get(size);
+        if (shared == null) {
+            shared = loadFont(size);
+            fonts.put(size, shared);
+        }
+        return new BitmapFont(shared.data, shared.regions, false);
+    }
+
+    private SharedFont loadFont(int size) {
+        FileHandle fontFile = Gdx.files.internal(FONT_FILE);
+        if (!fontFile.exists()) {
+            return createDefaultFont(size);
+        }
+
+        try {
+            FileHandle cacheFile = Gdx.files.local(CACHE_DIRECTORY + cacheKey(fontFile, size) + ".fnt");
+            if (!cacheFile.exists()) {
+                long start = System.nanoTime();
+                rasterizeToCache(fontFile, size, cacheFile);
+                Gdx.app.log("FontManager", "Rasterized " + fontFile.name() + " " + size + "px in "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms");
+            }
+            return loadCachedFont(cacheFile);
+        } catch (Exception e) {
+            Gdx.app.error("FontManager", "Error loading font " + FONT_FILE + " " + size + "px: " + e.getMessage());
+            return createDefaultFont(size);
+        }
+    }
+
+    /**
+     * Clave de cache: nombre de la fuente, tamaño y hash del charset
+     */
+    private static String cacheKey(FileHandle fontFile, int size) {
+        return fontFile.nameWithoutExtension() + "_" + size + "_" + Integer.toHexString(CHARSET.hashCode());
+    }
+
+    /**
+     * Rasteriza la fuente con FreeType y guarda las páginas de glifos en la cache
+     */
+    private void rasterizeToCache(FileHandle fontFile, int size, FileHandle cacheFile) {
+        FreeTypeFontGenerator generator = new FreeTypeFontGenerator(fontFile);
+        PixmapPacker packer = new PixmapPacker(PAGE_SIZE, PAGE_SIZE, Pixmap.Format.RGBA8888, 1, false);
+        try {
+            FreeTypeFontGenerator.FreeTypeFontParameter parameter = new FreeTypeFontGenerator.FreeTypeFontParameter();
+            parameter.size = size;
+            parameter.characters = CHARSET;
+            parameter.packer = packer;
+
+            BitmapFont.BitmapFontData data = generator.generateData(parameter);
+
+            String baseName = cacheFile.nameWithoutExtension();
+            int pageCount = packer.getPages().size;
+            for (int i = 0; i < pageCount; i++) {
+                PixmapIO.writePNG(cacheFile.sibling(baseName + "_" + i + ".png"), packer.getPages().get(i).getPixmap());
+            }
+            cacheFile.writeString(toBMFont(fontFile.nameWithoutExtension(), size, data, baseName, pageCount), false, "UTF-8");
+        } finally {
+            packer.dispose();
+            generator.dispose();
+        }
+    }
+
+    /**
+     * Serializa los datos de la fuente en formato BMFont de texto
+     */
+    private static String toBMFont(String face, int size, BitmapFont.BitmapFontData data, String pageBaseName, int pageCount) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("info face=\"").append(face).append("\" size=").append(size)
+          .append(" bold=0 italic=0 charset=\"\" unicode=1 stretchH=100 smooth=1 aa=1 padding=0,0,0,0 spacing=1,1\n");
+        sb.append("common lineHeight=").append(Math.round(data.lineHeight))
+          .append(" base=").append(Math.round(data.capHeight + data.ascent))
+          .append(" scaleW=").append(PAGE_SIZE).append(" scaleH=").append(PAGE_SIZE)
+          .append(" pages=").append(pageCount).append(" packed=0\n");
+        for (int i = 0; i < pageCount; i++) {
+            sb.append("page id=").append(i).append(" file=\"").append(pageBaseName).append('_').append(i).append(".png\"\n");
+        }
+
+        Array<BitmapFont.Glyph> glyphs = new Array<>();
+        for (BitmapFont.Glyph[] page : data.glyphs) {
+            if (page == null) continue;
+            for (BitmapFont.Glyph glyph : page) {
+                if (glyph != null) glyphs.add(glyph);
+            }
+        }
+
+        sb.append("chars count=").append(glyphs.size).append('\n');
+        for (BitmapFont.Glyph glyph : glyphs) {
+            sb.append("char id=").append(glyph.id)
+              .append(" x=").append(glyph.srcX)
+              .append(" y=").append(glyph.srcY)
+              .append(" width=").append(glyph.width)
+              .append(" height=").append(glyph.height)
+              .append(" xoffset=").append(glyph.xoffset)
+              .append(" yoffset=").append(-(glyph.height + glyph.yoffset))
+              .append(" xadvance=").append(glyph.xadvance)
+              .append(" page=").append(glyph.page)
+              .append(" chnl=0\n");
+        }
+
+        StringBuilder kernings = new StringBuilder();
+        int kerningCount = 0;
+        for (int i = 0; i < glyphs.size; i++) {
+            BitmapFont.Glyph first = glyphs.get(i);
+            for (int j = 0; j < glyphs.size; j++) {
+                BitmapFont.Glyph second = glyphs.get(j);
+                int amount = first.getKerning((char) second.id);
+                if (amount != 0) {
+                    kernings.append("kerning first=").append(first.id)
+                            .append(" second=").append(second.id)
+                            .append(" amount=").append(amount).append('\n');
+                    kerningCount++;
+                }
+            }
+        }
+        if (kerningCount > 0) {
+            sb.append("kernings count=").append(kerningCount).append('\n').append(kernings);
+        }
+
+        // Métricas exactas para que la fuente cargada coincida con la generada
+        sb.append("metrics ascent=").append(data.ascent)
+          .append(" descent=").append(data.descent)
+          .append(" down=").append(data.down)
+          .append(" capHeight=").append(data.capHeight)
+          .append(" lineHeight=").append(data.lineHeight)
+          .append(" spaceXAdvance=").append(data.spaceXadvance)
+          .append(" xHeight=").append(data.xHeight).append('\n');
+        return sb.toString();
+    }
+
+    private SharedFont loadCachedFont(FileHandle cacheFile) {
+        SharedFont shared = new SharedFont();
+        shared.data = new BitmapFont.BitmapFontData(cacheFile, false);
+        shared.regions = new Array<>(shared.data.imagePaths.length);
+        for (String path : shared.data.imagePaths) {
+            Texture texture = resources.add(new Texture(Gdx.files.getFileHandle(path, cacheFile.type())));
+            texture.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+            shared.regions.add(new TextureRegion(texture));
+        }
+        return shared;
+    }
+
+    /**
+     * Fuente por defecto de LibGDX escalada al tamaño pedido
+     */
+    private SharedFont createDefaultFont(int size) {
+        SharedFont shared = new SharedFont();
+        shared.owner = resources.add(new BitmapFont());
+        shared.owner.getData().setScale(size / (float) DEFAULT_FONT_SIZE);
+        shared.owner.getRegion().getTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        shared.data = shared.owner.getData();
+        shared.regions = shared.owner.getRegions();
+        return shared;
+    }
+
+    /**
+     * Libera todas las texturas compartidas
+     */
+    public void dispose() {
+        resources.dispose();
+        fonts.clear();
+    }
+}
@@ -0,0 +1,233 @@
+package com.agustinbenitez.obsidianarcane;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Graphics;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Control adaptativo del ritmo de frames y de la calidad
+ *
+ * Mide el tiempo de trabajo de cada frame (sin contar la espera) y sube o baja un nivel
+ * de calidad para mantener el tiempo objetivo: límite de partículas, escala de render,
+ * frecuencia de la IA y margen de culling. Cuando el frame termina antes de tiempo duerme
+ * con parkNanos hasta poco antes del plazo, en lugar de hacer espera activa.
+ *
+ * Con VSync el límite solo se omite si el propio VSync ya lo cumple (objetivo igual o más
+ * rápido que el refresco del monitor); un límite de 30 FPS en un monitor de 144 Hz se
+ * sigue aplicando con las esperas.
+ */
+public final class FramePacer {
+
+    // Niveles de calidad, de mayor (0) a menor
+    private static final int[] PARTICLE_CAPS = {50000, 20000, 8000, 3000, 1000};
+    private static final float[] RENDER_SCALES = {1.0f, 0.85f, 0.75f, 0.6f, 0.5f};
+    private static final float[] AI_THINK_INTERVALS = {1 / 60f, 1 / 30f, 1 / 20f, 1 / 15f, 1 / 10f};
+    private static final float[] CULL_MARGINS = {128f, 96f, 64f, 32f, 0f};
+    public static final int LEVEL_COUNT = PARTICLE_CAPS.length;
+
+    // Objetivo para decidir la calidad cuando no hay límite de FPS
+    private static final int DEFAULT_QUALITY_FPS = 60;
+
+    // Histéresis: bajar rápido, subir despacio
+    private static final float DOWNGRADE_RATIO = 0.95f;
+    private static final float UPGRADE_RATIO = 0.70f;
+    private static final int DOWNGRADE_FRAMES = 20;
+    private static final int UPGRADE_FRAMES = 180;
+    private static final float AVERAGE_WEIGHT = 0.1f;
+
+    // Último tramo antes del plazo que se cede con yield en lugar de dormir
+    private static final long MIN_SPIN_NANOS = 200_000L;
+    private static final long MAX_SPIN_NANOS = 2_000_000L;
+
+    private static FramePacer instance;
+
+    private int targetFPS;
+    private long targetFrameNanos;
+    private long qualityFrameNanos;
+    private boolean adaptive = true;
+    // Intervalo de refresco del monitor (0 = desconocido, -1 = sin leer)
+    private long refreshFrameNanos = -1;
+
+    private long frameStartNanos;
+    private long nextDeadlineNanos;
+    private int qualityLevel;
+    private int slowFrames;
+    private int fastFrames;
+
+    // Métricas
+    private float averageFrameMillis;
+    private float averageWorkMillis;
+    private float lastSleepMillis;
+    private long oversleepNanos = MIN_SPIN_NANOS;
+    private int qualityChanges;
+
+    private FramePacer() {
+        setTargetFPS(GameConfig.getInstance().getTargetFPS());
+    }
+
+    public static FramePacer getInstance() {
+        if (instance == null) {
+            instance = new FramePacer();
+        }
+        return instance;
+    }
+
+    /**
+     * Cambia el límite de FPS (0 = ilimitado)
+     */
+    public void setTargetFPS(int fps) {
+        targetFPS = Math.max(0, fps);
+        targetFrameNanos = targetFPS > 0 ? 1_000_000_000L / targetFPS : 0;
+        qualityFrameNanos = 1_000_000_000L / (targetFPS > 0 ? targetFPS : DEFAULT_QUALITY_FPS);
+        nextDeadlineNanos = 0;
+        slowFrames = 0;
+        fastFrames = 0;
+    }
+
+    /**
+     * Vuelve a leer la frecuencia de refresco del monitor; llamar tras cambiar el modo de
+     * pantalla o el VSync
+     */
+    public void updateRefreshRate() {
+        Graphics.DisplayMode mode = Gdx.graphics != null ? Gdx.graphics.getDisplayMode() : null;
+        int refreshRate = mode != null ? mode.refreshRate : 0;
+        refreshFrameNanos = refreshRate > 0 ? 1_000_000_000L / refreshRate : 0;
+        nextDeadlineNanos = 0;
+    }
+
+    /**
+     * Llamar al inicio de cada frame
+     */
+    public void beginFrame() {
+        long now = System.nanoTime();
+        if (frameStartNanos != 0) {
+            float frameMillis = (now - frameStartNanos) / 1_000_000f;
+            averageFrameMillis += (frameMillis - averageFrameMillis) * AVERAGE_WEIGHT;
+        }
+        frameStartNanos = now;
+    }
+
+    /**
+     * Llamar al final de cada frame; ajusta la calidad y espera hasta el siguiente plazo
+     */
+    public void endFrame() {
+        long now = System.nanoTime();
+        long workNanos = now - frameStartNanos;
+        averageWorkMillis += (workNanos / 1_000_000f - averageWorkMillis) * AVERAGE_WEIGHT;
+
+        if (adaptive) {
+            adjustQuality(workNanos);
+        }
+        sleepUntilDeadline(now);
+    }
+
+    private void adjustQuality(long workNanos) {
+        if (workNanos > qualityFrameNanos * DOWNGRADE_RATIO) {
+            slowFrames++;
+            fastFrames = 0;
+        } else if (workNanos < qualityFrameNanos * UPGRADE_RATIO) {
+            fastFrames++;
+            slowFrames = 0;
+        } else {
+            slowFrames = 0;
+            fastFrames = 0;
+        }
+
+        if (slowFrames >= DOWNGRADE_FRAMES && qualityLevel < LEVEL_COUNT - 1) {
+            setQualityLevel(qualityLevel + 1);
+        } else if (fastFrames >= UPGRADE_FRAMES && qualityLevel > 0) {
+            setQualityLevel(qualityLevel - 1);
+        }
+    }
+
+    /**
+     * Duerme hasta el plazo del frame; el último tramo (según el retraso medido de
+     * parkNanos) se cede con yield para no pasarse
+     */
+    private void sleepUntilDeadline(long now) {
+        if (targetFrameNanos == 0 || vsyncMeetsTarget()) {
+            nextDeadlineNanos = 0;
+            lastSleepMillis = 0;
+            return;
+        }
+
+        if (nextDeadlineNanos == 0 || now - nextDeadlineNanos > targetFrameNanos) {
+            // Primer frame o vamos más de un frame tarde: no intentar recuperar
+            nextDeadlineNanos = now;
+        }
+        nextDeadlineNanos += targetFrameNanos;
+
+        long remaining = nextDeadlineNanos - now;
+        if (remaining <= 0) {
+            lastSleepMillis = 0;
+            return;
+        }
+
+        long parkNanos = remaining - oversleepNanos;
+        if (parkNanos > 0) {
+            long parkStart = System.nanoTime();
+            LockSupport.parkNanos(parkNanos);
+            long overshoot = (System.nanoTime() - parkStart) - parkNanos;
+            oversleepNanos += (Math.max(MIN_SPIN_NANOS, Math.min(MAX_SPIN_NANOS, overshoot)) - oversleepNanos) / 8;
+        }
+        while (System.nanoTime() < nextDeadlineNanos) {
+            Thread.yield();
+        }
+        lastSleepMillis = (System.nanoTime() - now) / 1_000_000f;
+    }
+
+    /**
+     * Indica si el VSync ya limita a la frecuencia objetivo o por debajo; con refresco
+     * desconocido se sigue limitando por si acaso
+     */
+    private boolean vsyncMeetsTarget() {
+        if (!GameConfig.getInstance().isVsync()) {
+            return false;
+        }
+        if (refreshFrameNanos < 0) {
+            updateRefreshRate();
+        }
+        return refreshFrameNanos > 0 && targetFrameNanos <= refreshFrameNanos;
+    }
+
+    /**
+     * Fija el nivel de calidad (0 = máximo)
+     */
+    public void setQualityLevel(int level) {
+        level = Math.max(0, Math.min(LEVEL_COUNT - 1, level));
+        if (level == qualityLevel) {
+            return;
+        }
+        if (Gdx.app != null) {
+            Gdx.app.log("FramePacer", String.format("Quality %d -> %d (work %.2f ms, target %.2f ms)",
+                qualityLevel, level, averageWorkMillis, qualityFrameNanos / 1_000_000f));
+        }
+        qualityLevel = level;
+        qualityChanges++;
+        slowFrames = 0;
+        fastFrames = 0;
+    }
+
+    /**
+     * Activa o desactiva el ajuste automático de calidad (el ritmo de frames se mantiene)
+     */
+    public void setAdaptive(boolean adaptive) {
+        this.adaptive = adaptive;
+    }
+
+    // Valores de los ajustes de calidad para el nivel actual
+    public int getParticleCap() { return PARTICLE_CAPS[qualityLevel]; }
+    public float getRenderScale() { return RENDER_SCALES[qualityLevel]; }
+    public float getAiThinkInterval() { return AI_THINK_INTERVALS[qualityLevel]; }
+    public float getCullMargin() { return CULL_MARGINS[qualityLevel]; }
+
+    // Métricas
+    public int getQualityLevel() { return qualityLevel; }
+    public int getQualityChanges() { return qualityChanges; }
+    public int getTargetFPS() { return targetFPS; }
+    public boolean isAdaptive() { return adaptive; }
+    public float getAverageFrameMillis() { return averageFrameMillis; }
+    public float getAverageWorkMillis() { return averageWorkMillis; }
+    public float getLastSleepMillis() { return lastSleepMillis; }
+    public float getOversleepMillis() { return oversleepNanos / 1_000_000f; }
+}
@@ -1,27 +1,88 @@
 package com.agustinbenitez.obsidianarcane;
 
+import com.agustinbenitez.obsidianarcane.input.ActionInput;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Graphics;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Graphics;
 import com.badlogic.gdx.files.FileHandle;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Gestor de configuración del juego Obsidian Arcane
  * Maneja las opciones de resolución, pantalla completa y otras configuraciones
+ *
+ * Los cambios se agrupan en transacciones ({@link #edit()}): cada commit aplica la
+ * configuración una sola vez y programa un guardado diferido en un hilo secundario.
+ * Las ediciones externas de config.json se detectan y se recargan en caliente.
  */
 public class GameConfig {
     
     private static GameConfig instance;
     private static final String CONFIG_FILE = "config.json";
     
+    // Tiempo de espera antes de escribir a disco (agrupa cambios seguidos)
+    private static final long SAVE_DEBOUNCE_MS = 500;
+    
+    // Espera tras el último evento del archivo antes de leerlo, y reintentos si aún no es válido
+    private static final long RELOAD_SETTLE_MS = 200;
+    private static final int RELOAD_ATTEMPTS = 5;
+    
+    // Cambios que requieren reaplicar algo en el juego
+    private static final int CHANGE_DISPLAY_MODE = 1;
+    private static final int CHANGE_VSYNC = 2;
+    private static final int CHANGE_FPS = 4;
+    // Cambios que solo necesitan guardarse (se leen en cada frame)
+    private static final int CHANGE_STORED = 8;
+    private static final int CHANGE_BINDINGS = 16;
+    
+    private static final ScheduledExecutorService saveExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "ConfigWriter");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static ScheduledFuture<?> pendingSave;
+    private static ScheduledFuture<?> pendingReload;
+    private static volatile String lastWrittenJson;
+    private static WatchService watchService;
+    
     // Default configurations
     private int windowWidth = 1920;
     private int windowHeight = 1080;
     private boolean fullscreen = true;
     private boolean vsync = true;
     private int targetFPS = 60;
+    private int renderHeight = 0; // Resolución interna del mundo (0 = nativa)
+    private boolean smoothUpscale = true;
+    private boolean threadedSimulation = false; // Simulación en su propio hilo (se aplica al empezar partida)
+    
+    // Post-procesado (ver PostProcessor)
+    private int bloomDivisor = 2; // Resolución del bloom respecto a la interna (0 = sin bloom)
+    private boolean vignette = true;
+    private boolean colorGrading = true;
+    private boolean crtEffect = false;
+    
+    // Asignaciones de acciones (nombre de la acción -> teclas/botones); sin entrada = por defecto
+    private Map<String, List<String>> keyBindings = new HashMap<>();
+    private Map<String, List<String>> gamepadBindings = new HashMap<>();
     
     // Resoluciones predefinidas
     public static final Resolution[] AVAILABLE_RESOLUTIONS = {
@@ -42,8 +103,38 @@ public class GameConfig {
         new FPSOption(0, "Unlimited")
     };
     
+    // Resoluciones internas del mundo (0 = resolución de la ventana)
+    public static final RenderScaleOption[] AVAILABLE_RENDER_SCALES = {
+        new RenderScaleOption(0, true, "Native"),
+        new RenderScaleOption(1080, true, "1080p"),
+        new RenderScaleOption(720, true, "720p"),
+        new RenderScaleOption(720, false, "720p Pixel"),
+        new RenderScaleOption(480, false, "480p Pixel")
+    };
+    
+    // Calidad del bloom (divisor de la resolución interna)
+    public static final BloomOption[] AVAILABLE_BLOOM_OPTIONS = {
+        new BloomOption(0, "Off"),
+        new BloomOption(2, "Half res"),
+        new BloomOption(4, "Quarter res")
+    };
+    
+    // Gson crea las instancias con este constructor; al parsear no debe volver a leer el archivo
+    private static final ThreadLocal<Boolean> parsing = ThreadLocal.withInitial(() -> false);
+    
     private GameConfig() {
-        loadConfig();
+        if (!parsing.get()) {
+            loadConfig();
+        }
+    }
+    
+    private static GameConfig parse(String json) {
+        parsing.set(true);
+        try {
+            return new Gson().fromJson(json, GameConfig.class);
+        } finally {
+            parsing.set(false);
+        }
     }
     
     public static GameConfig getInstance() {
@@ -61,16 +152,25 @@ public class GameConfig {
             // Use Java File API instead of LibGDX when Gdx.app is not available
             java.io.File configFile = new java.io.File(CONFIG_FILE);
             if (configFile.exists()) {
-                Gson gson = new Gson();
                 String jsonContent = new String(java.nio.file.Files.readAllBytes(configFile.toPath()));
-                GameConfig loadedConfig = gson.fromJson(jsonContent, GameConfig.class);
+                GameConfig loadedConfig = parse(jsonContent);
                 
                 this.windowWidth = loadedConfig.windowWidth;
                 this.windowHeight = loadedConfig.windowHeight;
                 this.fullscreen = loadedConfig.fullscreen;
                 this.vsync = loadedConfig.vsync;
                 this.targetFPS = loadedConfig.targetFPS;
+                this.renderHeight = loadedConfig.renderHeight;
+                this.smoothUpscale = loadedConfig.smoothUpscale;
+                this.threadedSimulation = loadedConfig.threadedSimulation;
+                this.bloomDivisor = loadedConfig.bloomDivisor;
+                this.vignette = loadedConfig.vignette;
+                this.colorGrading = loadedConfig.colorGrading;
+                this.crtEffect = loadedConfig.crtEffect;
+                this.keyBindings = copyBindings(loadedConfig.keyBindings);
+                this.gamepadBindings = copyBindings(loadedConfig.gamepadBindings);
                 
+                lastWrittenJson = jsonContent;
                 System.out.println("GameConfig: Configuration loaded from " + CONFIG_FILE);
             } else {
                 System.out.println("GameConfig: Configuration file not found, using default values");
@@ -83,14 +183,41 @@ public class GameConfig {
     
     /**
      * Guarda la configuración actual en el archivo JSON
+     * La escritura se difiere y se hace en un hilo secundario; varias llamadas
+     * seguidas producen una sola escritura con el último estado.
      */
     public void saveConfig() {
+        String json = new GsonBuilder().setPrettyPrinting().create().toJson(this);
+        synchronized (GameConfig.class) {
+            if (pendingSave != null) {
+                pendingSave.cancel(false);
+            }
+            pendingSave = saveExecutor.schedule(() -> writeConfig(json), SAVE_DEBOUNCE_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    /**
+     * Escribe inmediatamente cualquier guardado pendiente (p.ej. al cerrar el juego)
+     */
+    public void flush() {
+        ScheduledFuture<?> save;
+        synchronized (GameConfig.class) {
+            save = pendingSave;
+        }
+        if (save != null && !save.isDone()) {
+            save.cancel(false);
+            writeConfig(new GsonBuilder().setPrettyPrinting().create().toJson(this));
+        }
+    }
+    
+    private static void writeConfig(String json) {
+        if (json.equals(lastWrittenJson)) {
+            return;
+        }
         if (Gdx.app != null) {
             // Use LibGDX file system when available
             try {
-                Gson gson = new GsonBuilder().setPrettyPrinting().create();
-                String json = gson.toJson(this);
-                
+                lastWrittenJson = json;
                 FileHandle configFile = Gdx.files.local(CONFIG_FILE);
                 configFile.writeString(json, false);
                 
@@ -100,7 +227,13 @@ public class GameConfig {
             }
         } else {
             // Use Java IO when LibGDX is not available
-            saveConfigWithJavaIO();
+            try {
+                lastWrittenJson = json;
+                java.nio.file.Files.write(Paths.get(CONFIG_FILE), json.getBytes());
+                System.out.println("GameConfig: Configuration saved to " + CONFIG_FILE);
+            } catch (Exception e) {
+                System.err.println("GameConfig: Error saving configuration: " + e.getMessage());
+            }
         }
     }
     
@@ -114,6 +247,7 @@ public class GameConfig {
             
             java.io.File configFile = new java.io.File(CONFIG_FILE);
             java.nio.file.Files.write(configFile.toPath(), json.getBytes());
+            lastWrittenJson = json;
             
             System.out.println("GameConfig: Configuration saved to " + CONFIG_FILE);
         } catch (Exception e) {
@@ -125,6 +259,19 @@ public class GameConfig {
      * Aplica la configuración actual al juego
      */
     public void applyConfig() {
+        apply(CHANGE_DISPLAY_MODE | CHANGE_VSYNC | CHANGE_FPS);
+    }
+    
+    /**
+     * Aplica solo las partes de la configuración que cambiaron
+     */
+    private void apply(int changes) {
+        if ((changes & CHANGE_BINDINGS) != 0) {
+            ActionInput.getInstance().reloadBindings();
+        }
+        if ((changes & (CHANGE_DISPLAY_MODE | CHANGE_VSYNC | CHANGE_FPS)) == 0) {
+            return;
+        }
         if (Gdx.graphics == null) {
             Gdx.app.log("GameConfig", "Graphics not available, configuration will be applied on initialization");
             return;
@@ -133,7 +280,9 @@ public class GameConfig {
         try {
             Graphics graphics = Gdx.graphics;
             
-            if (fullscreen) {
+            if ((changes & CHANGE_DISPLAY_MODE) == 0) {
+                // Sin cambios de modo de pantalla
+            } else if (fullscreen) {
                 // Cambiar a pantalla completa
                 Graphics.DisplayMode displayMode = graphics.getDisplayMode();
                 graphics.setFullscreenMode(displayMode);
@@ -144,43 +293,342 @@ public class GameConfig {
                 Gdx.app.log("GameConfig", "Changed to windowed mode: " + windowWidth + "x" + windowHeight);
             }
             
+            // Las latencias medidas hasta ahora corresponden a la configuración anterior
+            if ((changes & (CHANGE_VSYNC | CHANGE_FPS)) != 0) {
+                LatencyTracker.getInstance().report();
+                LatencyTracker.getInstance().reset();
+            }
+            
             // Aplicar VSync
-            graphics.setVSync(vsync);
+            if ((changes & CHANGE_VSYNC) != 0) {
+                graphics.setVSync(vsync);
+            }
             
-            // Aplicar configuración de FPS
-            if (targetFPS > 0) {
-                graphics.setForegroundFPS(targetFPS);
+            // Aplicar configuración de FPS (el límite lo aplica FramePacer)
+            if ((changes & CHANGE_FPS) == 0) {
+                // Sin cambios de FPS
+            } else if (targetFPS > 0) {
+                FramePacer.getInstance().setTargetFPS(targetFPS);
                 Gdx.app.log("GameConfig", "FPS limited to: " + targetFPS);
             } else {
-                // FPS ilimitado - usar un valor muy alto
-                graphics.setForegroundFPS(0);
+                // FPS ilimitado
+                FramePacer.getInstance().setTargetFPS(0);
                 Gdx.app.log("GameConfig", "Unlimited FPS activated");
             }
+            // El modo de pantalla o el VSync deciden si el VSync ya cumple el límite
+            FramePacer.getInstance().updateRefreshRate();
             
         } catch (Exception e) {
             Gdx.app.error("GameConfig", "Error applying configuration: " + e.getMessage());
         }
     }
     
+    /**
+     * Inicia una transacción de cambios; nada se aplica ni se guarda hasta commit()
+     */
+    public Edit edit() {
+        return new Edit(this, this);
+    }
+    
+    /**
+     * Transacción de cambios de configuración
+     */
+    public static class Edit {
+        private final GameConfig config;
+        private int windowWidth;
+        private int windowHeight;
+        private boolean fullscreen;
+        private boolean vsync;
+        private int targetFPS;
+        private int renderHeight;
+        private boolean smoothUpscale;
+        private boolean threadedSimulation;
+        private int bloomDivisor;
+        private boolean vignette;
+        private boolean colorGrading;
+        private boolean crtEffect;
+        private Map<String, List<String>> keyBindings;
+        private Map<String, List<String>> gamepadBindings;
+        
+        private Edit(GameConfig config, GameConfig values) {
+            this.config = config;
+            this.windowWidth = values.windowWidth;
+            this.windowHeight = values.windowHeight;
+            this.fullscreen = values.fullscreen;
+            this.vsync = values.vsync;
+            this.targetFPS = values.targetFPS;
+            this.renderHeight = values.renderHeight;
+            this.smoothUpscale = values.smoothUpscale;
+            this.threadedSimulation = values.threadedSimulation;
+            this.bloomDivisor = values.bloomDivisor;
+            this.vignette = values.vignette;
+            this.colorGrading = values.colorGrading;
+            this.crtEffect = values.crtEffect;
+            this.keyBindings = copyBindings(values.keyBindings);
+            this.gamepadBindings = copyBindings(values.gamepadBindings);
+        }
+        
+        public Edit setResolution(int width, int height) {
+            this.windowWidth = width;
+            this.windowHeight = height;
+            return this;
+        }
+        
+        public Edit setResolution(Resolution resolution) {
+            return setResolution(resolution.width, resolution.height);
+        }
+        
+        public Edit setFullscreen(boolean fullscreen) {
+            this.fullscreen = fullscreen;
+            return this;
+        }
+        
+        public Edit setVsync(boolean vsync) {
+            this.vsync = vsync;
+            return this;
+        }
+        
+        public Edit setTargetFPS(int targetFPS) {
+            this.targetFPS = targetFPS;
+            return this;
+        }
+        
+        public Edit setFPSOption(FPSOption fpsOption) {
+            return setTargetFPS(fpsOption.fps);
+        }
+        
+        public Edit setRenderScale(RenderScaleOption option) {
+            this.renderHeight = option.height;
+            this.smoothUpscale = option.smooth;
+            return this;
+        }
+        
+        /**
+         * Ejecutar la simulación en un hilo propio a tick fijo (desde la siguiente partida)
+         */
+        public Edit setThreadedSimulation(boolean threadedSimulation) {
+            this.threadedSimulation = threadedSimulation;
+            return this;
+        }
+        
+        public Edit setBloom(BloomOption option) {
+            this.bloomDivisor = option.divisor;
+            return this;
+        }
+        
+        public Edit setVignette(boolean vignette) {
+            this.vignette = vignette;
+            return this;
+        }
+        
+        public Edit setColorGrading(boolean colorGrading) {
+            this.colorGrading = colorGrading;
+            return this;
+        }
+        
+        public Edit setCrtEffect(boolean crtEffect) {
+            this.crtEffect = crtEffect;
+            return this;
+        }
+        
+        /**
+         * Teclas de una acción (nombres de Input.Keys, p.ej. "Space"); sin teclas = por defecto
+         */
+        public Edit setKeyBindings(String action, String... keys) {
+            if (keys.length == 0) {
+                keyBindings.remove(action);
+            } else {
+                keyBindings.put(action, new ArrayList<>(Arrays.asList(keys)));
+            }
+            return this;
+        }
+        
+        /**
+         * Botones de mando de una acción (nombres de GamepadButtons); sin botones = por defecto
+         */
+        public Edit setGamepadBindings(String action, String... buttons) {
+            if (buttons.length == 0) {
+                gamepadBindings.remove(action);
+            } else {
+                gamepadBindings.put(action, new ArrayList<>(Arrays.asList(buttons)));
+            }
+            return this;
+        }
+        
+        /**
+         * Vuelve a las asignaciones por defecto de todas las acciones
+         */
+        public Edit resetBindings() {
+            keyBindings.clear();
+            gamepadBindings.clear();
+            return this;
+        }
+        
+        /**
+         * Aplica los cambios una sola vez y programa el guardado
+         */
+        public void commit() {
+            int changes = config.stage(this);
+            if (changes != 0) {
+                config.apply(changes);
+                config.saveConfig();
+            }
+        }
+    }
+    
+    /**
+     * Copia los valores de la transacción y devuelve qué partes cambiaron
+     */
+    private int stage(Edit edit) {
+        int changes = 0;
+        if (fullscreen != edit.fullscreen
+                || (!edit.fullscreen && (windowWidth != edit.windowWidth || windowHeight != edit.windowHeight))) {
+            changes |= CHANGE_DISPLAY_MODE;
+        }
+        if (vsync != edit.vsync) {
+            changes |= CHANGE_VSYNC;
+        }
+        if (targetFPS != edit.targetFPS) {
+            changes |= CHANGE_FPS;
+        }
+        // Resolución en pantalla completa, escala de render, simulación y efectos solo necesitan guardarse
+        if (windowWidth != edit.windowWidth || windowHeight != edit.windowHeight
+                || renderHeight != edit.renderHeight || smoothUpscale != edit.smoothUpscale
+                || threadedSimulation != edit.threadedSimulation || bloomDivisor != edit.bloomDivisor
+                || vignette != edit.vignette || colorGrading != edit.colorGrading || crtEffect != edit.crtEffect) {
+            changes |= CHANGE_STORED;
+        }
+        if (!keyBindings.equals(edit.keyBindings) || !gamepadBindings.equals(edit.gamepadBindings)) {
+            changes |= CHANGE_BINDINGS;
+        }
+        
+        windowWidth = edit.windowWidth;
+        windowHeight = edit.windowHeight;
+        fullscreen = edit.fullscreen;
+        vsync = edit.vsync;
+        targetFPS = edit.targetFPS;
+        renderHeight = edit.renderHeight;
+        smoothUpscale = edit.smoothUpscale;
+        threadedSimulation = edit.threadedSimulation;
+        bloomDivisor = edit.bloomDivisor;
+        vignette = edit.vignette;
+        colorGrading = edit.colorGrading;
+        crtEffect = edit.crtEffect;
+        keyBindings = edit.keyBindings;
+        gamepadBindings = edit.gamepadBindings;
+        return changes;
+    }
+    
+    /**
+     * Empieza a vigilar config.json para recargar ediciones externas en caliente
+     */
+    public synchronized void startWatching() {
+        if (watchService != null) {
+            return;
+        }
+        try {
+            Path configPath = Paths.get(CONFIG_FILE).toAbsolutePath();
+            Path directory = configPath.getParent();
+            watchService = FileSystems.getDefault().newWatchService();
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+            
+            WatchService service = watchService;
+            Thread watcher = new Thread(() -> watchLoop(service, configPath), "ConfigWatcher");
+            watcher.setDaemon(true);
+            watcher.start();
+        } catch (IOException e) {
+            Gdx.app.error("GameConfig", "Could not watch " + CONFIG_FILE + ": " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Deja de vigilar config.json
+     */
+    public synchronized void stopWatching() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                // Ignorar al cerrar
+            }
+            watchService = null;
+        }
+    }
+    
+    private void watchLoop(WatchService service, Path configPath) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean configChanged = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    Object context = event.context();
+                    if (context instanceof Path && configPath.getFileName().equals(context)) {
+                        configChanged = true;
+                    }
+                }
+                key.reset();
+                if (configChanged) {
+                    scheduleReload(configPath, 1);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Vigilancia terminada
+        }
+    }
+    
+    /**
+     * Programa la lectura del archivo cuando deje de cambiar: cada evento nuevo reinicia la
+     * espera, así un editor que escribe en varios pasos se lee una sola vez y ya completo
+     */
+    private synchronized void scheduleReload(Path configPath, int attempt) {
+        if (pendingReload != null) {
+            pendingReload.cancel(false);
+        }
+        pendingReload = saveExecutor.schedule(() -> onExternalChange(configPath, attempt), RELOAD_SETTLE_MS,
+            TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Lee el archivo modificado y aplica los cambios en el hilo del juego
+     */
+    private void onExternalChange(Path configPath, int attempt) {
+        try {
+            String json = new String(java.nio.file.Files.readAllBytes(configPath));
+            if (json.equals(lastWrittenJson)) {
+                return; // Escritura propia
+            }
+            GameConfig loaded = parse(json);
+            if (loaded == null) {
+                throw new IOException("empty file");
+            }
+            lastWrittenJson = json;
+            Gdx.app.postRunnable(() -> {
+                // Ya está en disco: aplicar sin volver a guardar
+                apply(stage(new Edit(this, loaded)));
+                Gdx.app.log("GameConfig", "Configuration reloaded from " + CONFIG_FILE);
+            });
+        } catch (Exception e) {
+            // Archivo a medio escribir: se vuelve a leer un poco después
+            if (attempt < RELOAD_ATTEMPTS) {
+                scheduleReload(configPath, attempt + 1);
+            } else {
+                Gdx.app.error("GameConfig", "Error reloading configuration: " + e.getMessage());
+            }
+        }
+    }
+    
     /**
      * Alterna entre pantalla completa y modo ventana
      */
     public void toggleFullscreen() {
-        fullscreen = !fullscreen;
-        applyConfig();
-        saveConfig();
+        edit().setFullscreen(!fullscreen).commit();
     }
     
     /**
      * Establece una nueva resolución
      */
     public void setResolution(int width, int height) {
-        this.windowWidth = width;
-        this.windowHeight = height;
-        if (!fullscreen) {
-            applyConfig();
-        }
-        saveConfig();
+        edit().setResolution(width, height).commit();
     }
     
     /**
@@ -218,21 +666,15 @@ public class GameConfig {
     public int getTargetFPS() { return targetFPS; }
     
     public void setFullscreen(boolean fullscreen) {
-        this.fullscreen = fullscreen;
-        applyConfig();
-        saveConfig();
+        edit().setFullscreen(fullscreen).commit();
     }
     
     public void setVsync(boolean vsync) {
-        this.vsync = vsync;
-        applyConfig();
-        saveConfig();
+        edit().setVsync(vsync).commit();
     }
     
     public void setTargetFPS(int targetFPS) {
-        this.targetFPS = targetFPS;
-        applyConfig();
-        saveConfig();
+        edit().setTargetFPS(targetFPS).commit();
     }
     
     /**
@@ -255,6 +697,79 @@ public class GameConfig {
         setTargetFPS(fpsOption.fps);
     }
     
+    // Escala de render
+    public int getRenderHeight() { return renderHeight; }
+    public boolean isSmoothUpscale() { return smoothUpscale; }
+    
+    // Hilo de simulación
+    public boolean isThreadedSimulation() { return threadedSimulation; }
+    
+    public void setThreadedSimulation(boolean threadedSimulation) {
+        edit().setThreadedSimulation(threadedSimulation).commit();
+    }
+    
+    // Post-procesado
+    public int getBloomDivisor() { return bloomDivisor; }
+    public boolean isVignette() { return vignette; }
+    public boolean isColorGrading() { return colorGrading; }
+    public boolean isCrtEffect() { return crtEffect; }
+    
+    /**
+     * Opción de bloom actual
+     */
+    public BloomOption getCurrentBloomOption() {
+        for (BloomOption option : AVAILABLE_BLOOM_OPTIONS) {
+            if (option.divisor == bloomDivisor) {
+                return option;
+            }
+        }
+        return AVAILABLE_BLOOM_OPTIONS[0];
+    }
+    
+    /**
+     * Opción de escala de render actual
+     */
+    public RenderScaleOption getCurrentRenderScaleOption() {
+        for (RenderScaleOption option : AVAILABLE_RENDER_SCALES) {
+            if (option.height == renderHeight && option.smooth == smoothUpscale) {
+                return option;
+            }
+        }
+        return AVAILABLE_RENDER_SCALES[0];
+    }
+    
+    public void setRenderScale(RenderScaleOption option) {
+        edit().setRenderScale(option).commit();
+    }
+    
+    // Asignaciones de entrada
+    
+    /**
+     * Teclas asignadas a una acción, o null si usa las de por defecto
+     */
+    public List<String> getKeyBindings(String action) {
+        return keyBindings.get(action);
+    }
+    
+    /**
+     * Botones de mando asignados a una acción, o null si usa los de por defecto
+     */
+    public List<String> getGamepadBindings(String action) {
+        return gamepadBindings.get(action);
+    }
+    
+    private static Map<String, List<String>> copyBindings(Map<String, List<String>> bindings) {
+        Map<String, List<String>> copy = new HashMap<>();
+        if (bindings != null) {
+            for (Map.Entry<String, List<String>> entry : bindings.entrySet()) {
+                if (entry.getValue() != null) {
+                    copy.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+                }
+            }
+        }
+        return copy;
+    }
+    
     /**
      * Clase interna para representar resoluciones
      */
@@ -283,6 +798,69 @@ public class GameConfig {
         }
     }
     
+    /**
+     * Clase interna para representar la resolución interna del mundo y el filtrado al escalar
+     */
+    public static class RenderScaleOption {
+        public final int height;
+        public final boolean smooth;
+        public final String displayName;
+        
+        public RenderScaleOption(int height, boolean smooth, String displayName) {
+            this.height = height;
+            this.smooth = smooth;
+            this.displayName = displayName;
+        }
+        
+        @Override
+        public String toString() {
+            return displayName;
+        }
+        
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (obj == null || getClass() != obj.getClass()) return false;
+            RenderScaleOption that = (RenderScaleOption) obj;
+            return height == that.height && smooth == that.smooth;
+        }
+        
+        @Override
+        public int hashCode() {
+            return height * 2 + (smooth ? 1 : 0);
+        }
+    }
+    
+    /**
+     * Calidad del bloom: divisor de la resolución interna (0 = desactivado)
+     */
+    public static class BloomOption {
+        public final int divisor;
+        public final String displayName;
+        
+        public BloomOption(int divisor, String displayName) {
+            this.divisor = divisor;
+            this.displayName = displayName;
+        }
+        
+        @Override
+        public String toString() {
+            return displayName;
+        }
+        
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (obj == null || getClass() != obj.getClass()) return false;
+            return divisor == ((BloomOption) obj).divisor;
+        }
+        
+        @Override
+        public int hashCode() {
+            return divisor;
+        }
+    }
+    
     /**
      * Clase interna para representar opciones de FPS
      */
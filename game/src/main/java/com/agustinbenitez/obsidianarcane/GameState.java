@@ -1,15 +1,38 @@
 package com.agustinbenitez.obsidianarcane;
 
 import com.badlogic.gdx.math.Vector2;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Representa el estado completo de una partida guardada
+ * Los datos se agrupan en secciones; los setters marcan su sección como modificada
+ * para que el autoguardado solo escriba lo que cambió (ver SaveJournal).
  */
 public class GameState implements Serializable {
     private static final long serialVersionUID = 1L;
     
+    // Secciones del estado (bits de la máscara de cambios)
+    public static final int SECTION_META = 1;
+    public static final int SECTION_PLAYER = 2;
+    public static final int SECTION_TIME = 4; // Tiempo de juego y fecha de guardado
+    public static final int SECTION_TILES = 8; // Capas de tiles modificadas, en RLE
+    public static final int ALL_SECTIONS = SECTION_META | SECTION_PLAYER | SECTION_TIME | SECTION_TILES;
+    
+    // Versión del formato de la sección de tiles
+    private static final int TILES_VERSION = 1;
+    
+    // Secciones modificadas desde el último guardado (no se serializa)
+    private transient int dirtySections;
+    
+    // Generación de la instantánea completa; el diario de cambios solo aplica a la misma
+    private long snapshotGeneration;
+    
     // Información de la partida
     private String saveName;
     private Date saveDate;
@@ -26,6 +49,10 @@ public class GameState implements Serializable {
     // Tiempo de juego
     private float playTime;
     
+    // Capas de tiles que cambiaron respecto a su plantilla: índice de sala -> TileLayer.toRle()
+    // (null en partidas guardadas antes de existir la sección)
+    private Map<Integer, byte[]> roomTiles = new HashMap<>();
+    
     public GameState() {
         this.saveDate = new Date();
         this.saveName = "Game " + System.currentTimeMillis();
@@ -46,48 +73,161 @@ public class GameState implements Serializable {
     
     // Getters y Setters
     public String getSaveName() { return saveName; }
-    public void setSaveName(String saveName) { this.saveName = saveName; }
+    public void setSaveName(String saveName) { this.saveName = saveName; markDirty(SECTION_META); }
     
     public Date getSaveDate() { return saveDate; }
-    public void setSaveDate(Date saveDate) { this.saveDate = saveDate; }
+    public void setSaveDate(Date saveDate) { this.saveDate = saveDate; markDirty(SECTION_TIME); }
     
     public String getVillageName() { return villageName; }
-    public void setVillageName(String villageName) { this.villageName = villageName; }
+    public void setVillageName(String villageName) { this.villageName = villageName; markDirty(SECTION_META); }
     
     public float getPlayerX() { return playerX; }
-    public void setPlayerX(float playerX) { this.playerX = playerX; }
+    public void setPlayerX(float playerX) { this.playerX = playerX; markDirty(SECTION_PLAYER); }
     
     public float getPlayerY() { return playerY; }
-    public void setPlayerY(float playerY) { this.playerY = playerY; }
+    public void setPlayerY(float playerY) { this.playerY = playerY; markDirty(SECTION_PLAYER); }
     
     public Vector2 getPlayerPosition() { return new Vector2(playerX, playerY); }
     public void setPlayerPosition(Vector2 position) {
         this.playerX = position.x;
         this.playerY = position.y;
+        markDirty(SECTION_PLAYER);
     }
     
     public int getPlayerLevel() { return playerLevel; }
-    public void setPlayerLevel(int playerLevel) { this.playerLevel = playerLevel; }
+    public void setPlayerLevel(int playerLevel) { this.playerLevel = playerLevel; markDirty(SECTION_PLAYER); }
     
     public int getPlayerExperience() { return playerExperience; }
-    public void setPlayerExperience(int playerExperience) { this.playerExperience = playerExperience; }
+    public void setPlayerExperience(int playerExperience) { this.playerExperience = playerExperience; markDirty(SECTION_PLAYER); }
     
     public int getPlayerHealth() { return playerHealth; }
-    public void setPlayerHealth(int playerHealth) { this.playerHealth = playerHealth; }
+    public void setPlayerHealth(int playerHealth) { this.playerHealth = playerHealth; markDirty(SECTION_PLAYER); }
     
     public int getPlayerMaxHealth() { return playerMaxHealth; }
-    public void setPlayerMaxHealth(int playerMaxHealth) { this.playerMaxHealth = playerMaxHealth; }
+    public void setPlayerMaxHealth(int playerMaxHealth) { this.playerMaxHealth = playerMaxHealth; markDirty(SECTION_PLAYER); }
     
     public float getPlayTime() { return playTime; }
-    public void setPlayTime(float playTime) { this.playTime = playTime; }
+    public void setPlayTime(float playTime) { this.playTime = playTime; markDirty(SECTION_TIME); }
+    
+    public void addPlayTime(float deltaTime) { this.playTime += deltaTime; markDirty(SECTION_TIME); }
+    
+    /**
+     * Tiles guardados de una sala (RLE de TileLayer), o null si la sala no cambió
+     */
+    public byte[] getRoomTiles(int roomIndex) {
+        return roomTiles != null ? roomTiles.get(roomIndex) : null;
+    }
     
-    public void addPlayTime(float deltaTime) { this.playTime += deltaTime; }
+    public void setRoomTiles(int roomIndex, byte[] rle) {
+        if (roomTiles == null) {
+            roomTiles = new HashMap<>();
+        }
+        roomTiles.put(roomIndex, rle);
+        markDirty(SECTION_TILES);
+    }
     
     /**
      * Actualiza la fecha de guardado al momento actual
      */
     public void updateSaveDate() {
         this.saveDate = new Date();
+        markDirty(SECTION_TIME);
+    }
+    
+    /**
+     * Marca secciones como modificadas
+     */
+    public void markDirty(int sections) {
+        dirtySections |= sections;
+    }
+    
+    /**
+     * Secciones modificadas desde el último guardado
+     */
+    public int getDirtySections() {
+        return dirtySections;
+    }
+    
+    /**
+     * Llamado tras guardar: las secciones quedan limpias
+     */
+    public void clearDirty() {
+        dirtySections = 0;
+    }
+    
+    long getSnapshotGeneration() { return snapshotGeneration; }
+    void setSnapshotGeneration(long snapshotGeneration) { this.snapshotGeneration = snapshotGeneration; }
+    
+    /**
+     * Escribe las secciones indicadas en formato binario compacto
+     */
+    public void writeSections(int sections, DataOutput out) throws IOException {
+        if ((sections & SECTION_META) != 0) {
+            out.writeUTF(saveName != null ? saveName : "");
+            out.writeBoolean(villageName != null);
+            if (villageName != null) {
+                out.writeUTF(villageName);
+            }
+        }
+        if ((sections & SECTION_PLAYER) != 0) {
+            out.writeFloat(playerX);
+            out.writeFloat(playerY);
+            out.writeInt(playerLevel);
+            out.writeInt(playerExperience);
+            out.writeInt(playerHealth);
+            out.writeInt(playerMaxHealth);
+        }
+        if ((sections & SECTION_TIME) != 0) {
+            out.writeFloat(playTime);
+            out.writeLong(saveDate != null ? saveDate.getTime() : 0L);
+        }
+        if ((sections & SECTION_TILES) != 0) {
+            out.writeByte(TILES_VERSION);
+            out.writeShort(roomTiles != null ? roomTiles.size() : 0);
+            if (roomTiles != null) {
+                for (Map.Entry<Integer, byte[]> entry : roomTiles.entrySet()) {
+                    out.writeShort(entry.getKey());
+                    out.writeInt(entry.getValue().length);
+                    out.write(entry.getValue());
+                }
+            }
+        }
+    }
+    
+    /**
+     * Lee las secciones indicadas (mismo orden que writeSections)
+     */
+    public void readSections(int sections, DataInput in) throws IOException {
+        if ((sections & SECTION_META) != 0) {
+            saveName = in.readUTF();
+            villageName = in.readBoolean() ? in.readUTF() : null;
+        }
+        if ((sections & SECTION_PLAYER) != 0) {
+            playerX = in.readFloat();
+            playerY = in.readFloat();
+            playerLevel = in.readInt();
+            playerExperience = in.readInt();
+            playerHealth = in.readInt();
+            playerMaxHealth = in.readInt();
+        }
+        if ((sections & SECTION_TIME) != 0) {
+            playTime = in.readFloat();
+            saveDate = new Date(in.readLong());
+        }
+        if ((sections & SECTION_TILES) != 0) {
+            int version = in.readUnsignedByte();
+            if (version != TILES_VERSION) {
+                throw new IOException("Unsupported tile section version: " + version);
+            }
+            int count = in.readUnsignedShort();
+            roomTiles = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                int roomIndex = in.readUnsignedShort();
+                byte[] rle = new byte[in.readInt()];
+                in.readFully(rle);
+                roomTiles.put(roomIndex, rle);
+            }
+        }
     }
     
     /**
@@ -105,6 +245,9 @@ public class GameState implements Serializable {
         copy.playerHealth = this.playerHealth;
         copy.playerMaxHealth = this.playerMaxHealth;
         copy.playTime = this.playTime;
+        // Los arrays RLE no se modifican una vez creados; basta con copiar el mapa
+        copy.roomTiles = roomTiles != null ? new HashMap<>(roomTiles) : null;
+        copy.snapshotGeneration = this.snapshotGeneration;
         return copy;
     }
     
@@ -3,6 +3,8 @@ package com.agustinbenitez.obsidianarcane;
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Vector2;
@@ -10,14 +12,27 @@ import com.agustinbenitez.obsidianarcane.menu.MainMenuScreen;
 import com.agustinbenitez.obsidianarcane.menu.OptionsScreen;
 import com.agustinbenitez.obsidianarcane.menu.PauseMenuScreen;
 import com.agustinbenitez.obsidianarcane.SimpleGameScreen;
+import com.agustinbenitez.obsidianarcane.input.ActionInput;
+import com.agustinbenitez.obsidianarcane.audio.AudioEngine;
+import com.agustinbenitez.obsidianarcane.jobs.JobSystem;
+import com.agustinbenitez.obsidianarcane.memory.ResourceScope;
+import com.agustinbenitez.obsidianarcane.memory.ResourceTracker;
+import com.agustinbenitez.obsidianarcane.stats.RunStatsLog;
+import com.agustinbenitez.obsidianarcane.stats.RunSummaryIndex;
 import com.agustinbenitez.obsidianarcane.menu.CreditsScreen;
+import com.agustinbenitez.obsidianarcane.menu.SplashScreen;
 
 /**
  * Gestor de estados del juego (Menú Principal, Gameplay, Pausa, etc.)
  */
 public class GameStateManager extends Game {
     
+    // Recursos compartidos
+    public static final String TITLE_LOGO = "title_logo.png";
+    private AssetManager assetManager;
+    
     // Referencias a las diferentes pantallas
+    private SplashScreen splashScreen;
     private MainMenuScreen mainMenuScreen;
     private SimpleGameScreen simpleGameScreen;
     private OptionsScreen optionsScreen;
@@ -27,31 +42,98 @@ public class GameStateManager extends Game {
     
     // Estado actual del juego
     private GameState currentGameState;
+    private int currentSaveSlot; // 0 = partida sin slot
+    
+    // Sistema de tareas compartido por los subsistemas
+    private JobSystem jobSystem;
+    
+    // Recursos nativos propios (las pantallas tienen los suyos)
+    private final ResourceScope resources = new ResourceScope("GameStateManager", "assets");
     
     @Override
     public void create() {
-        // Inicializar pantallas
-        mainMenuScreen = new MainMenuScreen(this);
-        simpleGameScreen = new SimpleGameScreen(this);
-        optionsScreen = new OptionsScreen(this);
+        StartupProfiler.mark("window-init");
         
-        // Start with the main menu
-        setScreen(mainMenuScreen);
+        // Recargar en caliente las ediciones externas de config.json
+        GameConfig.getInstance().startWatching();
+        
+        // Toda la entrada pasa por la capa de acciones
+        ActionInput input = ActionInput.getInstance();
+        input.initGamepads();
+        Gdx.input.setInputProcessor(input);
+        
+        jobSystem = new JobSystem();
+        
+        // Sonido: efectos precargados y hilo de mezcla propio
+        AudioEngine.getInstance().start();
+        
+        // Encolar recursos; se cargan en segundo plano mientras se muestra la pantalla de carga
+        assetManager = resources.add(new AssetManager());
+        assetManager.load(TITLE_LOGO, Texture.class);
+        
+        // Las demás pantallas se construyen cuando se necesitan
+        splashScreen = new SplashScreen(this);
+        setScreen(splashScreen);
+    }
+    
+    @Override
+    public void render() {
+        FramePacer pacer = FramePacer.getInstance();
+        LatencyTracker latency = LatencyTracker.getInstance();
+        pacer.beginFrame();
+        latency.framePresented();
+        ActionInput.getInstance().update();
+        super.render();
+        pacer.endFrame();
+        latency.frameSubmitted();
+    }
+    
+    /**
+     * Llamado por la pantalla de carga cuando todos los recursos están listos
+     */
+    public void onStartupComplete() {
+        showMainMenu();
+        StartupProfiler.mark("main-menu");
+        StartupProfiler.report();
+        
+        splashScreen.dispose();
+        splashScreen = null;
     }
     
     /**
      * Cambiar al menú principal
      */
     public void showMainMenu() {
+        // Volver al menú abandona la run en curso
+        RunStatsLog.getInstance().endRun(RunSummaryIndex.OUTCOME_ABANDONED);
+        
+        if (mainMenuScreen == null) {
+            mainMenuScreen = new MainMenuScreen(this);
+        }
         setScreen(mainMenuScreen);
     }
     
+    /**
+     * Sistema de tareas del juego (grafos de tareas por frame)
+     */
+    public JobSystem getJobSystem() {
+        return jobSystem;
+    }
+    
+    /**
+     * Obtener el gestor de recursos compartido
+     */
+    public AssetManager getAssetManager() {
+        return assetManager;
+    }
+    
     /**
      * Cambiar al gameplay con una nueva partida
      */
     public void startGame() {
         // Crear nuevo estado de juego con valores por defecto
         currentGameState = new GameState("Nueva Partida", "Mundo 2D", new Vector2(800, 640));
+        currentSaveSlot = 0;
         
         if (simpleGameScreen != null) {
             simpleGameScreen.dispose();
@@ -64,7 +146,15 @@ public class GameStateManager extends Game {
      * Cargar una partida guardada
      */
     public void loadGame(GameState gameState) {
+        loadGame(gameState, 0);
+    }
+    
+    /**
+     * Cargar una partida guardada en un slot (el autoguardado usará ese slot)
+     */
+    public void loadGame(GameState gameState, int slot) {
         this.currentGameState = gameState;
+        this.currentSaveSlot = slot;
         
         // Recrear SimpleGameScreen
         if (simpleGameScreen != null) {
@@ -91,9 +181,12 @@ public class GameStateManager extends Game {
     public void showSaveScreen() {
         if (currentGameState != null && simpleGameScreen != null) {
             // Actualizar estado actual (sin posición del jugador ya que no hay)
+            simpleGameScreen.captureTiles(currentGameState);
             
+            SaveLoadScreen previous = saveLoadScreen;
             saveLoadScreen = new SaveLoadScreen(this, true, currentGameState);
             setScreen(saveLoadScreen);
+            disposeReplaced(previous);
         }
     }
     
@@ -101,8 +194,10 @@ public class GameStateManager extends Game {
      * Mostrar pantalla de carga
      */
     public void showLoadScreen() {
+        SaveLoadScreen previous = saveLoadScreen;
         saveLoadScreen = new SaveLoadScreen(this, false, null);
         setScreen(saveLoadScreen);
+        disposeReplaced(previous);
     }
     
 
@@ -118,6 +213,7 @@ public class GameStateManager extends Game {
         // Guardar la nueva partida en el slot especificado
         SaveManager saveManager = SaveManager.getInstance();
         saveManager.saveGame(slot, currentGameState);
+        currentSaveSlot = slot;
         
         // Recrear SimpleGameScreen
         if (simpleGameScreen != null) {
@@ -138,8 +234,20 @@ public class GameStateManager extends Game {
      * Mostrar pantalla de opciones con contexto específico
      */
     public void showOptions(OptionsScreen.ScreenContext context) {
+        OptionsScreen previous = optionsScreen;
         optionsScreen = new OptionsScreen(this, context);
         setScreen(optionsScreen);
+        disposeReplaced(previous);
+    }
+    
+    /**
+     * Liberar una pantalla que se acaba de sustituir por otra instancia nueva
+     * Se hace después de setScreen para que ya no sea la pantalla activa.
+     */
+    private void disposeReplaced(Screen previous) {
+        if (previous != null && previous != getScreen()) {
+            previous.dispose();
+        }
     }
     
     /**
@@ -176,6 +284,17 @@ public class GameStateManager extends Game {
         this.currentGameState = gameState;
     }
     
+    /**
+     * Slot de la partida actual (0 si aún no se ha guardado)
+     */
+    public int getCurrentSaveSlot() {
+        return currentSaveSlot;
+    }
+    
+    public void setCurrentSaveSlot(int slot) {
+        this.currentSaveSlot = slot;
+    }
+    
     /**
      * Obtener la pantalla de gameplay actual
      */
@@ -185,11 +304,29 @@ public class GameStateManager extends Game {
     
     @Override
     public void dispose() {
+        if (splashScreen != null) splashScreen.dispose();
         if (mainMenuScreen != null) mainMenuScreen.dispose();
         if (simpleGameScreen != null) simpleGameScreen.dispose();
         if (optionsScreen != null) optionsScreen.dispose();
         if (saveLoadScreen != null) saveLoadScreen.dispose();
         if (pauseMenuScreen != null) pauseMenuScreen.dispose();
         if (creditsScreen != null) creditsScreen.dispose();
+        resources.dispose();
+        if (jobSystem != null) jobSystem.shutdown();
+        AudioEngine.getInstance().dispose();
+        FontManager.getInstance().dispose();
+        GameConfig.getInstance().stopWatching();
+        GameConfig.getInstance().flush();
+        SaveManager.getInstance().flush();
+        RunStatsLog.getInstance().endRun(RunSummaryIndex.OUTCOME_ABANDONED);
+        RunStatsLog.getInstance().flush();
+        ActionInput.getInstance().dispose();
+        LatencyTracker.getInstance().report();
+        
+        // Todo lo nativo debería estar liberado a estas alturas
+        ResourceTracker tracker = ResourceTracker.getInstance();
+        if (tracker.getLiveCount() > 0) {
+            Gdx.app.error("ResourceTracker", "Resources still alive at exit:\n" + tracker.report(true));
+        }
     }
 }
\ No newline at end of file
@@ -1,6 +1,22 @@
 package com.agustinbenitez.obsidianarcane;
 
+import com.agustinbenitez.obsidianarcane.effects.ParticleSystem;
+import com.agustinbenitez.obsidianarcane.events.EventBus;
+import com.agustinbenitez.obsidianarcane.events.GameEvents;
+import com.agustinbenitez.obsidianarcane.level.RoomTemplateLibrary;
+import com.agustinbenitez.obsidianarcane.level.TileLayer;
+import com.agustinbenitez.obsidianarcane.render.RenderSnapshot;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.IntArray;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -11,29 +27,107 @@ public class GameWorld {
     private List<Room> rooms;
     private Room currentRoom;
     private Player player;
+    private ParticleSystem particles;
+    private boolean wasOnGround;
+    private long tick;
+    private float previousPlayerX;
+    private float previousPlayerY;
+    
+    // Gameplay events, dispatched once per update
+    private final EventBus events = new EventBus();
+    
+    // Quality settings (driven by FramePacer)
+    private float cullMargin;
+    private float aiThinkInterval;
+    private final Rectangle cullBounds = new Rectangle();
+    
+    // The placeholder player shape is skipped when the screen draws an animated sprite
+    private boolean drawPlayerShape = true;
+    
+    // Effect colors
+    private static final Color DUST_COLOR = new Color(0.7f, 0.7f, 0.8f, 0.8f);
     
     // World constants
     private static final float ROOM_WIDTH = 800f;
     private static final float ROOM_HEIGHT = 600f;
+    private static final String ROOM_LIBRARY_FILE = "levels/rooms.bin";
+    private static final String STARTING_ROOM = "start";
+    
+    // Size of the state written by writeState: tick, room, flags, previous position, player
+    public static final int STATE_BYTES = 8 + 4 + 1 + 4 * 2 + Player.STATE_BYTES;
+    
+    private RoomTemplateLibrary roomLibrary;
+    
+    // Tile layer revision of each room when it was last saved (or built)
+    private final IntArray savedTileRevisions = new IntArray();
     
     public GameWorld() {
         rooms = new ArrayList<>();
         
-        // Create initial room
-        Room startingRoom = new Room(0, 0, ROOM_WIDTH, ROOM_HEIGHT);
-        rooms.add(startingRoom);
+        // Create initial room from the room library, or the built-in default room
+        roomLibrary = loadRoomLibrary();
+        Room startingRoom;
+        int startTemplate = roomLibrary != null ? roomLibrary.indexOf(STARTING_ROOM) : -1;
+        if (startTemplate >= 0) {
+            startingRoom = new Room(0, 0, roomLibrary, startTemplate);
+        } else {
+            startingRoom = new Room(0, 0, ROOM_WIDTH, ROOM_HEIGHT);
+        }
+        addRoom(startingRoom);
         currentRoom = startingRoom;
         
-        // Create player in the center of the starting room
-        player = new Player(ROOM_WIDTH / 2 - 16, 100); // Start above ground
+        // Create player at the room's spawn point
+        player = new Player(startingRoom.getPlayerSpawn().x, startingRoom.getPlayerSpawn().y);
+        
+        particles = new ParticleSystem();
+        
+        // Dust effects react to player events
+        events.subscribe(GameEvents.PLAYER_LANDED, event -> emitFootDust(event.x, event.y, 12, 80f));
+        events.subscribe(GameEvents.PLAYER_JUMPED, event -> emitFootDust(event.x, event.y, 8, 60f));
+    }
+    
+    /**
+     * Load the binary room template library if it is available
+     */
+    private static RoomTemplateLibrary loadRoomLibrary() {
+        if (Gdx.files == null) {
+            return null;
+        }
+        try {
+            FileHandle file = Gdx.files.internal(ROOM_LIBRARY_FILE);
+            if (!file.exists()) {
+                return null;
+            }
+            long start = System.nanoTime();
+            RoomTemplateLibrary library = RoomTemplateLibrary.load(file);
+            Gdx.app.log("GameWorld", "Loaded " + library.getTemplateCount() + " room templates in "
+                + (System.nanoTime() - start) / 1000 + " us");
+            return library;
+        } catch (Exception e) {
+            Gdx.app.error("GameWorld", "Error loading room templates: " + e.getMessage());
+            return null;
+        }
     }
     
     /**
      * Update the game world
      */
     public void update(float deltaTime) {
+        updatePlayer(deltaTime);
+        dispatchEvents();
+        updateEffects(deltaTime);
+    }
+    
+    /**
+     * First stage of a tick: player physics, collisions and the events they raise
+     */
+    public void updatePlayer(float deltaTime) {
+        previousPlayerX = player.getPosition().x;
+        previousPlayerY = player.getPosition().y;
+        
         // Update player physics
         player.update(deltaTime);
+        float verticalSpeed = player.getVelocity().y;
         
         // Handle collisions with current room
         if (currentRoom != null) {
@@ -42,21 +136,154 @@ public class GameWorld {
         
         // Check for room transitions (for future expansion)
         checkRoomTransitions();
+        
+        boolean onGround = player.isOnGround();
+        if (onGround && !wasOnGround) {
+            GameEvents.PlayerLanded landed = events.obtain(GameEvents.PLAYER_LANDED);
+            landed.x = player.getPosition().x + player.getWidth() / 2;
+            landed.y = player.getPosition().y;
+            landed.impactSpeed = -verticalSpeed;
+            events.post(landed);
+        }
+        wasOnGround = onGround;
+    }
+    
+    /**
+     * Second stage of a tick: deliver the events raised so far
+     */
+    public void dispatchEvents() {
+        events.dispatch();
+    }
+    
+    /**
+     * Last stage of a tick: advance the effects spawned by the events and finish the tick
+     */
+    public void updateEffects(float deltaTime) {
+        particles.update(deltaTime);
+        tick++;
     }
     
     /**
      * Handle player movement input
      */
-    public void handleInput(boolean moveLeft, boolean moveRight, boolean jump) {
+    public void handleInput(boolean moveLeft, boolean moveRight, boolean jumpPressed, float jumpPressAge) {
         float direction = 0;
         if (moveLeft) direction -= 1;
         if (moveRight) direction += 1;
         
         player.moveHorizontal(direction);
         
-        if (jump) {
-            player.jump();
+        if (jumpPressed) {
+            player.bufferJump(jumpPressAge);
         }
+        if (player.jumpIfBuffered()) {
+            GameEvents.PlayerJumped jumped = events.obtain(GameEvents.PLAYER_JUMPED);
+            jumped.x = player.getPosition().x + player.getWidth() / 2;
+            jumped.y = player.getPosition().y;
+            events.post(jumped);
+        }
+    }
+    
+    /**
+     * Emit a small dust burst where the event happened (the player's feet at that moment)
+     */
+    private void emitFootDust(float x, float y, int amount, float speed) {
+        particles.burst(x, y, amount, DUST_COLOR, speed, 0.4f, 4f);
+    }
+    
+    /**
+     * Apply the current quality level of the frame pacer
+     */
+    public void applyQuality(FramePacer pacer) {
+        if (particles.getParticleCap() != pacer.getParticleCap()) {
+            particles.setParticleCap(pacer.getParticleCap());
+        }
+        cullMargin = pacer.getCullMargin();
+        aiThinkInterval = pacer.getAiThinkInterval();
+    }
+    
+    /**
+     * Render the parts of the game world visible to the camera (plus the culling margin)
+     */
+    public void render(ShapeRenderer shapeRenderer, OrthographicCamera camera) {
+        float viewWidth = camera.viewportWidth * camera.zoom;
+        float viewHeight = camera.viewportHeight * camera.zoom;
+        cullBounds.set(camera.position.x - viewWidth / 2 - cullMargin,
+                       camera.position.y - viewHeight / 2 - cullMargin,
+                       viewWidth + cullMargin * 2,
+                       viewHeight + cullMargin * 2);
+        
+        if (currentRoom != null) {
+            currentRoom.render(shapeRenderer, cullBounds);
+        }
+        if (drawPlayerShape) {
+            player.render(shapeRenderer);
+        }
+    }
+    
+    /**
+     * Render the world from a snapshot published by the simulation thread
+     * Rooms are static geometry and are read directly; the player is interpolated between
+     * the snapshot's last two ticks by alpha (0..1).
+     */
+    public void render(ShapeRenderer shapeRenderer, OrthographicCamera camera, RenderSnapshot snapshot, float alpha) {
+        float viewWidth = camera.viewportWidth * camera.zoom;
+        float viewHeight = camera.viewportHeight * camera.zoom;
+        cullBounds.set(camera.position.x - viewWidth / 2 - cullMargin,
+                       camera.position.y - viewHeight / 2 - cullMargin,
+                       viewWidth + cullMargin * 2,
+                       viewHeight + cullMargin * 2);
+        
+        if (snapshot.roomIndex >= 0 && snapshot.roomIndex < rooms.size()) {
+            rooms.get(snapshot.roomIndex).render(shapeRenderer, cullBounds);
+        }
+        if (drawPlayerShape) {
+            player.render(shapeRenderer, snapshot.getPlayerX(alpha), snapshot.getPlayerY(alpha));
+        }
+    }
+    
+    /**
+     * Copy everything the renderer needs for the current tick into a snapshot
+     */
+    public void writeSnapshot(RenderSnapshot snapshot) {
+        snapshot.tick = tick;
+        snapshot.roomIndex = getCurrentRoomIndex();
+        snapshot.playerX = player.getPosition().x;
+        snapshot.playerY = player.getPosition().y;
+        snapshot.previousPlayerX = tick > 0 ? previousPlayerX : snapshot.playerX;
+        snapshot.previousPlayerY = tick > 0 ? previousPlayerY : snapshot.playerY;
+        snapshot.playerVelocityX = player.getVelocity().x;
+        snapshot.playerVelocityY = player.getVelocity().y;
+        snapshot.playerOnGround = player.isOnGround();
+        particles.writeSnapshot(snapshot);
+    }
+    
+    /**
+     * Write the full simulation state to a buffer (exactly STATE_BYTES, no allocation)
+     * Rooms are static geometry, so only the current room index is stored; particles are
+     * cosmetic and keep running across a load.
+     */
+    public void writeState(ByteBuffer buffer) {
+        buffer.putLong(tick);
+        buffer.putInt(getCurrentRoomIndex());
+        buffer.put((byte) (wasOnGround ? 1 : 0));
+        buffer.putFloat(previousPlayerX).putFloat(previousPlayerY);
+        player.writeState(buffer);
+    }
+    
+    /**
+     * Restore the state written by writeState
+     * This is a plain state copy: it raises no events. The caller (WorldRewind) reports
+     * the room change once with notifyRoomChange when it is done restoring.
+     */
+    public void readState(ByteBuffer buffer) {
+        tick = buffer.getLong();
+        int roomIndex = buffer.getInt();
+        currentRoom = roomIndex >= 0 && roomIndex < rooms.size() ? rooms.get(roomIndex) : currentRoom;
+        wasOnGround = buffer.get() != 0;
+        previousPlayerX = buffer.getFloat();
+        previousPlayerY = buffer.getFloat();
+        player.readState(buffer);
     }
     
     /**
@@ -73,7 +300,21 @@ public class GameWorld {
     }
     
     /**
-     * Check for room transitions (placeholder for future expansion)
+     * Whether the camera-culled render methods draw the player's placeholder shape
+     */
+    public void setDrawPlayerShape(boolean drawPlayerShape) {
+        this.drawPlayerShape = drawPlayerShape;
+    }
+    
+    /**
+     * Render world particles in a single batched pass
+     */
+    public void renderParticles(SpriteBatch batch, TextureRegion particleRegion) {
+        particles.render(batch, particleRegion);
+    }
+    
+    /**
+     * Check for room transitions (placeholder for future expansion) and falls out of the room
      */
     private void checkRoomTransitions() {
         // This will be implemented when we add multiple connected rooms
@@ -88,6 +329,11 @@ public class GameWorld {
             } else if (playerX + player.getBounds().width > currentRoom.getX() + currentRoom.getWidth()) {
                 player.setPosition(currentRoom.getX() + currentRoom.getWidth() - player.getBounds().width, playerY);
             }
+            
+            // Falling through a gap in the floor costs a life: back to the spawn point
+            if (playerY + player.getHeight() < currentRoom.getY()) {
+                respawnPlayer(true);
+            }
         }
     }
     
@@ -96,6 +342,44 @@ public class GameWorld {
      */
     public void addRoom(Room room) {
         rooms.add(room);
+        savedTileRevisions.add(tileRevision(room));
+    }
+    
+    private static int tileRevision(Room room) {
+        TileLayer tiles = room.getTileLayer();
+        return tiles != null ? tiles.getRevision() : 0;
+    }
+    
+    /**
+     * Store the tile layers changed since the last save in the game state (RLE encoded)
+     */
+    public void captureTiles(GameState state) {
+        for (int i = 0; i < rooms.size(); i++) {
+            TileLayer tiles = rooms.get(i).getTileLayer();
+            if (tiles != null && tiles.getRevision() != savedTileRevisions.get(i)) {
+                state.setRoomTiles(i, tiles.toRle());
+                savedTileRevisions.set(i, tiles.getRevision());
+            }
+        }
+    }
+    
+    /**
+     * Apply the tile layers saved in a game state on top of the rooms built from templates
+     */
+    public void restoreTiles(GameState state) {
+        for (int i = 0; i < rooms.size(); i++) {
+            TileLayer tiles = rooms.get(i).getTileLayer();
+            byte[] rle = state.getRoomTiles(i);
+            if (tiles == null || rle == null) {
+                continue;
+            }
+            try {
+                tiles.loadRle(rle);
+                savedTileRevisions.set(i, tiles.getRevision());
+            } catch (IOException e) {
+                Gdx.app.error("GameWorld", "Could not restore saved tiles of room " + i + ": " + e.getMessage());
+            }
+        }
     }
     
     /**
@@ -103,10 +387,33 @@ public class GameWorld {
      */
     public void switchToRoom(int roomIndex) {
         if (roomIndex >= 0 && roomIndex < rooms.size()) {
+            int previousRoom = getCurrentRoomIndex();
             currentRoom = rooms.get(roomIndex);
+            notifyRoomChange(previousRoom);
         }
     }
     
+    /**
+     * Raise RoomEntered if the current room is no longer previousRoom
+     * switchToRoom does this itself; WorldRewind calls it once after restoring states.
+     */
+    public void notifyRoomChange(int previousRoom) {
+        int roomIndex = getCurrentRoomIndex();
+        if (previousRoom != roomIndex) {
+            GameEvents.RoomEntered entered = events.obtain(GameEvents.ROOM_ENTERED);
+            entered.room = roomIndex;
+            entered.previousRoom = previousRoom;
+            events.post(entered);
+        }
+    }
+    
+    /**
+     * Get the index of the current room in the world (-1 if there is none)
+     */
+    public int getCurrentRoomIndex() {
+        return rooms.indexOf(currentRoom);
+    }
+    
     /**
      * Get the current room
      */
@@ -121,6 +428,41 @@ public class GameWorld {
         return player;
     }
     
+    /**
+     * Number of simulation ticks run so far
+     */
+    public long getTick() {
+        return tick;
+    }
+    
+    /**
+     * Get the gameplay event bus (subscribe here instead of polling world state)
+     */
+    public EventBus getEvents() {
+        return events;
+    }
+    
+    /**
+     * Get the particle system
+     */
+    public ParticleSystem getParticles() {
+        return particles;
+    }
+    
+    /**
+     * Seconds between AI decisions at the current quality level (for enemy updates)
+     */
+    public float getAiThinkInterval() {
+        return aiThinkInterval;
+    }
+    
+    /**
+     * Get the room template library (null if not available)
+     */
+    public RoomTemplateLibrary getRoomLibrary() {
+        return roomLibrary;
+    }
+    
     /**
      * Get all rooms
      */
@@ -132,9 +474,21 @@ public class GameWorld {
      * Reset player to starting position
      */
     public void resetPlayer() {
+        respawnPlayer(false);
+    }
+    
+    private void respawnPlayer(boolean died) {
         if (currentRoom != null) {
-            player.setPosition(currentRoom.getX() + currentRoom.getWidth() / 2 - 16, 100);
+            player.setPosition(currentRoom.getPlayerSpawn().x, currentRoom.getPlayerSpawn().y);
             player.getVelocity().set(0, 0);
+            previousPlayerX = player.getPosition().x;
+            previousPlayerY = player.getPosition().y;
+            
+            GameEvents.PlayerRespawned respawned = events.obtain(GameEvents.PLAYER_RESPAWNED);
+            respawned.x = currentRoom.getPlayerSpawn().x;
+            respawned.y = currentRoom.getPlayerSpawn().y;
+            respawned.died = died;
+            events.post(respawned);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,247 @@
+package com.agustinbenitez.obsidianarcane;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import java.util.Arrays;
+
+/**
+ * Medición de la latencia entrada-imagen
+ *
+ * Cada pulsación que consume la simulación se sigue en cuatro puntos:
+ * <pre>
+ * llegada   marca de tiempo del evento (ActionInput, al procesar los eventos de GLFW)
+ * consumo   GameWorld la lee en handleInput, con el tick de simulación que la procesa
+ * envío     fin del frame que ya incluye ese tick (tras el FramePacer, antes del swap)
+ * imagen    inicio del frame siguiente, cuando el swap (y la espera de vsync) ha vuelto
+ * </pre>
+ * La latencia total (llegada a imagen) se acumula en un histograma de 0.25 ms por cubeta;
+ * cada tramo se promedia por separado para ver dónde se va el tiempo.
+ *
+ * Si la simulación vuelve a un tick anterior (rebobinado, carga rápida, partida nueva) las
+ * muestras pendientes son de una línea temporal descartada y se tiran; también las que
+ * llevan más de MAX_PENDING_FRAMES frames sin llegar a pantalla.
+ */
+public final class LatencyTracker {
+
+    private static final long BUCKET_NANOS = 250_000L;
+    private static final int BUCKET_COUNT = 400; // hasta 100 ms; el resto va a la última cubeta
+    private static final int PENDING_CAPACITY = 64; // potencia de dos
+    private static final int PENDING_MASK = PENDING_CAPACITY - 1;
+    private static final int MAX_PENDING_FRAMES = 30;
+    private static final String REPORT_FILE = "stats/latency_report.txt";
+
+    private static LatencyTracker instance;
+
+    // Muestras pendientes (ring buffer)
+    private final long[] arrivalNanos = new long[PENDING_CAPACITY];
+    private final long[] consumeNanos = new long[PENDING_CAPACITY];
+    private final long[] submitNanos = new long[PENDING_CAPACITY];
+    private final long[] consumingTick = new long[PENDING_CAPACITY];
+    private final long[] consumeFrame = new long[PENDING_CAPACITY];
+    private int pendingHead;
+    private int pendingTail;
+    private long completedTick;
+    private long frame;
+    private volatile boolean timelineRestarted;
+
+    // Resultados
+    private final int[] histogram = new int[BUCKET_COUNT];
+    private int sampleCount;
+    private long maxNanos;
+    private long totalNanos;
+    private long queueNanos;
+    private long simulationNanos;
+    private long presentNanos;
+    private int droppedSamples;
+
+    private LatencyTracker() {
+    }
+
+    public static LatencyTracker getInstance() {
+        if (instance == null) {
+            instance = new LatencyTracker();
+        }
+        return instance;
+    }
+
+    /**
+     * Una entrada que llegó en arrivalNanos se consume ahora y la procesa el tick indicado
+     */
+    public void inputConsumed(long arrival, long tick) {
+        if (arrival == 0) {
+            return;
+        }
+        if (pendingHead - pendingTail == PENDING_CAPACITY) {
+            pendingTail++;
+            droppedSamples++;
+        }
+        int slot = pendingHead & PENDING_MASK;
+        arrivalNanos[slot] = arrival;
+        consumeNanos[slot] = System.nanoTime();
+        submitNanos[slot] = 0;
+        consumingTick[slot] = tick;
+        consumeFrame[slot] = frame;
+        pendingHead++;
+    }
+
+    /**
+     * El mundo volvió a un estado anterior; se puede llamar desde cualquier hilo y se aplica
+     * en el siguiente tickCompleted
+     */
+    public void timelineRestarted() {
+        timelineRestarted = true;
+    }
+
+    /**
+     * La simulación ha terminado el tick indicado
+     */
+    public void tickCompleted(long tick) {
+        if (timelineRestarted || tick < completedTick) {
+            timelineRestarted = false;
+            droppedSamples += pendingHead - pendingTail;
+            pendingTail = pendingHead;
+        }
+        completedTick = tick;
+    }
+
+    /**
+     * Fin del frame: las entradas cuyo tick ya se simuló quedan incluidas en esta imagen
+     */
+    public void frameSubmitted() {
+        long now = System.nanoTime();
+        for (int i = pendingTail; i != pendingHead; i++) {
+            int slot = i & PENDING_MASK;
+            if (submitNanos[slot] == 0 && consumingTick[slot] <= completedTick) {
+                submitNanos[slot] = now;
+            }
+        }
+    }
+
+    /**
+     * Inicio del frame siguiente: el swap ha vuelto y la imagen está en pantalla
+     */
+    public void framePresented() {
+        long now = System.nanoTime();
+        frame++;
+        while (pendingTail != pendingHead) {
+            int slot = pendingTail & PENDING_MASK;
+            if (submitNanos[slot] == 0) {
+                if (frame - consumeFrame[slot] <= MAX_PENDING_FRAMES) {
+                    break;
+                }
+                // Su tick no llega a simularse (p.ej. la simulación en pausa)
+                pendingTail++;
+                droppedSamples++;
+                continue;
+            }
+            long latency = now - arrivalNanos[slot];
+            histogram[(int) Math.min(BUCKET_COUNT - 1, latency / BUCKET_NANOS)]++;
+            sampleCount++;
+            totalNanos += latency;
+            maxNanos = Math.max(maxNanos, latency);
+            queueNanos += consumeNanos[slot] - arrivalNanos[slot];
+            simulationNanos += submitNanos[slot] - consumeNanos[slot];
+            presentNanos += now - submitNanos[slot];
+            pendingTail++;
+        }
+    }
+
+    /**
+     * Latencia (ms) por debajo de la cual está la fracción indicada de las muestras
+     */
+    public float getPercentileMillis(float fraction) {
+        if (sampleCount == 0) {
+            return 0;
+        }
+        int target = (int) Math.ceil(sampleCount * fraction);
+        int accumulated = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            accumulated += histogram[i];
+            if (accumulated >= target) {
+                return (i + 1) * BUCKET_NANOS / 1_000_000f;
+            }
+        }
+        return BUCKET_COUNT * BUCKET_NANOS / 1_000_000f;
+    }
+
+    public int getSampleCount() { return sampleCount; }
+    public float getMeanMillis() { return sampleCount > 0 ? totalNanos / (float) sampleCount / 1_000_000f : 0; }
+    public float getMaxMillis() { return maxNanos / 1_000_000f; }
+
+    /**
+     * Copia del histograma (cubetas de 0.25 ms)
+     */
+    public int[] getHistogram() {
+        return histogram.clone();
+    }
+
+    /**
+     * Descarta las muestras (p.ej. al cambiar vsync o el límite de FPS para comparar)
+     */
+    public void reset() {
+        Arrays.fill(histogram, 0);
+        sampleCount = 0;
+        maxNanos = 0;
+        totalNanos = 0;
+        queueNanos = 0;
+        simulationNanos = 0;
+        presentNanos = 0;
+        droppedSamples = 0;
+        pendingTail = pendingHead;
+    }
+
+    /**
+     * Informe de texto con la configuración de frames y la distribución de latencias
+     */
+    public String formatReport() {
+        GameConfig config = GameConfig.getInstance();
+        StringBuilder sb = new StringBuilder("Input latency report:\n");
+        sb.append(String.format("  vsync %s, fps cap %s, simulation %s, samples %d%n", config.isVsync() ? "on" : "off",
+            config.getTargetFPS() > 0 ? String.valueOf(config.getTargetFPS()) : "none",
+            config.isThreadedSimulation() ? "threaded" : "inline", sampleCount));
+        if (sampleCount == 0) {
+            return sb.toString();
+        }
+        float n = sampleCount * 1_000_000f;
+        sb.append(String.format("  mean %.2f ms  p50 %.2f  p95 %.2f  p99 %.2f  max %.2f%n", getMeanMillis(),
+            getPercentileMillis(0.5f), getPercentileMillis(0.95f), getPercentileMillis(0.99f), getMaxMillis()));
+        sb.append(String.format("  stages: queue %.2f ms, simulate+draw %.2f ms, present %.2f ms%n",
+            queueNanos / n, simulationNanos / n, presentNanos / n));
+        if (droppedSamples > 0) {
+            sb.append("  dropped samples: ").append(droppedSamples).append('\n');
+        }
+
+        // Histograma compacto en cubetas de 1 ms
+        sb.append("  histogram (ms: count):");
+        for (int ms = 0; ms < BUCKET_COUNT / 4; ms++) {
+            int count = histogram[ms * 4] + histogram[ms * 4 + 1] + histogram[ms * 4 + 2] + histogram[ms * 4 + 3];
+            if (count > 0) {
+                sb.append(' ').append(ms).append(':').append(count);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Escribe el informe en el log y lo añade a stats/latency_report.txt
+     */
+    public void report() {
+        if (sampleCount == 0) {
+            return;
+        }
+        String report = formatReport();
+        if (Gdx.app != null) {
+            Gdx.app.log("LatencyTracker", report);
+        } else {
+            System.out.println("LatencyTracker: " + report);
+        }
+        if (Gdx.files != null) {
+            try {
+                FileHandle file = Gdx.files.local(REPORT_FILE);
+                file.writeString(report + "\n", true);
+            } catch (Exception e) {
+                Gdx.app.error("LatencyTracker", "Error writing latency report: " + e.getMessage());
+            }
+        }
+    }
+}
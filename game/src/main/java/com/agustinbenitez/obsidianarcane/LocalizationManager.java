@@ -1,19 +1,46 @@
 package com.agustinbenitez.obsidianarcane;
 
+import com.agustinbenitez.obsidianarcane.i18n.CompiledMessage;
+import com.agustinbenitez.obsidianarcane.i18n.MessageKeys;
+import com.agustinbenitez.obsidianarcane.i18n.MessageTable;
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.files.FileHandle;
-import com.badlogic.gdx.utils.I18NBundle;
+import java.util.HashSet;
 import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Gestor de localización para el juego Obsidian Arcane
  * Maneja la carga de archivos de idioma y proporciona acceso a textos localizados
+ *
+ * Los textos se guardan en tablas planas indexadas por los IDs de {@link MessageKeys};
+ * los mensajes con parámetros se pre-analizan al cargar el idioma.
  */
 public class LocalizationManager {
     
     private static LocalizationManager instance;
-    private I18NBundle bundle;
-    private Locale currentLocale;
+    
+    // Las cargas asíncronas van en orden por un único hilo
+    private static final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "LocalizationLoader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    // Número de la última petición de idioma; una tabla de una petición anterior se descarta
+    private final AtomicInteger requests = new AtomicInteger();
+    
+    // Tabla activa; se reemplaza completa al cambiar de idioma
+    private volatile MessageTable table;
+    private volatile Language currentLanguage;
+    
+    // Buffer reutilizable para mensajes con parámetros (solo hilo de render)
+    private final StringBuilder formatBuffer = new StringBuilder(128);
+    
+    // Claves desconocidas ya reportadas (para no llenar el log en cada frame)
+    private final Set<String> reportedMissingKeys = new HashSet<>();
     
     // Idiomas soportados
     public enum Language {
@@ -21,15 +48,19 @@ public class LocalizationManager {
         ENGLISH("en", "US");
         
         private final String language;
-        private final String country;
+        private final Locale locale;
         
         Language(String language, String country) {
             this.language = language;
-            this.country = country;
+            this.locale = new Locale(language, country);
         }
         
         public Locale getLocale() {
-            return new Locale(language, country);
+            return locale;
+        }
+        
+        public String getLanguageCode() {
+            return language;
         }
     }
     
@@ -53,44 +84,171 @@ public class LocalizationManager {
      * @param language El idioma a establecer
      */
     public void setLanguage(Language language) {
-        currentLocale = language.getLocale();
-        loadBundle();
+        int request = requests.incrementAndGet();
+        MessageTable loaded = loadTable(language);
+        if (loaded != null) {
+            publish(language, loaded, request);
+        }
+    }
+    
+    /**
+     * Cambia el idioma cargando la tabla en un hilo secundario
+     * La tabla anterior sigue activa hasta que la nueva está completa; si mientras tanto
+     * se pide otro idioma, gana siempre la última petición
+     * @param language El idioma a establecer
+     */
+    public void setLanguageAsync(Language language) {
+        int request = requests.incrementAndGet();
+        loader.execute(() -> {
+            if (request != requests.get()) {
+                return; // Ya hay una petición más reciente en cola
+            }
+            MessageTable loaded = loadTable(language);
+            if (loaded != null) {
+                publish(language, loaded, request);
+            }
+        });
+    }
+    
+    private synchronized void publish(Language language, MessageTable loaded, int request) {
+        if (request != requests.get()) {
+            return;
+        }
+        table = loaded;
+        currentLanguage = language;
     }
     
     /**
-     * Carga el bundle de localización para el idioma actual
+     * Carga la tabla de un idioma; si falla se intenta con inglés
      */
-    private void loadBundle() {
+    private MessageTable loadTable(Language language) {
         try {
-            FileHandle bundleFile = Gdx.files.internal("i18n/messages");
-            bundle = I18NBundle.createBundle(bundleFile, currentLocale);
-            Gdx.app.log("LocalizationManager", "Idioma cargado: " + currentLocale.getDisplayName());
+            MessageTable loaded = MessageTable.load(language.getLanguageCode());
+            Gdx.app.log("LocalizationManager", "Idioma cargado: " + language.getLocale().getDisplayName());
+            return loaded;
         } catch (Exception e) {
-            Gdx.app.error("LocalizationManager", "Error al cargar el idioma: " + currentLocale.getDisplayName(), e);
+            Gdx.app.error("LocalizationManager", "Error al cargar el idioma: " + language.getLocale().getDisplayName(), e);
             // Fallback a inglés si hay error
-            if (currentLocale != Language.ENGLISH.getLocale()) {
-                currentLocale = Language.ENGLISH.getLocale();
-                loadBundle();
+            if (language != Language.ENGLISH) {
+                return loadTable(Language.ENGLISH);
             }
+            return null;
         }
     }
     
+    /**
+     * Obtiene un texto localizado por su ID
+     * @param id El ID del texto (ver {@link MessageKeys})
+     * @return El texto localizado
+     */
+    public String getText(int id) {
+        MessageTable current = table;
+        if (current == null) {
+            return MessageKeys.keyOf(id);
+        }
+        return current.get(id);
+    }
+    
     /**
      * Obtiene un texto localizado por su clave
      * @param key La clave del texto
      * @return El texto localizado o la clave si no se encuentra
      */
     public String getText(String key) {
-        if (bundle == null) {
+        int id = MessageKeys.idOf(key);
+        if (id < 0) {
+            if (reportedMissingKeys.add(key)) {
+                Gdx.app.error("LocalizationManager", "Clave no encontrada: " + key);
+            }
             return key;
         }
-        
-        try {
-            return bundle.get(key);
-        } catch (Exception e) {
-            Gdx.app.error("LocalizationManager", "Clave no encontrada: " + key);
-            return key;
+        return getText(id);
+    }
+    
+    /**
+     * Formatea un texto con parámetros en un buffer reutilizable
+     * El resultado solo es válido hasta la siguiente llamada
+     * @param id El ID del texto
+     * @param args Los argumentos para formatear el texto
+     * @return El texto localizado formateado
+     */
+    public CharSequence format(int id, Object... args) {
+        MessageTable current = table;
+        CompiledMessage compiled = startFormat(current, id);
+        if (compiled != null) {
+            try {
+                compiled.formatTo(formatBuffer, args);
+            } catch (Exception e) {
+                formatFailed(current, id);
+            }
         }
+        return formatBuffer;
+    }
+    
+    /**
+     * Como format(int, Object...) con un único entero: sin array de varargs ni boxing,
+     * para los textos que se dibujan cada frame
+     */
+    public CharSequence format(int id, int arg) {
+        MessageTable current = table;
+        CompiledMessage compiled = startFormat(current, id);
+        if (compiled != null) {
+            try {
+                compiled.formatTo(formatBuffer, arg);
+            } catch (Exception e) {
+                formatFailed(current, id);
+            }
+        }
+        return formatBuffer;
+    }
+    
+    /**
+     * Como format(int, Object...) con un único texto, sin array de varargs
+     */
+    public CharSequence format(int id, CharSequence arg) {
+        MessageTable current = table;
+        CompiledMessage compiled = startFormat(current, id);
+        if (compiled != null) {
+            try {
+                compiled.formatTo(formatBuffer, arg);
+            } catch (Exception e) {
+                formatFailed(current, id);
+            }
+        }
+        return formatBuffer;
+    }
+    
+    /**
+     * Vacía el buffer y devuelve el mensaje compilado; si no hay que formatear deja ya el
+     * texto en el buffer y devuelve null
+     */
+    private CompiledMessage startFormat(MessageTable current, int id) {
+        formatBuffer.setLength(0);
+        if (current == null) {
+            formatBuffer.append(MessageKeys.keyOf(id));
+            return null;
+        }
+        CompiledMessage compiled = current.getCompiled(id);
+        if (compiled == null) {
+            formatBuffer.append(current.get(id));
+        }
+        return compiled;
+    }
+    
+    private void formatFailed(MessageTable current, int id) {
+        Gdx.app.error("LocalizationManager", "Error al formatear texto: " + MessageKeys.keyOf(id));
+        formatBuffer.setLength(0);
+        formatBuffer.append(current.get(id));
+    }
+    
+    /**
+     * Obtiene un texto localizado con parámetros
+     * @param id El ID del texto
+     * @param args Los argumentos para formatear el texto
+     * @return El texto localizado formateado
+     */
+    public String getText(int id, Object... args) {
+        return format(id, args).toString();
     }
     
     /**
@@ -100,39 +258,24 @@ public class LocalizationManager {
      * @return El texto localizado formateado
      */
     public String getText(String key, Object... args) {
-        String text = getText(key);
-        try {
-            return String.format(text, args);
-        } catch (Exception e) {
-            Gdx.app.error("LocalizationManager", "Error al formatear texto: " + key);
-            return text;
+        int id = MessageKeys.idOf(key);
+        if (id < 0) {
+            return getText(key);
         }
+        return getText(id, args);
     }
     
     /**
      * Obtiene el idioma actual
      */
     public Language getCurrentLanguage() {
-        if (currentLocale.equals(Language.SPANISH.getLocale())) {
-            return Language.SPANISH;
-        } else {
-            return Language.ENGLISH;
-        }
+        return currentLanguage;
     }
     
     /**
      * Verifica si hay un texto disponible para la clave dada
      */
     public boolean hasKey(String key) {
-        if (bundle == null) {
-            return false;
-        }
-        
-        try {
-            bundle.get(key);
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        return MessageKeys.idOf(key) >= 0;
     }
-}
\ No newline at end of file
+}
@@ -9,11 +9,14 @@ import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
  */
 public class Main {
     public static void main(String[] args) {
+        StartupProfiler.begin();
+        
         // Game window configuration
         Lwjgl3ApplicationConfiguration config = new Lwjgl3ApplicationConfiguration();
         
         // Initialize game configuration
         GameConfig gameConfig = GameConfig.getInstance();
+        StartupProfiler.mark("config");
         
         // Basic window configuration
         config.setTitle("Obsidian Arcane");
@@ -28,7 +31,7 @@ public class Main {
         }
         
         // Performance configuration
-        config.setForegroundFPS(gameConfig.getTargetFPS());  // Use configured FPS
+        config.setForegroundFPS(0);   // FramePacer limits the configured FPS with precise sleeps
         config.setIdleFPS(30);        // 30 FPS when window is not active
         
         // VSync configuration
@@ -4,6 +4,7 @@ import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
+import java.nio.ByteBuffer;
 
 /**
  * Player class with 2D physics for movement and jumping
@@ -16,6 +17,11 @@ public class Player {
     private static final float MAX_FALL_SPEED = -500f; // Terminal velocity
     private static final float GROUND_FRICTION = 0.8f; // Friction when on ground
     private static final float AIR_FRICTION = 0.95f; // Air resistance
+    private static final float JUMP_BUFFER_TIME = 0.12f; // Jump pressed this long before landing still counts
+    private static final float COYOTE_TIME = 0.1f; // Jump still allowed this long after leaving a ledge
+    
+    // Size of the state written by writeState
+    public static final int STATE_BYTES = 4 * 4 + 1 + 4 * 2;
     
     // Player properties
     private Vector2 position;
@@ -23,6 +29,8 @@ public class Player {
     private Rectangle bounds;
     private boolean onGround;
     private boolean canJump;
+    private float jumpBufferTimer;
+    private float coyoteTimer;
     
     // Visual properties
     private static final float PLAYER_WIDTH = 32f;
@@ -42,6 +50,14 @@ public class Player {
      * Update player physics and position
      */
     public void update(float deltaTime) {
+        // Ground state is from the previous frame's collisions
+        if (onGround) {
+            coyoteTimer = COYOTE_TIME;
+        } else {
+            coyoteTimer -= deltaTime;
+        }
+        jumpBufferTimer -= deltaTime;
+        
         // Apply gravity
         if (!onGround) {
             velocity.y += GRAVITY * deltaTime;
@@ -83,13 +99,34 @@ public class Player {
     
     /**
      * Make player jump
+     * @return true if the jump actually started
      */
-    public void jump() {
-        if (onGround && canJump) {
+    public boolean jump() {
+        if ((onGround || coyoteTimer > 0) && canJump) {
             velocity.y = JUMP_VELOCITY;
             onGround = false;
             canJump = false;
+            coyoteTimer = 0;
+            jumpBufferTimer = 0;
+            return true;
         }
+        return false;
+    }
+    
+    /**
+     * Remember a jump press so it still triggers if the player lands shortly after
+     * @param pressAge seconds since the button was pressed
+     */
+    public void bufferJump(float pressAge) {
+        jumpBufferTimer = JUMP_BUFFER_TIME - pressAge;
+    }
+    
+    /**
+     * Perform a buffered jump if one is pending and the player can jump
+     * @return true if the jump actually started
+     */
+    public boolean jumpIfBuffered() {
+        return jumpBufferTimer > 0 && jump();
     }
     
     /**
@@ -137,16 +174,47 @@ public class Player {
      * Render the player
      */
     public void render(ShapeRenderer shapeRenderer) {
+        render(shapeRenderer, position.x, position.y);
+    }
+    
+    /**
+     * Render the player at the given position (e.g. interpolated from a render snapshot)
+     */
+    public void render(ShapeRenderer shapeRenderer, float x, float y) {
         shapeRenderer.setColor(playerColor);
-        shapeRenderer.rect(position.x, position.y, PLAYER_WIDTH, PLAYER_HEIGHT);
+        shapeRenderer.rect(x, y, PLAYER_WIDTH, PLAYER_HEIGHT);
         
         // Draw a simple face
         shapeRenderer.setColor(Color.WHITE);
         // Eyes
-        shapeRenderer.rect(position.x + 8, position.y + PLAYER_HEIGHT - 15, 4, 4);
-        shapeRenderer.rect(position.x + 20, position.y + PLAYER_HEIGHT - 15, 4, 4);
+        shapeRenderer.rect(x + 8, y + PLAYER_HEIGHT - 15, 4, 4);
+        shapeRenderer.rect(x + 20, y + PLAYER_HEIGHT - 15, 4, 4);
         // Mouth
-        shapeRenderer.rect(position.x + 12, position.y + PLAYER_HEIGHT - 25, 8, 2);
+        shapeRenderer.rect(x + 12, y + PLAYER_HEIGHT - 25, 8, 2);
+    }
+    
+    /**
+     * Write the simulation state (everything update/jump/collisions depend on) to a buffer
+     */
+    public void writeState(ByteBuffer buffer) {
+        buffer.putFloat(position.x).putFloat(position.y);
+        buffer.putFloat(velocity.x).putFloat(velocity.y);
+        buffer.put((byte) ((onGround ? 1 : 0) | (canJump ? 2 : 0)));
+        buffer.putFloat(jumpBufferTimer).putFloat(coyoteTimer);
+    }
+    
+    /**
+     * Restore the simulation state written by writeState
+     */
+    public void readState(ByteBuffer buffer) {
+        position.set(buffer.getFloat(), buffer.getFloat());
+        velocity.set(buffer.getFloat(), buffer.getFloat());
+        byte flags = buffer.get();
+        onGround = (flags & 1) != 0;
+        canJump = (flags & 2) != 0;
+        jumpBufferTimer = buffer.getFloat();
+        coyoteTimer = buffer.getFloat();
+        updateBounds();
     }
     
     // Getters and setters
@@ -1,9 +1,14 @@
 package com.agustinbenitez.obsidianarcane;
 
+import com.agustinbenitez.obsidianarcane.level.RoomTemplateFormat;
+import com.agustinbenitez.obsidianarcane.level.RoomTemplateLibrary;
+import com.agustinbenitez.obsidianarcane.level.TileLayer;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -18,9 +23,18 @@ public class Room {
     private Rectangle bounds;
     private Color backgroundColor;
     private Color wallColor;
+    private Vector2 playerSpawn;
+    private List<Door> doors;
+    private TileLayer tiles;
+    
+    // Scratch storage for tile collision queries
+    private final FloatArray tileCandidates = new FloatArray();
+    private final Rectangle tileBounds = new Rectangle();
     
     // Room boundaries
     private static final float WALL_THICKNESS = 20f;
+    private static final float TILE_SIZE = 20f;
+    private static final short WALL_TILE = 1;
     
     public Room(float x, float y, float width, float height) {
         this.x = x;
@@ -31,26 +45,94 @@ public class Room {
         this.bounds = new Rectangle(x, y, width, height);
         this.backgroundColor = new Color(0.1f, 0.1f, 0.2f, 1.0f); // Dark blue background
         this.wallColor = new Color(0.4f, 0.4f, 0.5f, 1.0f); // Gray walls
+        this.playerSpawn = new Vector2(x + width / 2 - 16, y + 100);
+        this.doors = new ArrayList<>();
         
         // Create default platforms for a simple room
         createDefaultPlatforms();
     }
     
+    /**
+     * Create a room from a template of the binary room library
+     * Platforms touching the room edge (ground, walls, ceiling) are rasterized into the tile
+     * layer, one tile type per platform color; the interior ones stay platforms, as in the
+     * default room.
+     */
+    public Room(float x, float y, RoomTemplateLibrary library, int template) {
+        this.x = x;
+        this.y = y;
+        this.width = library.getWidth(template);
+        this.height = library.getHeight(template);
+        this.platforms = new ArrayList<>(library.getPlatformCount(template));
+        this.bounds = new Rectangle(x, y, width, height);
+        this.backgroundColor = new Color(0.1f, 0.1f, 0.2f, 1.0f);
+        this.wallColor = new Color(0.4f, 0.4f, 0.5f, 1.0f);
+        this.playerSpawn = new Vector2(x + width / 2 - 16, y + 100);
+        this.doors = new ArrayList<>(library.getDoorCount(template));
+        
+        tiles = new TileLayer(x, y, TILE_SIZE, (int) Math.ceil(width / TILE_SIZE), (int) Math.ceil(height / TILE_SIZE));
+        Array<Color> palette = new Array<>();
+        palette.add(null); // Type 0 is empty
+        int platformCount = library.getPlatformCount(template);
+        for (int i = 0; i < platformCount; i++) {
+            float platformX = library.getPlatformX(template, i);
+            float platformY = library.getPlatformY(template, i);
+            float platformWidth = library.getPlatformWidth(template, i);
+            float platformHeight = library.getPlatformHeight(template, i);
+            Color color = new Color(library.getPlatformColor(template, i));
+            boolean boundary = platformX <= 0 || platformY <= 0
+                || platformX + platformWidth >= width || platformY + platformHeight >= height;
+            if (boundary) {
+                int type = palette.indexOf(color, false);
+                if (type < 0) {
+                    type = palette.size;
+                    palette.add(color);
+                }
+                tiles.fillWorldRect(x + platformX, y + platformY, platformWidth, platformHeight, (short) type);
+            } else {
+                platforms.add(new Platform(x + platformX, y + platformY, platformWidth, platformHeight, color));
+            }
+        }
+        tiles.setPalette(palette.toArray(Color.class));
+        
+        int spawnCount = library.getSpawnCount(template);
+        for (int i = 0; i < spawnCount; i++) {
+            if (library.getSpawnType(template, i) == RoomTemplateFormat.SPAWN_PLAYER) {
+                playerSpawn.set(x + library.getSpawnX(template, i), y + library.getSpawnY(template, i));
+                break;
+            }
+        }
+        
+        int doorCount = library.getDoorCount(template);
+        for (int i = 0; i < doorCount; i++) {
+            doors.add(new Door(
+                x + library.getDoorX(template, i),
+                y + library.getDoorY(template, i),
+                library.getDoorWidth(template, i),
+                library.getDoorHeight(template, i),
+                library.getDoorTargetTemplate(template, i),
+                library.getDoorTargetDoor(template, i)));
+        }
+    }
+    
     /**
      * Create default platforms for the room
      */
     private void createDefaultPlatforms() {
-        // Ground platform
-        platforms.add(new Platform(x, y, width, WALL_THICKNESS));
+        // Walls, ground and ceiling live in the tile layer
+        tiles = new TileLayer(x, y, TILE_SIZE, (int) Math.ceil(width / TILE_SIZE), (int) Math.ceil(height / TILE_SIZE));
+        
+        // Ground
+        tiles.fillWorldRect(x, y, width, WALL_THICKNESS, WALL_TILE);
         
         // Left wall
-        platforms.add(new Platform(x, y, WALL_THICKNESS, height));
+        tiles.fillWorldRect(x, y, WALL_THICKNESS, height, WALL_TILE);
         
         // Right wall
-        platforms.add(new Platform(x + width - WALL_THICKNESS, y, WALL_THICKNESS, height));
+        tiles.fillWorldRect(x + width - WALL_THICKNESS, y, WALL_THICKNESS, height, WALL_TILE);
         
         // Ceiling
-        platforms.add(new Platform(x, y + height - WALL_THICKNESS, width, WALL_THICKNESS));
+        tiles.fillWorldRect(x, y + height - WALL_THICKNESS, width, WALL_THICKNESS, WALL_TILE);
         
         // Add some floating platforms
         platforms.add(new Platform(x + 100, y + 150, 200, 20));
@@ -76,16 +158,59 @@ public class Room {
                 handlePlatformCollision(player, platform);
             }
         }
+        
+        if (tiles != null) {
+            handleTileCollisions(player);
+        }
+    }
+    
+    /**
+     * Collide the player against the merged solid tile rectangles near it
+     */
+    private void handleTileCollisions(Player player) {
+        tileCandidates.clear();
+        tiles.queryCollisions(player.getBounds(), tileCandidates);
+        
+        float[] items = tileCandidates.items;
+        for (int i = 0; i < tileCandidates.size; i += TileLayer.COLLISION_STRIDE) {
+            tileBounds.set(items[i], items[i + 1], items[i + 2], items[i + 3]);
+            // Earlier resolutions may have moved the player out of this rectangle
+            if (!player.getBounds().overlaps(tileBounds)) {
+                continue;
+            }
+            int edges = (int) items[i + 4];
+            
+            Rectangle playerBounds = player.getBounds();
+            boolean horizontal = isHorizontalCollision(playerBounds, tileBounds);
+            boolean fromLeft = playerBounds.x + playerBounds.width / 2 < tileBounds.x + tileBounds.width / 2;
+            boolean fromBelow = playerBounds.y + playerBounds.height / 2 < tileBounds.y + tileBounds.height / 2;
+            boolean horizontalOpen = (edges & (fromLeft ? TileLayer.EDGE_LEFT : TileLayer.EDGE_RIGHT)) != 0;
+            boolean verticalOpen = (edges & (fromBelow ? TileLayer.EDGE_BOTTOM : TileLayer.EDGE_TOP)) != 0;
+            
+            // A side touching another solid tile is a seam, not a wall or floor
+            if (horizontal && !horizontalOpen) {
+                horizontal = false;
+            } else if (!horizontal && !verticalOpen) {
+                horizontal = true;
+            }
+            if (horizontal ? horizontalOpen : verticalOpen) {
+                resolveCollision(player, tileBounds, horizontal);
+            }
+        }
     }
     
     /**
      * Handle collision between player and a specific platform
      */
     private void handlePlatformCollision(Player player, Platform platform) {
-        Rectangle playerBounds = player.getBounds();
         Rectangle platformBounds = platform.getBounds();
-        Vector2 playerVelocity = player.getVelocity();
-        
+        resolveCollision(player, platformBounds, isHorizontalCollision(player.getBounds(), platformBounds));
+    }
+    
+    /**
+     * Whether the smallest overlap between the player and a solid is on the X axis
+     */
+    private boolean isHorizontalCollision(Rectangle playerBounds, Rectangle platformBounds) {
         // Calculate overlap on each axis
         float overlapX = Math.min(playerBounds.x + playerBounds.width - platformBounds.x,
                                  platformBounds.x + platformBounds.width - playerBounds.x);
@@ -94,16 +219,27 @@ public class Room {
         
         // Add small tolerance to prevent floating point precision issues
         final float TOLERANCE = 0.1f;
+        return overlapX < overlapY + TOLERANCE;
+    }
+    
+    /**
+     * Push the player out of a solid rectangle along the given axis
+     */
+    private void resolveCollision(Player player, Rectangle platformBounds, boolean horizontal) {
+        Rectangle playerBounds = player.getBounds();
+        Vector2 playerVelocity = player.getVelocity();
         
         // Resolve collision based on smallest overlap and player velocity
-        if (overlapX < overlapY + TOLERANCE) {
-            // Horizontal collision (walls)
-            if (playerVelocity.x < 0 && playerBounds.x < platformBounds.x + platformBounds.width / 2) {
+        if (horizontal) {
+            // Horizontal collision (walls), decided by which side the player's center is on
+            float playerCenterX = playerBounds.x + playerBounds.width / 2;
+            float platformCenterX = platformBounds.x + platformBounds.width / 2;
+            if (playerVelocity.x < 0 && playerCenterX > platformCenterX) {
                 // Player moving left and hitting right side of platform
-                player.handleWallCollision(platformBounds.x + platformBounds.width, false);
-            } else if (playerVelocity.x > 0 && playerBounds.x > platformBounds.x - platformBounds.width / 2) {
+                player.handleWallCollision(platformBounds.x + platformBounds.width, true);
+            } else if (playerVelocity.x > 0 && playerCenterX < platformCenterX) {
                 // Player moving right and hitting left side of platform
-                player.handleWallCollision(platformBounds.x, true);
+                player.handleWallCollision(platformBounds.x, false);
             }
         } else {
             // Vertical collision (ground/ceiling)
@@ -125,12 +261,36 @@ public class Room {
         shapeRenderer.setColor(backgroundColor);
         shapeRenderer.rect(x, y, width, height);
         
+        // Draw tiles
+        if (tiles != null) {
+            tiles.render(shapeRenderer, bounds);
+        }
+        
         // Draw platforms
         for (Platform platform : platforms) {
             platform.render(shapeRenderer);
         }
     }
     
+    /**
+     * Render the room, skipping platforms outside the given view rectangle
+     */
+    public void render(ShapeRenderer shapeRenderer, Rectangle view) {
+        shapeRenderer.setColor(backgroundColor);
+        shapeRenderer.rect(x, y, width, height);
+        
+        if (tiles != null) {
+            tiles.render(shapeRenderer, view);
+        }
+        
+        for (int i = 0; i < platforms.size(); i++) {
+            Platform platform = platforms.get(i);
+            if (platform.getBounds().overlaps(view)) {
+                platform.render(shapeRenderer);
+            }
+        }
+    }
+    
     /**
      * Check if a point is inside the room
      */
@@ -145,6 +305,35 @@ public class Room {
     public float getHeight() { return height; }
     public Rectangle getBounds() { return bounds; }
     public List<Platform> getPlatforms() { return platforms; }
+    public Vector2 getPlayerSpawn() { return playerSpawn; }
+    public List<Door> getDoors() { return doors; }
+    public TileLayer getTileLayer() { return tiles; }
+    
+    /**
+     * Set the tile layer (null for platform-only rooms)
+     */
+    public void setTileLayer(TileLayer tiles) {
+        this.tiles = tiles;
+    }
+    
+    /**
+     * Inner class representing a door linking to another room template
+     */
+    public static class Door {
+        private Rectangle bounds;
+        private int targetTemplate;
+        private int targetDoor;
+        
+        public Door(float x, float y, float width, float height, int targetTemplate, int targetDoor) {
+            this.bounds = new Rectangle(x, y, width, height);
+            this.targetTemplate = targetTemplate;
+            this.targetDoor = targetDoor;
+        }
+        
+        public Rectangle getBounds() { return bounds; }
+        public int getTargetTemplate() { return targetTemplate; }
+        public int getTargetDoor() { return targetDoor; }
+    }
     
     /**
      * Inner class representing a platform/solid surface
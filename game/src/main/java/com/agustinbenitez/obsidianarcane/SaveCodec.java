@@ -0,0 +1,114 @@
+package com.agustinbenitez.obsidianarcane;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Codificación de los archivos de guardado
+ *
+ * Formato:
+ * <pre>
+ * int MAGIC, byte versión, byte flags, int tamaño sin comprimir, datos
+ * </pre>
+ * Con FLAG_DEFLATE los datos van comprimidos con Deflater; sin él se guardan tal cual, de
+ * modo que pueden convivir slots comprimidos y sin comprimir. Los archivos antiguos (Java
+ * serialization sin cabecera) se siguen leyendo.
+ */
+public final class SaveCodec {
+
+    private static final int MAGIC = 0x4F415356; // "OASV"
+    private static final byte VERSION = 1;
+    private static final int HEADER_SIZE = 10;
+
+    public static final byte FLAG_DEFLATE = 1;
+
+    // Cabecera de Java serialization (archivos anteriores al codec)
+    private static final int JAVA_SERIALIZATION_MAGIC = 0xACED;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private SaveCodec() {
+    }
+
+    /**
+     * Codifica los datos; level es un nivel de Deflater (0-9) o -1 para no comprimir
+     */
+    public static byte[] encode(byte[] raw, int level) throws IOException {
+        boolean compress = level >= 0;
+        ByteArrayOutputStream out = new ByteArrayOutputStream(compress ? raw.length / 2 + HEADER_SIZE : raw.length + HEADER_SIZE);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).put(VERSION).put(compress ? FLAG_DEFLATE : 0).putInt(raw.length);
+        out.write(header.array());
+
+        if (compress) {
+            Deflater deflater = new Deflater(level);
+            try (DeflaterOutputStream deflate = new DeflaterOutputStream(out, deflater, BUFFER_SIZE)) {
+                deflate.write(raw);
+            } finally {
+                deflater.end();
+            }
+        } else {
+            out.write(raw);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Devuelve los datos originales, descomprimiendo si el archivo lo indica
+     */
+    public static byte[] decode(byte[] data) throws IOException {
+        if (data.length >= 2 && ((data[0] & 0xFF) << 8 | (data[1] & 0xFF)) == JAVA_SERIALIZATION_MAGIC) {
+            return data;
+        }
+        if (data.length < HEADER_SIZE) {
+            throw new IOException("Save file too short");
+        }
+        ByteBuffer header = ByteBuffer.wrap(data, 0, HEADER_SIZE);
+        if (header.getInt() != MAGIC) {
+            throw new IOException("Invalid save file (bad magic)");
+        }
+        byte version = header.get();
+        if (version != VERSION) {
+            throw new IOException("Unsupported save file version: " + version);
+        }
+        byte flags = header.get();
+        int size = header.getInt();
+
+        if ((flags & FLAG_DEFLATE) == 0) {
+            byte[] raw = new byte[data.length - HEADER_SIZE];
+            System.arraycopy(data, HEADER_SIZE, raw, 0, raw.length);
+            return raw;
+        }
+
+        byte[] raw = new byte[size];
+        Inflater inflater = new Inflater();
+        try (InputStream in = new InflaterInputStream(
+                new ByteArrayInputStream(data, HEADER_SIZE, data.length - HEADER_SIZE), inflater, BUFFER_SIZE)) {
+            int offset = 0;
+            while (offset < size) {
+                int read = in.read(raw, offset, size - offset);
+                if (read < 0) {
+                    throw new IOException("Truncated save file");
+                }
+                offset += read;
+            }
+        } finally {
+            inflater.end();
+        }
+        return raw;
+    }
+
+    /**
+     * Indica si un archivo codificado está comprimido
+     */
+    public static boolean isCompressed(byte[] data) {
+        return data.length >= HEADER_SIZE && ByteBuffer.wrap(data).getInt() == MAGIC && (data[5] & FLAG_DEFLATE) != 0;
+    }
+}
@@ -0,0 +1,99 @@
+package com.agustinbenitez.obsidianarcane;
+
+import com.agustinbenitez.obsidianarcane.level.TileLayer;
+import com.badlogic.gdx.math.Vector2;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Random;
+
+/**
+ * Compara tamaño y tiempo de codificación del codec de guardado para cada nivel de compresión
+ * Sin argumentos usa una partida sintética (estado + capas de tiles de varias salas + lista
+ * de entidades); con argumentos usa los archivos de guardado indicados.
+ * <pre>
+ * mvn exec:java -Dexec.mainClass=com.agustinbenitez.obsidianarcane.SaveCodecBenchmark [-Dexec.args="saves/slot_1.sav"]
+ * </pre>
+ */
+public class SaveCodecBenchmark {
+
+    private static final int[] LEVELS = {-1, 1, 3, 6, 9};
+    private static final int WARMUP_ITERATIONS = 20;
+    private static final int ITERATIONS = 100;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            run("synthetic", syntheticSave());
+        } else {
+            for (String path : args) {
+                run(path, SaveCodec.decode(Files.readAllBytes(Paths.get(path))));
+            }
+        }
+    }
+
+    private static void run(String name, byte[] raw) throws IOException {
+        System.out.println(name + ": " + raw.length + " bytes");
+        System.out.println(String.format("  %-6s %10s %8s %12s %12s", "level", "bytes", "ratio", "encode us", "decode us"));
+        for (int level : LEVELS) {
+            byte[] encoded = null;
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                encoded = SaveCodec.encode(raw, level);
+                SaveCodec.decode(encoded);
+            }
+
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                encoded = SaveCodec.encode(raw, level);
+            }
+            long encodeNanos = (System.nanoTime() - start) / ITERATIONS;
+
+            start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                SaveCodec.decode(encoded);
+            }
+            long decodeNanos = (System.nanoTime() - start) / ITERATIONS;
+
+            System.out.println(String.format("  %-6s %10d %7.2fx %12.1f %12.1f", level < 0 ? "none" : String.valueOf(level),
+                encoded.length, raw.length / (float) encoded.length, encodeNanos / 1000f, decodeNanos / 1000f));
+        }
+    }
+
+    /**
+     * Partida de ejemplo con el tamaño esperado cuando el estado incluya salas y entidades
+     */
+    private static byte[] syntheticSave() throws IOException {
+        Random random = new Random(42);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(new GameState("Benchmark", "Mundo 2D", new Vector2(800, 640)));
+
+            // Salas de 120x60 tiles con suelo, paredes y plataformas aleatorias
+            for (int room = 0; room < 24; room++) {
+                TileLayer tiles = new TileLayer(0, 0, 20, 120, 60);
+                tiles.fill(0, 0, 120, 2, (short) 1);
+                tiles.fill(0, 0, 2, 60, (short) 1);
+                tiles.fill(118, 0, 2, 60, (short) 1);
+                for (int i = 0; i < 30; i++) {
+                    tiles.fill(random.nextInt(110), random.nextInt(55), 3 + random.nextInt(10), 1, (short) (1 + random.nextInt(4)));
+                }
+                out.writeObject(tiles.toRle());
+            }
+
+            // Entidades: tipo, posición, vida y flags
+            ByteArrayOutputStream entityBytes = new ByteArrayOutputStream();
+            DataOutputStream entities = new DataOutputStream(entityBytes);
+            for (int i = 0; i < 2000; i++) {
+                entities.writeShort(random.nextInt(12));
+                entities.writeFloat(random.nextInt(2400));
+                entities.writeFloat(random.nextInt(1200));
+                entities.writeShort(100);
+                entities.writeByte(random.nextInt(4));
+            }
+            out.writeObject(entityBytes.toByteArray());
+        }
+        return bytes.toByteArray();
+    }
+}
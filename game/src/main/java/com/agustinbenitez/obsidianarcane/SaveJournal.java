@@ -0,0 +1,109 @@
+package com.agustinbenitez.obsidianarcane;
+
+import com.badlogic.gdx.files.FileHandle;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+/**
+ * Diario de cambios de un slot de guardado
+ *
+ * Junto a la instantánea completa (slot_N.sav) se añaden registros con solo las secciones
+ * modificadas del GameState. Al cargar se aplica la instantánea y después los registros
+ * en orden. Formato:
+ * <pre>
+ * cabecera: int MAGIC, long generación de la instantánea
+ * registro: int longitud, [int secciones, datos de las secciones], int CRC32
+ * </pre>
+ * Un registro incompleto o con CRC incorrecto (p.ej. cierre durante la escritura) marca
+ * el final del diario. Si la generación no coincide con la de la instantánea el diario
+ * es de una instantánea anterior y se ignora.
+ */
+public final class SaveJournal {
+
+    private static final int MAGIC = 0x4F414A31; // "OAJ1"
+    private static final int HEADER_SIZE = 12;
+
+    private SaveJournal() {
+    }
+
+    /**
+     * Codifica un registro con las secciones indicadas; si el diario aún no existe se
+     * antepone la cabecera. Los bytes se añaden al final del archivo del diario.
+     */
+    public static byte[] encodeRecord(boolean newJournal, long generation, GameState state, int sections) throws IOException {
+        ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream(64);
+        DataOutputStream payload = new DataOutputStream(payloadBytes);
+        payload.writeInt(sections);
+        state.writeSections(sections, payload);
+        payload.flush();
+        byte[] data = payloadBytes.toByteArray();
+
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length);
+
+        ByteArrayOutputStream recordBytes = new ByteArrayOutputStream(data.length + HEADER_SIZE + 8);
+        DataOutputStream record = new DataOutputStream(recordBytes);
+        if (newJournal) {
+            record.writeInt(MAGIC);
+            record.writeLong(generation);
+        }
+        record.writeInt(data.length);
+        record.write(data);
+        record.writeInt((int) crc.getValue());
+        record.flush();
+        return recordBytes.toByteArray();
+    }
+
+    /**
+     * Indica si el diario tiene algo tras la cabecera; si replay devolvió 0 eso solo puede
+     * ser un registro incompleto o corrupto
+     */
+    public static boolean hasRecords(FileHandle journal) {
+        return journal.exists() && journal.length() > HEADER_SIZE;
+    }
+
+    /**
+     * Aplica al estado los registros válidos del diario; devuelve cuántos se aplicaron,
+     * o -1 si el diario pertenece a otra instantánea y debe descartarse
+     */
+    public static int replay(FileHandle journal, GameState state) throws IOException {
+        if (!journal.exists()) {
+            return 0;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(journal.readBytes());
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+            return -1;
+        }
+        if (buffer.getLong() != state.getSnapshotGeneration()) {
+            return -1;
+        }
+
+        int applied = 0;
+        CRC32 crc = new CRC32();
+        while (buffer.remaining() >= 8) {
+            int length = buffer.getInt();
+            if (length < 4 || buffer.remaining() < length + 4) {
+                break;
+            }
+            byte[] data = new byte[length];
+            buffer.get(data);
+            int expectedCrc = buffer.getInt();
+
+            crc.reset();
+            crc.update(data, 0, data.length);
+            if ((int) crc.getValue() != expectedCrc) {
+                break;
+            }
+
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+            state.readSections(in.readInt(), in);
+            applied++;
+        }
+        return applied;
+    }
+}
@@ -8,16 +8,21 @@ import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.Input.Keys;
 import com.badlogic.gdx.math.Vector2;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import com.agustinbenitez.obsidianarcane.memory.ResourceScope;
+import com.agustinbenitez.obsidianarcane.input.ActionInput;
+import com.agustinbenitez.obsidianarcane.input.InputAction;
+import com.agustinbenitez.obsidianarcane.i18n.MessageKeys;
 
 /**
  * Pantalla para guardar y cargar partidas
  */
 public class SaveLoadScreen implements Screen {
     private GameStateManager game;
+    // Recursos nativos de esta pantalla (se liberan juntos en dispose)
+    private final ResourceScope resources = new ResourceScope("SaveLoadScreen", "menu");
     private SpriteBatch batch;
     private BitmapFont font;
     private BitmapFont titleFont;
@@ -56,15 +61,14 @@ public class SaveLoadScreen implements Screen {
         this.saveManager = SaveManager.getInstance();
         this.dateFormat = new SimpleDateFormat("dd/MM/yyyy HH:mm");
         
-        batch = new SpriteBatch();
-        font = new BitmapFont();
+        batch = resources.add(new SpriteBatch());
+        font = resources.add(FontManager.getInstance().createFont(FontManager.SIZE_SMALL));
         font.setColor(TEXT_COLOR);
         
-        titleFont = new BitmapFont();
+        titleFont = resources.add(FontManager.getInstance().createFont(FontManager.SIZE_LARGE));
         titleFont.setColor(TITLE_COLOR);
-        titleFont.getData().setScale(1.5f);
         
-        shapeRenderer = new ShapeRenderer();
+        shapeRenderer = resources.add(new ShapeRenderer());
         
         camera = new OrthographicCamera();
         camera.setToOrtho(false, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
@@ -90,16 +94,18 @@ public class SaveLoadScreen implements Screen {
     }
     
     private void handleInput() {
+        ActionInput input = ActionInput.getInstance();
+        
         // Navegación entre slots
-        if (Gdx.input.isKeyJustPressed(Keys.UP) || Gdx.input.isKeyJustPressed(Keys.W)) {
+        if (input.justPressed(InputAction.MOVE_UP)) {
             selectedSlot = Math.max(1, selectedSlot - 1);
         }
-        if (Gdx.input.isKeyJustPressed(Keys.DOWN) || Gdx.input.isKeyJustPressed(Keys.S)) {
+        if (input.justPressed(InputAction.MOVE_DOWN)) {
             selectedSlot = Math.min(saveManager.getMaxSaveSlots(), selectedSlot + 1);
         }
         
         // Confirmar acción
-        if (Gdx.input.isKeyJustPressed(Keys.ENTER) || Gdx.input.isKeyJustPressed(Keys.SPACE)) {
+        if (input.justPressed(InputAction.CONFIRM)) {
             if (isSaveMode) {
                 performSave();
             } else {
@@ -108,12 +114,12 @@ public class SaveLoadScreen implements Screen {
         }
         
         // Eliminar partida (solo en modo carga)
-        if (!isSaveMode && Gdx.input.isKeyJustPressed(Keys.DEL)) {
+        if (!isSaveMode && input.justPressed(InputAction.DELETE)) {
             performDelete();
         }
         
         // Volver al menú
-        if (Gdx.input.isKeyJustPressed(Keys.ESCAPE) || Gdx.input.isKeyJustPressed(Keys.M)) {
+        if (input.justPressed(InputAction.BACK)) {
             game.showMainMenu();
         }
     }
@@ -132,6 +138,7 @@ public class SaveLoadScreen implements Screen {
         boolean success = saveManager.saveGame(selectedSlot, currentGameState);
         if (success) {
             Gdx.app.log("SaveLoadScreen", "Partida guardada exitosamente en slot " + selectedSlot);
+            game.setCurrentSaveSlot(selectedSlot);
             // Volver al juego después de guardar
             game.resumeGame();
         } else {
@@ -152,7 +159,7 @@ public class SaveLoadScreen implements Screen {
         GameState loadedState = saveManager.loadGame(selectedSlot);
         if (loadedState != null) {
             Gdx.app.log("SaveLoadScreen", "Cargando partida: " + loadedState.getSaveName());
-            game.loadGame(loadedState);
+            game.loadGame(loadedState, selectedSlot);
         } else {
             Gdx.app.error("SaveLoadScreen", "Error al cargar la partida del slot " + selectedSlot);
         }
@@ -191,14 +198,14 @@ public class SaveLoadScreen implements Screen {
         float screenHeight = Gdx.graphics.getHeight();
         
         // Título
-        String title = isSaveMode ? localization.getText("save.title") : localization.getText("load.title");
+        String title = isSaveMode ? localization.getText(MessageKeys.SAVE_TITLE) : localization.getText(MessageKeys.LOAD_TITLE);
         float titleWidth = titleFont.getRegion().getRegionWidth() * title.length() * 0.6f;
         titleFont.draw(batch, title, (screenWidth - titleWidth) / 2, screenHeight - 50);
         
         // Instrucciones
         String instructions = isSaveMode ? 
-            localization.getText("save.instructions") :
-            localization.getText("load.instructions");
+            localization.getText(MessageKeys.SAVE_INSTRUCTIONS) :
+            localization.getText(MessageKeys.LOAD_INSTRUCTIONS);
         font.draw(batch, instructions, 50, screenHeight - 100);
         
         batch.end();
@@ -265,15 +272,15 @@ public class SaveLoadScreen implements Screen {
                 // Información de la partida guardada
                 String saveName = save.getSaveName();
                 String saveDate = dateFormat.format(save.getSaveDate());
-                String playTime = String.format("%.1f %s", save.getPlayTime() / 60f, localization.getText("save.minutes"));
-                String level = localization.getText("save.level") + " " + save.getPlayerLevel();
+                String playTime = String.format("%.1f %s", save.getPlayTime() / 60f, localization.getText(MessageKeys.SAVE_MINUTES));
+                String level = localization.getText(MessageKeys.SAVE_LEVEL) + " " + save.getPlayerLevel();
                 
-                font.draw(batch, localization.getText("save.slot") + " " + slot + ": " + saveName, slotX + 10, slotY + SLOT_HEIGHT - 15);
+                font.draw(batch, localization.getText(MessageKeys.SAVE_SLOT) + " " + slot + ": " + saveName, slotX + 10, slotY + SLOT_HEIGHT - 15);
                 font.draw(batch, saveDate + " | " + playTime + " | " + level, slotX + 10, slotY + SLOT_HEIGHT - 35);
-                font.draw(batch, localization.getText("save.village") + ": " + save.getVillageName(), slotX + 10, slotY + SLOT_HEIGHT - 55);
+                font.draw(batch, localization.getText(MessageKeys.SAVE_VILLAGE) + ": " + save.getVillageName(), slotX + 10, slotY + SLOT_HEIGHT - 55);
             } else {
                 // Slot vacío
-                font.draw(batch, localization.getText("save.slot") + " " + slot + ": " + localization.getText("save.empty"), slotX + 10, slotY + SLOT_HEIGHT - 30);
+                font.draw(batch, localization.getText(MessageKeys.SAVE_SLOT) + " " + slot + ": " + localization.getText(MessageKeys.SAVE_EMPTY), slotX + 10, slotY + SLOT_HEIGHT - 30);
             }
         }
         
@@ -296,9 +303,6 @@ public class SaveLoadScreen implements Screen {
     
     @Override
     public void dispose() {
-        batch.dispose();
-        font.dispose();
-        titleFont.dispose();
-        shapeRenderer.dispose();
+        resources.dispose();
     }
 }
\ No newline at end of file
@@ -3,25 +3,62 @@ package com.agustinbenitez.obsidianarcane;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.files.FileHandle;
 import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.Deflater;
 
 /**
  * Maneja el guardado y carga de partidas con 4 slots disponibles
+ * Cada slot tiene una instantánea completa y un diario de cambios (ver SaveJournal)
+ * donde el autoguardado añade solo las secciones modificadas.
+ *
+ * El estado se serializa en el hilo que guarda; la compresión (ver SaveCodec) y la
+ * escritura a disco se hacen en orden en un hilo de guardado. La instantánea se escribe en
+ * un archivo temporal que luego reemplaza a la anterior, así que un cierre a mitad de la
+ * escritura deja la anterior intacta. Si una escritura falla, el juego lo sabe por
+ * pollWriteFailure() y el siguiente autoguardado del slot vuelve a ser completo.
  */
 public class SaveManager {
     private static final String SAVE_DIRECTORY = "saves/";
     private static final String SAVE_FILE_PREFIX = "slot_";
     private static final String SAVE_FILE_EXTENSION = ".sav";
+    private static final String JOURNAL_EXTENSION = ".journal";
+    private static final String TEMP_EXTENSION = ".tmp";
     private static final int MAX_SAVE_SLOTS = 4;
     
+    // Tamaño del diario a partir del cual se compacta en una instantánea completa
+    private static final long COMPACTION_THRESHOLD_BYTES = 4096;
+    
     private static SaveManager instance;
     private Map<Integer, GameState> loadedSaves;
+    private Map<Integer, Long> journalSizes;
+    private final ExecutorService saveWorker;
+    private volatile int compressionLevel = Deflater.BEST_SPEED;
+    
+    // Slots cuya última escritura falló en el hilo de guardado: el disco no coincide con la cache
+    private final Set<Integer> failedSlots = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean writeFailed = new AtomicBoolean();
     
     private SaveManager() {
         loadedSaves = new HashMap<>();
+        journalSizes = new HashMap<>();
+        saveWorker = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "SaveWorker");
+            thread.setDaemon(true);
+            return thread;
+        });
         ensureSaveDirectoryExists();
-        loadAllSaves();
+        // Las partidas se deserializan bajo demanda (getSaveInfo/loadGame) y quedan en cache
     }
     
     public static SaveManager getInstance() {
@@ -53,30 +90,172 @@ public class SaveManager {
         
         try {
             gameState.updateSaveDate();
-            String fileName = SAVE_DIRECTORY + SAVE_FILE_PREFIX + slot + SAVE_FILE_EXTENSION;
-            FileHandle file = Gdx.files.local(fileName);
-            
-            // Serializar el estado del juego
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            ObjectOutputStream oos = new ObjectOutputStream(baos);
-            oos.writeObject(gameState);
-            oos.close();
+            writeSnapshot(slot, gameState);
             
-            // Escribir al archivo
-            file.writeBytes(baos.toByteArray(), false);
+            Gdx.app.log("SaveManager", "Partida guardada en slot " + slot + ": " + gameState.getSaveName());
+            return true;
             
-            // Actualizar cache
+        } catch (Exception e) {
+            Gdx.app.error("SaveManager", "Error al guardar partida en slot " + slot, e);
+            return false;
+        }
+    }
+    
+    /**
+     * Autoguardado incremental: añade al diario del slot solo las secciones modificadas
+     * Si el slot no tiene una instantánea de esta partida se hace un guardado completo,
+     * y si el diario crece demasiado se compacta.
+     */
+    public boolean autoSave(int slot, GameState gameState) {
+        if (slot < 1 || slot > MAX_SAVE_SLOTS) {
+            Gdx.app.error("SaveManager", "Invalid slot: " + slot + ". Must be between 1 and " + MAX_SAVE_SLOTS);
+            return false;
+        }
+        
+        boolean failed = failedSlots.remove(slot);
+        GameState snapshot = hasSave(slot) ? loadedSave(slot) : null;
+        if (failed || snapshot == null || snapshot.getSnapshotGeneration() != gameState.getSnapshotGeneration()) {
+            return saveGame(slot, gameState);
+        }
+        
+        gameState.updateSaveDate();
+        int sections = gameState.getDirtySections();
+        try {
+            long previousSize = journalSizes.getOrDefault(slot, 0L);
+            byte[] record = SaveJournal.encodeRecord(previousSize == 0, gameState.getSnapshotGeneration(), gameState, sections);
+            long journalSize = previousSize + record.length;
+            journalSizes.put(slot, journalSize);
+            gameState.clearDirty();
             loadedSaves.put(slot, gameState.copy());
             
-            Gdx.app.log("SaveManager", "Partida guardada en slot " + slot + ": " + gameState.getSaveName());
+            FileHandle journal = getJournalFile(slot);
+            saveWorker.execute(() -> {
+                try {
+                    journal.writeBytes(record, true);
+                } catch (Exception e) {
+                    writeFailed(slot, "Error al añadir al diario del slot " + slot, e);
+                }
+            });
+            
+            if (journalSize > COMPACTION_THRESHOLD_BYTES) {
+                writeSnapshot(slot, gameState);
+                Gdx.app.log("SaveManager", "Diario del slot " + slot + " compactado (" + journalSize + " bytes)");
+            }
             return true;
             
         } catch (Exception e) {
-            Gdx.app.error("SaveManager", "Error al guardar partida en slot " + slot, e);
+            Gdx.app.error("SaveManager", "Error en el autoguardado del slot " + slot, e);
             return false;
         }
     }
     
+    /**
+     * Escribe la instantánea completa de un slot y descarta su diario
+     */
+    private void writeSnapshot(int slot, GameState gameState) throws IOException {
+        // Nueva generación: un diario antiguo que sobreviva a un cierre inesperado se ignora
+        gameState.setSnapshotGeneration(Math.max(gameState.getSnapshotGeneration() + 1, System.currentTimeMillis()));
+        
+        String fileName = SAVE_DIRECTORY + SAVE_FILE_PREFIX + slot + SAVE_FILE_EXTENSION;
+        FileHandle file = Gdx.files.local(fileName);
+        FileHandle journal = getJournalFile(slot);
+        
+        // Serializar el estado del juego
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectOutputStream oos = new ObjectOutputStream(baos);
+        oos.writeObject(gameState);
+        oos.close();
+        byte[] raw = baos.toByteArray();
+        gameState.clearDirty();
+        
+        // Actualizar cache
+        loadedSaves.put(slot, gameState.copy());
+        journalSizes.put(slot, 0L);
+        
+        // Comprimir y escribir en el hilo de guardado
+        int level = compressionLevel;
+        saveWorker.execute(() -> {
+            try {
+                long start = System.nanoTime();
+                byte[] encoded = SaveCodec.encode(raw, level);
+                FileHandle temp = Gdx.files.local(fileName + TEMP_EXTENSION);
+                temp.writeBytes(encoded, false);
+                replace(temp.file().toPath(), file.file().toPath());
+                journal.delete();
+                Gdx.app.log("SaveManager", "Slot " + slot + ": " + raw.length + " -> " + encoded.length + " bytes en "
+                    + (System.nanoTime() - start) / 1000 + " us");
+            } catch (Exception e) {
+                writeFailed(slot, "Error al escribir el slot " + slot, e);
+            }
+        });
+    }
+    
+    /**
+     * Reemplaza target por source de una vez (si el sistema de archivos lo permite)
+     */
+    private static void replace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+    
+    /**
+     * Registra un fallo de escritura del hilo de guardado
+     */
+    private void writeFailed(int slot, String message, Exception e) {
+        Gdx.app.error("SaveManager", message, e);
+        failedSlots.add(slot);
+        writeFailed.set(true);
+    }
+    
+    /**
+     * Indica si alguna escritura ha fallado desde la última llamada (para avisar al jugador)
+     */
+    public boolean pollWriteFailure() {
+        return writeFailed.getAndSet(false);
+    }
+    
+    /**
+     * Espera a que terminen todas las escrituras pendientes
+     */
+    public void flush() {
+        try {
+            saveWorker.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Gdx.app.error("SaveManager", "Error esperando escrituras pendientes", e);
+        }
+    }
+    
+    /**
+     * Nivel de compresión de Deflater para nuevas instantáneas (0-9), o -1 para guardarlas
+     * sin comprimir. Los slots existentes se leen en cualquiera de los dos formatos.
+     */
+    public void setCompressionLevel(int level) {
+        this.compressionLevel = Math.max(-1, Math.min(Deflater.BEST_COMPRESSION, level));
+    }
+    
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+    
+    private FileHandle getJournalFile(int slot) {
+        return Gdx.files.local(SAVE_DIRECTORY + SAVE_FILE_PREFIX + slot + JOURNAL_EXTENSION);
+    }
+    
+    /**
+     * Estado en cache del slot (cargándolo si hace falta), sin copiar
+     */
+    private GameState loadedSave(int slot) {
+        if (!loadedSaves.containsKey(slot)) {
+            loadGame(slot);
+        }
+        return loadedSaves.get(slot);
+    }
+    
     /**
      * Carga una partida del slot especificado
      */
@@ -95,18 +274,39 @@ public class SaveManager {
             String fileName = SAVE_DIRECTORY + SAVE_FILE_PREFIX + slot + SAVE_FILE_EXTENSION;
             FileHandle file = Gdx.files.local(fileName);
             
+            // Asegurar que el archivo refleja los guardados en cola
+            flush();
+            
             if (!file.exists()) {
                 Gdx.app.log("SaveManager", "No existe partida guardada en slot " + slot);
                 return null;
             }
             
-            // Leer y deserializar
-            byte[] data = file.readBytes();
+            // Leer, descomprimir si hace falta y deserializar
+            byte[] data = SaveCodec.decode(file.readBytes());
             ByteArrayInputStream bais = new ByteArrayInputStream(data);
             ObjectInputStream ois = new ObjectInputStream(bais);
             GameState gameState = (GameState) ois.readObject();
             ois.close();
             
+            // Aplicar los cambios del diario y compactarlo en una instantánea nueva; también si
+            // se paró en un registro corrupto, para no añadir registros detrás de él
+            FileHandle journal = getJournalFile(slot);
+            int applied = SaveJournal.replay(journal, gameState);
+            if (applied > 0) {
+                writeSnapshot(slot, gameState);
+                Gdx.app.log("SaveManager", "Slot " + slot + ": " + applied + " cambios del diario aplicados");
+            } else if (applied == 0 && SaveJournal.hasRecords(journal)) {
+                writeSnapshot(slot, gameState);
+                Gdx.app.error("SaveManager", "Slot " + slot + ": diario con un registro corrupto, se descarta");
+            } else if (applied < 0) {
+                journal.delete();
+                journalSizes.put(slot, 0L);
+            } else {
+                journalSizes.put(slot, journal.exists() ? journal.length() : 0L);
+            }
+            gameState.clearDirty();
+            
             // Actualizar cache
             loadedSaves.put(slot, gameState.copy());
             
@@ -129,12 +329,15 @@ public class SaveManager {
         }
         
         try {
+            flush();
             String fileName = SAVE_DIRECTORY + SAVE_FILE_PREFIX + slot + SAVE_FILE_EXTENSION;
             FileHandle file = Gdx.files.local(fileName);
             
             if (file.exists()) {
                 file.delete();
+                getJournalFile(slot).delete();
                 loadedSaves.remove(slot);
+                journalSizes.remove(slot);
                 Gdx.app.log("SaveManager", "Partida eliminada del slot " + slot);
                 return true;
             } else {
@@ -179,7 +382,7 @@ public class SaveManager {
     /**
      * Carga todas las partidas guardadas en memoria para acceso rápido
      */
-    private void loadAllSaves() {
+    public void loadAllSaves() {
         for (int slot = 1; slot <= MAX_SAVE_SLOTS; slot++) {
             if (hasSave(slot)) {
                 loadGame(slot); // Esto las pondrá en cache
@@ -212,6 +415,8 @@ public class SaveManager {
      * Limpia el cache de partidas cargadas
      */
     public void clearCache() {
+        flush();
         loadedSaves.clear();
+        journalSizes.clear();
     }
 }
\ No newline at end of file
@@ -3,13 +3,38 @@ package com.agustinbenitez.obsidianarcane;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.Input.Keys;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.agustinbenitez.obsidianarcane.anim.PlayerSprites;
+import com.agustinbenitez.obsidianarcane.audio.AudioEngine;
+import com.agustinbenitez.obsidianarcane.audio.AudioMixer;
+import com.agustinbenitez.obsidianarcane.audio.GameSounds;
+import com.agustinbenitez.obsidianarcane.i18n.MessageKeys;
+import com.agustinbenitez.obsidianarcane.events.EventBus;
+import com.agustinbenitez.obsidianarcane.events.GameEventListener;
+import com.agustinbenitez.obsidianarcane.events.GameEvents;
+import com.agustinbenitez.obsidianarcane.input.ActionInput;
+import com.agustinbenitez.obsidianarcane.input.InputAction;
+import com.agustinbenitez.obsidianarcane.jobs.JobSystem;
+import com.agustinbenitez.obsidianarcane.jobs.Task;
+import com.agustinbenitez.obsidianarcane.jobs.TaskGraph;
+import com.agustinbenitez.obsidianarcane.memory.MemoryOverlay;
+import com.agustinbenitez.obsidianarcane.memory.ResourceScope;
+import com.agustinbenitez.obsidianarcane.render.LightSystem;
+import com.agustinbenitez.obsidianarcane.render.PostProcessor;
+import com.agustinbenitez.obsidianarcane.render.RenderSnapshot;
+import com.agustinbenitez.obsidianarcane.render.ScaledRenderTarget;
+import com.agustinbenitez.obsidianarcane.stats.RunStatsLog;
 
 /**
  * Simple game screen with 2D room-based gameplay and character physics
@@ -17,14 +42,80 @@ import com.badlogic.gdx.Input.Keys;
 public class SimpleGameScreen implements Screen {
     
     private GameStateManager game;
+    // Native resources owned by this screen (released together in dispose)
+    private final ResourceScope resources = new ResourceScope("SimpleGameScreen", "game");
     private SpriteBatch batch;
+    private BitmapFont titleFont;
     private BitmapFont font;
+    private BitmapFont smallFont;
     private GlyphLayout glyphLayout;
     private ShapeRenderer shapeRenderer;
     private OrthographicCamera camera;
+    private ScaledRenderTarget renderTarget;
+    private PostProcessor postProcessor;
+    
+    // Torches on the room's platforms plus a light carried by the player
+    private static final Color TORCH_COLOR = new Color(1f, 0.62f, 0.28f, 1f);
+    private static final float TORCH_HEIGHT = 36f; // Above the platform top
+    private static final Color PLAYER_LIGHT_COLOR = new Color(0.55f, 0.6f, 1f, 1f);
+    private LightSystem lighting;
+    private int playerLight = -1;
+    private GameConfig gameConfig;
     private GameWorld gameWorld;
     private LocalizationManager localization;
     
+    // 1x1 white texture used to draw particles
+    private Texture particleTexture;
+    private TextureRegion particleRegion;
+    
+    // Animated player sprite (replaces the placeholder shape drawn by the world)
+    private PlayerSprites playerSprites;
+    private int playerSprite;
+    
+    // Sound effects follow world events; the listener follows the camera
+    private AudioEngine audio;
+    
+    // Frame pacing / quality overlay (F3)
+    private FramePacer framePacer;
+    private boolean showPerformance;
+    private final MemoryOverlay memoryOverlay = new MemoryOverlay();
+    
+    // Incremental autosave (only dirty sections are appended to the slot journal)
+    private static final float AUTOSAVE_INTERVAL = 30f;
+    private float autosaveTimer;
+    private static final float SAVE_ERROR_SECONDS = 4f;
+    private float saveErrorTimer;
+    
+    // Run statistics
+    private RunStatsLog runStats;
+    
+    // World event listeners registered by this screen (removed in dispose)
+    private final GameEventListener<GameEvents.RoomEntered> roomEnteredListener = event -> runStats.enterRoom(event.room);
+    private final GameEventListener<GameEvents.PlayerRespawned> respawnedListener = event -> {
+        if (event.died) {
+            runStats.playerDied();
+        }
+    };
+    private GameEventListener<GameEvents.PlayerJumped> jumpSoundListener;
+    private GameEventListener<GameEvents.PlayerLanded> landSoundListener;
+    
+    private ActionInput input;
+    private LatencyTracker latencyTracker;
+    
+    // Optional simulation thread (null = the world is updated inline, once per frame)
+    private SimulationThread simulation;
+    private RenderSnapshot snapshot;
+    
+    // Recent world states for the debug rewind key and in-memory quick save/load
+    private WorldRewind rewind;
+    private boolean rewinding;
+    
+    // Inline updates run as a task graph on the shared job system
+    private static final int TRACE_FRAMES = 120;
+    private JobSystem jobs;
+    private TaskGraph frameGraph;
+    private float frameDelta;
+    
     // Pause menu state
     private boolean isPaused;
     private int selectedMenuOption;
@@ -33,18 +124,72 @@ public class SimpleGameScreen implements Screen {
         this.game = game;
         this.localization = LocalizationManager.getInstance();
         
-        batch = new SpriteBatch();
-        font = new BitmapFont();
-        font.getData().setScale(1.5f);
+        batch = resources.add(new SpriteBatch());
+        FontManager fonts = FontManager.getInstance();
+        titleFont = resources.add(fonts.createFont(FontManager.SIZE_HEADING));
+        font = resources.add(fonts.createFont(FontManager.SIZE_LARGE));
+        smallFont = resources.add(fonts.createFont(FontManager.SIZE_SMALL));
         glyphLayout = new GlyphLayout();
-        shapeRenderer = new ShapeRenderer();
+        shapeRenderer = resources.add(new ShapeRenderer());
+        
+        Pixmap pixel = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
+        pixel.setColor(Color.WHITE);
+        pixel.fill();
+        particleTexture = resources.add(new Texture(pixel));
+        pixel.dispose();
+        particleRegion = new TextureRegion(particleTexture);
         
-        // Setup camera
+        // Setup camera; the world is drawn offscreen at the configured internal resolution
         camera = new OrthographicCamera();
         camera.setToOrtho(false, 800, 600);
+        renderTarget = resources.add(new ScaledRenderTarget(800, 600));
+        postProcessor = resources.add(new PostProcessor());
+        lighting = resources.add(new LightSystem(postProcessor.getFrameBufferPool()));
+        gameConfig = GameConfig.getInstance();
         
         // Create game world
         gameWorld = new GameWorld();
+        if (game.getCurrentGameState() != null) {
+            gameWorld.restoreTiles(game.getCurrentGameState());
+        }
+        playerSprites = resources.add(new PlayerSprites(1));
+        playerSprite = playerSprites.getSystem().add(0, 0, playerSprites.idle);
+        gameWorld.setDrawPlayerShape(false);
+        framePacer = FramePacer.getInstance();
+        input = ActionInput.getInstance();
+        latencyTracker = LatencyTracker.getInstance();
+        latencyTracker.timelineRestarted(); // A new run starts again at tick 0
+        
+        // Each game screen is one run of the roguelike loop
+        runStats = RunStatsLog.getInstance();
+        runStats.beginRun();
+        runStats.enterRoom(gameWorld.getCurrentRoomIndex());
+        gameWorld.getEvents().subscribe(GameEvents.ROOM_ENTERED, roomEnteredListener);
+        gameWorld.getEvents().subscribe(GameEvents.PLAYER_RESPAWNED, respawnedListener);
+        
+        // World events may be dispatched on the simulation thread; the mixer is thread-safe
+        audio = AudioEngine.getInstance();
+        GameSounds sounds = audio.getSounds();
+        if (sounds != null) {
+            jumpSoundListener = event -> audio.play(sounds.jump, AudioMixer.SFX, 0.7f, event.x, event.y);
+            landSoundListener = event -> audio.play(sounds.land, AudioMixer.SFX,
+                MathUtils.clamp(event.impactSpeed / 600f, 0.2f, 1f), event.x, event.y);
+            gameWorld.getEvents().subscribe(GameEvents.PLAYER_JUMPED, jumpSoundListener);
+            gameWorld.getEvents().subscribe(GameEvents.PLAYER_LANDED, landSoundListener);
+        }
+        audio.playMusic(Gdx.files.internal(GameSounds.MUSIC_FILE));
+        
+        rewind = new WorldRewind(WorldRewind.DEFAULT_SECONDS, SimulationThread.TICK_RATE);
+        rewind.capture(gameWorld);
+        
+        // From here on the world belongs to the simulation thread, if enabled
+        if (gameConfig.isThreadedSimulation()) {
+            simulation = new SimulationThread(gameWorld, framePacer, rewind);
+            simulation.start();
+        } else {
+            jobs = game.getJobSystem();
+            frameGraph = buildFrameGraph();
+        }
         
         // Initialize pause state
         isPaused = false;
@@ -57,83 +202,341 @@ public class SimpleGameScreen implements Screen {
     
     @Override
     public void render(float delta) {
-        // Clear screen with dark background
-        Gdx.gl.glClearColor(0.05f, 0.05f, 0.1f, 1.0f);
-        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
-        
         // Handle input
         handleInput();
         
         // Update game world only if not paused
-        if (!isPaused) {
-            gameWorld.update(delta);
+        if (simulation != null) {
+            simulation.setPaused(isPaused);
+            snapshot = simulation.acquireSnapshot();
+            latencyTracker.tickCompleted(snapshot.tick);
+            if (!isPaused) {
+                updateAutosave(delta);
+            }
+        } else if (!isPaused) {
+            if (rewinding) {
+                rewind.rewind(gameWorld);
+            } else {
+                rewind.finishRestore(gameWorld);
+                frameDelta = delta;
+                jobs.execute(frameGraph);
+            }
+            latencyTracker.tickCompleted(gameWorld.getTick());
         }
         
         // Update camera
         camera.update();
+        audio.setListener(camera.position.x, camera.position.y);
+        
+        // Lights are drawn into their own low-resolution buffer before the world target
+        float alpha = simulation != null ? SimulationThread.getInterpolationAlpha(snapshot) : 1f;
+        updateLights(alpha);
+        updatePlayerSprite(alpha, isPaused ? 0f : delta);
+        lighting.renderLightmap(camera, renderTarget.getHeight() > 0 ? renderTarget.getHeight() : 600, delta);
+        
+        // Render game world into the offscreen target
+        renderTarget.begin(gameConfig.getRenderHeight(), framePacer.getRenderScale(), gameConfig.isSmoothUpscale());
+        Gdx.gl.glClearColor(0.05f, 0.05f, 0.1f, 1.0f);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
         
-        // Render game world
         shapeRenderer.setProjectionMatrix(camera.combined);
         shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-        gameWorld.render(shapeRenderer);
+        if (simulation != null) {
+            gameWorld.render(shapeRenderer, camera, snapshot, alpha);
+        } else {
+            gameWorld.render(shapeRenderer, camera);
+        }
         shapeRenderer.end();
         
-        // Render UI
         batch.setProjectionMatrix(camera.combined);
         batch.begin();
+        playerSprites.getSystem().render(batch);
+        if (simulation != null) {
+            snapshot.renderParticles(batch, particleRegion);
+        } else {
+            gameWorld.renderParticles(batch, particleRegion);
+        }
+        lighting.composite(batch);
+        batch.end();
+        renderTarget.end();
+        
+        // Post-process and upscale to the window; the UI is drawn on top at native resolution
+        postProcessor.render(renderTarget, gameConfig);
+        
+        // Render UI
+        batch.begin();
         
         if (!isPaused) {
             // Instructions in top-left corner
-            font.getData().setScale(1.0f);
-            font.setColor(Color.WHITE);
-            font.draw(batch, "WASD/Arrow Keys: Move", 10, 590);
-            font.draw(batch, "SPACE: Jump", 10, 570);
-            font.draw(batch, "ESC: Pause", 10, 550);
+            smallFont.setColor(Color.WHITE);
+            smallFont.draw(batch, "WASD/Arrow Keys: Move", 10, 590);
+            smallFont.draw(batch, "SPACE: Jump  K: Attack", 10, 570);
+            smallFont.draw(batch, "ESC: Pause", 10, 550);
+            smallFont.draw(batch, "F5/F9: Quick save/load  BACKSPACE: Rewind", 10, 530);
+            
+            // A save write failed on the save worker: tell the player for a few seconds
+            if (SaveManager.getInstance().pollWriteFailure()) {
+                saveErrorTimer = SAVE_ERROR_SECONDS;
+            }
+            if (saveErrorTimer > 0) {
+                saveErrorTimer -= delta;
+                smallFont.setColor(Color.RED);
+                smallFont.draw(batch, localization.getText(MessageKeys.SAVE_WRITE_FAILED), 10, 500);
+            }
+            
+            if (showPerformance) {
+                memoryOverlay.update(delta);
+                renderPerformanceOverlay();
+            }
         } else {
             // Render pause menu
             renderPauseMenu();
         }
         
         batch.end();
+        
+        // Restore the full-window viewport for the next screen
+        Gdx.gl.glViewport(0, 0, Gdx.graphics.getBackBufferWidth(), Gdx.graphics.getBackBufferHeight());
+    }
+    
+    /**
+     * Follow the room shown this frame and move the player's light
+     */
+    private void updateLights(float alpha) {
+        Room room;
+        float playerX;
+        float playerY;
+        Player player = gameWorld.getPlayer();
+        if (simulation != null) {
+            room = snapshot.roomIndex >= 0 && snapshot.roomIndex < gameWorld.getRooms().size()
+                ? gameWorld.getRooms().get(snapshot.roomIndex) : null;
+            playerX = snapshot.getPlayerX(alpha);
+            playerY = snapshot.getPlayerY(alpha);
+        } else {
+            room = gameWorld.getCurrentRoom();
+            playerX = player.getPosition().x;
+            playerY = player.getPosition().y;
+        }
+        if (lighting.setRoom(room) && room != null) {
+            // Static torches above interior platforms: their shadows are computed once and cached
+            for (Room.Platform platform : room.getPlatforms()) {
+                Rectangle bounds = platform.getBounds();
+                if (isInteriorPlatform(room, bounds)) {
+                    lighting.addLight(bounds.x + bounds.width / 2, bounds.y + bounds.height + TORCH_HEIGHT, 230f,
+                        TORCH_COLOR, 0.9f, 0.15f, false);
+                }
+            }
+            playerLight = lighting.addLight(playerX, playerY, 260f, PLAYER_LIGHT_COLOR, 0.75f, 0f, true);
+        }
+        if (playerLight >= 0) {
+            lighting.setLightPosition(playerLight, playerX + player.getWidth() / 2, playerY + player.getHeight() / 2);
+        }
+    }
+    
+    /**
+     * A platform that does not touch the room edges (floor, walls, ceiling) and leaves
+     * room for a torch above it inside the room
+     */
+    private static boolean isInteriorPlatform(Room room, Rectangle bounds) {
+        Rectangle roomBounds = room.getBounds();
+        return bounds.x > roomBounds.x && bounds.y > roomBounds.y
+            && bounds.x + bounds.width < roomBounds.x + roomBounds.width
+            && bounds.y + bounds.height + TORCH_HEIGHT < roomBounds.y + roomBounds.height;
+    }
+    
+    /**
+     * Pick the player's animation from the movement shown this frame and advance it
+     */
+    private void updatePlayerSprite(float alpha, float delta) {
+        Player player = gameWorld.getPlayer();
+        float x;
+        float y;
+        if (simulation != null) {
+            x = snapshot.getPlayerX(alpha);
+            y = snapshot.getPlayerY(alpha);
+            playerSprites.setMotion(playerSprite, snapshot.playerVelocityX, snapshot.playerVelocityY,
+                snapshot.playerOnGround);
+        } else {
+            x = player.getPosition().x;
+            y = player.getPosition().y;
+            playerSprites.setMotion(playerSprite, player.getVelocity().x, player.getVelocity().y,
+                player.isOnGround());
+        }
+        playerSprites.getSystem().setPosition(playerSprite, x + player.getWidth() / 2, y);
+        playerSprites.getSystem().update(delta);
+    }
+    
+    /**
+     * Per-frame update graph: world stages in order, run statistics alongside them and the
+     * autosave (which touches the save slots) on the main thread once the player has moved
+     */
+    private TaskGraph buildFrameGraph() {
+        TaskGraph graph = new TaskGraph("game-frame");
+        Task world = graph.add("world", () -> {
+            gameWorld.applyQuality(framePacer);
+            gameWorld.updatePlayer(frameDelta);
+        });
+        Task events = graph.add("events", gameWorld::dispatchEvents).dependsOn(world);
+        Task effects = graph.add("effects", () -> gameWorld.updateEffects(frameDelta)).dependsOn(events);
+        graph.add("rewind-capture", () -> rewind.capture(gameWorld)).dependsOn(effects);
+        graph.add("run-stats", () -> runStats.addTime(frameDelta));
+        graph.addMainThread("autosave", () -> updateAutosave(frameDelta)).dependsOn(world);
+        return graph;
+    }
+    
+    /**
+     * Copy the tile layers changed since the last save into the game state
+     */
+    public void captureTiles(GameState state) {
+        gameWorld.captureTiles(state);
+    }
+    
+    /**
+     * Track play time and periodically autosave the current game
+     */
+    private void updateAutosave(float delta) {
+        GameState state = game.getCurrentGameState();
+        if (state == null) {
+            return;
+        }
+        state.addPlayTime(delta);
+        
+        autosaveTimer += delta;
+        if (autosaveTimer >= AUTOSAVE_INTERVAL && game.getCurrentSaveSlot() > 0) {
+            autosaveTimer = 0;
+            if (simulation != null) {
+                state.setPlayerPosition(new Vector2(snapshot.playerX, snapshot.playerY));
+            } else {
+                state.setPlayerPosition(gameWorld.getPlayer().getPosition());
+            }
+            captureTiles(state);
+            SaveManager.getInstance().autoSave(game.getCurrentSaveSlot(), state);
+        }
+    }
+    
+    /**
+     * Frame pacing metrics in the top-right corner
+     */
+    private void renderPerformanceOverlay() {
+        smallFont.setColor(Color.LIGHT_GRAY);
+        smallFont.draw(batch, localization.format(MessageKeys.GAME_FPS, Gdx.graphics.getFramesPerSecond()), 620, 590);
+        smallFont.draw(batch, String.format("Frame %.2f ms  Work %.2f ms", framePacer.getAverageFrameMillis(),
+            framePacer.getAverageWorkMillis()), 620, 570);
+        int particleCount = simulation != null ? snapshot.particleCount : gameWorld.getParticles().getLiveCount();
+        smallFont.draw(batch, String.format("Quality %d  Particles %d", framePacer.getQualityLevel(),
+            particleCount), 620, 550);
+        smallFont.draw(batch, "Render " + renderTarget.getWidth() + "x" + renderTarget.getHeight(), 620, 530);
+        smallFont.draw(batch, String.format("Input p50 %.1f p95 %.1f ms (%d)", latencyTracker.getPercentileMillis(0.5f),
+            latencyTracker.getPercentileMillis(0.95f), latencyTracker.getSampleCount()), 620, 510);
+        smallFont.draw(batch, String.format("Rewind %.1f s  capture %.2f us",
+            rewind.getRecordedTicks() / (float) SimulationThread.TICK_RATE, rewind.getAverageCaptureMicros()), 620, 490);
+        smallFont.draw(batch, postProcessor.formatTimings(), 620, 470);
+        smallFont.draw(batch, String.format("Lights %d (%d dynamic)  %d verts", lighting.getLightCount(),
+            lighting.getDynamicLightCount(), lighting.getLastVertexCount()), 620, 450);
+        smallFont.draw(batch, String.format("Audio %d voices  mix %.1f us", audio.getMixer().getActiveVoices(),
+            audio.getAverageMixMicros()), 620, 430);
+        memoryOverlay.draw(batch, smallFont, 620, 410);
     }
     
     private void handleInput() {
         if (isPaused) {
             // Handle pause menu input
             int menuOptionsCount = 3; // Resume, Restart, Main Menu
-            if (Gdx.input.isKeyJustPressed(Keys.UP) || Gdx.input.isKeyJustPressed(Keys.W)) {
+            if (input.justPressed(InputAction.MOVE_UP)) {
                 selectedMenuOption = (selectedMenuOption - 1 + menuOptionsCount) % menuOptionsCount;
             }
-            if (Gdx.input.isKeyJustPressed(Keys.DOWN) || Gdx.input.isKeyJustPressed(Keys.S)) {
+            if (input.justPressed(InputAction.MOVE_DOWN)) {
                 selectedMenuOption = (selectedMenuOption + 1) % menuOptionsCount;
             }
-            if (Gdx.input.isKeyJustPressed(Keys.ENTER) || Gdx.input.isKeyJustPressed(Keys.SPACE)) {
+            if (input.justPressed(InputAction.CONFIRM)) {
                 handlePauseMenuSelection();
             }
-            if (Gdx.input.isKeyJustPressed(Keys.ESCAPE)) {
+            if (input.justPressed(InputAction.BACK) || input.justPressed(InputAction.PAUSE)) {
                 isPaused = false; // Resume game
             }
         } else {
-            // Normal game input
-            boolean moveLeft = Gdx.input.isKeyPressed(Keys.A) || Gdx.input.isKeyPressed(Keys.LEFT);
-            boolean moveRight = Gdx.input.isKeyPressed(Keys.D) || Gdx.input.isKeyPressed(Keys.RIGHT);
-            boolean jump = Gdx.input.isKeyPressed(Keys.SPACE) || Gdx.input.isKeyPressed(Keys.W) || Gdx.input.isKeyPressed(Keys.UP);
+            // Normal game input; jump presses are buffered by the player
+            boolean moveLeft = input.isDown(InputAction.MOVE_LEFT);
+            boolean moveRight = input.isDown(InputAction.MOVE_RIGHT);
+            boolean jump = input.justPressed(InputAction.JUMP);
+            
+            // Pass input to game world; new presses are consumed by the next tick
+            if (simulation != null) {
+                simulation.setInput(moveLeft, moveRight, jump, input.getPressTime(InputAction.JUMP));
+            } else {
+                gameWorld.handleInput(moveLeft, moveRight, jump, input.getPressAge(InputAction.JUMP));
+            }
+            trackLatency(InputAction.JUMP);
+            trackLatency(InputAction.MOVE_LEFT);
+            trackLatency(InputAction.MOVE_RIGHT);
             
-            // Pass input to game world
-            gameWorld.handleInput(moveLeft, moveRight, jump);
+            // Attack (animation only for now)
+            if (input.justPressed(InputAction.ATTACK)) {
+                playerSprites.getSystem().play(playerSprite, playerSprites.attack);
+                if (audio.getSounds() != null) {
+                    Vector2 position = gameWorld.getPlayer().getPosition();
+                    audio.play(audio.getSounds().attack, AudioMixer.SFX, 0.8f, position.x, position.y);
+                }
+            }
             
             // Pause menu
-            if (Gdx.input.isKeyJustPressed(Keys.ESCAPE)) {
+            if (input.justPressed(InputAction.PAUSE)) {
                 isPaused = true;
             }
             
+            // Performance overlay
+            if (input.justPressed(InputAction.PERFORMANCE_OVERLAY)) {
+                showPerformance = !showPerformance;
+            }
+            
+            // Record the next frames' task timings to a Chrome trace
+            if (input.justPressed(InputAction.CAPTURE_TRACE) && jobs != null) {
+                jobs.captureTrace(TRACE_FRAMES);
+            }
+            
+            // Hold to step back through the recent ticks (debug)
+            rewinding = input.isDown(InputAction.REWIND);
+            if (simulation != null) {
+                simulation.setRewinding(rewinding);
+            }
+            
+            // In-memory quick save/load of the whole world
+            if (input.justPressed(InputAction.QUICK_SAVE)) {
+                if (simulation != null) {
+                    simulation.requestQuickSave();
+                } else {
+                    rewind.quickSave(gameWorld);
+                }
+            }
+            if (input.justPressed(InputAction.QUICK_LOAD)) {
+                if (simulation != null) {
+                    simulation.requestQuickLoad();
+                } else {
+                    rewind.quickLoad(gameWorld);
+                }
+            }
+            
             // Reset player position (for testing)
-            if (Gdx.input.isKeyJustPressed(Keys.R)) {
-                gameWorld.resetPlayer();
+            if (input.justPressed(InputAction.RESET_PLAYER)) {
+                if (simulation != null) {
+                    simulation.requestReset();
+                } else {
+                    gameWorld.resetPlayer();
+                }
             }
         }
     }
     
+    /**
+     * Tag a press consumed by the simulation for input-to-photon measurement
+     */
+    private void trackLatency(InputAction action) {
+        if (input.justPressed(action)) {
+            long tick = simulation != null ? simulation.getCompletedTick() : gameWorld.getTick();
+            latencyTracker.inputConsumed(input.getPressTime(action), tick + 1);
+        }
+    }
+    
     /**
      * Render the pause menu overlay
      */
@@ -164,19 +567,17 @@ public class SimpleGameScreen implements Screen {
         batch.begin();
         
         // Menu title
-        font.getData().setScale(2.0f);
-        font.setColor(Color.WHITE);
-        String pauseTitle = localization.getText("pause.title");
-        glyphLayout.setText(font, pauseTitle);
+        titleFont.setColor(Color.WHITE);
+        String pauseTitle = localization.getText(MessageKeys.PAUSE_TITLE);
+        glyphLayout.setText(titleFont, pauseTitle);
         float titleWidth = glyphLayout.width;
-        font.draw(batch, pauseTitle, 400 - titleWidth / 2, 370);
+        titleFont.draw(batch, pauseTitle, 400 - titleWidth / 2, 370);
         
         // Menu options
-        font.getData().setScale(1.5f);
         String[] pauseMenuOptions = {
-            localization.getText("pause.resume"),
-            localization.getText("pause.settings"),
-            localization.getText("pause.main_menu")
+            localization.getText(MessageKeys.PAUSE_RESUME),
+            localization.getText(MessageKeys.PAUSE_SETTINGS),
+            localization.getText(MessageKeys.PAUSE_MAIN_MENU)
         };
         
         for (int i = 0; i < pauseMenuOptions.length; i++) {
@@ -190,10 +591,9 @@ public class SimpleGameScreen implements Screen {
         }
         
         // Instructions
-        font.getData().setScale(1.0f);
-        font.setColor(Color.LIGHT_GRAY);
-        String instructions = localization.getText("pause.instructions");
-        font.draw(batch, instructions, 260, 180);
+        smallFont.setColor(Color.LIGHT_GRAY);
+        String instructions = localization.getText(MessageKeys.PAUSE_INSTRUCTIONS);
+        smallFont.draw(batch, instructions, 260, 180);
     }
     
     /**
@@ -214,7 +614,9 @@ public class SimpleGameScreen implements Screen {
     }
     
     @Override
-    public void resize(int width, int height) {}
+    public void resize(int width, int height) {
+        renderTarget.resize(Gdx.graphics.getBackBufferWidth(), Gdx.graphics.getBackBufferHeight());
+    }
     
     @Override
     public void pause() {}
@@ -223,18 +625,30 @@ public class SimpleGameScreen implements Screen {
     public void resume() {}
     
     @Override
-    public void hide() {}
+    public void hide() {
+        // The world only advances while the game screen is shown
+        if (simulation != null) {
+            simulation.setPaused(true);
+        }
+    }
     
     @Override
     public void dispose() {
-        if (batch != null) {
-            batch.dispose();
+        if (simulation != null) {
+            simulation.stop();
+            simulation = null;
         }
-        if (font != null) {
-            font.dispose();
+        // The simulation thread is stopped, so nothing is dispatching while the listeners go
+        EventBus events = gameWorld.getEvents();
+        events.unsubscribe(GameEvents.ROOM_ENTERED, roomEnteredListener);
+        events.unsubscribe(GameEvents.PLAYER_RESPAWNED, respawnedListener);
+        if (jumpSoundListener != null) {
+            events.unsubscribe(GameEvents.PLAYER_JUMPED, jumpSoundListener);
+            events.unsubscribe(GameEvents.PLAYER_LANDED, landSoundListener);
         }
-        if (shapeRenderer != null) {
-            shapeRenderer.dispose();
+        resources.dispose();
+        if (audio != null) {
+            audio.stopMusic();
         }
     }
 }
\ No newline at end of file
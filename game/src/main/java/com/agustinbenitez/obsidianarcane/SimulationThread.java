@@ -0,0 +1,215 @@
+package com.agustinbenitez.obsidianarcane;
+
+import com.agustinbenitez.obsidianarcane.render.RenderSnapshot;
+import com.agustinbenitez.obsidianarcane.render.TripleBuffer;
+import com.agustinbenitez.obsidianarcane.stats.RunStatsLog;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Simulación del mundo en un hilo propio a tick fijo
+ *
+ * El hilo ejecuta GameWorld.update a 60 Hz, independiente de los FPS del render, y al final
+ * de cada tick publica un RenderSnapshot en un TripleBuffer. El hilo de GL solo lee el último
+ * snapshot publicado (sin bloqueos) e interpola la posición del jugador entre los dos últimos
+ * ticks, así que un frame lento no frena la simulación ni un tick lento bloquea el frame.
+ *
+ * Una vez arrancado, el GameWorld pertenece a este hilo (incluidos sus suscriptores de
+ * eventos). La entrada llega del hilo de GL por campos volátiles: las direcciones mantenidas
+ * se leen en cada tick y cada pulsación de salto incrementa un contador, para que ninguna se
+ * pierda aunque haya varios frames entre dos ticks.
+ */
+public class SimulationThread {
+
+    public static final int TICK_RATE = 60;
+    public static final float TICK_SECONDS = 1f / TICK_RATE;
+    private static final long TICK_NANOS = 1_000_000_000L / TICK_RATE;
+    // Tras un parón largo no se intenta recuperar todos los ticks perdidos de golpe
+    private static final int MAX_CATCH_UP_TICKS = 5;
+
+    private final GameWorld world;
+    private final FramePacer pacer;
+    private final WorldRewind rewind;
+    private final RunStatsLog runStats = RunStatsLog.getInstance();
+    private final TripleBuffer<RenderSnapshot> snapshots = new TripleBuffer<>(RenderSnapshot::new);
+    private final Thread thread;
+    private volatile boolean running;
+    private volatile boolean paused;
+    private volatile Throwable failure;
+
+    // Entrada publicada por el hilo de GL
+    private volatile boolean moveLeft;
+    private volatile boolean moveRight;
+    private volatile long jumpPressTime;
+    private final AtomicInteger jumpPresses = new AtomicInteger();
+    private final AtomicBoolean resetRequested = new AtomicBoolean();
+    private final AtomicBoolean quickSaveRequested = new AtomicBoolean();
+    private final AtomicBoolean quickLoadRequested = new AtomicBoolean();
+    private volatile boolean rewinding;
+    private int consumedJumpPresses;
+
+    private volatile long completedTick;
+
+    public SimulationThread(GameWorld world, FramePacer pacer, WorldRewind rewind) {
+        this.world = world;
+        this.pacer = pacer;
+        this.rewind = rewind;
+
+        // Snapshot inicial para que el primer frame tenga algo que dibujar
+        world.writeSnapshot(snapshots.getWriteBuffer());
+        snapshots.getWriteBuffer().publishNanos = System.nanoTime();
+        snapshots.publish();
+
+        thread = new Thread(this::run, "Simulation");
+        thread.setDaemon(true);
+    }
+
+    public void start() {
+        running = true;
+        thread.start();
+    }
+
+    /**
+     * Detiene el hilo y espera a que termine el tick en curso
+     */
+    public void stop() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        long nextTick = System.nanoTime();
+        try {
+            while (running) {
+                long now = System.nanoTime();
+                if (now - nextTick > TICK_NANOS * MAX_CATCH_UP_TICKS) {
+                    nextTick = now;
+                }
+                while (running && now - nextTick >= 0) {
+                    step();
+                    nextTick += TICK_NANOS;
+                }
+                LockSupport.parkNanos(nextTick - System.nanoTime());
+            }
+        } catch (Throwable e) {
+            failure = e;
+            running = false;
+            if (Gdx.app != null) {
+                Gdx.app.error("SimulationThread", "Simulation stopped: " + e.getMessage());
+            }
+        }
+    }
+
+    private void step() {
+        if (paused) {
+            return;
+        }
+        if (resetRequested.getAndSet(false)) {
+            world.resetPlayer();
+        }
+        if (quickSaveRequested.getAndSet(false)) {
+            rewind.quickSave(world);
+        }
+        if (quickLoadRequested.getAndSet(false)) {
+            rewind.quickLoad(world);
+        }
+
+        if (rewinding) {
+            rewind.rewind(world);
+        } else {
+            rewind.finishRestore(world);
+            simulate();
+        }
+
+        RenderSnapshot snapshot = snapshots.getWriteBuffer();
+        world.writeSnapshot(snapshot);
+        snapshot.publishNanos = System.nanoTime();
+        snapshots.publish();
+        completedTick = snapshot.tick;
+    }
+
+    private void simulate() {
+        int presses = jumpPresses.get();
+        boolean jump = presses != consumedJumpPresses;
+        consumedJumpPresses = presses;
+        float jumpAge = jump ? Math.max(0, (System.nanoTime() - jumpPressTime) / 1_000_000_000f) : 0;
+
+        world.applyQuality(pacer);
+        world.handleInput(moveLeft, moveRight, jump, jumpAge);
+        world.update(TICK_SECONDS);
+        runStats.addTime(TICK_SECONDS);
+        rewind.capture(world);
+    }
+
+    /**
+     * Entrada de este frame (hilo de GL); pressTime es la marca de tiempo de la pulsación
+     */
+    public void setInput(boolean moveLeft, boolean moveRight, boolean jumpPressed, long pressTime) {
+        this.moveLeft = moveLeft;
+        this.moveRight = moveRight;
+        if (jumpPressed) {
+            jumpPressTime = pressTime;
+            jumpPresses.incrementAndGet();
+        }
+    }
+
+    /**
+     * Devuelve al jugador al punto de aparición en el siguiente tick
+     */
+    public void requestReset() {
+        resetRequested.set(true);
+    }
+
+    public void requestQuickSave() {
+        quickSaveRequested.set(true);
+    }
+
+    public void requestQuickLoad() {
+        quickLoadRequested.set(true);
+    }
+
+    /**
+     * Mientras está activo, cada tick retrocede un estado del historial en vez de simular
+     */
+    public void setRewinding(boolean rewinding) {
+        this.rewinding = rewinding;
+    }
+
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+    }
+
+    /**
+     * Último snapshot publicado (solo desde el hilo de GL); válido hasta la siguiente llamada
+     * Si la simulación ha fallado, el error se relanza aquí, en el hilo de GL.
+     */
+    public RenderSnapshot acquireSnapshot() {
+        if (failure != null) {
+            throw new GdxRuntimeException("Simulation thread failed", failure);
+        }
+        return snapshots.acquire();
+    }
+
+    /**
+     * Fracción (0..1) del tick siguiente transcurrida desde que se publicó el snapshot
+     */
+    public static float getInterpolationAlpha(RenderSnapshot snapshot) {
+        float alpha = (System.nanoTime() - snapshot.publishNanos) / (float) TICK_NANOS;
+        return Math.max(0f, Math.min(1f, alpha));
+    }
+
+    /**
+     * Último tick terminado (lo puede leer cualquier hilo)
+     */
+    public long getCompletedTick() {
+        return completedTick;
+    }
+}
@@ -0,0 +1,75 @@
+package com.agustinbenitez.obsidianarcane;
+
+import com.badlogic.gdx.Gdx;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Instrumentación del arranque del juego
+ * Registra la duración de cada fase desde Main hasta que el menú principal está listo
+ */
+public final class StartupProfiler {
+
+    private static final List<String> phases = new ArrayList<>();
+    private static final List<Long> durations = new ArrayList<>();
+    private static long startNanos;
+    private static long lastNanos;
+    private static long jvmUptimeAtStart;
+    private static boolean reported;
+
+    private StartupProfiler() {
+    }
+
+    /**
+     * Marca el inicio del arranque (llamar al principio de Main)
+     */
+    public static void begin() {
+        startNanos = System.nanoTime();
+        lastNanos = startNanos;
+        jvmUptimeAtStart = ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+
+    /**
+     * Marca el final de una fase; su duración es el tiempo desde la marca anterior
+     */
+    public static void mark(String phase) {
+        if (startNanos == 0) {
+            begin();
+        }
+        long now = System.nanoTime();
+        phases.add(phase);
+        durations.add(now - lastNanos);
+        lastNanos = now;
+    }
+
+    /**
+     * Milisegundos transcurridos desde begin()
+     */
+    public static float elapsedMillis() {
+        return (System.nanoTime() - startNanos) / 1_000_000f;
+    }
+
+    /**
+     * Escribe el informe de todas las fases (solo una vez)
+     */
+    public static void report() {
+        if (reported) {
+            return;
+        }
+        reported = true;
+
+        StringBuilder sb = new StringBuilder("Startup report:\n");
+        sb.append(String.format("  %-20s %8d ms%n", "jvm", jvmUptimeAtStart));
+        for (int i = 0; i < phases.size(); i++) {
+            sb.append(String.format("  %-20s %8.1f ms%n", phases.get(i), durations.get(i) / 1_000_000f));
+        }
+        sb.append(String.format("  %-20s %8.1f ms", "total", (lastNanos - startNanos) / 1_000_000f));
+
+        if (Gdx.app != null) {
+            Gdx.app.log("StartupProfiler", sb.toString());
+        } else {
+            System.out.println("StartupProfiler: " + sb);
+        }
+    }
+}
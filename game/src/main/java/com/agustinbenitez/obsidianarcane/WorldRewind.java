@@ -0,0 +1,142 @@
+package com.agustinbenitez.obsidianarcane;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Historial de estados del mundo para rebobinar y guardado/carga rápidos
+ *
+ * Cada tick se copia el estado completo del GameWorld (writeState) a una ranura de un único
+ * ByteBuffer reservado al crear el historial: sin objetos nuevos ni recorrer grafos, solo
+ * escrituras secuenciales de tamaño fijo (GameWorld.STATE_BYTES). Las ranuras forman un
+ * anillo con los últimos segundos de partida. El guardado rápido usa otra ranura aparte y
+ * no se pierde al rebobinar.
+ *
+ * Cargar un estado no genera eventos: mientras se rebobina el LatencyTracker se avisa una
+ * sola vez al empezar, y el cambio de sala (RoomEntered) se publica una vez en finishRestore,
+ * comparando con la sala en la que se empezó a rebobinar.
+ *
+ * Solo lo debe usar el hilo que actualiza el mundo; las métricas se pueden leer desde
+ * cualquier hilo.
+ */
+public class WorldRewind {
+
+    public static final int DEFAULT_SECONDS = 10;
+
+    private final int slots;
+    private final ByteBuffer ring;
+    private final ByteBuffer quickSave = ByteBuffer.allocate(GameWorld.STATE_BYTES);
+    private boolean hasQuickSave;
+    private int head; // Ranura del último estado guardado
+    private int count;
+    private boolean restoring; // Se han cargado estados y aún no se ha avisado del cambio de sala
+    private int roomBeforeRestore;
+
+    // Métricas (media móvil del coste de captura)
+    private volatile float averageCaptureNanos;
+    private volatile int recordedTicks;
+
+    public WorldRewind(int seconds, int tickRate) {
+        slots = Math.max(2, seconds * tickRate);
+        ring = ByteBuffer.allocate(slots * GameWorld.STATE_BYTES);
+    }
+
+    /**
+     * Guarda el estado del tick recién terminado (sobrescribe el más antiguo si está lleno)
+     */
+    public void capture(GameWorld world) {
+        long start = System.nanoTime();
+        head = (head + 1) % slots;
+        ring.position(head * GameWorld.STATE_BYTES);
+        world.writeState(ring);
+        if (count < slots) {
+            count++;
+        }
+        recordedTicks = count;
+        long elapsed = System.nanoTime() - start;
+        averageCaptureNanos += (elapsed - averageCaptureNanos) * 0.05f;
+    }
+
+    /**
+     * Retrocede un tick: descarta el último estado y carga el anterior
+     * Devuelve false si ya no queda historial (el mundo se queda en el estado más antiguo).
+     */
+    public boolean rewind(GameWorld world) {
+        if (count == 0) {
+            return false;
+        }
+        boolean stepped = count > 1;
+        if (stepped) {
+            head = (head - 1 + slots) % slots;
+            count--;
+            recordedTicks = count;
+        }
+        ring.position(head * GameWorld.STATE_BYTES);
+        restore(world, ring);
+        return stepped;
+    }
+
+    public void quickSave(GameWorld world) {
+        quickSave.clear();
+        world.writeState(quickSave);
+        hasQuickSave = true;
+    }
+
+    /**
+     * Carga el guardado rápido; el historial empieza de nuevo desde ese estado
+     */
+    public boolean quickLoad(GameWorld world) {
+        if (!hasQuickSave) {
+            return false;
+        }
+        quickSave.flip();
+        restore(world, quickSave);
+        finishRestore(world);
+        clear();
+        capture(world);
+        return true;
+    }
+
+    private void restore(GameWorld world, ByteBuffer state) {
+        if (!restoring) {
+            restoring = true;
+            roomBeforeRestore = world.getCurrentRoomIndex();
+            LatencyTracker.getInstance().timelineRestarted();
+        }
+        world.readState(state);
+    }
+
+    /**
+     * Publica el cambio de sala de los estados cargados al rebobinar; llamar antes del
+     * primer update tras soltar el rebobinado
+     */
+    public void finishRestore(GameWorld world) {
+        if (restoring) {
+            restoring = false;
+            world.notifyRoomChange(roomBeforeRestore);
+        }
+    }
+
+    public void clear() {
+        count = 0;
+        recordedTicks = 0;
+    }
+
+    public boolean hasQuickSave() {
+        return hasQuickSave;
+    }
+
+    /**
+     * Ticks disponibles para rebobinar
+     */
+    public int getRecordedTicks() {
+        return recordedTicks;
+    }
+
+    public int getCapacityTicks() {
+        return slots;
+    }
+
+    public float getAverageCaptureMicros() {
+        return averageCaptureNanos / 1000f;
+    }
+}
@@ -0,0 +1,103 @@
+package com.agustinbenitez.obsidianarcane.anim;
+
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.BooleanArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Clips de animación sacados de un TextureAtlas, con tablas de frames precalculadas
+ *
+ * Todos los frames de todos los clips van a un único array de regiones. Para cada clip se
+ * precalcula al cargar una tabla que, para cada paso de 1/60 s desde el inicio del clip,
+ * da el índice del frame a dibujar. Elegir el frame durante el juego es solo indexar
+ * frameTable[clipOffset + paso]: sin divisiones por la duración, sin mapas ni objetos.
+ */
+public class AnimationLibrary {
+
+    public static final int STEPS_PER_SECOND = 60;
+
+    private final TextureAtlas atlas;
+    private final Array<TextureRegion> frames = new Array<>(true, 32, TextureRegion.class);
+    private final Array<String> clipNames = new Array<>(true, 8, String.class);
+    private final IntArray frameTable = new IntArray();
+    private final IntArray clipOffset = new IntArray();
+    private final IntArray clipLength = new IntArray();
+    private final BooleanArray clipLoop = new BooleanArray();
+
+    public AnimationLibrary(TextureAtlas atlas) {
+        this.atlas = atlas;
+    }
+
+    /**
+     * Añade un clip con las regiones del atlas llamadas name (índices del empaquetador o
+     * nombres name_0, name_1...) y devuelve su ID
+     */
+    public int addClip(String name, float frameDuration, boolean loop) {
+        Array<TextureAtlas.AtlasRegion> regions = atlas.findRegions(name);
+        if (regions.size == 0) {
+            TextureAtlas.AtlasRegion region;
+            while ((region = atlas.findRegion(name + "_" + regions.size)) != null) {
+                regions.add(region);
+            }
+        }
+        if (regions.size == 0) {
+            throw new GdxRuntimeException("Animation clip not found in atlas: " + name);
+        }
+        return addClip(name, regions.toArray(TextureRegion.class), frameDuration, loop);
+    }
+
+    /**
+     * Añade un clip con las regiones dadas y precalcula su tabla de frames
+     */
+    public int addClip(String name, TextureRegion[] regions, float frameDuration, boolean loop) {
+        int firstFrame = frames.size;
+        frames.addAll(regions);
+
+        int steps = Math.max(1, Math.round(regions.length * frameDuration * STEPS_PER_SECOND));
+        clipOffset.add(frameTable.size);
+        clipLength.add(steps);
+        for (int step = 0; step < steps; step++) {
+            int frame = (int) (step / (float) STEPS_PER_SECOND / frameDuration);
+            frameTable.add(firstFrame + Math.min(frame, regions.length - 1));
+        }
+        clipLoop.add(loop);
+        clipNames.add(name);
+        return clipNames.size - 1;
+    }
+
+    /**
+     * ID de un clip por nombre (-1 si no existe); solo para configurar, no por frame
+     */
+    public int findClip(String name) {
+        return clipNames.indexOf(name, false);
+    }
+
+    public int getClipCount() {
+        return clipNames.size;
+    }
+
+    public TextureRegion getFrame(int frameIndex) {
+        return frames.items[frameIndex];
+    }
+
+    // Tablas para AnimationSystem (se leen directamente en el bucle de actualización)
+
+    int[] getFrameTable() {
+        return frameTable.items;
+    }
+
+    int[] getClipOffsets() {
+        return clipOffset.items;
+    }
+
+    int[] getClipLengths() {
+        return clipLength.items;
+    }
+
+    boolean[] getClipLoops() {
+        return clipLoop.items;
+    }
+}
@@ -0,0 +1,215 @@
+package com.agustinbenitez.obsidianarcane.anim;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * Animación de muchas entidades a la vez, con los datos en arrays de primitivos
+ *
+ * Cada entidad tiene un estado de locomoción (lo fija el juego cada frame) y, opcionalmente,
+ * una acción de un solo disparo (ataque...) que tiene prioridad hasta que termina su clip.
+ * Cada estado apunta a un clip de AnimationLibrary. update() recorre todas las entidades en
+ * un único bucle: avanza el tiempo en pasos de 1/60 s, resuelve el fin del clip (repetir,
+ * quedarse en el último frame o volver a la locomoción) y guarda el índice de frame leído
+ * de la tabla precalculada. No se reserva memoria salvo al crecer la capacidad.
+ */
+public class AnimationSystem {
+
+    public static final int NO_ACTION = -1;
+
+    private final AnimationLibrary library;
+
+    // Estados: clip de cada uno
+    private int[] stateClip = new int[8];
+    private int stateCount;
+
+    // Entidades
+    private int count;
+    private float[] x;
+    private float[] y;
+    private float[] time;
+    private int[] locomotion;
+    private int[] action;
+    private int[] current;
+    private int[] frame;
+    private boolean[] flipX;
+
+    public AnimationSystem(AnimationLibrary library, int initialCapacity) {
+        this.library = library;
+        allocate(Math.max(1, initialCapacity));
+    }
+
+    /**
+     * Define un estado que reproduce el clip dado y devuelve su ID
+     */
+    public int defineState(int clip) {
+        if (stateCount == stateClip.length) {
+            int[] grown = new int[stateClip.length * 2];
+            System.arraycopy(stateClip, 0, grown, 0, stateCount);
+            stateClip = grown;
+        }
+        stateClip[stateCount] = clip;
+        return stateCount++;
+    }
+
+    /**
+     * Añade una entidad en el estado dado y devuelve su índice
+     */
+    public int add(float entityX, float entityY, int state) {
+        if (count == x.length) {
+            grow(count * 2);
+        }
+        int entity = count++;
+        x[entity] = entityX;
+        y[entity] = entityY;
+        time[entity] = 0;
+        locomotion[entity] = state;
+        action[entity] = NO_ACTION;
+        current[entity] = state;
+        flipX[entity] = false;
+        frame[entity] = library.getFrameTable()[library.getClipOffsets()[stateClip[state]]];
+        return entity;
+    }
+
+    /**
+     * Quita todas las entidades (los arrays se conservan)
+     */
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * Posición de la entidad: centro inferior del sprite
+     */
+    public void setPosition(int entity, float entityX, float entityY) {
+        x[entity] = entityX;
+        y[entity] = entityY;
+    }
+
+    /**
+     * Estado de locomoción y orientación (facing negativo: izquierda, positivo: derecha,
+     * 0: mantener la actual)
+     */
+    public void setLocomotion(int entity, int state, float facing) {
+        locomotion[entity] = state;
+        if (facing != 0) {
+            flipX[entity] = facing < 0;
+        }
+    }
+
+    /**
+     * Reproduce una acción de un solo disparo; al terminar su clip vuelve la locomoción
+     */
+    public void play(int entity, int state) {
+        action[entity] = state;
+        current[entity] = state;
+        time[entity] = 0;
+    }
+
+    public boolean isPlaying(int entity, int state) {
+        return action[entity] == state;
+    }
+
+    /**
+     * Avanza todas las entidades
+     */
+    public void update(float delta) {
+        int[] table = library.getFrameTable();
+        int[] offsets = library.getClipOffsets();
+        int[] lengths = library.getClipLengths();
+        boolean[] loops = library.getClipLoops();
+        float steps = delta * AnimationLibrary.STEPS_PER_SECOND;
+
+        for (int i = 0; i < count; i++) {
+            int state = action[i] != NO_ACTION ? action[i] : locomotion[i];
+            float t = time[i] + steps;
+            if (state != current[i]) {
+                current[i] = state;
+                t = 0;
+            }
+            int clip = stateClip[state];
+            int length = lengths[clip];
+            if (t >= length) {
+                if (action[i] != NO_ACTION) {
+                    // Acción terminada: vuelve a la locomoción desde el principio
+                    action[i] = NO_ACTION;
+                    state = locomotion[i];
+                    current[i] = state;
+                    clip = stateClip[state];
+                    length = lengths[clip];
+                    t = 0;
+                } else if (loops[clip]) {
+                    t %= length;
+                } else {
+                    t = length - 0.001f;
+                }
+            }
+            time[i] = t;
+            frame[i] = table[offsets[clip] + (int) t];
+        }
+    }
+
+    /**
+     * Dibuja todas las entidades (el batch debe estar iniciado; todas las regiones del
+     * mismo atlas, así que no hay cambios de textura entre ellas)
+     */
+    public void render(SpriteBatch batch) {
+        for (int i = 0; i < count; i++) {
+            TextureRegion region = library.getFrame(frame[i]);
+            float width = region.getRegionWidth();
+            float height = region.getRegionHeight();
+            if (flipX[i]) {
+                batch.draw(region, x[i] + width / 2, y[i], -width, height);
+            } else {
+                batch.draw(region, x[i] - width / 2, y[i], width, height);
+            }
+        }
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getFrame(int entity) {
+        return frame[entity];
+    }
+
+    public int getState(int entity) {
+        return current[entity];
+    }
+
+    public boolean isFlipped(int entity) {
+        return flipX[entity];
+    }
+
+    private void allocate(int capacity) {
+        x = new float[capacity];
+        y = new float[capacity];
+        time = new float[capacity];
+        locomotion = new int[capacity];
+        action = new int[capacity];
+        current = new int[capacity];
+        frame = new int[capacity];
+        flipX = new boolean[capacity];
+    }
+
+    private void grow(int capacity) {
+        float[] oldX = x;
+        float[] oldY = y;
+        float[] oldTime = time;
+        int[] oldLocomotion = locomotion;
+        int[] oldAction = action;
+        int[] oldCurrent = current;
+        int[] oldFrame = frame;
+        boolean[] oldFlip = flipX;
+        allocate(capacity);
+        System.arraycopy(oldX, 0, x, 0, count);
+        System.arraycopy(oldY, 0, y, 0, count);
+        System.arraycopy(oldTime, 0, time, 0, count);
+        System.arraycopy(oldLocomotion, 0, locomotion, 0, count);
+        System.arraycopy(oldAction, 0, action, 0, count);
+        System.arraycopy(oldCurrent, 0, current, 0, count);
+        System.arraycopy(oldFrame, 0, frame, 0, count);
+        System.arraycopy(oldFlip, 0, flipX, 0, count);
+    }
+}
@@ -0,0 +1,178 @@
+package com.agustinbenitez.obsidianarcane.anim;
+
+import com.agustinbenitez.obsidianarcane.memory.ResourceScope;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Atlas, clips y estados de animación de los personajes con la figura del jugador
+ *
+ * Si existe sprites/player.atlas se usa; si no, se genera en memoria un atlas con la
+ * figura de siempre (el rectángulo azul con cara, ahora animado) empaquetado con
+ * PixmapPacker en una sola textura. Los clips se buscan por nombre en ambos casos:
+ * idle, run, jump, fall y attack.
+ */
+public class PlayerSprites implements Disposable {
+
+    private static final String ATLAS_FILE = "sprites/player.atlas";
+
+    // Cada frame: el cuerpo (32x48) centrado, con margen a los lados para el ataque
+    private static final int FRAME_WIDTH = 64;
+    private static final int FRAME_HEIGHT = 48;
+    private static final int BODY_WIDTH = 32;
+    private static final int BODY_LEFT = (FRAME_WIDTH - BODY_WIDTH) / 2;
+
+    private static final Color BODY_COLOR = new Color(0.2f, 0.6f, 1.0f, 1.0f);
+    private static final Color SLASH_COLOR = new Color(1f, 0.95f, 0.7f, 1f);
+
+    // Velocidad a partir de la cual se corre / se cae (unidades del mundo por segundo)
+    private static final float RUN_SPEED = 10f;
+    private static final float FALL_SPEED = -20f;
+
+    private final ResourceScope resources = new ResourceScope("PlayerSprites", "anim");
+    private final TextureAtlas atlas;
+    private final AnimationSystem system;
+
+    // Estados del AnimationSystem
+    public final int idle;
+    public final int run;
+    public final int jump;
+    public final int fall;
+    public final int attack;
+
+    public PlayerSprites(int capacity) {
+        FileHandle file = Gdx.files.internal(ATLAS_FILE);
+        atlas = resources.add(file.exists() ? new TextureAtlas(file) : createAtlas());
+
+        AnimationLibrary library = new AnimationLibrary(atlas);
+        int idleClip = library.addClip("idle", 0.2f, true);
+        int runClip = library.addClip("run", 0.08f, true);
+        int jumpClip = library.addClip("jump", 0.08f, false);
+        int fallClip = library.addClip("fall", 0.12f, true);
+        int attackClip = library.addClip("attack", 0.075f, false);
+
+        system = new AnimationSystem(library, capacity);
+        idle = system.defineState(idleClip);
+        run = system.defineState(runClip);
+        jump = system.defineState(jumpClip);
+        fall = system.defineState(fallClip);
+        attack = system.defineState(attackClip);
+    }
+
+    /**
+     * Estado de locomoción para la velocidad y el contacto con el suelo de un personaje
+     */
+    public int locomotionState(float velocityX, float velocityY, boolean onGround) {
+        if (!onGround) {
+            return velocityY < FALL_SPEED ? fall : jump;
+        }
+        return Math.abs(velocityX) > RUN_SPEED ? run : idle;
+    }
+
+    /**
+     * Actualiza la locomoción de una entidad a partir de su movimiento
+     */
+    public void setMotion(int entity, float velocityX, float velocityY, boolean onGround) {
+        system.setLocomotion(entity, locomotionState(velocityX, velocityY, onGround),
+            Math.abs(velocityX) > RUN_SPEED ? velocityX : 0);
+    }
+
+    public AnimationSystem getSystem() {
+        return system;
+    }
+
+    /**
+     * Genera el atlas por defecto: un Pixmap por frame, empaquetados en una textura
+     */
+    private static TextureAtlas createAtlas() {
+        PixmapPacker packer = new PixmapPacker(512, 256, Pixmap.Format.RGBA8888, 2, false);
+        Pixmap frame = new Pixmap(FRAME_WIDTH, FRAME_HEIGHT, Pixmap.Format.RGBA8888);
+        frame.setBlending(Pixmap.Blending.None);
+
+        int[] idleSquash = {0, 1, 2, 1};
+        for (int i = 0; i < idleSquash.length; i++) {
+            clear(frame);
+            drawBody(frame, BODY_WIDTH, FRAME_HEIGHT - idleSquash[i], 0, 0);
+            packer.pack("idle_" + i, frame);
+        }
+
+        int[] stride = {0, 3, 6, 3, 0, -3};
+        for (int i = 0; i < stride.length; i++) {
+            clear(frame);
+            drawBody(frame, BODY_WIDTH, FRAME_HEIGHT - 6 - Math.abs(stride[i]) / 3, 2, 0);
+            drawLegs(frame, stride[i]);
+            packer.pack("run_" + i, frame);
+        }
+
+        for (int i = 0; i < 2; i++) {
+            clear(frame);
+            drawBody(frame, BODY_WIDTH - 4 - i * 2, FRAME_HEIGHT, 1, -2);
+            packer.pack("jump_" + i, frame);
+        }
+
+        for (int i = 0; i < 2; i++) {
+            clear(frame);
+            drawBody(frame, BODY_WIDTH + 2, FRAME_HEIGHT - 6, 0, 2);
+            // Brazos en alto, alternando
+            frame.setColor(BODY_COLOR);
+            frame.fillRectangle(BODY_LEFT - 5, 4 + i * 3, 4, 10);
+            frame.fillRectangle(BODY_LEFT + BODY_WIDTH + 1, 7 - i * 3, 4, 10);
+            packer.pack("fall_" + i, frame);
+        }
+
+        // Ataque: preparación, tajo alto, tajo completo y estela que se apaga
+        int[][] slash = {{0, 0, 0}, {6, 14, 4}, {10, 30, 14}, {18, 18, 8}};
+        for (int i = 0; i < slash.length; i++) {
+            clear(frame);
+            drawBody(frame, BODY_WIDTH, FRAME_HEIGHT, i == 0 ? -2 : 3, 0);
+            if (slash[i][1] > 0) {
+                frame.setColor(SLASH_COLOR);
+                frame.fillRectangle(BODY_LEFT + BODY_WIDTH, slash[i][0], slash[i][2], slash[i][1]);
+            }
+            packer.pack("attack_" + i, frame);
+        }
+        frame.dispose();
+
+        TextureAtlas atlas = packer.generateTextureAtlas(Texture.TextureFilter.Nearest,
+            Texture.TextureFilter.Nearest, false);
+        packer.dispose();
+        return atlas;
+    }
+
+    private static void clear(Pixmap frame) {
+        frame.setColor(0, 0, 0, 0);
+        frame.fill();
+    }
+
+    /**
+     * Cuerpo con cara, centrado y apoyado en el borde inferior del frame (y crece hacia abajo
+     * en un Pixmap)
+     */
+    private static void drawBody(Pixmap frame, int width, int height, int lookX, int lookY) {
+        int left = (FRAME_WIDTH - width) / 2;
+        int top = FRAME_HEIGHT - height;
+        frame.setColor(BODY_COLOR);
+        frame.fillRectangle(left, top, width, height);
+        frame.setColor(Color.WHITE);
+        frame.fillRectangle(left + width / 4 + lookX, top + 11 + lookY, 4, 4);
+        frame.fillRectangle(left + width - width / 4 - 4 + lookX, top + 11 + lookY, 4, 4);
+        frame.fillRectangle(left + width / 2 - 4 + lookX, top + 23 + lookY, 8, 2);
+    }
+
+    private static void drawLegs(Pixmap frame, int stride) {
+        frame.setColor(BODY_COLOR);
+        frame.fillRectangle(BODY_LEFT + 4 + stride, FRAME_HEIGHT - 6, 8, 6);
+        frame.fillRectangle(BODY_LEFT + BODY_WIDTH - 12 - stride, FRAME_HEIGHT - 6, 8, 6);
+    }
+
+    @Override
+    public void dispose() {
+        resources.dispose();
+    }
+}
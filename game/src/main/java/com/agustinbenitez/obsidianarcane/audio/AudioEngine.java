@@ -0,0 +1,164 @@
+package com.agustinbenitez.obsidianarcane.audio;
+
+import com.agustinbenitez.obsidianarcane.memory.ResourceScope;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.lwjgl3.audio.mock.MockAudio;
+import com.badlogic.gdx.files.FileHandle;
+
+/**
+ * Sistema de sonido: banco de efectos, mezclador, música y el hilo que alimenta la salida
+ *
+ * El hilo de audio mezcla bloques de BLOCK_FRAMES frames y los escribe en la salida, que es
+ * quien marca el ritmo (el dispositivo bloquea hasta tener sitio). Sin dispositivo de audio
+ * (o si no se puede abrir) se usa NullAudioOutput en tiempo real: todo funciona igual y
+ * simplemente no se oye nada.
+ */
+public final class AudioEngine {
+
+    public static final int SAMPLE_RATE = 44100;
+    public static final int BLOCK_FRAMES = 512;
+    private static final float SMOOTHING = 0.05f;
+
+    private static AudioEngine instance;
+
+    private final SoundBank bank = new SoundBank(SAMPLE_RATE);
+    private final AudioMixer mixer = new AudioMixer(bank, AudioMixer.DEFAULT_MAX_VOICES);
+    private GameSounds sounds;
+    private final ResourceScope resources = new ResourceScope("AudioEngine", "audio");
+    private AudioOutput output;
+    private MusicStream music;
+    private Thread thread;
+    private volatile boolean running;
+    private volatile float averageMixMicros;
+
+    private AudioEngine() {
+    }
+
+    public static AudioEngine getInstance() {
+        if (instance == null) {
+            instance = new AudioEngine();
+        }
+        return instance;
+    }
+
+    /**
+     * Carga los efectos del juego y arranca el hilo de audio
+     */
+    public void start() {
+        if (running) {
+            return;
+        }
+        sounds = new GameSounds(bank);
+        output = resources.add(openOutput());
+        running = true;
+        thread = new Thread(this::mixLoop, "audio-mixer");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+    }
+
+    private static AudioOutput openOutput() {
+        // Si OpenAL no arranca, el backend pone un MockAudio cuyo dispositivo no bloquea
+        if (Gdx.audio != null && !(Gdx.audio instanceof MockAudio)) {
+            try {
+                return new DeviceAudioOutput(SAMPLE_RATE);
+            } catch (RuntimeException e) {
+                Gdx.app.error("AudioEngine", "No audio device, mixing to a null output: " + e.getMessage());
+            }
+        }
+        return new NullAudioOutput(SAMPLE_RATE, 1f, true);
+    }
+
+    private void mixLoop() {
+        short[] block = new short[BLOCK_FRAMES * 2];
+        while (running) {
+            long start = System.nanoTime();
+            mixer.mix(block, BLOCK_FRAMES);
+            float micros = (System.nanoTime() - start) / 1000f;
+            averageMixMicros = averageMixMicros == 0 ? micros : averageMixMicros + (micros - averageMixMicros) * SMOOTHING;
+            output.write(block, block.length);
+        }
+    }
+
+    /**
+     * Reproduce un efecto en una posición del mundo
+     */
+    public void play(int sound, int category, float gain, float x, float y) {
+        if (running) {
+            mixer.play(sound, category, gain, x, y);
+        }
+    }
+
+    /**
+     * Reproduce un efecto de interfaz (sin posición)
+     */
+    public void playUi(int sound, float gain) {
+        if (running) {
+            mixer.play(sound, AudioMixer.UI, gain);
+        }
+    }
+
+    /**
+     * Sigue a la cámara: las voces posicionales se panoramizan respecto a este punto
+     */
+    public void setListener(float x, float y) {
+        mixer.setListener(x, y);
+    }
+
+    /**
+     * Empieza a reproducir en bucle la música del archivo (sustituye a la actual)
+     */
+    public void playMusic(FileHandle file) {
+        stopMusic();
+        if (!running || !file.exists()) {
+            return;
+        }
+        music = new MusicStream(file, true, SAMPLE_RATE);
+        mixer.setMusic(music);
+    }
+
+    public void stopMusic() {
+        if (music != null) {
+            mixer.setMusic(null);
+            music.stop();
+            music = null;
+        }
+    }
+
+    public GameSounds getSounds() {
+        return sounds;
+    }
+
+    public SoundBank getBank() {
+        return bank;
+    }
+
+    public AudioMixer getMixer() {
+        return mixer;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Tiempo medio de mezclar un bloque (microsegundos)
+     */
+    public float getAverageMixMicros() {
+        return averageMixMicros;
+    }
+
+    public void dispose() {
+        stopMusic();
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        resources.dispose();
+    }
+}
@@ -0,0 +1,280 @@
+package com.agustinbenitez.obsidianarcane.audio;
+
+import com.badlogic.gdx.math.MathUtils;
+import java.util.Arrays;
+
+/**
+ * Mezclador por software: voces de efectos con panorama y límite por categoría, más música
+ *
+ * Las voces se guardan en arrays de primitivos. Cada categoría (efectos del mundo, interfaz,
+ * ambiente) tiene un máximo de voces simultáneas; al superarlo se roba la voz que suena más
+ * bajo en ese momento (ganancia por atenuación por distancia), o se descarta el sonido nuevo
+ * si él es aún más bajo. Las voces posicionales se panoramizan respecto al oyente (la
+ * cámara) en cada bloque, así que siguen a la cámara mientras suenan.
+ *
+ * play/setListener se llaman desde el juego y mix desde el hilo de audio: comparten un
+ * cerrojo que solo se retiene lo que dura mezclar un bloque.
+ */
+public class AudioMixer {
+
+    public static final int SFX = 0;
+    public static final int UI = 1;
+    public static final int AMBIENT = 2;
+    public static final int CATEGORY_COUNT = 3;
+
+    private static final int[] DEFAULT_CATEGORY_LIMITS = {16, 4, 6};
+    public static final int DEFAULT_MAX_VOICES = 32;
+
+    // Distancias en unidades del mundo: volumen completo hasta FULL_VOLUME_DISTANCE y
+    // silencio desde MAX_DISTANCE; PAN_DISTANCE a un lado ya suena solo por ese canal
+    private static final float FULL_VOLUME_DISTANCE = 250f;
+    private static final float MAX_DISTANCE = 1200f;
+    private static final float PAN_DISTANCE = 450f;
+
+    private final SoundBank bank;
+    private final int[] categoryLimits = DEFAULT_CATEGORY_LIMITS.clone();
+    private final int[] categoryVoices = new int[CATEGORY_COUNT];
+
+    // Voces (sound -1 = libre)
+    private final int[] voiceSound;
+    private final int[] voiceOffset;
+    private final int[] voiceLength;
+    private final int[] voiceCursor;
+    private final int[] voiceCategory;
+    private final float[] voiceGain;
+    private final float[] voiceX;
+    private final float[] voiceY;
+    private final boolean[] voicePositional;
+    private int activeVoices;
+
+    private float listenerX;
+    private float listenerY;
+    private float masterVolume = 1f;
+    private float musicVolume = 0.6f;
+    private MusicStream music;
+
+    private float[] mixBuffer = new float[0];
+
+    // Métricas
+    private int steals;
+    private int drops;
+
+    public AudioMixer(SoundBank bank, int maxVoices) {
+        this.bank = bank;
+        voiceSound = new int[maxVoices];
+        voiceOffset = new int[maxVoices];
+        voiceLength = new int[maxVoices];
+        voiceCursor = new int[maxVoices];
+        voiceCategory = new int[maxVoices];
+        voiceGain = new float[maxVoices];
+        voiceX = new float[maxVoices];
+        voiceY = new float[maxVoices];
+        voicePositional = new boolean[maxVoices];
+        Arrays.fill(voiceSound, -1);
+    }
+
+    /**
+     * Reproduce un efecto en una posición del mundo; devuelve la voz o -1 si se descarta
+     */
+    public synchronized int play(int sound, int category, float gain, float x, float y) {
+        return start(sound, category, gain, x, y, true);
+    }
+
+    /**
+     * Reproduce un efecto sin posición (centrado, sin atenuación)
+     */
+    public synchronized int play(int sound, int category, float gain) {
+        return start(sound, category, gain, 0, 0, false);
+    }
+
+    private int start(int sound, int category, float gain, float x, float y, boolean positional) {
+        float loudness = gain * (positional ? attenuation(x, y) : 1f);
+        if (loudness <= 0f) {
+            drops++;
+            return -1;
+        }
+
+        int voice = -1;
+        if (categoryVoices[category] >= categoryLimits[category]) {
+            voice = quietestVoice(category);
+        } else if (activeVoices < voiceSound.length) {
+            for (int v = 0; v < voiceSound.length; v++) {
+                if (voiceSound[v] < 0) {
+                    voice = v;
+                    break;
+                }
+            }
+        } else {
+            voice = quietestVoice(-1);
+        }
+        if (voice < 0 || voiceSound[voice] >= 0 && loudness(voice) > loudness) {
+            drops++;
+            return -1;
+        }
+        if (voiceSound[voice] >= 0) {
+            release(voice);
+            steals++;
+        }
+
+        voiceSound[voice] = sound;
+        voiceOffset[voice] = bank.getOffset(sound);
+        voiceLength[voice] = bank.getLength(sound);
+        voiceCursor[voice] = 0;
+        voiceCategory[voice] = category;
+        voiceGain[voice] = gain;
+        voiceX[voice] = x;
+        voiceY[voice] = y;
+        voicePositional[voice] = positional;
+        categoryVoices[category]++;
+        activeVoices++;
+        return voice;
+    }
+
+    /**
+     * Voz más baja de la categoría (-1: de todas)
+     */
+    private int quietestVoice(int category) {
+        int quietest = -1;
+        float quietestLoudness = Float.MAX_VALUE;
+        for (int v = 0; v < voiceSound.length; v++) {
+            if (voiceSound[v] < 0 || category >= 0 && voiceCategory[v] != category) {
+                continue;
+            }
+            float loudness = loudness(v);
+            if (loudness < quietestLoudness) {
+                quietestLoudness = loudness;
+                quietest = v;
+            }
+        }
+        return quietest;
+    }
+
+    private float loudness(int voice) {
+        return voiceGain[voice] * (voicePositional[voice] ? attenuation(voiceX[voice], voiceY[voice]) : 1f);
+    }
+
+    private float attenuation(float x, float y) {
+        float distance = (float) Math.sqrt((x - listenerX) * (x - listenerX) + (y - listenerY) * (y - listenerY));
+        return 1f - MathUtils.clamp((distance - FULL_VOLUME_DISTANCE) / (MAX_DISTANCE - FULL_VOLUME_DISTANCE), 0f, 1f);
+    }
+
+    private void release(int voice) {
+        categoryVoices[voiceCategory[voice]]--;
+        activeVoices--;
+        voiceSound[voice] = -1;
+    }
+
+    /**
+     * Mezcla frames frames estéreo en out (PCM de 16 bits entrelazado)
+     */
+    public synchronized void mix(short[] out, int frames) {
+        int sampleCount = frames * 2;
+        if (mixBuffer.length < sampleCount) {
+            mixBuffer = new float[sampleCount];
+        }
+        float[] mix = mixBuffer;
+        Arrays.fill(mix, 0, sampleCount, 0f);
+
+        short[] samples = bank.getSamples();
+        for (int v = 0; v < voiceSound.length; v++) {
+            if (voiceSound[v] < 0) {
+                continue;
+            }
+            // Panorama de potencia constante: pan -1 (izquierda) .. 1 (derecha)
+            float gain = voiceGain[v];
+            float left = gain * 0.70710677f;
+            float right = left;
+            if (voicePositional[v]) {
+                gain *= attenuation(voiceX[v], voiceY[v]);
+                float pan = MathUtils.clamp((voiceX[v] - listenerX) / PAN_DISTANCE, -1f, 1f);
+                float angle = (pan + 1f) * MathUtils.PI / 4f;
+                left = gain * MathUtils.cos(angle);
+                right = gain * MathUtils.sin(angle);
+            }
+
+            int cursor = voiceCursor[v];
+            int count = Math.min(frames, voiceLength[v] - cursor);
+            int source = voiceOffset[v] + cursor;
+            for (int i = 0, s = 0; i < count; i++, s += 2) {
+                float sample = samples[source + i];
+                mix[s] += sample * left;
+                mix[s + 1] += sample * right;
+            }
+            voiceCursor[v] = cursor + count;
+            if (voiceCursor[v] >= voiceLength[v]) {
+                release(v);
+            }
+        }
+
+        if (music != null) {
+            music.mixInto(mix, frames, musicVolume);
+            if (music.isFinished()) {
+                music = null;
+            }
+        }
+
+        float master = masterVolume;
+        for (int i = 0; i < sampleCount; i++) {
+            float sample = mix[i] * master;
+            out[i] = (short) (sample > Short.MAX_VALUE ? Short.MAX_VALUE : sample < Short.MIN_VALUE ? Short.MIN_VALUE : sample);
+        }
+    }
+
+    /**
+     * Posición del oyente en el mundo (normalmente el centro de la cámara)
+     */
+    public synchronized void setListener(float x, float y) {
+        listenerX = x;
+        listenerY = y;
+    }
+
+    /**
+     * Música que se mezcla a partir del siguiente bloque (null para quitarla); quien la
+     * crea la detiene
+     */
+    public synchronized void setMusic(MusicStream music) {
+        this.music = music;
+    }
+
+    public synchronized void setCategoryLimit(int category, int limit) {
+        categoryLimits[category] = limit;
+    }
+
+    public synchronized void setMasterVolume(float volume) {
+        masterVolume = volume;
+    }
+
+    public synchronized void setMusicVolume(float volume) {
+        musicVolume = volume;
+    }
+
+    public synchronized void stopAll() {
+        for (int v = 0; v < voiceSound.length; v++) {
+            if (voiceSound[v] >= 0) {
+                release(v);
+            }
+        }
+    }
+
+    public synchronized int getActiveVoices() {
+        return activeVoices;
+    }
+
+    public synchronized int getCategoryVoices(int category) {
+        return categoryVoices[category];
+    }
+
+    /**
+     * Voces quitadas para dejar sitio a un sonido más fuerte
+     */
+    public synchronized int getSteals() {
+        return steals;
+    }
+
+    /**
+     * Sonidos descartados (inaudibles o más bajos que todas las voces de su categoría)
+     */
+    public synchronized int getDrops() {
+        return drops;
+    }
+}
@@ -0,0 +1,15 @@
+package com.agustinbenitez.obsidianarcane.audio;
+
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Destino de las muestras mezcladas: PCM de 16 bits estéreo entrelazado
+ */
+public interface AudioOutput extends Disposable {
+
+    /**
+     * Escribe count muestras (count / 2 frames estéreo); puede bloquear hasta que el
+     * dispositivo tenga sitio, que es lo que marca el ritmo del hilo de mezcla
+     */
+    void write(short[] samples, int count);
+}
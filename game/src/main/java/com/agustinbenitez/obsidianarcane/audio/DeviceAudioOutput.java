@@ -0,0 +1,30 @@
+package com.agustinbenitez.obsidianarcane.audio;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.audio.AudioDevice;
+
+/**
+ * Salida al dispositivo de audio del sistema (AudioDevice de libGDX, estéreo)
+ */
+public class DeviceAudioOutput implements AudioOutput {
+
+    private final AudioDevice device;
+
+    public DeviceAudioOutput(int sampleRate) {
+        device = Gdx.audio.newAudioDevice(sampleRate, false);
+    }
+
+    @Override
+    public void write(short[] samples, int count) {
+        device.writeSamples(samples, 0, count);
+    }
+
+    public int getLatency() {
+        return device.getLatency();
+    }
+
+    @Override
+    public void dispose() {
+        device.dispose();
+    }
+}
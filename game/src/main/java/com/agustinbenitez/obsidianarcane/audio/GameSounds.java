@@ -0,0 +1,87 @@
+package com.agustinbenitez.obsidianarcane.audio;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.MathUtils;
+import java.util.Random;
+
+/**
+ * Efectos del juego
+ *
+ * Cada efecto se carga de sfx/nombre.ogg si existe; si no, se sintetiza uno sencillo para
+ * que el juego suene sin recursos de audio.
+ */
+public class GameSounds {
+
+    public static final String MUSIC_FILE = "music/theme.ogg";
+
+    public final int jump;
+    public final int land;
+    public final int attack;
+    public final int menu;
+
+    public GameSounds(SoundBank bank) {
+        int rate = bank.getSampleRate();
+        jump = load(bank, "jump", sweep(rate, 0.14f, 320f, 720f, 0.45f));
+        land = load(bank, "land", thump(rate, 0.12f, 0.6f));
+        attack = load(bank, "attack", swoosh(rate, 0.22f, 0.5f));
+        menu = load(bank, "menu", sweep(rate, 0.05f, 880f, 880f, 0.3f));
+    }
+
+    private static int load(SoundBank bank, String name, short[] fallback) {
+        FileHandle file = Gdx.files != null ? Gdx.files.internal("sfx/" + name + ".ogg") : null;
+        if (file != null && file.exists()) {
+            return bank.load(name, file);
+        }
+        return bank.add(name, fallback, fallback.length, bank.getSampleRate());
+    }
+
+    /**
+     * Onda cuadrada con barrido de frecuencia y caída lineal
+     */
+    private static short[] sweep(int rate, float seconds, float fromHz, float toHz, float volume) {
+        short[] pcm = new short[(int) (rate * seconds)];
+        float phase = 0;
+        for (int i = 0; i < pcm.length; i++) {
+            float t = i / (float) pcm.length;
+            phase += MathUtils.lerp(fromHz, toHz, t) / rate;
+            float square = (phase % 1f) < 0.5f ? 1f : -1f;
+            pcm[i] = (short) (square * (1f - t) * volume * Short.MAX_VALUE);
+        }
+        return pcm;
+    }
+
+    /**
+     * Seno grave que cae de tono, con algo de ruido al principio
+     */
+    private static short[] thump(int rate, float seconds, float volume) {
+        Random random = new Random(7);
+        short[] pcm = new short[(int) (rate * seconds)];
+        float phase = 0;
+        for (int i = 0; i < pcm.length; i++) {
+            float t = i / (float) pcm.length;
+            phase += MathUtils.lerp(140f, 50f, t) / rate;
+            float envelope = (1f - t) * (1f - t);
+            float noise = (random.nextFloat() * 2f - 1f) * Math.max(0f, 1f - t * 6f) * 0.4f;
+            pcm[i] = (short) ((MathUtils.sin(phase * MathUtils.PI2) + noise) * envelope * volume * Short.MAX_VALUE);
+        }
+        return pcm;
+    }
+
+    /**
+     * Ruido filtrado que sube y baja (un tajo)
+     */
+    private static short[] swoosh(int rate, float seconds, float volume) {
+        Random random = new Random(11);
+        short[] pcm = new short[(int) (rate * seconds)];
+        float filtered = 0;
+        for (int i = 0; i < pcm.length; i++) {
+            float t = i / (float) pcm.length;
+            float cutoff = MathUtils.lerp(0.05f, 0.5f, MathUtils.sin(t * MathUtils.PI));
+            filtered += (random.nextFloat() * 2f - 1f - filtered) * cutoff;
+            float envelope = MathUtils.sin(t * MathUtils.PI);
+            pcm[i] = (short) (MathUtils.clamp(filtered * 2f, -1f, 1f) * envelope * volume * Short.MAX_VALUE);
+        }
+        return pcm;
+    }
+}
@@ -0,0 +1,88 @@
+package com.agustinbenitez.obsidianarcane.audio;
+
+import com.badlogic.gdx.files.FileHandle;
+import java.util.Random;
+
+/**
+ * Mide el coste de la mezcla sin dispositivo de audio (salida nula, sin esperas)
+ *
+ * Para cada número de voces lanza efectos sintéticos en posiciones aleatorias alrededor del
+ * oyente, más rápido de lo que terminan, así que los límites por categoría y el robo de voces
+ * están siempre activos. Con un argumento mezcla además esa música OGG en streaming.
+ * <pre>
+ * mvn exec:java -Dexec.mainClass=com.agustinbenitez.obsidianarcane.audio.MixerBenchmark [-Dexec.args="assets/music/theme.ogg"]
+ * </pre>
+ */
+public class MixerBenchmark {
+
+    private static final int[] VOICE_COUNTS = {8, 32, 64, 128};
+    private static final float SECONDS = 20f;
+    private static final int PLAYS_PER_BLOCK = 8;
+
+    public static void main(String[] args) throws InterruptedException {
+        FileHandle musicFile = args.length > 0 ? new FileHandle(args[0]) : null;
+        System.out.println(String.format("%-7s %10s %10s %9s %8s %8s %8s %6s", "voices", "block us", "realtime",
+            "active", "steals", "drops", "clipped", "peak"));
+        for (int voices : VOICE_COUNTS) {
+            run(voices, null, false); // Calentamiento del JIT
+        }
+        for (int voices : VOICE_COUNTS) {
+            run(voices, musicFile, true);
+        }
+    }
+
+    private static void run(int maxVoices, FileHandle musicFile, boolean print) throws InterruptedException {
+        SoundBank bank = new SoundBank(AudioEngine.SAMPLE_RATE);
+        GameSounds sounds = new GameSounds(bank);
+        int[] effects = {sounds.jump, sounds.land, sounds.attack};
+        AudioMixer mixer = new AudioMixer(bank, maxVoices);
+        mixer.setCategoryLimit(AudioMixer.SFX, maxVoices);
+        mixer.setMasterVolume(0.25f);
+        NullAudioOutput output = new NullAudioOutput(AudioEngine.SAMPLE_RATE, 1f, false);
+
+        MusicStream music = null;
+        if (musicFile != null) {
+            music = new MusicStream(musicFile, true, AudioEngine.SAMPLE_RATE);
+            Thread.sleep(200); // Deja que el decodificador llene el anillo
+            mixer.setMusic(music);
+        }
+
+        Random random = new Random(42);
+        short[] block = new short[AudioEngine.BLOCK_FRAMES * 2];
+        int blocks = (int) (SECONDS * AudioEngine.SAMPLE_RATE / AudioEngine.BLOCK_FRAMES);
+        long mixNanos = 0;
+        long activeSum = 0;
+        for (int b = 0; b < blocks; b++) {
+            // El oyente se mueve como una cámara que sigue al jugador
+            mixer.setListener((float) Math.sin(b * 0.01) * 400f, 0f);
+            for (int p = 0; p < PLAYS_PER_BLOCK; p++) {
+                mixer.play(effects[random.nextInt(effects.length)], AudioMixer.SFX, 0.2f + random.nextFloat() * 0.8f,
+                    random.nextFloat() * 2000f - 1000f, random.nextFloat() * 600f - 300f);
+            }
+            // Sin dispositivo la mezcla va muy por delante del tiempo real: se espera al
+            // decodificador fuera de la medición para medir solo la mezcla
+            while (music != null && music.getBufferedSeconds() < AudioEngine.BLOCK_FRAMES / (float) AudioEngine.SAMPLE_RATE) {
+                Thread.yield();
+            }
+            long start = System.nanoTime();
+            mixer.mix(block, AudioEngine.BLOCK_FRAMES);
+            mixNanos += System.nanoTime() - start;
+            activeSum += mixer.getActiveVoices();
+            output.write(block, block.length);
+        }
+        if (music != null) {
+            music.stop();
+        }
+
+        if (!print) {
+            return;
+        }
+        float blockMicros = mixNanos / 1000f / blocks;
+        float realtime = SECONDS * 1_000_000_000f / mixNanos;
+        System.out.println(String.format("%-7d %10.2f %9.0fx %9.1f %8d %8d %8d %6d", maxVoices, blockMicros, realtime,
+            activeSum / (float) blocks, mixer.getSteals(), mixer.getDrops(), output.getClippedSamples(), output.getPeak()));
+        if (music != null) {
+            System.out.println("  music underruns: " + music.getUnderruns());
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.agustinbenitez.obsidianarcane.audio;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.lwjgl3.audio.OggInputStream;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.StreamUtils;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Música en streaming desde un OGG, decodificada en un hilo propio
+ *
+ * El hilo decodificador va llenando un anillo de muestras estéreo a la frecuencia del
+ * mezclador y el hilo de mezcla lo va vaciando (un productor y un consumidor: solo hacen
+ * falta los dos contadores volátiles). El anillo cubre un par de segundos, así que un tirón
+ * del decodificador no llega a oírse; si aun así se vacía, se mezcla silencio y se cuenta.
+ */
+public class MusicStream {
+
+    private static final float BUFFER_SECONDS = 2f;
+    private static final int CHUNK_BYTES = 8192;
+    private static final long WAIT_NANOS = 5_000_000L;
+
+    private final FileHandle file;
+    private final boolean loop;
+    private final int sampleRate;
+    private final short[] ring;
+    private volatile long written;
+    private volatile long read;
+    private volatile boolean running = true;
+    private volatile boolean finished;
+    private volatile int underruns;
+    private final Thread thread;
+
+    public MusicStream(FileHandle file, boolean loop, int sampleRate) {
+        this.file = file;
+        this.loop = loop;
+        this.sampleRate = sampleRate;
+        ring = new short[(int) (sampleRate * BUFFER_SECONDS) * 2];
+        thread = new Thread(this::decodeLoop, "music-decoder");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void decodeLoop() {
+        ByteBuffer bytes = ByteBuffer.allocate(CHUNK_BYTES).order(ByteOrder.nativeOrder());
+        // Posición fraccionaria de remuestreo (vecino más cercano si el archivo no va a la
+        // frecuencia del mezclador), conservada entre bloques
+        float position = 0;
+        do {
+            OggInputStream input = null;
+            try {
+                input = new OggInputStream(file.read());
+                int channels = input.getChannels();
+                float step = input.getSampleRate() / (float) sampleRate;
+                while (running && !input.atEnd()) {
+                    // Espera a que haya sitio para el peor caso de un bloque remuestreado
+                    int frameCapacity = (int) (CHUNK_BYTES / (2 * channels) / step) + 2;
+                    if (ring.length - (written - read) < frameCapacity * 2L) {
+                        LockSupport.parkNanos(WAIT_NANOS);
+                        continue;
+                    }
+                    int count = input.read(bytes.array(), 0, CHUNK_BYTES);
+                    if (count <= 0) {
+                        break;
+                    }
+                    int frames = count / (2 * channels);
+                    long cursor = written;
+                    while (position < frames) {
+                        int base = (int) position * channels * 2;
+                        short left = bytes.getShort(base);
+                        short right = channels > 1 ? bytes.getShort(base + 2) : left;
+                        ring[(int) (cursor++ % ring.length)] = left;
+                        ring[(int) (cursor++ % ring.length)] = right;
+                        position += step;
+                    }
+                    position -= frames;
+                    written = cursor;
+                }
+            } catch (RuntimeException e) {
+                if (Gdx.app != null) {
+                    Gdx.app.error("MusicStream", "Could not stream " + file + ": " + e.getMessage());
+                }
+                break;
+            } finally {
+                StreamUtils.closeQuietly(input);
+            }
+        } while (running && loop);
+        finished = true;
+    }
+
+    /**
+     * Suma hasta frames frames de música a mix (estéreo entrelazado) con la ganancia dada;
+     * lo que falte se queda en silencio. Solo lo llama el hilo de mezcla.
+     */
+    int mixInto(float[] mix, int frames, float gain) {
+        long available = (written - read) / 2;
+        int count = (int) Math.min(frames, available);
+        long cursor = read;
+        for (int i = 0; i < count * 2; i++) {
+            mix[i] += ring[(int) (cursor++ % ring.length)] * gain;
+        }
+        read = cursor;
+        if (count < frames && !finished) {
+            underruns++;
+        }
+        return count;
+    }
+
+    /**
+     * Cuántas veces se ha quedado la mezcla sin música decodificada
+     */
+    public int getUnderruns() {
+        return underruns;
+    }
+
+    /**
+     * Segundos decodificados que esperan en el anillo
+     */
+    public float getBufferedSeconds() {
+        return (written - read) / 2f / sampleRate;
+    }
+
+    /**
+     * true cuando se ha terminado de decodificar (y no se repite) y el anillo está vacío
+     */
+    public boolean isFinished() {
+        return finished && written == read;
+    }
+
+    public void stop() {
+        running = false;
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.agustinbenitez.obsidianarcane.audio;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Salida sin dispositivo: guarda las muestras en un buffer en memoria
+ *
+ * Sirve para medir el coste de la mezcla y comprobar su resultado sin hardware de sonido
+ * (servidores, CI, equipos sin audio). Se queda con los últimos segundos en un anillo y
+ * cuenta las muestras escritas y las que llegan saturadas. En modo tiempo real espera la
+ * duración de cada bloque, como haría un dispositivo; si no, escribe tan rápido como se mezcla.
+ */
+public class NullAudioOutput implements AudioOutput {
+
+    private final int sampleRate;
+    private final boolean realtime;
+    private final short[] capture;
+    private int captureCursor;
+    private long samplesWritten;
+    private long clippedSamples;
+    private int peak;
+    private long nextDeadlineNanos;
+
+    public NullAudioOutput(int sampleRate, float captureSeconds, boolean realtime) {
+        this.sampleRate = sampleRate;
+        this.realtime = realtime;
+        capture = new short[Math.max(2, (int) (sampleRate * captureSeconds) * 2)];
+    }
+
+    @Override
+    public void write(short[] samples, int count) {
+        for (int i = 0; i < count; i++) {
+            short sample = samples[i];
+            int magnitude = Math.abs(sample);
+            if (magnitude > peak) {
+                peak = magnitude;
+            }
+            if (sample == Short.MAX_VALUE || sample == Short.MIN_VALUE) {
+                clippedSamples++;
+            }
+            capture[captureCursor] = sample;
+            captureCursor = captureCursor + 1 == capture.length ? 0 : captureCursor + 1;
+        }
+        samplesWritten += count;
+
+        if (realtime) {
+            long now = System.nanoTime();
+            if (nextDeadlineNanos == 0 || now - nextDeadlineNanos > 100_000_000L) {
+                nextDeadlineNanos = now;
+            }
+            nextDeadlineNanos += count / 2 * 1_000_000_000L / sampleRate;
+            long wait = nextDeadlineNanos - now;
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+    }
+
+    /**
+     * Copia a out las últimas muestras capturadas (en orden) y devuelve cuántas
+     */
+    public int copyCapture(short[] out) {
+        int count = (int) Math.min(out.length, Math.min(samplesWritten, capture.length));
+        int start = captureCursor - count;
+        if (start < 0) {
+            start += capture.length;
+        }
+        for (int i = 0; i < count; i++) {
+            out[i] = capture[(start + i) % capture.length];
+        }
+        return count;
+    }
+
+    public long getSamplesWritten() {
+        return samplesWritten;
+    }
+
+    public long getClippedSamples() {
+        return clippedSamples;
+    }
+
+    /**
+     * Pico absoluto desde el principio (0..32767)
+     */
+    public int getPeak() {
+        return peak;
+    }
+
+    @Override
+    public void dispose() {
+    }
+}
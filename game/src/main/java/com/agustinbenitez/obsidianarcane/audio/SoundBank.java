@@ -0,0 +1,133 @@
+package com.agustinbenitez.obsidianarcane.audio;
+
+import com.badlogic.gdx.backends.lwjgl3.audio.OggInputStream;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ShortArray;
+import com.badlogic.gdx.utils.StreamUtils;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Efectos de sonido decodificados por adelantado a PCM
+ *
+ * Todos los efectos van seguidos en un único array de muestras mono de 16 bits a la
+ * frecuencia del mezclador: al cargar se decodifica el OGG, se mezcla a mono y se
+ * remuestrea, así que durante la mezcla reproducir un efecto es solo leer el array. Los
+ * efectos se cargan antes de reproducirlos; añadir más mientras suena audio es seguro (el
+ * mezclador sigue con el array anterior hasta el siguiente bloque), pero reserva memoria.
+ */
+public class SoundBank {
+
+    private final int sampleRate;
+    private volatile short[] samples = new short[1 << 16];
+    private int sampleCount;
+    private final IntArray offsets = new IntArray();
+    private final IntArray lengths = new IntArray();
+    private final Array<String> names = new Array<>(true, 8, String.class);
+
+    public SoundBank(int sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Decodifica un OGG y lo añade con el nombre dado; devuelve su ID
+     */
+    public int load(String name, FileHandle file) {
+        OggInputStream input = null;
+        try {
+            input = new OggInputStream(file.read());
+            ShortArray decoded = new ShortArray(true, 1 << 15);
+            ByteBuffer bytes = ByteBuffer.allocate(4096).order(ByteOrder.nativeOrder());
+            int channels = input.getChannels();
+            while (!input.atEnd()) {
+                int read = input.read(bytes.array(), 0, bytes.capacity());
+                if (read <= 0) {
+                    break;
+                }
+                bytes.clear().limit(read - read % (2 * channels));
+                while (bytes.hasRemaining()) {
+                    int sum = 0;
+                    for (int c = 0; c < channels; c++) {
+                        sum += bytes.getShort();
+                    }
+                    decoded.add((short) (sum / channels));
+                }
+            }
+            return add(name, decoded.items, decoded.size, input.getSampleRate());
+        } catch (GdxRuntimeException e) {
+            throw new GdxRuntimeException("Could not decode sound: " + file, e);
+        } finally {
+            StreamUtils.closeQuietly(input);
+        }
+    }
+
+    /**
+     * Añade muestras mono ya decodificadas (se remuestrean a la frecuencia del mezclador)
+     */
+    public synchronized int add(String name, short[] pcm, int length, int sourceRate) {
+        int resampledLength = (int) ((long) length * sampleRate / sourceRate);
+        if (sampleCount + resampledLength > samples.length) {
+            short[] grown = new short[Math.max(sampleCount + resampledLength, samples.length * 2)];
+            System.arraycopy(samples, 0, grown, 0, sampleCount);
+            samples = grown;
+        }
+        short[] target = samples;
+        if (sourceRate == sampleRate) {
+            System.arraycopy(pcm, 0, target, sampleCount, length);
+        } else {
+            // Interpolación lineal; suficiente para efectos cortos
+            float step = sourceRate / (float) sampleRate;
+            for (int i = 0; i < resampledLength; i++) {
+                float position = i * step;
+                int index = (int) position;
+                int next = Math.min(index + 1, length - 1);
+                float fraction = position - index;
+                target[sampleCount + i] = (short) (pcm[index] + (pcm[next] - pcm[index]) * fraction);
+            }
+        }
+        offsets.add(sampleCount);
+        lengths.add(resampledLength);
+        names.add(name);
+        sampleCount += resampledLength;
+        return names.size - 1;
+    }
+
+    /**
+     * ID de un efecto por nombre (-1 si no existe)
+     */
+    public int find(String name) {
+        return names.indexOf(name, false);
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    public int getSoundCount() {
+        return names.size;
+    }
+
+    /**
+     * Memoria ocupada por las muestras (bytes)
+     */
+    public int getMemoryBytes() {
+        return samples.length * 2;
+    }
+
+    // Acceso directo para AudioMixer
+
+    short[] getSamples() {
+        return samples;
+    }
+
+    int getOffset(int sound) {
+        return offsets.items[sound];
+    }
+
+    int getLength(int sound) {
+        return lengths.items[sound];
+    }
+}
@@ -0,0 +1,238 @@
+package com.agustinbenitez.obsidianarcane.effects;
+
+import com.agustinbenitez.obsidianarcane.render.RenderSnapshot;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+
+/**
+ * Sistema de partículas con capacidad fija
+ * Las partículas viven en arrays primitivos (struct-of-arrays) usados como ring buffer:
+ * emitir escribe en la cabeza y, si el buffer está lleno, sobrescribe la partícula más antigua.
+ * No se reserva memoria después de la construcción.
+ */
+public class ParticleSystem {
+
+    public static final int DEFAULT_CAPACITY = 50000;
+
+    // Gravedad aplicada a las partículas (pixels por segundo al cuadrado)
+    private static final float GRAVITY = -400f;
+
+    private final int capacity;
+
+    // Struct-of-arrays
+    private final float[] posX;
+    private final float[] posY;
+    private final float[] velX;
+    private final float[] velY;
+    private final float[] life;
+    private final float[] maxLife;
+    private final float[] size;
+    private final float[] gravityScale;
+    private final float[] packedColor;
+
+    // Ring buffer: [tail, tail + count) contiene las partículas emitidas
+    private int tail;
+    private int count;
+    private int liveCount;
+
+    // Límite de partículas y nivel de detalle
+    private int particleCap;
+    private float lodFactor = 1f;
+    private int droppedThisFrame;
+
+    public ParticleSystem() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ParticleSystem(int capacity) {
+        this.capacity = capacity;
+        this.particleCap = capacity;
+        posX = new float[capacity];
+        posY = new float[capacity];
+        velX = new float[capacity];
+        velY = new float[capacity];
+        life = new float[capacity];
+        maxLife = new float[capacity];
+        size = new float[capacity];
+        gravityScale = new float[capacity];
+        packedColor = new float[capacity];
+    }
+
+    /**
+     * Emite una partícula. Devuelve false si fue descartada por el LOD o el límite
+     */
+    public boolean emit(float x, float y, float vx, float vy, float lifetime, float particleSize,
+                        float gravity, float color) {
+        // LOD: descartar una fracción de las emisiones bajo carga
+        if (lodFactor < 1f && MathUtils.random() > lodFactor) {
+            droppedThisFrame++;
+            return false;
+        }
+
+        int index;
+        if (count < particleCap) {
+            index = (tail + count) % capacity;
+            count++;
+        } else {
+            // Buffer lleno: reutilizar la partícula más antigua
+            index = tail;
+            tail = (tail + 1) % capacity;
+            if (life[index] > 0) {
+                liveCount--;
+            }
+            droppedThisFrame++;
+        }
+
+        posX[index] = x;
+        posY[index] = y;
+        velX[index] = vx;
+        velY[index] = vy;
+        life[index] = lifetime;
+        maxLife[index] = lifetime;
+        size[index] = particleSize;
+        gravityScale[index] = gravity;
+        packedColor[index] = color;
+        liveCount++;
+        return true;
+    }
+
+    /**
+     * Emite una ráfaga radial de partículas
+     */
+    public void burst(float x, float y, int amount, Color color, float speed, float lifetime, float particleSize) {
+        float packed = color.toFloatBits();
+        for (int i = 0; i < amount; i++) {
+            float angle = MathUtils.random(MathUtils.PI2);
+            float magnitude = speed * MathUtils.random(0.3f, 1f);
+            emit(x, y,
+                 MathUtils.cos(angle) * magnitude,
+                 MathUtils.sin(angle) * magnitude,
+                 lifetime * MathUtils.random(0.6f, 1f),
+                 particleSize,
+                 1f,
+                 packed);
+        }
+    }
+
+    /**
+     * Actualiza todas las partículas en un único bucle
+     */
+    public void update(float deltaTime) {
+        droppedThisFrame = 0;
+        float gravityStep = GRAVITY * deltaTime;
+
+        int alive = 0;
+        for (int n = 0; n < count; n++) {
+            int i = (tail + n) % capacity;
+            float remaining = life[i];
+            if (remaining <= 0) {
+                continue;
+            }
+            remaining -= deltaTime;
+            life[i] = remaining;
+            if (remaining <= 0) {
+                continue;
+            }
+            velY[i] += gravityStep * gravityScale[i];
+            posX[i] += velX[i] * deltaTime;
+            posY[i] += velY[i] * deltaTime;
+            alive++;
+        }
+        liveCount = alive;
+
+        // Avanzar la cola mientras la partícula más antigua esté muerta
+        while (count > 0 && life[tail] <= 0) {
+            tail = (tail + 1) % capacity;
+            count--;
+        }
+    }
+
+    /**
+     * Dibuja todas las partículas vivas en una sola pasada del SpriteBatch
+     * El batch debe estar iniciado (begin) por el llamador
+     */
+    public void render(SpriteBatch batch, TextureRegion region) {
+        float previousColor = batch.getPackedColor();
+        for (int n = 0; n < count; n++) {
+            int i = (tail + n) % capacity;
+            float remaining = life[i];
+            if (remaining <= 0) {
+                continue;
+            }
+            // Las partículas se encogen al final de su vida
+            float s = size[i] * Math.min(1f, remaining / maxLife[i] * 2f);
+            batch.setPackedColor(packedColor[i]);
+            batch.draw(region, posX[i] - s / 2, posY[i] - s / 2, s, s);
+        }
+        batch.setPackedColor(previousColor);
+    }
+
+    /**
+     * Copia las partículas vivas al snapshot de render, con el tamaño ya calculado
+     */
+    public void writeSnapshot(RenderSnapshot snapshot) {
+        snapshot.ensureParticleCapacity(count);
+        float[] outX = snapshot.particleX;
+        float[] outY = snapshot.particleY;
+        float[] outSize = snapshot.particleSize;
+        float[] outColor = snapshot.particleColor;
+        int written = 0;
+        for (int n = 0; n < count; n++) {
+            int i = (tail + n) % capacity;
+            float remaining = life[i];
+            if (remaining <= 0) {
+                continue;
+            }
+            outX[written] = posX[i];
+            outY[written] = posY[i];
+            outSize[written] = size[i] * Math.min(1f, remaining / maxLife[i] * 2f);
+            outColor[written] = packedColor[i];
+            written++;
+        }
+        snapshot.particleCount = written;
+    }
+
+    /**
+     * Elimina todas las partículas
+     */
+    public void clear() {
+        for (int n = 0; n < count; n++) {
+            life[(tail + n) % capacity] = 0;
+        }
+        tail = 0;
+        count = 0;
+        liveCount = 0;
+    }
+
+    /**
+     * Establece el límite duro de partículas (no puede superar la capacidad)
+     */
+    public void setParticleCap(int cap) {
+        this.particleCap = Math.max(1, Math.min(cap, capacity));
+        // Si el nuevo límite es menor, descartar las partículas más antiguas
+        while (count > particleCap) {
+            if (life[tail] > 0) {
+                life[tail] = 0;
+                liveCount--;
+            }
+            tail = (tail + 1) % capacity;
+            count--;
+        }
+    }
+
+    /**
+     * Establece el factor de detalle (1 = todas las emisiones, 0.25 = una de cada cuatro)
+     */
+    public void setLodFactor(float lodFactor) {
+        this.lodFactor = MathUtils.clamp(lodFactor, 0f, 1f);
+    }
+
+    // Getters
+    public int getCapacity() { return capacity; }
+    public int getParticleCap() { return particleCap; }
+    public float getLodFactor() { return lodFactor; }
+    public int getLiveCount() { return liveCount; }
+    public int getDroppedThisFrame() { return droppedThisFrame; }
+}
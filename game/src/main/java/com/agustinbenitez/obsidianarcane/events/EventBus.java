@@ -0,0 +1,161 @@
+package com.agustinbenitez.obsidianarcane.events;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.SnapshotArray;
+
+/**
+ * Bus de eventos de juego con eventos reutilizables y dispatch una vez por tick
+ *
+ * Cada tipo de evento tiene su propio canal con un pool, una cola y un array de
+ * suscriptores. post() solo encola; dispatch() entrega los eventos canal a canal (en el
+ * orden de creación de los tipos y, dentro de cada tipo, en el orden de publicación), de
+ * modo que cada bucle de entrega llama siempre al mismo tipo de suscriptores. Los eventos
+ * publicados durante el dispatch se entregan en el siguiente tick.
+ *
+ * Tras el calentamiento no se reserva memoria: los eventos vuelven al pool y las colas y
+ * arrays de suscriptores se reutilizan. No es thread-safe; se usa desde el hilo del juego.
+ */
+public class EventBus {
+
+    private static final int INITIAL_QUEUE_CAPACITY = 16;
+
+    private static final class Channel<T extends GameEvent> {
+        final Pool<T> pool;
+        final SnapshotArray<GameEventListener<? super T>> listeners;
+        Array<T> queue;
+        Array<T> dispatching;
+
+        Channel(EventType<T> type) {
+            this.pool = new Pool<T>() {
+                @Override
+                protected T newObject() {
+                    T event = type.factory.get();
+                    event.type = type;
+                    return event;
+                }
+            };
+            this.listeners = new SnapshotArray<>(false, 4, GameEventListener.class);
+            this.queue = new Array<>(false, INITIAL_QUEUE_CAPACITY);
+            this.dispatching = new Array<>(false, INITIAL_QUEUE_CAPACITY);
+        }
+
+        void swap() {
+            Array<T> events = queue;
+            queue = dispatching;
+            dispatching = events;
+        }
+
+        void deliver() {
+            Array<T> events = dispatching;
+            if (events.size == 0) {
+                return;
+            }
+            Object[] subscribers = listeners.begin();
+            int subscriberCount = listeners.size;
+            for (int i = 0; i < events.size; i++) {
+                T event = events.get(i);
+                for (int j = 0; j < subscriberCount; j++) {
+                    @SuppressWarnings("unchecked")
+                    GameEventListener<? super T> listener = (GameEventListener<? super T>) subscribers[j];
+                    listener.onEvent(event);
+                }
+                pool.free(event);
+            }
+            listeners.end();
+            events.clear();
+        }
+
+        void clear() {
+            pool.freeAll(queue);
+            queue.clear();
+        }
+    }
+
+    private Channel<?>[] channels = new Channel<?>[8];
+    private int channelCount;
+    private int queuedCount;
+
+    @SuppressWarnings("unchecked")
+    private <T extends GameEvent> Channel<T> channel(EventType<T> type) {
+        if (type.id >= channels.length) {
+            Channel<?>[] grown = new Channel<?>[Math.max(channels.length * 2, type.id + 1)];
+            System.arraycopy(channels, 0, grown, 0, channels.length);
+            channels = grown;
+        }
+        Channel<T> channel = (Channel<T>) channels[type.id];
+        if (channel == null) {
+            channel = new Channel<>(type);
+            channels[type.id] = channel;
+            channelCount = Math.max(channelCount, type.id + 1);
+        }
+        return channel;
+    }
+
+    public <T extends GameEvent> void subscribe(EventType<T> type, GameEventListener<? super T> listener) {
+        channel(type).listeners.add(listener);
+    }
+
+    public <T extends GameEvent> void unsubscribe(EventType<T> type, GameEventListener<? super T> listener) {
+        channel(type).listeners.removeValue(listener, true);
+    }
+
+    /**
+     * Obtiene un evento del pool; hay que rellenarlo y publicarlo con post()
+     */
+    public <T extends GameEvent> T obtain(EventType<T> type) {
+        return channel(type).pool.obtain();
+    }
+
+    /**
+     * Encola un evento obtenido con obtain() hasta el siguiente dispatch()
+     * Si el tipo no tiene suscriptores el evento vuelve directamente al pool.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends GameEvent> void post(T event) {
+        Channel<T> channel = (Channel<T>) channels[event.type.id];
+        if (channel.listeners.size == 0) {
+            channel.pool.free(event);
+            return;
+        }
+        channel.queue.add(event);
+        queuedCount++;
+    }
+
+    public boolean hasSubscribers(EventType<?> type) {
+        return type.id < channelCount && channels[type.id] != null && channels[type.id].listeners.size > 0;
+    }
+
+    /**
+     * Entrega los eventos encolados; se llama una vez por tick
+     */
+    public void dispatch() {
+        if (queuedCount == 0) {
+            return;
+        }
+        queuedCount = 0;
+        // Primero se separan las colas para que lo publicado durante la entrega espere al siguiente tick
+        for (int i = 0; i < channelCount; i++) {
+            if (channels[i] != null) {
+                channels[i].swap();
+            }
+        }
+        for (int i = 0; i < channelCount; i++) {
+            if (channels[i] != null) {
+                channels[i].deliver();
+            }
+        }
+    }
+
+    /**
+     * Descarta los eventos pendientes sin entregarlos
+     */
+    public void clear() {
+        for (int i = 0; i < channelCount; i++) {
+            if (channels[i] != null) {
+                channels[i].clear();
+            }
+        }
+        queuedCount = 0;
+    }
+}
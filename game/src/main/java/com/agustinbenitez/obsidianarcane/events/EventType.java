@@ -0,0 +1,33 @@
+package com.agustinbenitez.obsidianarcane.events;
+
+import java.util.function.Supplier;
+
+/**
+ * Tipo de evento: identificador denso y fábrica para el pool de cada EventBus
+ * Se declaran como constantes estáticas (ver GameEvents).
+ */
+public final class EventType<T extends GameEvent> {
+
+    private static int typeCount;
+
+    final int id;
+    final String name;
+    final Supplier<T> factory;
+
+    public EventType(String name, Supplier<T> factory) {
+        synchronized (EventType.class) {
+            this.id = typeCount++;
+        }
+        this.name = name;
+        this.factory = factory;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
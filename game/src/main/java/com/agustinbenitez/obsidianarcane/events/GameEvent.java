@@ -0,0 +1,18 @@
+package com.agustinbenitez.obsidianarcane.events;
+
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * Evento de juego reutilizable
+ *
+ * Los eventos se obtienen de EventBus.obtain(), se publican con EventBus.post() y vuelven
+ * a su pool tras el dispatch, así que los suscriptores no deben guardar referencias a ellos.
+ */
+public abstract class GameEvent implements Pool.Poolable {
+
+    EventType<?> type;
+
+    public EventType<?> getType() {
+        return type;
+    }
+}
@@ -0,0 +1,9 @@
+package com.agustinbenitez.obsidianarcane.events;
+
+/**
+ * Suscriptor de un tipo de evento
+ */
+public interface GameEventListener<T extends GameEvent> {
+
+    void onEvent(T event);
+}
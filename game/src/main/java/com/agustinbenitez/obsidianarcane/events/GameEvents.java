@@ -0,0 +1,77 @@
+package com.agustinbenitez.obsidianarcane.events;
+
+/**
+ * Tipos de evento del juego
+ * Los campos se rellenan tras EventBus.obtain() y reset() los limpia al volver al pool.
+ */
+public final class GameEvents {
+
+    private GameEvents() {
+    }
+
+    /**
+     * El jugador toca el suelo tras estar en el aire
+     */
+    public static class PlayerLanded extends GameEvent {
+        public float x;
+        public float y;
+        // Velocidad vertical justo antes del aterrizaje (positiva hacia abajo)
+        public float impactSpeed;
+
+        @Override
+        public void reset() {
+            x = 0;
+            y = 0;
+            impactSpeed = 0;
+        }
+    }
+
+    /**
+     * El jugador ha saltado
+     */
+    public static class PlayerJumped extends GameEvent {
+        public float x;
+        public float y;
+
+        @Override
+        public void reset() {
+            x = 0;
+            y = 0;
+        }
+    }
+
+    /**
+     * El jugador vuelve al punto de aparición de la sala (died: por una caída, no por un reinicio)
+     */
+    public static class PlayerRespawned extends GameEvent {
+        public float x;
+        public float y;
+        public boolean died;
+
+        @Override
+        public void reset() {
+            x = 0;
+            y = 0;
+            died = false;
+        }
+    }
+
+    /**
+     * Cambio de sala (previousRoom es -1 en la primera sala)
+     */
+    public static class RoomEntered extends GameEvent {
+        public int room;
+        public int previousRoom;
+
+        @Override
+        public void reset() {
+            room = -1;
+            previousRoom = -1;
+        }
+    }
+
+    public static final EventType<PlayerLanded> PLAYER_LANDED = new EventType<>("PlayerLanded", PlayerLanded::new);
+    public static final EventType<PlayerJumped> PLAYER_JUMPED = new EventType<>("PlayerJumped", PlayerJumped::new);
+    public static final EventType<PlayerRespawned> PLAYER_RESPAWNED = new EventType<>("PlayerRespawned", PlayerRespawned::new);
+    public static final EventType<RoomEntered> ROOM_ENTERED = new EventType<>("RoomEntered", RoomEntered::new);
+}
@@ -0,0 +1,152 @@
+package com.agustinbenitez.obsidianarcane.i18n;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mensaje con parámetros (estilo printf) pre-analizado en segmentos
+ * Soporta %s, %d y %%; cualquier otra especificación (p.ej. %.1f) se delega en String.format.
+ */
+public final class CompiledMessage {
+
+    private static final char LITERAL = 0;
+
+    private final String pattern;
+    private final String[] literals;
+    private final char[] conversions;
+    private final int[] argIndices;
+    private final boolean simple;
+
+    private CompiledMessage(String pattern, String[] literals, char[] conversions, int[] argIndices, boolean simple) {
+        this.pattern = pattern;
+        this.literals = literals;
+        this.conversions = conversions;
+        this.argIndices = argIndices;
+        this.simple = simple;
+    }
+
+    /**
+     * Devuelve true si el texto contiene especificadores de formato
+     */
+    public static boolean isParameterized(String text) {
+        return text.indexOf('%') >= 0;
+    }
+
+    /**
+     * Analiza un patrón en segmentos literales y argumentos
+     */
+    public static CompiledMessage compile(String pattern) {
+        List<String> literals = new ArrayList<>();
+        StringBuilder conversions = new StringBuilder();
+        List<Integer> argIndices = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        boolean simple = true;
+        int nextArg = 0;
+
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c != '%') {
+                literal.append(c);
+                continue;
+            }
+            char next = i + 1 < pattern.length() ? pattern.charAt(i + 1) : 0;
+            if (next == '%') {
+                literal.append('%');
+                i++;
+            } else if (next == 's' || next == 'd') {
+                if (literal.length() > 0) {
+                    literals.add(literal.toString());
+                    conversions.append(LITERAL);
+                    argIndices.add(-1);
+                    literal.setLength(0);
+                }
+                literals.add(null);
+                conversions.append(next);
+                argIndices.add(nextArg++);
+                i++;
+            } else {
+                simple = false;
+                break;
+            }
+        }
+        if (literal.length() > 0) {
+            literals.add(literal.toString());
+            conversions.append(LITERAL);
+            argIndices.add(-1);
+        }
+
+        int[] indices = new int[argIndices.size()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = argIndices.get(i);
+        }
+        return new CompiledMessage(pattern, literals.toArray(new String[0]),
+                                   conversions.toString().toCharArray(), indices, simple);
+    }
+
+    /**
+     * Formatea el mensaje añadiéndolo al buffer indicado
+     */
+    public void formatTo(StringBuilder out, Object[] args) {
+        if (!simple) {
+            out.append(String.format(pattern, args));
+            return;
+        }
+        for (int i = 0; i < conversions.length; i++) {
+            if (conversions[i] == LITERAL) {
+                out.append(literals[i]);
+                continue;
+            }
+            int argIndex = argIndices[i];
+            Object arg = args != null && argIndex < args.length ? args[argIndex] : null;
+            if (arg instanceof Integer) {
+                out.append(((Integer) arg).intValue());
+            } else if (arg instanceof Long) {
+                out.append(((Long) arg).longValue());
+            } else {
+                out.append(arg);
+            }
+        }
+    }
+
+    /**
+     * Formatea el mensaje con un único argumento entero, sin empaquetarlo
+     */
+    public void formatTo(StringBuilder out, int arg) {
+        if (!simple) {
+            out.append(String.format(pattern, arg));
+            return;
+        }
+        for (int i = 0; i < conversions.length; i++) {
+            if (conversions[i] == LITERAL) {
+                out.append(literals[i]);
+            } else if (argIndices[i] == 0) {
+                out.append(arg);
+            } else {
+                out.append((Object) null);
+            }
+        }
+    }
+
+    /**
+     * Formatea el mensaje con un único argumento de texto
+     */
+    public void formatTo(StringBuilder out, CharSequence arg) {
+        if (!simple) {
+            out.append(String.format(pattern, arg));
+            return;
+        }
+        for (int i = 0; i < conversions.length; i++) {
+            if (conversions[i] == LITERAL) {
+                out.append(literals[i]);
+            } else if (argIndices[i] == 0) {
+                out.append(arg);
+            } else {
+                out.append((Object) null);
+            }
+        }
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+}
@@ -0,0 +1,227 @@
+package com.agustinbenitez.obsidianarcane.i18n;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * IDs de los textos localizados
+ * Generado por MessageKeysGenerator a partir de i18n/messages.properties; no editar a mano.
+ */
+public final class MessageKeys {
+
+    public static final int MENU_PLAY = 0;
+    public static final int MENU_OPTIONS = 1;
+    public static final int MENU_EXIT = 2;
+    public static final int MENU_TITLE = 3;
+    public static final int GAME_TITLE = 4;
+    public static final int GAME_SUBTITLE = 5;
+    public static final int GAME_RETURN_MENU = 6;
+    public static final int GAME_FPS = 7;
+    public static final int GAME_STARTING = 8;
+    public static final int OPTIONS_TITLE = 9;
+    public static final int OPTIONS_LANGUAGE = 10;
+    public static final int OPTIONS_SPANISH = 11;
+    public static final int OPTIONS_ENGLISH = 12;
+    public static final int OPTIONS_DISPLAY = 13;
+    public static final int OPTIONS_RESOLUTION = 14;
+    public static final int OPTIONS_FPS = 15;
+    public static final int OPTIONS_FULLSCREEN = 16;
+    public static final int OPTIONS_RENDER_SCALE = 17;
+    public static final int OPTIONS_BACK = 18;
+    public static final int OPTIONS_APPLY = 19;
+    public static final int OPTIONS_BLOOM = 20;
+    public static final int OPTIONS_VIGNETTE = 21;
+    public static final int OPTIONS_COLOR_GRADING = 22;
+    public static final int OPTIONS_CRT = 23;
+    public static final int SYSTEM_LOADING = 24;
+    public static final int SYSTEM_ERROR = 25;
+    public static final int SYSTEM_SUCCESS = 26;
+    public static final int SYSTEM_CONFIRM = 27;
+    public static final int SYSTEM_CANCEL = 28;
+    public static final int UI_HEALTH = 29;
+    public static final int UI_SCORE = 30;
+    public static final int UI_LEVEL = 31;
+    public static final int UI_INVENTORY = 32;
+    public static final int UI_PAUSE = 33;
+    public static final int UI_RESUME = 34;
+    public static final int GAME_PAUSED = 35;
+    public static final int GAME_GAME_OVER = 36;
+    public static final int GAME_VICTORY = 37;
+    public static final int GAME_NEW_GAME = 38;
+    public static final int GAME_CONTINUE = 39;
+    public static final int CONTROLS_MOVE = 40;
+    public static final int CONTROLS_ATTACK = 41;
+    public static final int CONTROLS_JUMP = 42;
+    public static final int CONTROLS_PAUSE = 43;
+    public static final int CONTROLS_MENU = 44;
+    public static final int CONTROLS_EXIT = 45;
+    public static final int ACHIEVEMENTS_TITLE = 46;
+    public static final int ACHIEVEMENTS_UNLOCKED = 47;
+    public static final int ACHIEVEMENTS_EXTERMINATOR = 48;
+    public static final int ACHIEVEMENTS_BOSS_HUNTER = 49;
+    public static final int ACHIEVEMENTS_SURVIVOR = 50;
+    public static final int ACHIEVEMENTS_EXPLORER = 51;
+    public static final int ACHIEVEMENTS_COLLECTOR = 52;
+    public static final int ACHIEVEMENTS_CARTOGRAPHER = 53;
+    public static final int INVENTORY_TITLE = 54;
+    public static final int INVENTORY_EMPTY = 55;
+    public static final int INVENTORY_FULL = 56;
+    public static final int INVENTORY_USE = 57;
+    public static final int INVENTORY_DROP = 58;
+    public static final int SHOP_TITLE = 59;
+    public static final int SHOP_BUY = 60;
+    public static final int SHOP_SELL = 61;
+    public static final int SHOP_NOT_ENOUGH_MONEY = 62;
+    public static final int SHOP_PURCHASE_SUCCESSFUL = 63;
+    public static final int CONFIG_TITLE = 64;
+    public static final int CONFIG_GRAPHICS = 65;
+    public static final int CONFIG_AUDIO = 66;
+    public static final int CONFIG_CONTROLS = 67;
+    public static final int CONFIG_SAVE = 68;
+    public static final int CONFIG_RESET = 69;
+    public static final int PAUSE_RESUME = 70;
+    public static final int PAUSE_RESTART = 71;
+    public static final int PAUSE_SETTINGS = 72;
+    public static final int PAUSE_MAIN_MENU = 73;
+    public static final int PAUSE_TITLE = 74;
+    public static final int PAUSE_INSTRUCTIONS = 75;
+    public static final int SAVE_TITLE = 76;
+    public static final int LOAD_TITLE = 77;
+    public static final int SAVE_INSTRUCTIONS = 78;
+    public static final int LOAD_INSTRUCTIONS = 79;
+    public static final int SAVE_SLOT = 80;
+    public static final int SAVE_EMPTY = 81;
+    public static final int SAVE_LEVEL = 82;
+    public static final int SAVE_VILLAGE = 83;
+    public static final int SAVE_MINUTES = 84;
+    public static final int SAVE_WRITE_FAILED = 85;
+    public static final int MENU_CREDITS = 86;
+    public static final int CREDITS_TITLE = 87;
+    public static final int CREDITS_DEVELOPER = 88;
+    public static final int CREDITS_NAME = 89;
+    public static final int CREDITS_THANKS = 90;
+    public static final int CREDITS_BACK = 91;
+
+    public static final int COUNT = 92;
+
+    private static final String[] KEYS = {
+        "menu.play",
+        "menu.options",
+        "menu.exit",
+        "menu.title",
+        "game.title",
+        "game.subtitle",
+        "game.return_menu",
+        "game.fps",
+        "game.starting",
+        "options.title",
+        "options.language",
+        "options.spanish",
+        "options.english",
+        "options.display",
+        "options.resolution",
+        "options.fps",
+        "options.fullscreen",
+        "options.render_scale",
+        "options.back",
+        "options.apply",
+        "options.bloom",
+        "options.vignette",
+        "options.color_grading",
+        "options.crt",
+        "system.loading",
+        "system.error",
+        "system.success",
+        "system.confirm",
+        "system.cancel",
+        "ui.health",
+        "ui.score",
+        "ui.level",
+        "ui.inventory",
+        "ui.pause",
+        "ui.resume",
+        "game.paused",
+        "game.game_over",
+        "game.victory",
+        "game.new_game",
+        "game.continue",
+        "controls.move",
+        "controls.attack",
+        "controls.jump",
+        "controls.pause",
+        "controls.menu",
+        "controls.exit",
+        "achievements.title",
+        "achievements.unlocked",
+        "achievements.exterminator",
+        "achievements.boss_hunter",
+        "achievements.survivor",
+        "achievements.explorer",
+        "achievements.collector",
+        "achievements.cartographer",
+        "inventory.title",
+        "inventory.empty",
+        "inventory.full",
+        "inventory.use",
+        "inventory.drop",
+        "shop.title",
+        "shop.buy",
+        "shop.sell",
+        "shop.not_enough_money",
+        "shop.purchase_successful",
+        "config.title",
+        "config.graphics",
+        "config.audio",
+        "config.controls",
+        "config.save",
+        "config.reset",
+        "pause.resume",
+        "pause.restart",
+        "pause.settings",
+        "pause.main_menu",
+        "pause.title",
+        "pause.instructions",
+        "save.title",
+        "load.title",
+        "save.instructions",
+        "load.instructions",
+        "save.slot",
+        "save.empty",
+        "save.level",
+        "save.village",
+        "save.minutes",
+        "save.write_failed",
+        "menu.credits",
+        "credits.title",
+        "credits.developer",
+        "credits.name",
+        "credits.thanks",
+        "credits.back"
+    };
+
+    private static final Map<String, Integer> IDS = new HashMap<>(COUNT * 2);
+
+    static {
+        for (int i = 0; i < COUNT; i++) {
+            IDS.put(KEYS[i], i);
+        }
+    }
+
+    private MessageKeys() {
+    }
+
+    /**
+     * Devuelve el ID de una clave, o -1 si no existe
+     */
+    public static int idOf(String key) {
+        Integer id = IDS.get(key);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Devuelve la clave de un ID
+     */
+    public static String keyOf(int id) {
+        return KEYS[id];
+    }
+}
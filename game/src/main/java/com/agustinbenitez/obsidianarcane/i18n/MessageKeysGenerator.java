@@ -0,0 +1,116 @@
+package com.agustinbenitez.obsidianarcane.i18n;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Genera MessageKeys.java a partir del archivo de localización base
+ * Cada clave recibe un ID entero en el orden del archivo. Ejecutar al añadir claves:
+ * <pre>
+ * mvn exec:java -Dexec.mainClass=com.agustinbenitez.obsidianarcane.i18n.MessageKeysGenerator \
+ *   -Dexec.args="src/main/resources/i18n/messages.properties src/main/java/com/agustinbenitez/obsidianarcane/i18n/MessageKeys.java"
+ * </pre>
+ */
+public class MessageKeysGenerator {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: MessageKeysGenerator <messages.properties> <MessageKeys.java>");
+            System.exit(1);
+        }
+
+        Path input = Paths.get(args[0]);
+        Path output = Paths.get(args[1]);
+
+        List<String> keys = readKeys(input);
+        Files.write(output, generate(keys).getBytes(StandardCharsets.UTF_8));
+
+        System.out.println("MessageKeysGenerator: " + keys.size() + " keys -> " + output);
+    }
+
+    /**
+     * Lee las claves en el orden en que aparecen en el archivo
+     */
+    static List<String> readKeys(Path file) throws IOException {
+        List<String> keys = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#") || trimmed.startsWith("!")) {
+                continue;
+            }
+            int separator = trimmed.indexOf('=');
+            if (separator <= 0) {
+                continue;
+            }
+            String key = trimmed.substring(0, separator).trim();
+            if (!seen.add(key)) {
+                throw new IllegalArgumentException("Duplicate key: " + key);
+            }
+            keys.add(key);
+        }
+        return keys;
+    }
+
+    static String generate(List<String> keys) {
+        Set<String> constants = new HashSet<>();
+        StringBuilder sb = new StringBuilder();
+        sb.append("package com.agustinbenitez.obsidianarcane.i18n;\n\n");
+        sb.append("import java.util.HashMap;\n");
+        sb.append("import java.util.Map;\n\n");
+        sb.append("/**\n");
+        sb.append(" * IDs de los textos localizados\n");
+        sb.append(" * Generado por MessageKeysGenerator a partir de i18n/messages.properties; no editar a mano.\n");
+        sb.append(" */\n");
+        sb.append("public final class MessageKeys {\n\n");
+
+        for (int i = 0; i < keys.size(); i++) {
+            String constant = toConstantName(keys.get(i));
+            if (!constants.add(constant)) {
+                throw new IllegalArgumentException("Key '" + keys.get(i) + "' collides with another constant: " + constant);
+            }
+            sb.append("    public static final int ").append(constant).append(" = ").append(i).append(";\n");
+        }
+
+        sb.append("\n    public static final int COUNT = ").append(keys.size()).append(";\n\n");
+        sb.append("    private static final String[] KEYS = {\n");
+        for (int i = 0; i < keys.size(); i++) {
+            sb.append("        \"").append(keys.get(i)).append('"').append(i < keys.size() - 1 ? ",\n" : "\n");
+        }
+        sb.append("    };\n\n");
+        sb.append("    private static final Map<String, Integer> IDS = new HashMap<>(COUNT * 2);\n\n");
+        sb.append("    static {\n");
+        sb.append("        for (int i = 0; i < COUNT; i++) {\n");
+        sb.append("            IDS.put(KEYS[i], i);\n");
+        sb.append("        }\n");
+        sb.append("    }\n\n");
+        sb.append("    private MessageKeys() {\n");
+        sb.append("    }\n\n");
+        sb.append("    /**\n");
+        sb.append("     * Devuelve el ID de una clave, o -1 si no existe\n");
+        sb.append("     */\n");
+        sb.append("    public static int idOf(String key) {\n");
+        sb.append("        Integer id = IDS.get(key);\n");
+        sb.append("        return id != null ? id : -1;\n");
+        sb.append("    }\n\n");
+        sb.append("    /**\n");
+        sb.append("     * Devuelve la clave de un ID\n");
+        sb.append("     */\n");
+        sb.append("    public static String keyOf(int id) {\n");
+        sb.append("        return KEYS[id];\n");
+        sb.append("    }\n");
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private static String toConstantName(String key) {
+        return key.toUpperCase().replaceAll("[^A-Z0-9]", "_");
+    }
+}
@@ -0,0 +1,72 @@
+package com.agustinbenitez.obsidianarcane.i18n;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Properties;
+
+/**
+ * Tabla inmutable de textos de un idioma indexada por los IDs de MessageKeys
+ * Se construye completa antes de publicarse, por lo que puede cargarse en otro hilo
+ * y reemplazar a la tabla activa con una sola asignación.
+ */
+public final class MessageTable {
+
+    private static final String BUNDLE_PATH = "i18n/messages";
+
+    private final String languageCode;
+    private final String[] texts;
+    private final CompiledMessage[] compiled;
+
+    private MessageTable(String languageCode, String[] texts, CompiledMessage[] compiled) {
+        this.languageCode = languageCode;
+        this.texts = texts;
+        this.compiled = compiled;
+    }
+
+    /**
+     * Carga la tabla del idioma indicado sobre el archivo base (messages.properties)
+     */
+    public static MessageTable load(String languageCode) throws IOException {
+        Properties base = readProperties(Gdx.files.internal(BUNDLE_PATH + ".properties"));
+        Properties language = readProperties(Gdx.files.internal(BUNDLE_PATH + "_" + languageCode + ".properties"));
+
+        String[] texts = new String[MessageKeys.COUNT];
+        CompiledMessage[] compiled = new CompiledMessage[MessageKeys.COUNT];
+        for (int id = 0; id < MessageKeys.COUNT; id++) {
+            String key = MessageKeys.keyOf(id);
+            String text = language.getProperty(key, base.getProperty(key, key)).intern();
+            texts[id] = text;
+            if (CompiledMessage.isParameterized(text)) {
+                compiled[id] = CompiledMessage.compile(text);
+            }
+        }
+        return new MessageTable(languageCode, texts, compiled);
+    }
+
+    private static Properties readProperties(FileHandle file) throws IOException {
+        Properties properties = new Properties();
+        if (file.exists()) {
+            try (Reader reader = file.reader("UTF-8")) {
+                properties.load(reader);
+            }
+        }
+        return properties;
+    }
+
+    public String get(int id) {
+        return texts[id];
+    }
+
+    /**
+     * Mensaje pre-analizado, o null si el texto no tiene parámetros
+     */
+    public CompiledMessage getCompiled(int id) {
+        return compiled[id];
+    }
+
+    public String getLanguageCode() {
+        return languageCode;
+    }
+}
@@ -0,0 +1,324 @@
+package com.agustinbenitez.obsidianarcane.input;
+
+import com.agustinbenitez.obsidianarcane.GameConfig;
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input.Keys;
+import com.badlogic.gdx.InputProcessor;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.BufferUtils;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import org.lwjgl.glfw.GLFW;
+import org.lwjgl.glfw.GLFWGamepadState;
+
+/**
+ * Capa de acciones sobre la entrada de teclado y mando
+ *
+ * Cada pulsación o liberación de una tecla o botón asignado se guarda como evento con su
+ * marca de tiempo en un ring buffer. update() (una vez por frame, antes de la lógica) vacía
+ * el buffer y calcula el estado de cada acción: una pulsación y liberación dentro del mismo
+ * frame sigue contando como pulsada en ese frame, así que a 30 FPS no se pierde ninguna.
+ *
+ * Los mandos se leen con la API de gamepads de GLFW (mapeos de SDL_GameControllerDB, más
+ * los de gamecontrollerdb.txt si existe). Los eventos que no son de acciones (ratón, texto)
+ * se reenvían al InputProcessor de la pantalla actual.
+ */
+public class ActionInput implements InputProcessor {
+
+    private static final int RING_CAPACITY = 256; // potencia de dos
+    private static final int RING_MASK = RING_CAPACITY - 1;
+
+    private static final int MAX_GAMEPADS = 4;
+    private static final float STICK_THRESHOLD = 0.5f;
+    private static final String GAMEPAD_MAPPINGS_FILE = "gamecontrollerdb.txt";
+
+    private static final InputAction[] ACTIONS = InputAction.values();
+
+    private static ActionInput instance;
+
+    // Ring buffer de eventos: acción, pulsada/liberada y tiempo (System.nanoTime)
+    private final int[] eventAction = new int[RING_CAPACITY];
+    private final boolean[] eventPressed = new boolean[RING_CAPACITY];
+    private final long[] eventTime = new long[RING_CAPACITY];
+    private int ringHead;
+    private int ringTail;
+
+    // Acciones asignadas a cada tecla y botón (bit = ordinal de la acción)
+    private final int[] keyActions = new int[Keys.MAX_KEYCODE + 1];
+    private final int[] buttonActions = new int[GamepadButtons.COUNT];
+
+    // Estado de cada acción
+    private final int[] heldSources = new int[ACTIONS.length];
+    private final int[] pressCount = new int[ACTIONS.length];
+    private final int[] releaseCount = new int[ACTIONS.length];
+    private final long[] lastPressTime = new long[ACTIONS.length];
+    private long frameTime;
+
+    // Mandos
+    private GLFWGamepadState gamepadState;
+    private final boolean[][] gamepadButtons = new boolean[MAX_GAMEPADS][GamepadButtons.COUNT];
+    private boolean gamepadsAvailable;
+
+    private InputProcessor screenProcessor;
+
+    private ActionInput() {
+        reloadBindings();
+    }
+
+    public static ActionInput getInstance() {
+        if (instance == null) {
+            instance = new ActionInput();
+        }
+        return instance;
+    }
+
+    /**
+     * Lee las asignaciones de GameConfig (o las de por defecto de cada acción)
+     */
+    public void reloadBindings() {
+        Arrays.fill(keyActions, 0);
+        Arrays.fill(buttonActions, 0);
+        GameConfig config = GameConfig.getInstance();
+        for (InputAction action : ACTIONS) {
+            int bit = 1 << action.ordinal();
+
+            List<String> keyNames = config.getKeyBindings(action.name());
+            if (keyNames == null) {
+                for (int key : action.defaultKeys) {
+                    keyActions[key] |= bit;
+                }
+            } else {
+                for (String name : keyNames) {
+                    int key = Keys.valueOf(name);
+                    if (key >= 0) {
+                        keyActions[key] |= bit;
+                    }
+                }
+            }
+
+            List<String> buttonNames = config.getGamepadBindings(action.name());
+            if (buttonNames == null) {
+                for (int button : action.defaultButtons) {
+                    buttonActions[button] |= bit;
+                }
+            } else {
+                for (String name : buttonNames) {
+                    int button = GamepadButtons.valueOf(name);
+                    if (button >= 0) {
+                        buttonActions[button] |= bit;
+                    }
+                }
+            }
+        }
+        // Las acciones ya pulsadas se liberan para no quedarse bloqueadas con la asignación anterior
+        Arrays.fill(heldSources, 0);
+    }
+
+    /**
+     * Activa la lectura de mandos (solo con el backend LWJGL3)
+     */
+    public void initGamepads() {
+        if (gamepadState != null || Gdx.app == null || Gdx.app.getType() != Application.ApplicationType.Desktop) {
+            return;
+        }
+        try {
+            FileHandle mappings = Gdx.files.local(GAMEPAD_MAPPINGS_FILE);
+            if (mappings.exists()) {
+                byte[] bytes = mappings.readBytes();
+                ByteBuffer buffer = BufferUtils.newByteBuffer(bytes.length + 1);
+                buffer.put(bytes).put((byte) 0).flip();
+                if (!GLFW.glfwUpdateGamepadMappings(buffer)) {
+                    Gdx.app.error("ActionInput", "Invalid gamepad mappings in " + GAMEPAD_MAPPINGS_FILE);
+                }
+            }
+            gamepadState = GLFWGamepadState.calloc();
+            gamepadsAvailable = true;
+        } catch (Throwable e) {
+            Gdx.app.error("ActionInput", "Gamepads not available: " + e.getMessage());
+            gamepadsAvailable = false;
+        }
+    }
+
+    /**
+     * Procesa los eventos recibidos desde el frame anterior; llamar una vez al inicio del frame
+     */
+    public void update() {
+        Arrays.fill(pressCount, 0);
+        Arrays.fill(releaseCount, 0);
+        frameTime = System.nanoTime();
+        if (gamepadsAvailable) {
+            pollGamepads();
+        }
+        while (ringTail != ringHead) {
+            applyOldestEvent();
+        }
+    }
+
+    private void pollGamepads() {
+        for (int pad = 0; pad < MAX_GAMEPADS; pad++) {
+            boolean[] previous = gamepadButtons[pad];
+            boolean connected = GLFW.glfwJoystickIsGamepad(GLFW.GLFW_JOYSTICK_1 + pad)
+                && GLFW.glfwGetGamepadState(GLFW.GLFW_JOYSTICK_1 + pad, gamepadState);
+            for (int button = 0; button < GamepadButtons.COUNT; button++) {
+                boolean pressed = connected && isGamepadButtonPressed(button);
+                if (pressed != previous[button]) {
+                    previous[button] = pressed;
+                    pushActions(buttonActions[button], pressed, frameTime);
+                }
+            }
+        }
+    }
+
+    private boolean isGamepadButtonPressed(int button) {
+        switch (button) {
+            case GamepadButtons.STICK_LEFT:
+                return gamepadState.axes(GLFW.GLFW_GAMEPAD_AXIS_LEFT_X) < -STICK_THRESHOLD;
+            case GamepadButtons.STICK_RIGHT:
+                return gamepadState.axes(GLFW.GLFW_GAMEPAD_AXIS_LEFT_X) > STICK_THRESHOLD;
+            case GamepadButtons.STICK_UP:
+                return gamepadState.axes(GLFW.GLFW_GAMEPAD_AXIS_LEFT_Y) < -STICK_THRESHOLD;
+            case GamepadButtons.STICK_DOWN:
+                return gamepadState.axes(GLFW.GLFW_GAMEPAD_AXIS_LEFT_Y) > STICK_THRESHOLD;
+            default:
+                return gamepadState.buttons(button) == GLFW.GLFW_PRESS;
+        }
+    }
+
+    private void pushActions(int actions, boolean pressed, long time) {
+        while (actions != 0) {
+            int action = Integer.numberOfTrailingZeros(actions);
+            actions &= actions - 1;
+            if (ringHead - ringTail == RING_CAPACITY) {
+                // Buffer lleno: se aplica el evento más antiguo en vez de descartarlo
+                applyOldestEvent();
+            }
+            int slot = ringHead & RING_MASK;
+            eventAction[slot] = action;
+            eventPressed[slot] = pressed;
+            eventTime[slot] = time;
+            ringHead++;
+        }
+    }
+
+    private void applyOldestEvent() {
+        int slot = ringTail & RING_MASK;
+        int action = eventAction[slot];
+        if (eventPressed[slot]) {
+            if (heldSources[action]++ == 0) {
+                pressCount[action]++;
+                lastPressTime[action] = eventTime[slot];
+            }
+        } else if (heldSources[action] > 0 && --heldSources[action] == 0) {
+            releaseCount[action]++;
+        }
+        ringTail++;
+    }
+
+    private long eventTime() {
+        long time = Gdx.input != null ? Gdx.input.getCurrentEventTime() : 0;
+        return time != 0 ? time : System.nanoTime();
+    }
+
+    /**
+     * La acción está mantenida, o se pulsó durante este frame aunque ya se haya soltado
+     */
+    public boolean isDown(InputAction action) {
+        int i = action.ordinal();
+        return heldSources[i] > 0 || pressCount[i] > 0;
+    }
+
+    /**
+     * La acción se pulsó durante este frame
+     */
+    public boolean justPressed(InputAction action) {
+        return pressCount[action.ordinal()] > 0;
+    }
+
+    public boolean justReleased(InputAction action) {
+        return releaseCount[action.ordinal()] > 0;
+    }
+
+    /**
+     * Marca de tiempo (System.nanoTime) de la última pulsación de la acción
+     */
+    public long getPressTime(InputAction action) {
+        return lastPressTime[action.ordinal()];
+    }
+
+    /**
+     * Segundos transcurridos desde la última pulsación hasta el inicio de este frame
+     */
+    public float getPressAge(InputAction action) {
+        return Math.max(0, (frameTime - lastPressTime[action.ordinal()]) / 1_000_000_000f);
+    }
+
+    /**
+     * Processor de la pantalla actual (p.ej. un Stage) que recibe los eventos reenviados
+     */
+    public void setScreenProcessor(InputProcessor processor) {
+        this.screenProcessor = processor;
+    }
+
+    public void dispose() {
+        if (gamepadState != null) {
+            gamepadState.free();
+            gamepadState = null;
+        }
+        gamepadsAvailable = false;
+    }
+
+    // InputProcessor
+
+    @Override
+    public boolean keyDown(int keycode) {
+        if (keycode >= 0 && keycode < keyActions.length) {
+            pushActions(keyActions[keycode], true, eventTime());
+        }
+        return screenProcessor != null && screenProcessor.keyDown(keycode);
+    }
+
+    @Override
+    public boolean keyUp(int keycode) {
+        if (keycode >= 0 && keycode < keyActions.length) {
+            pushActions(keyActions[keycode], false, eventTime());
+        }
+        return screenProcessor != null && screenProcessor.keyUp(keycode);
+    }
+
+    @Override
+    public boolean keyTyped(char character) {
+        return screenProcessor != null && screenProcessor.keyTyped(character);
+    }
+
+    @Override
+    public boolean touchDown(int screenX, int screenY, int pointer, int button) {
+        return screenProcessor != null && screenProcessor.touchDown(screenX, screenY, pointer, button);
+    }
+
+    @Override
+    public boolean touchUp(int screenX, int screenY, int pointer, int button) {
+        return screenProcessor != null && screenProcessor.touchUp(screenX, screenY, pointer, button);
+    }
+
+    @Override
+    public boolean touchCancelled(int screenX, int screenY, int pointer, int button) {
+        return screenProcessor != null && screenProcessor.touchCancelled(screenX, screenY, pointer, button);
+    }
+
+    @Override
+    public boolean touchDragged(int screenX, int screenY, int pointer) {
+        return screenProcessor != null && screenProcessor.touchDragged(screenX, screenY, pointer);
+    }
+
+    @Override
+    public boolean mouseMoved(int screenX, int screenY) {
+        return screenProcessor != null && screenProcessor.mouseMoved(screenX, screenY);
+    }
+
+    @Override
+    public boolean scrolled(float amountX, float amountY) {
+        return screenProcessor != null && screenProcessor.scrolled(amountX, amountY);
+    }
+}
@@ -0,0 +1,58 @@
+package com.agustinbenitez.obsidianarcane.input;
+
+import org.lwjgl.glfw.GLFW;
+
+/**
+ * Botones de mando con la disposición estándar de GLFW (mapeos de SDL_GameControllerDB)
+ * Las direcciones del stick izquierdo se tratan como cuatro botones más.
+ */
+public final class GamepadButtons {
+
+    public static final int A = GLFW.GLFW_GAMEPAD_BUTTON_A;
+    public static final int B = GLFW.GLFW_GAMEPAD_BUTTON_B;
+    public static final int X = GLFW.GLFW_GAMEPAD_BUTTON_X;
+    public static final int Y = GLFW.GLFW_GAMEPAD_BUTTON_Y;
+    public static final int LEFT_BUMPER = GLFW.GLFW_GAMEPAD_BUTTON_LEFT_BUMPER;
+    public static final int RIGHT_BUMPER = GLFW.GLFW_GAMEPAD_BUTTON_RIGHT_BUMPER;
+    public static final int BACK = GLFW.GLFW_GAMEPAD_BUTTON_BACK;
+    public static final int START = GLFW.GLFW_GAMEPAD_BUTTON_START;
+    public static final int GUIDE = GLFW.GLFW_GAMEPAD_BUTTON_GUIDE;
+    public static final int LEFT_THUMB = GLFW.GLFW_GAMEPAD_BUTTON_LEFT_THUMB;
+    public static final int RIGHT_THUMB = GLFW.GLFW_GAMEPAD_BUTTON_RIGHT_THUMB;
+    public static final int DPAD_UP = GLFW.GLFW_GAMEPAD_BUTTON_DPAD_UP;
+    public static final int DPAD_RIGHT = GLFW.GLFW_GAMEPAD_BUTTON_DPAD_RIGHT;
+    public static final int DPAD_DOWN = GLFW.GLFW_GAMEPAD_BUTTON_DPAD_DOWN;
+    public static final int DPAD_LEFT = GLFW.GLFW_GAMEPAD_BUTTON_DPAD_LEFT;
+    public static final int STICK_LEFT = GLFW.GLFW_GAMEPAD_BUTTON_LAST + 1;
+    public static final int STICK_RIGHT = GLFW.GLFW_GAMEPAD_BUTTON_LAST + 2;
+    public static final int STICK_UP = GLFW.GLFW_GAMEPAD_BUTTON_LAST + 3;
+    public static final int STICK_DOWN = GLFW.GLFW_GAMEPAD_BUTTON_LAST + 4;
+
+    public static final int COUNT = GLFW.GLFW_GAMEPAD_BUTTON_LAST + 5;
+
+    // Nombres usados en config.json
+    private static final String[] NAMES = {
+        "A", "B", "X", "Y", "LEFT_BUMPER", "RIGHT_BUMPER", "BACK", "START", "GUIDE",
+        "LEFT_THUMB", "RIGHT_THUMB", "DPAD_UP", "DPAD_RIGHT", "DPAD_DOWN", "DPAD_LEFT",
+        "STICK_LEFT", "STICK_RIGHT", "STICK_UP", "STICK_DOWN"
+    };
+
+    private GamepadButtons() {
+    }
+
+    public static String toString(int button) {
+        return button >= 0 && button < COUNT ? NAMES[button] : null;
+    }
+
+    /**
+     * Botón con ese nombre, o -1 si no existe
+     */
+    public static int valueOf(String name) {
+        for (int i = 0; i < NAMES.length; i++) {
+            if (NAMES[i].equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,42 @@
+package com.agustinbenitez.obsidianarcane.input;
+
+import com.badlogic.gdx.Input.Keys;
+
+/**
+ * Acciones del juego y sus asignaciones por defecto (teclado y mando)
+ * Las asignaciones se pueden cambiar en config.json (ver GameConfig.getKeyBindings).
+ */
+public enum InputAction {
+    MOVE_LEFT(keys(Keys.A, Keys.LEFT), buttons(GamepadButtons.DPAD_LEFT, GamepadButtons.STICK_LEFT)),
+    MOVE_RIGHT(keys(Keys.D, Keys.RIGHT), buttons(GamepadButtons.DPAD_RIGHT, GamepadButtons.STICK_RIGHT)),
+    MOVE_UP(keys(Keys.W, Keys.UP), buttons(GamepadButtons.DPAD_UP, GamepadButtons.STICK_UP)),
+    MOVE_DOWN(keys(Keys.S, Keys.DOWN), buttons(GamepadButtons.DPAD_DOWN, GamepadButtons.STICK_DOWN)),
+    JUMP(keys(Keys.SPACE, Keys.W, Keys.UP), buttons(GamepadButtons.A)),
+    ATTACK(keys(Keys.K), buttons(GamepadButtons.X)),
+    CONFIRM(keys(Keys.ENTER, Keys.SPACE), buttons(GamepadButtons.A, GamepadButtons.START)),
+    BACK(keys(Keys.ESCAPE, Keys.M), buttons(GamepadButtons.B)),
+    PAUSE(keys(Keys.ESCAPE), buttons(GamepadButtons.START)),
+    DELETE(keys(Keys.DEL, Keys.FORWARD_DEL), buttons(GamepadButtons.X)),
+    PERFORMANCE_OVERLAY(keys(Keys.F3), buttons()),
+    CAPTURE_TRACE(keys(Keys.F4), buttons()),
+    QUICK_SAVE(keys(Keys.F5), buttons()),
+    QUICK_LOAD(keys(Keys.F9), buttons()),
+    REWIND(keys(Keys.BACKSPACE), buttons(GamepadButtons.LEFT_BUMPER)),
+    RESET_PLAYER(keys(Keys.R), buttons(GamepadButtons.BACK));
+
+    final int[] defaultKeys;
+    final int[] defaultButtons;
+
+    InputAction(int[] defaultKeys, int[] defaultButtons) {
+        this.defaultKeys = defaultKeys;
+        this.defaultButtons = defaultButtons;
+    }
+
+    private static int[] keys(int... keys) {
+        return keys;
+    }
+
+    private static int[] buttons(int... buttons) {
+        return buttons;
+    }
+}
@@ -0,0 +1,287 @@
+package com.agustinbenitez.obsidianarcane.jobs;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sistema de tareas con robo de trabajo para los subsistemas del motor
+ *
+ * Cada worker tiene su propia cola (ConcurrentLinkedDeque, sin bloqueos): las tareas que
+ * quedan listas al terminar otra se añaden al final de la cola del worker que la terminó y
+ * este las toma del mismo extremo (LIFO, con los datos aún en caché); los workers sin
+ * trabajo roban del principio de las colas de los demás. Las tareas de hilo principal van a
+ * una cola aparte que solo vacía el hilo que llama a execute.
+ *
+ * execute ejecuta un TaskGraph completo y vuelve cuando han terminado todas sus tareas; el
+ * hilo principal no espera parado, sino que ejecuta tareas mientras tanto. Con captureTrace
+ * se registra el tiempo de cada tarea y se exporta en formato Chrome trace.
+ */
+public final class JobSystem {
+
+    private static final int MAIN_THREAD = 0;
+    // El hilo principal se duerme como mucho esto entre comprobaciones si no hay nada que hacer
+    private static final long MAIN_PARK_NANOS = 200_000L;
+    private static final String TRACE_FILE = "stats/frame_trace.json";
+
+    private final Worker[] workers;
+    private final ConcurrentLinkedQueue<Task> injected = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Task> mainQueue = new ConcurrentLinkedQueue<>();
+    private volatile boolean running = true;
+    private volatile Thread mainThread;
+    private volatile boolean mainWaiting;
+
+    // Captura de la traza
+    private volatile TaskTrace activeTrace;
+    private int traceExecutionsLeft;
+
+    private final class Worker implements Runnable {
+        final int index;
+        final ConcurrentLinkedDeque<Task> queue = new ConcurrentLinkedDeque<>();
+        final Thread thread;
+        volatile boolean sleeping;
+
+        Worker(int index) {
+            this.index = index;
+            this.thread = new Thread(this, "JobWorker-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                Task task = queue.pollLast();
+                if (task == null) {
+                    task = injected.poll();
+                }
+                if (task == null) {
+                    task = steal(index);
+                }
+                if (task != null) {
+                    runTask(task, index + 1, this);
+                    continue;
+                }
+                // Se anuncia antes de volver a mirar las colas para no perder un aviso
+                sleeping = true;
+                if (!hasQueuedWork()) {
+                    LockSupport.park(this);
+                }
+                sleeping = false;
+            }
+        }
+    }
+
+    public JobSystem() {
+        this(defaultWorkerCount());
+    }
+
+    /**
+     * @param workerCount hilos además del principal (0 = todo se ejecuta en el principal)
+     */
+    public JobSystem(int workerCount) {
+        workers = new Worker[Math.max(0, workerCount)];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Worker(i);
+        }
+        for (Worker worker : workers) {
+            worker.thread.start();
+        }
+    }
+
+    /**
+     * Un worker por núcleo, dejando uno para el hilo principal
+     */
+    public static int defaultWorkerCount() {
+        return Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    }
+
+    /**
+     * Ejecuta el grafo y vuelve cuando han terminado todas sus tareas
+     * Si alguna tarea lanza una excepción, el resto del grafo termina y se relanza aquí.
+     */
+    public void execute(TaskGraph graph) {
+        if (graph.tasks.size == 0) {
+            return;
+        }
+        mainThread = Thread.currentThread();
+        long start = System.nanoTime();
+        graph.reset();
+        for (int i = 0; i < graph.tasks.size; i++) {
+            Task task = graph.tasks.get(i);
+            if (task.dependencyCount == 0) {
+                schedule(task, null);
+            }
+        }
+
+        while (graph.remaining.get() > 0) {
+            Task task = mainQueue.poll();
+            if (task == null) {
+                task = injected.poll();
+            }
+            if (task == null) {
+                task = steal(-1);
+            }
+            if (task != null) {
+                runTask(task, MAIN_THREAD, null);
+                continue;
+            }
+            mainWaiting = true;
+            if (graph.remaining.get() > 0 && mainQueue.isEmpty()) {
+                LockSupport.parkNanos(this, MAIN_PARK_NANOS);
+            }
+            mainWaiting = false;
+        }
+
+        TaskTrace trace = activeTrace;
+        if (trace != null) {
+            trace.record(graph.getName(), MAIN_THREAD, start, System.nanoTime());
+            if (--traceExecutionsLeft == 0) {
+                activeTrace = null;
+                writeTrace(trace);
+            }
+        }
+        if (graph.failure != null) {
+            throw new GdxRuntimeException("Task graph " + graph.getName() + " failed", graph.failure);
+        }
+    }
+
+    private void runTask(Task task, int thread, Worker worker) {
+        long start = System.nanoTime();
+        try {
+            task.work.run();
+        } catch (Throwable e) {
+            if (task.graph.failure == null) {
+                task.graph.failure = e;
+            }
+        }
+        TaskTrace trace = activeTrace;
+        if (trace != null) {
+            trace.record(task.name, thread, start, System.nanoTime());
+        }
+
+        for (int i = 0; i < task.dependentCount; i++) {
+            Task dependent = task.dependents[i];
+            if (dependent.pending.decrementAndGet() == 0) {
+                schedule(dependent, worker);
+            }
+        }
+        if (task.graph.remaining.decrementAndGet() == 0) {
+            wakeMain();
+        }
+    }
+
+    private void schedule(Task task, Worker worker) {
+        if (task.mainThread) {
+            mainQueue.offer(task);
+            wakeMain();
+            return;
+        }
+        if (worker != null) {
+            worker.queue.offerLast(task);
+        } else {
+            injected.offer(task);
+        }
+        wakeWorker();
+    }
+
+    private Task steal(int thief) {
+        for (int i = 1; i <= workers.length; i++) {
+            int victim = (thief + i) % workers.length;
+            if (victim < 0) {
+                victim += workers.length;
+            }
+            Task task = workers[victim].queue.pollFirst();
+            if (task != null) {
+                return task;
+            }
+        }
+        return null;
+    }
+
+    private boolean hasQueuedWork() {
+        if (!running || !injected.isEmpty()) {
+            return true;
+        }
+        for (Worker worker : workers) {
+            if (!worker.queue.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void wakeWorker() {
+        for (Worker worker : workers) {
+            if (worker.sleeping) {
+                LockSupport.unpark(worker.thread);
+                return;
+            }
+        }
+    }
+
+    private void wakeMain() {
+        if (mainWaiting) {
+            LockSupport.unpark(mainThread);
+        }
+    }
+
+    /**
+     * Registra las próximas ejecuciones de grafos (una por frame) y las escribe en
+     * stats/frame_trace.json al terminar. Solo desde el hilo principal.
+     */
+    public void captureTrace(int executions) {
+        if (activeTrace == null && executions > 0) {
+            traceExecutionsLeft = executions;
+            activeTrace = new TaskTrace();
+        }
+    }
+
+    public boolean isCapturingTrace() {
+        return activeTrace != null;
+    }
+
+    private void writeTrace(TaskTrace trace) {
+        String[] threadNames = new String[workers.length + 1];
+        threadNames[MAIN_THREAD] = "main";
+        for (Worker worker : workers) {
+            threadNames[worker.index + 1] = worker.thread.getName();
+        }
+        String json = trace.toChromeJson(threadNames);
+        if (Gdx.files == null) {
+            return;
+        }
+        try {
+            FileHandle file = Gdx.files.local(TRACE_FILE);
+            file.writeString(json, false, "UTF-8");
+            Gdx.app.log("JobSystem", "Wrote " + trace.getEventCount() + " trace events to " + file.path());
+        } catch (Exception e) {
+            Gdx.app.error("JobSystem", "Error writing task trace: " + e.getMessage());
+        }
+    }
+
+    public int getWorkerCount() {
+        return workers.length;
+    }
+
+    /**
+     * Detiene los workers (las tareas en cola se descartan)
+     */
+    public void shutdown() {
+        running = false;
+        for (Worker worker : workers) {
+            LockSupport.unpark(worker.thread);
+        }
+        for (Worker worker : workers) {
+            try {
+                worker.thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        injected.clear();
+        mainQueue.clear();
+    }
+}
@@ -0,0 +1,62 @@
+package com.agustinbenitez.obsidianarcane.jobs;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tarea de un TaskGraph
+ *
+ * Se crea con TaskGraph.add (cualquier hilo del JobSystem) o TaskGraph.addMainThread (solo
+ * el hilo principal, para llamadas GL). Las dependencias se declaran con dependsOn y solo
+ * pueden apuntar a tareas añadidas antes, así que el grafo nunca tiene ciclos.
+ */
+public final class Task {
+
+    final String name;
+    final Runnable work;
+    final boolean mainThread;
+    final int index;
+    final TaskGraph graph;
+
+    // Tareas que esperan a esta
+    Task[] dependents = new Task[2];
+    int dependentCount;
+    int dependencyCount;
+
+    // Dependencias que faltan en la ejecución actual
+    final AtomicInteger pending = new AtomicInteger();
+
+    Task(TaskGraph graph, int index, String name, Runnable work, boolean mainThread) {
+        this.graph = graph;
+        this.index = index;
+        this.name = name;
+        this.work = work;
+        this.mainThread = mainThread;
+    }
+
+    /**
+     * Esta tarea no empieza hasta que terminen las indicadas
+     */
+    public Task dependsOn(Task... tasks) {
+        for (Task task : tasks) {
+            if (task.graph != graph || task.index >= index) {
+                throw new IllegalArgumentException(name + " can only depend on earlier tasks of the same graph");
+            }
+            if (task.dependentCount == task.dependents.length) {
+                Task[] grown = new Task[task.dependents.length * 2];
+                System.arraycopy(task.dependents, 0, grown, 0, task.dependentCount);
+                task.dependents = grown;
+            }
+            task.dependents[task.dependentCount++] = this;
+            dependencyCount++;
+        }
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isMainThread() {
+        return mainThread;
+    }
+}
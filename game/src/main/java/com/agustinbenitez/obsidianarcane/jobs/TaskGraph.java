@@ -0,0 +1,63 @@
+package com.agustinbenitez.obsidianarcane.jobs;
+
+import com.badlogic.gdx.utils.Array;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Grafo de tareas de un frame con dependencias explícitas
+ *
+ * Se construye una vez y se ejecuta cada frame con JobSystem.execute; las tareas leen su
+ * entrada del frame (p.ej. el delta) de campos del propietario, así que ejecutar el grafo
+ * no reserva memoria. Un mismo grafo no se puede ejecutar dos veces a la vez.
+ */
+public final class TaskGraph {
+
+    private final String name;
+    final Array<Task> tasks = new Array<>(true, 8, Task.class);
+    final AtomicInteger remaining = new AtomicInteger();
+    volatile Throwable failure;
+
+    public TaskGraph(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Tarea que puede ejecutar cualquier hilo del JobSystem
+     */
+    public Task add(String taskName, Runnable work) {
+        return add(taskName, work, false);
+    }
+
+    /**
+     * Tarea que solo ejecuta el hilo principal (el que llama a execute), p.ej. llamadas GL
+     */
+    public Task addMainThread(String taskName, Runnable work) {
+        return add(taskName, work, true);
+    }
+
+    private Task add(String taskName, Runnable work, boolean mainThread) {
+        Task task = new Task(this, tasks.size, taskName, work, mainThread);
+        tasks.add(task);
+        return task;
+    }
+
+    /**
+     * Prepara los contadores para una nueva ejecución
+     */
+    void reset() {
+        failure = null;
+        remaining.set(tasks.size);
+        for (int i = 0; i < tasks.size; i++) {
+            Task task = tasks.get(i);
+            task.pending.set(task.dependencyCount);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getTaskCount() {
+        return tasks.size;
+    }
+}
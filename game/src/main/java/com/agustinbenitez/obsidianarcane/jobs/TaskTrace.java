@@ -0,0 +1,67 @@
+package com.agustinbenitez.obsidianarcane.jobs;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registro de tiempos de las tareas ejecutadas, exportable al formato de Chrome trace
+ *
+ * Cada hilo reserva un hueco con un contador atómico y escribe en arrays primitivos
+ * preasignados; si se llena, las tareas siguientes no se registran. El JSON resultante se
+ * abre en chrome://tracing o en https://ui.perfetto.dev.
+ */
+final class TaskTrace {
+
+    private static final int CAPACITY = 1 << 16;
+
+    private final String[] names = new String[CAPACITY];
+    private final int[] threads = new int[CAPACITY];
+    private final long[] startNanos = new long[CAPACITY];
+    private final long[] durationNanos = new long[CAPACITY];
+    private final AtomicInteger cursor = new AtomicInteger();
+    private final long originNanos = System.nanoTime();
+
+    void record(String name, int thread, long start, long end) {
+        int slot = cursor.getAndIncrement();
+        if (slot >= CAPACITY) {
+            return;
+        }
+        names[slot] = name;
+        threads[slot] = thread;
+        startNanos[slot] = start;
+        durationNanos[slot] = end - start;
+    }
+
+    int getEventCount() {
+        return Math.min(cursor.get(), CAPACITY);
+    }
+
+    /**
+     * JSON con un evento "X" (duración completa) por tarea y el nombre de cada hilo
+     * Solo se llama cuando ya no queda ninguna ejecución registrando.
+     */
+    String toChromeJson(String[] threadNames) {
+        int count = getEventCount();
+        StringBuilder sb = new StringBuilder(128 + count * 96);
+        sb.append("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+        for (int tid = 0; tid < threadNames.length; tid++) {
+            if (tid > 0) {
+                sb.append(',');
+            }
+            sb.append("\n{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":").append(tid)
+              .append(",\"args\":{\"name\":\"").append(escape(threadNames[tid])).append("\"}}");
+        }
+        for (int i = 0; i < count; i++) {
+            sb.append(",\n{\"name\":\"").append(escape(names[i])).append("\",\"ph\":\"X\",\"pid\":1,\"tid\":")
+              .append(threads[i])
+              .append(String.format(Locale.ROOT, ",\"ts\":%.3f,\"dur\":%.3f}",
+                  (startNanos[i] - originNanos) / 1000.0, durationNanos[i] / 1000.0));
+        }
+        sb.append("\n]}\n");
+        return sb.toString();
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
@@ -0,0 +1,201 @@
+package com.agustinbenitez.obsidianarcane.level;
+
+import com.badlogic.gdx.graphics.Color;
+import com.google.gson.Gson;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Conversor de salas en JSON al formato binario de plantillas
+ * Se ejecuta durante el build (exec-maven-plugin) o manualmente:
+ * <pre>
+ * LevelConverter src/main/levels/rooms.json target/classes/levels/rooms.bin
+ * </pre>
+ */
+public class LevelConverter {
+
+    // Estructura del JSON de origen
+    static class LevelSource {
+        List<RoomSource> rooms = new ArrayList<>();
+    }
+
+    static class RoomSource {
+        String name;
+        float width;
+        float height;
+        List<PlatformSource> platforms = new ArrayList<>();
+        List<SpawnSource> spawns = new ArrayList<>();
+        List<DoorSource> doors = new ArrayList<>();
+    }
+
+    static class PlatformSource {
+        float x, y, w, h;
+        String color = "666680ff";
+    }
+
+    static class SpawnSource {
+        float x, y;
+        String type;
+    }
+
+    static class DoorSource {
+        float x, y, w, h;
+        String target;
+        int targetDoor;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: LevelConverter <input.json> <output.bin>");
+            System.exit(1);
+        }
+
+        Path input = Paths.get(args[0]);
+        Path output = Paths.get(args[1]);
+
+        String json = new String(Files.readAllBytes(input), StandardCharsets.UTF_8);
+        byte[] data = convert(json);
+
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        Files.write(output, data);
+
+        System.out.println("LevelConverter: " + input + " -> " + output + " (" + data.length + " bytes)");
+    }
+
+    /**
+     * Convierte el JSON de salas al formato binario
+     */
+    public static byte[] convert(String json) {
+        LevelSource source = new Gson().fromJson(json, LevelSource.class);
+        List<RoomSource> rooms = source.rooms;
+
+        // Resolver nombres de salas a índices para los enlaces de puertas
+        Map<String, Integer> indexByName = new HashMap<>();
+        for (int i = 0; i < rooms.size(); i++) {
+            if (indexByName.put(rooms.get(i).name, i) != null) {
+                throw new IllegalArgumentException("Duplicate room name: " + rooms.get(i).name);
+            }
+        }
+
+        // Calcular el tamaño total
+        byte[][] names = new byte[rooms.size()][];
+        int size = RoomTemplateFormat.HEADER_SIZE + rooms.size() * 4;
+        for (int i = 0; i < rooms.size(); i++) {
+            RoomSource room = rooms.get(i);
+            names[i] = room.name.getBytes(StandardCharsets.UTF_8);
+            size += recordSize(room, names[i].length);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(RoomTemplateFormat.BYTE_ORDER);
+        buffer.putInt(RoomTemplateFormat.MAGIC);
+        buffer.putInt(RoomTemplateFormat.VERSION);
+        buffer.putInt(rooms.size());
+
+        // Directorio de offsets
+        int offset = RoomTemplateFormat.HEADER_SIZE + rooms.size() * 4;
+        for (int i = 0; i < rooms.size(); i++) {
+            buffer.putInt(offset);
+            offset += recordSize(rooms.get(i), names[i].length);
+        }
+
+        for (int i = 0; i < rooms.size(); i++) {
+            writeRoom(buffer, rooms.get(i), names[i], rooms, indexByName);
+        }
+
+        return buffer.array();
+    }
+
+    private static int recordSize(RoomSource room, int nameBytes) {
+        return RoomTemplateFormat.paddedNameSize(nameBytes)
+            + RoomTemplateFormat.RECORD_FIXED_SIZE
+            + room.platforms.size() * RoomTemplateFormat.PLATFORM_SIZE
+            + room.spawns.size() * RoomTemplateFormat.SPAWN_SIZE
+            + room.doors.size() * RoomTemplateFormat.DOOR_SIZE;
+    }
+
+    private static void writeRoom(ByteBuffer buffer, RoomSource room, byte[] name, List<RoomSource> rooms,
+                                  Map<String, Integer> indexByName) {
+        int start = buffer.position();
+        buffer.putShort((short) name.length);
+        buffer.put(name);
+        buffer.position(start + RoomTemplateFormat.paddedNameSize(name.length));
+
+        buffer.putFloat(room.width);
+        buffer.putFloat(room.height);
+        buffer.putInt(room.platforms.size());
+        buffer.putInt(room.spawns.size());
+        buffer.putInt(room.doors.size());
+
+        for (PlatformSource platform : room.platforms) {
+            buffer.putFloat(platform.x);
+            buffer.putFloat(platform.y);
+            buffer.putFloat(platform.w);
+            buffer.putFloat(platform.h);
+            buffer.putInt(Color.rgba8888(Color.valueOf(platform.color)));
+        }
+
+        for (int i = 0; i < room.spawns.size(); i++) {
+            SpawnSource spawn = room.spawns.get(i);
+            int type = RoomTemplateFormat.spawnTypeFromName(spawn.type);
+            if (type < 0) {
+                throw new IllegalArgumentException("Room '" + room.name + "' spawn " + i + " has unknown type '" + spawn.type + "'");
+            }
+            buffer.putFloat(spawn.x);
+            buffer.putFloat(spawn.y);
+            buffer.putInt(type);
+        }
+
+        for (int i = 0; i < room.doors.size(); i++) {
+            DoorSource door = room.doors.get(i);
+            int target = RoomTemplateFormat.NO_TARGET;
+            if (door.target != null) {
+                Integer index = indexByName.get(door.target);
+                if (index == null) {
+                    throw new IllegalArgumentException("Room '" + room.name + "' links to unknown room '" + door.target + "'");
+                }
+                int targetDoors = rooms.get(index).doors.size();
+                if (door.targetDoor < 0 || door.targetDoor >= targetDoors) {
+                    throw new IllegalArgumentException("Room '" + room.name + "' door " + i + " links to door "
+                        + door.targetDoor + " of '" + door.target + "', which has " + targetDoors + " doors");
+                }
+                target = index;
+            }
+            int wall = coveringPlatform(room, door);
+            if (wall >= 0) {
+                throw new IllegalArgumentException("Room '" + room.name + "' door " + i + " is inside platform "
+                    + wall + " and can never be reached");
+            }
+            buffer.putFloat(door.x);
+            buffer.putFloat(door.y);
+            buffer.putFloat(door.w);
+            buffer.putFloat(door.h);
+            buffer.putInt(target);
+            buffer.putInt(door.targetDoor);
+        }
+    }
+
+    /**
+     * Índice de la plataforma que cubre la puerta entera, o -1 si el jugador puede llegar a ella
+     */
+    private static int coveringPlatform(RoomSource room, DoorSource door) {
+        for (int i = 0; i < room.platforms.size(); i++) {
+            PlatformSource platform = room.platforms.get(i);
+            if (door.x >= platform.x && door.y >= platform.y
+                && door.x + door.w <= platform.x + platform.w
+                && door.y + door.h <= platform.y + platform.h) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
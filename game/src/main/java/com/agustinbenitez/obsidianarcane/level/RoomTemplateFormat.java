@@ -0,0 +1,66 @@
+package com.agustinbenitez.obsidianarcane.level;
+
+import java.nio.ByteOrder;
+
+/**
+ * Constantes del formato binario de plantillas de salas (.bin)
+ *
+ * Estructura (little endian):
+ * <pre>
+ * Cabecera:   magic(int) version(int) templateCount(int)
+ * Directorio: templateCount x offset(int) al registro de cada plantilla
+ * Registro:   nameLength(short) name(UTF-8) [relleno a 4 bytes]
+ *             width(float) height(float)
+ *             platformCount(int) spawnCount(int) doorCount(int)
+ *             platformCount x [x y w h (float) color(int RGBA8888)]
+ *             spawnCount    x [x y (float) type(int)]
+ *             doorCount     x [x y w h (float) targetTemplate(int) targetDoor(int)]
+ * </pre>
+ */
+public final class RoomTemplateFormat {
+
+    public static final int MAGIC = 0x4D52414F; // "OARM"
+    public static final int VERSION = 1;
+    public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    public static final int HEADER_SIZE = 12;
+    public static final int RECORD_FIXED_SIZE = 20;
+    public static final int PLATFORM_SIZE = 20;
+    public static final int SPAWN_SIZE = 12;
+    public static final int DOOR_SIZE = 24;
+
+    // Tipos de punto de aparición
+    public static final int SPAWN_PLAYER = 0;
+    public static final int SPAWN_ENEMY = 1;
+    public static final int SPAWN_ITEM = 2;
+
+    // Puerta sin destino
+    public static final int NO_TARGET = -1;
+
+    private RoomTemplateFormat() {
+    }
+
+    /**
+     * Convierte el nombre de un tipo de aparición a su código (sin nombre es el jugador)
+     * @return el código, o -1 si el nombre no es un tipo conocido
+     */
+    public static int spawnTypeFromName(String name) {
+        if (name == null) {
+            return SPAWN_PLAYER;
+        }
+        switch (name.toLowerCase()) {
+            case "player": return SPAWN_PLAYER;
+            case "enemy": return SPAWN_ENEMY;
+            case "item": return SPAWN_ITEM;
+            default: return -1;
+        }
+    }
+
+    /**
+     * Tamaño del nombre con relleno para mantener los floats alineados a 4 bytes
+     */
+    public static int paddedNameSize(int nameBytes) {
+        int size = 2 + nameBytes;
+        return (size + 3) & ~3;
+    }
+}
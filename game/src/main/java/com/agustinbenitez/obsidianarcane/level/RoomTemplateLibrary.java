@@ -0,0 +1,149 @@
+package com.agustinbenitez.obsidianarcane.level;
+
+import com.badlogic.gdx.files.FileHandle;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Biblioteca de plantillas de salas leída desde el formato binario
+ * El archivo se mapea en memoria y los datos se leen directamente del buffer,
+ * sin crear objetos por plataforma, punto de aparición o puerta.
+ */
+public class RoomTemplateLibrary {
+
+    private final ByteBuffer data;
+    private final int templateCount;
+    private final int[] recordOffsets;
+    private final int[] bodyOffsets;
+    private final int[] spawnOffsets;
+    private final int[] doorOffsets;
+    private final Map<String, Integer> templateIndexByName;
+
+    private RoomTemplateLibrary(ByteBuffer data) {
+        this.data = data.order(RoomTemplateFormat.BYTE_ORDER);
+
+        int magic = data.getInt(0);
+        if (magic != RoomTemplateFormat.MAGIC) {
+            throw new IllegalArgumentException("Invalid room template file (bad magic)");
+        }
+        int version = data.getInt(4);
+        if (version != RoomTemplateFormat.VERSION) {
+            throw new IllegalArgumentException("Unsupported room template version: " + version);
+        }
+
+        templateCount = data.getInt(8);
+        recordOffsets = new int[templateCount];
+        bodyOffsets = new int[templateCount];
+        spawnOffsets = new int[templateCount];
+        doorOffsets = new int[templateCount];
+        templateIndexByName = new HashMap<>(templateCount * 2);
+
+        for (int i = 0; i < templateCount; i++) {
+            int offset = data.getInt(RoomTemplateFormat.HEADER_SIZE + i * 4);
+            int nameLength = data.getShort(offset) & 0xFFFF;
+            recordOffsets[i] = offset;
+            bodyOffsets[i] = offset + RoomTemplateFormat.paddedNameSize(nameLength);
+            spawnOffsets[i] = bodyOffsets[i] + RoomTemplateFormat.RECORD_FIXED_SIZE
+                + data.getInt(bodyOffsets[i] + 8) * RoomTemplateFormat.PLATFORM_SIZE;
+            doorOffsets[i] = spawnOffsets[i] + data.getInt(bodyOffsets[i] + 12) * RoomTemplateFormat.SPAWN_SIZE;
+            templateIndexByName.put(readName(offset, nameLength), i);
+        }
+    }
+
+    /**
+     * Carga la biblioteca mapeando el archivo en memoria
+     * Si el archivo está dentro del classpath (no mapeable) se lee completo
+     */
+    public static RoomTemplateLibrary load(FileHandle file) {
+        ByteBuffer buffer;
+        try {
+            buffer = file.map(FileChannel.MapMode.READ_ONLY);
+        } catch (Exception e) {
+            buffer = ByteBuffer.wrap(file.readBytes());
+        }
+        return new RoomTemplateLibrary(buffer);
+    }
+
+    /**
+     * Carga la biblioteca desde una ruta del sistema de archivos (sin LibGDX)
+     */
+    public static RoomTemplateLibrary load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new RoomTemplateLibrary(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Crea la biblioteca sobre un buffer ya cargado
+     */
+    public static RoomTemplateLibrary wrap(ByteBuffer buffer) {
+        return new RoomTemplateLibrary(buffer);
+    }
+
+    private String readName(int offset, int nameLength) {
+        byte[] bytes = new byte[nameLength];
+        for (int i = 0; i < nameLength; i++) {
+            bytes[i] = data.get(offset + 2 + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Devuelve el índice de una plantilla por su nombre, o -1 si no existe
+     */
+    public int indexOf(String name) {
+        Integer index = templateIndexByName.get(name);
+        return index != null ? index : -1;
+    }
+
+    public String getName(int template) {
+        int offset = recordOffsets[template];
+        return readName(offset, data.getShort(offset) & 0xFFFF);
+    }
+
+    public int getTemplateCount() { return templateCount; }
+
+    public float getWidth(int template) { return data.getFloat(bodyOffsets[template]); }
+    public float getHeight(int template) { return data.getFloat(bodyOffsets[template] + 4); }
+    public int getPlatformCount(int template) { return data.getInt(bodyOffsets[template] + 8); }
+    public int getSpawnCount(int template) { return data.getInt(bodyOffsets[template] + 12); }
+    public int getDoorCount(int template) { return data.getInt(bodyOffsets[template] + 16); }
+
+    // Plataformas
+    private int platformOffset(int template, int index) {
+        return bodyOffsets[template] + RoomTemplateFormat.RECORD_FIXED_SIZE + index * RoomTemplateFormat.PLATFORM_SIZE;
+    }
+
+    public float getPlatformX(int template, int index) { return data.getFloat(platformOffset(template, index)); }
+    public float getPlatformY(int template, int index) { return data.getFloat(platformOffset(template, index) + 4); }
+    public float getPlatformWidth(int template, int index) { return data.getFloat(platformOffset(template, index) + 8); }
+    public float getPlatformHeight(int template, int index) { return data.getFloat(platformOffset(template, index) + 12); }
+    public int getPlatformColor(int template, int index) { return data.getInt(platformOffset(template, index) + 16); }
+
+    // Puntos de aparición
+    private int spawnOffset(int template, int index) {
+        return spawnOffsets[template] + index * RoomTemplateFormat.SPAWN_SIZE;
+    }
+
+    public float getSpawnX(int template, int index) { return data.getFloat(spawnOffset(template, index)); }
+    public float getSpawnY(int template, int index) { return data.getFloat(spawnOffset(template, index) + 4); }
+    public int getSpawnType(int template, int index) { return data.getInt(spawnOffset(template, index) + 8); }
+
+    // Puertas
+    private int doorOffset(int template, int index) {
+        return doorOffsets[template] + index * RoomTemplateFormat.DOOR_SIZE;
+    }
+
+    public float getDoorX(int template, int index) { return data.getFloat(doorOffset(template, index)); }
+    public float getDoorY(int template, int index) { return data.getFloat(doorOffset(template, index) + 4); }
+    public float getDoorWidth(int template, int index) { return data.getFloat(doorOffset(template, index) + 8); }
+    public float getDoorHeight(int template, int index) { return data.getFloat(doorOffset(template, index) + 12); }
+    public int getDoorTargetTemplate(int template, int index) { return data.getInt(doorOffset(template, index) + 16); }
+    public int getDoorTargetDoor(int template, int index) { return data.getInt(doorOffset(template, index) + 20); }
+}
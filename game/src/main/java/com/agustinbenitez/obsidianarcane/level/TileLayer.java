@@ -0,0 +1,425 @@
+package com.agustinbenitez.obsidianarcane.level;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.FloatArray;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Capa de tiles de una sala guardada en chunks de tamaño fijo
+ *
+ * Cada chunk es un short[] de CHUNK_SIZE x CHUNK_SIZE que solo se reserva cuando contiene
+ * algún tile; las zonas vacías no ocupan memoria. Por chunk se guardan en cache los
+ * rectángulos de colisión (tiles sólidos fusionados de forma voraz en filas y después en
+ * columnas) y los de render (tiles del mismo tipo fusionados); solo se reconstruyen los
+ * chunks modificados. Cada rectángulo de colisión indica qué lados están expuestos, para
+ * que las juntas entre rectángulos contiguos no se traten como paredes o suelos.
+ * Para guardar partidas la capa se codifica con RLE (ver GameState.SECTION_TILES); la
+ * revisión cambia con cada tile modificado para saber si hay que volver a guardarla.
+ */
+public class TileLayer {
+
+    public static final int CHUNK_SIZE = 16;
+    private static final int CHUNK_TILES = CHUNK_SIZE * CHUNK_SIZE;
+
+    public static final short EMPTY = 0;
+
+    // Lados expuestos de un rectángulo de colisión (el vecino no es sólido)
+    public static final int EDGE_LEFT = 1;
+    public static final int EDGE_RIGHT = 2;
+    public static final int EDGE_BOTTOM = 4;
+    public static final int EDGE_TOP = 8;
+    public static final int COLLISION_STRIDE = 5;
+
+    // Colores por tipo de tile (el tipo 0 es vacío)
+    private static final Color[] DEFAULT_PALETTE = {
+        null,
+        new Color(0.4f, 0.4f, 0.5f, 1.0f),   // Piedra
+        new Color(0.25f, 0.25f, 0.3f, 1.0f), // Piedra oscura
+        new Color(0.3f, 0.15f, 0.4f, 1.0f),  // Obsidiana
+        new Color(0.45f, 0.3f, 0.2f, 1.0f)   // Madera
+    };
+
+    private static final int RLE_MAGIC = 0x544C4530; // "TLE0"
+
+    private final float originX;
+    private final float originY;
+    private final float tileSize;
+    private final int widthInTiles;
+    private final int heightInTiles;
+    private final int chunksX;
+    private final int chunksY;
+
+    private final short[][] chunks;
+    private final boolean[] dirty;
+    // Rectángulos en coordenadas de mundo: x, y, ancho, alto, lados expuestos
+    private final FloatArray[] collisionRects;
+    // Rectángulos de render: x, y, ancho, alto, tipo
+    private final FloatArray[] renderRects;
+    private final boolean[] solid;
+    private Color[] palette = DEFAULT_PALETTE;
+    // Tiles ya fusionados en un rectángulo (reutilizado en cada reconstrucción)
+    private final boolean[] mergeUsed = new boolean[CHUNK_TILES];
+    private int revision;
+
+    public TileLayer(float originX, float originY, float tileSize, int widthInTiles, int heightInTiles) {
+        this.originX = originX;
+        this.originY = originY;
+        this.tileSize = tileSize;
+        this.widthInTiles = widthInTiles;
+        this.heightInTiles = heightInTiles;
+        this.chunksX = (widthInTiles + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.chunksY = (heightInTiles + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.chunks = new short[chunksX * chunksY][];
+        this.dirty = new boolean[chunks.length];
+        this.collisionRects = new FloatArray[chunks.length];
+        this.renderRects = new FloatArray[chunks.length];
+        this.solid = new boolean[Short.MAX_VALUE + 1];
+        for (int i = 1; i < solid.length; i++) {
+            solid[i] = true;
+        }
+    }
+
+    /**
+     * Tipo del tile en la posición indicada (EMPTY fuera de la capa o en chunks vacíos)
+     */
+    public short get(int tileX, int tileY) {
+        if (tileX < 0 || tileY < 0 || tileX >= widthInTiles || tileY >= heightInTiles) {
+            return EMPTY;
+        }
+        short[] chunk = chunks[chunkIndex(tileX / CHUNK_SIZE, tileY / CHUNK_SIZE)];
+        return chunk != null ? chunk[(tileY % CHUNK_SIZE) * CHUNK_SIZE + tileX % CHUNK_SIZE] : EMPTY;
+    }
+
+    /**
+     * Cambia un tile y marca su chunk para reconstruir
+     */
+    public void set(int tileX, int tileY, short type) {
+        if (tileX < 0 || tileY < 0 || tileX >= widthInTiles || tileY >= heightInTiles || type < 0) {
+            return;
+        }
+        int index = chunkIndex(tileX / CHUNK_SIZE, tileY / CHUNK_SIZE);
+        short[] chunk = chunks[index];
+        if (chunk == null) {
+            if (type == EMPTY) {
+                return;
+            }
+            chunk = new short[CHUNK_TILES];
+            chunks[index] = chunk;
+        }
+        int local = (tileY % CHUNK_SIZE) * CHUNK_SIZE + tileX % CHUNK_SIZE;
+        if (chunk[local] != type) {
+            chunk[local] = type;
+            dirty[index] = true;
+            revision++;
+            // Los lados expuestos de los chunks vecinos pueden cambiar
+            markDirty(tileX - 1, tileY);
+            markDirty(tileX + 1, tileY);
+            markDirty(tileX, tileY - 1);
+            markDirty(tileX, tileY + 1);
+        }
+    }
+
+    private void markDirty(int tileX, int tileY) {
+        if (tileX >= 0 && tileY >= 0 && tileX < widthInTiles && tileY < heightInTiles) {
+            dirty[chunkIndex(tileX / CHUNK_SIZE, tileY / CHUNK_SIZE)] = true;
+        }
+    }
+
+    /**
+     * Indica si el tile es sólido (fuera de la capa no lo es)
+     */
+    public boolean isSolid(int tileX, int tileY) {
+        return solid[get(tileX, tileY)];
+    }
+
+    /**
+     * Rellena un rectángulo de tiles
+     */
+    public void fill(int tileX, int tileY, int width, int height, short type) {
+        for (int ty = tileY; ty < tileY + height; ty++) {
+            for (int tx = tileX; tx < tileX + width; tx++) {
+                set(tx, ty, type);
+            }
+        }
+    }
+
+    /**
+     * Rellena los tiles cubiertos por un rectángulo en coordenadas de mundo
+     */
+    public void fillWorldRect(float x, float y, float width, float height, short type) {
+        int fromX = (int) Math.floor((x - originX) / tileSize);
+        int fromY = (int) Math.floor((y - originY) / tileSize);
+        int toX = (int) Math.ceil((x + width - originX) / tileSize);
+        int toY = (int) Math.ceil((y + height - originY) / tileSize);
+        fill(fromX, fromY, toX - fromX, toY - fromY, type);
+    }
+
+    /**
+     * Indica si un tipo de tile bloquea el movimiento (por defecto todos menos EMPTY)
+     */
+    public void setSolid(short type, boolean isSolid) {
+        if (type > 0 && solid[type] != isSolid) {
+            solid[type] = isSolid;
+            for (int i = 0; i < chunks.length; i++) {
+                if (chunks[i] != null) dirty[i] = true;
+            }
+        }
+    }
+
+    public void setPalette(Color[] palette) {
+        this.palette = palette;
+    }
+
+    /**
+     * Añade a out (x, y, ancho, alto, lados expuestos) los rectángulos de colisión de los
+     * chunks que tocan el área indicada. Solo se consultan esos chunks.
+     */
+    public void queryCollisions(Rectangle area, FloatArray out) {
+        int fromX = Math.max(0, (int) Math.floor((area.x - originX) / (tileSize * CHUNK_SIZE)));
+        int fromY = Math.max(0, (int) Math.floor((area.y - originY) / (tileSize * CHUNK_SIZE)));
+        int toX = Math.min(chunksX - 1, (int) Math.floor((area.x + area.width - originX) / (tileSize * CHUNK_SIZE)));
+        int toY = Math.min(chunksY - 1, (int) Math.floor((area.y + area.height - originY) / (tileSize * CHUNK_SIZE)));
+
+        for (int cy = fromY; cy <= toY; cy++) {
+            for (int cx = fromX; cx <= toX; cx++) {
+                int index = chunkIndex(cx, cy);
+                if (chunks[index] == null) continue;
+                rebuildIfDirty(index);
+                FloatArray rects = collisionRects[index];
+                float[] items = rects.items;
+                for (int i = 0; i < rects.size; i += COLLISION_STRIDE) {
+                    if (items[i] < area.x + area.width && items[i] + items[i + 2] > area.x
+                            && items[i + 1] < area.y + area.height && items[i + 1] + items[i + 3] > area.y) {
+                        out.add(items[i], items[i + 1], items[i + 2], items[i + 3]);
+                        out.add(items[i + 4]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Dibuja los chunks visibles usando los rectángulos fusionados en cache
+     */
+    public void render(ShapeRenderer shapeRenderer, Rectangle view) {
+        float chunkWorldSize = tileSize * CHUNK_SIZE;
+        int fromX = Math.max(0, (int) Math.floor((view.x - originX) / chunkWorldSize));
+        int fromY = Math.max(0, (int) Math.floor((view.y - originY) / chunkWorldSize));
+        int toX = Math.min(chunksX - 1, (int) Math.floor((view.x + view.width - originX) / chunkWorldSize));
+        int toY = Math.min(chunksY - 1, (int) Math.floor((view.y + view.height - originY) / chunkWorldSize));
+
+        for (int cy = fromY; cy <= toY; cy++) {
+            for (int cx = fromX; cx <= toX; cx++) {
+                int index = chunkIndex(cx, cy);
+                if (chunks[index] == null) continue;
+                rebuildIfDirty(index);
+                FloatArray rects = renderRects[index];
+                float[] items = rects.items;
+                for (int i = 0; i < rects.size; i += 5) {
+                    int type = (int) items[i + 4];
+                    Color color = type < palette.length && palette[type] != null ? palette[type] : Color.MAGENTA;
+                    shapeRenderer.setColor(color);
+                    shapeRenderer.rect(items[i], items[i + 1], items[i + 2], items[i + 3]);
+                }
+            }
+        }
+    }
+
+    private void rebuildIfDirty(int index) {
+        if (!dirty[index] && collisionRects[index] != null) {
+            return;
+        }
+        if (collisionRects[index] == null) {
+            collisionRects[index] = new FloatArray();
+            renderRects[index] = new FloatArray();
+        }
+        short[] chunk = chunks[index];
+        int firstTileX = (index % chunksX) * CHUNK_SIZE;
+        int firstTileY = (index / chunksX) * CHUNK_SIZE;
+        mergeRects(chunk, firstTileX, firstTileY, true, collisionRects[index]);
+        mergeRects(chunk, firstTileX, firstTileY, false, renderRects[index]);
+        dirty[index] = false;
+    }
+
+    /**
+     * Fusión voraz: tramos horizontales por fila y después se extienden hacia arriba
+     * mientras la fila siguiente tenga el mismo tramo. Para colisión se agrupan los
+     * tiles sólidos; para render, los del mismo tipo.
+     */
+    private void mergeRects(short[] chunk, int firstTileX, int firstTileY, boolean collision, FloatArray out) {
+        float chunkX = originX + firstTileX * tileSize;
+        float chunkY = originY + firstTileY * tileSize;
+        out.clear();
+        boolean[] used = mergeUsed;
+        Arrays.fill(used, false);
+        for (int y = 0; y < CHUNK_SIZE; y++) {
+            int x = 0;
+            while (x < CHUNK_SIZE) {
+                int start = y * CHUNK_SIZE + x;
+                short type = chunk[start];
+                if (used[start] || !matches(type, type, collision)) {
+                    x++;
+                    continue;
+                }
+
+                int runEnd = x + 1;
+                while (runEnd < CHUNK_SIZE && !used[y * CHUNK_SIZE + runEnd]
+                        && matches(chunk[y * CHUNK_SIZE + runEnd], type, collision)) {
+                    runEnd++;
+                }
+
+                int top = y + 1;
+                while (top < CHUNK_SIZE && rowMatches(chunk, used, top, x, runEnd, type, collision)) {
+                    top++;
+                }
+
+                for (int ry = y; ry < top; ry++) {
+                    for (int rx = x; rx < runEnd; rx++) {
+                        used[ry * CHUNK_SIZE + rx] = true;
+                    }
+                }
+                out.add(chunkX + x * tileSize, chunkY + y * tileSize, (runEnd - x) * tileSize, (top - y) * tileSize);
+                out.add(collision ? exposedEdges(firstTileX + x, firstTileY + y, firstTileX + runEnd, firstTileY + top) : type);
+                x = runEnd;
+            }
+        }
+    }
+
+    /**
+     * Lados del rectángulo de tiles [fromX, toX) x [fromY, toY) con algún vecino no sólido
+     */
+    private int exposedEdges(int fromX, int fromY, int toX, int toY) {
+        int edges = 0;
+        for (int ty = fromY; ty < toY; ty++) {
+            if (!isSolid(fromX - 1, ty)) edges |= EDGE_LEFT;
+            if (!isSolid(toX, ty)) edges |= EDGE_RIGHT;
+        }
+        for (int tx = fromX; tx < toX; tx++) {
+            if (!isSolid(tx, fromY - 1)) edges |= EDGE_BOTTOM;
+            if (!isSolid(tx, toY)) edges |= EDGE_TOP;
+        }
+        return edges;
+    }
+
+    private boolean rowMatches(short[] chunk, boolean[] used, int y, int fromX, int toX, short type, boolean collision) {
+        for (int x = fromX; x < toX; x++) {
+            int local = y * CHUNK_SIZE + x;
+            if (used[local] || !matches(chunk[local], type, collision)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean matches(short tile, short type, boolean collision) {
+        return collision ? solid[tile] : tile != EMPTY && tile == type;
+    }
+
+    private int chunkIndex(int chunkX, int chunkY) {
+        return chunkY * chunksX + chunkX;
+    }
+
+    /**
+     * Codifica la capa con RLE (pares cantidad/tipo en orden de filas) para guardarla
+     */
+    public byte[] toRle() {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(RLE_MAGIC);
+            out.writeInt(widthInTiles);
+            out.writeInt(heightInTiles);
+
+            int total = widthInTiles * heightInTiles;
+            int i = 0;
+            while (i < total) {
+                short type = get(i % widthInTiles, i / widthInTiles);
+                int run = 1;
+                while (i + run < total && get((i + run) % widthInTiles, (i + run) / widthInTiles) == type) {
+                    run++;
+                }
+                writeVarInt(out, run);
+                out.writeShort(type);
+                i += run;
+            }
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Error encoding tile layer", e);
+        }
+    }
+
+    /**
+     * Restaura los tiles desde datos RLE (las dimensiones deben coincidir)
+     */
+    public void loadRle(byte[] data) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        if (in.readInt() != RLE_MAGIC) {
+            throw new IOException("Invalid tile layer data (bad magic)");
+        }
+        int width = in.readInt();
+        int height = in.readInt();
+        if (width != widthInTiles || height != heightInTiles) {
+            throw new IOException("Tile layer size mismatch: " + width + "x" + height
+                + " (expected " + widthInTiles + "x" + heightInTiles + ")");
+        }
+
+        int total = width * height;
+        int i = 0;
+        while (i < total) {
+            int run = readVarInt(in);
+            short type = in.readShort();
+            if (run <= 0 || i + run > total) {
+                throw new IOException("Corrupt tile layer data");
+            }
+            for (int end = i + run; i < end; i++) {
+                set(i % width, i / width, type);
+            }
+        }
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0 && shift < 35);
+        return value;
+    }
+
+    /**
+     * Número de chunks con memoria reservada
+     */
+    public int getAllocatedChunkCount() {
+        int count = 0;
+        for (short[] chunk : chunks) {
+            if (chunk != null) count++;
+        }
+        return count;
+    }
+
+    public float getOriginX() { return originX; }
+    public float getOriginY() { return originY; }
+    public float getTileSize() { return tileSize; }
+    public int getWidthInTiles() { return widthInTiles; }
+    public int getHeightInTiles() { return heightInTiles; }
+    public int getRevision() { return revision; }
+}
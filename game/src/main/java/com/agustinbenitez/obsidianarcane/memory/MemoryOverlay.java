@@ -0,0 +1,82 @@
+package com.agustinbenitez.obsidianarcane.memory;
+
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongArray;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Panel de memoria: heap de la JVM, memoria nativa y recursos GL vivos por subsistema
+ *
+ * Los valores se muestrean cada SAMPLE_INTERVAL segundos y las líneas de texto se
+ * construyen solo entonces, así que dibujar el panel cada frame no genera basura.
+ * La memoria nativa es la de los ByteBuffer directos de Java más la que LibGDX reserva
+ * por su cuenta (BufferUtils); la de los recursos GL es la estimación del ResourceTracker.
+ */
+public class MemoryOverlay {
+
+    private static final float SAMPLE_INTERVAL = 0.5f;
+    private static final float LINE_HEIGHT = 20f;
+    private static final float MB = 1024f * 1024f;
+
+    private final ResourceTracker tracker = ResourceTracker.getInstance();
+    private final BufferPoolMXBean directPool;
+    private final Array<String> lines = new Array<>(false, 8, String.class);
+
+    private final Array<String> subsystemNames = new Array<>();
+    private final IntArray subsystemCounts = new IntArray();
+    private final LongArray subsystemBytes = new LongArray();
+    private float timer = SAMPLE_INTERVAL;
+
+    public MemoryOverlay() {
+        BufferPoolMXBean direct = null;
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if ("direct".equals(pool.getName())) {
+                direct = pool;
+            }
+        }
+        directPool = direct;
+    }
+
+    public void update(float delta) {
+        timer += delta;
+        if (timer >= SAMPLE_INTERVAL) {
+            timer = 0;
+            sample();
+        }
+    }
+
+    private void sample() {
+        lines.clear();
+        Runtime runtime = Runtime.getRuntime();
+        long used = runtime.totalMemory() - runtime.freeMemory();
+        lines.add(String.format("Heap %.1f / %.1f MB (max %.0f)", used / MB, runtime.totalMemory() / MB,
+            runtime.maxMemory() / MB));
+
+        long direct = directPool != null ? directPool.getMemoryUsed() : 0;
+        lines.add(String.format("Native %.1f MB direct  %.1f MB gdx", direct / MB,
+            BufferUtils.getAllocatedBytesUnsafe() / MB));
+
+        lines.add(String.format("GL objects %d  %.1f MB", tracker.getLiveCount(), tracker.getLiveBytes() / MB));
+        tracker.collectSubsystems(subsystemNames, subsystemCounts, subsystemBytes);
+        for (int i = 0; i < subsystemNames.size; i++) {
+            lines.add(String.format("  %-7s %3d  %6.2f MB", subsystemNames.get(i), subsystemCounts.get(i),
+                subsystemBytes.get(i) / MB));
+        }
+    }
+
+    /**
+     * Dibuja las líneas hacia abajo desde (x, y); devuelve la y siguiente al panel
+     */
+    public float draw(SpriteBatch batch, BitmapFont font, float x, float y) {
+        for (int i = 0; i < lines.size; i++) {
+            font.draw(batch, lines.get(i), x, y);
+            y -= LINE_HEIGHT;
+        }
+        return y;
+    }
+}
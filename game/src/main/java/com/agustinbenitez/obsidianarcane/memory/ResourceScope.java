@@ -0,0 +1,65 @@
+package com.agustinbenitez.obsidianarcane.memory;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Recursos de un dueño (pantalla o subsistema) que se liberan juntos
+ *
+ * Cada recurso se crea envuelto en add(), que lo registra en el ResourceTracker, y
+ * dispose() libera todos en orden inverso de creación. Los que se sustituyen antes (un
+ * framebuffer que cambia de tamaño...) se liberan con dispose(recurso).
+ */
+public class ResourceScope implements Disposable {
+
+    private final String owner;
+    private final String subsystem;
+    private final Array<Disposable> resources = new Array<>(false, 8, Disposable.class);
+    private final ResourceTracker tracker = ResourceTracker.getInstance();
+
+    /**
+     * @param owner nombre base del dueño (se le añade un número de instancia)
+     */
+    public ResourceScope(String owner, String subsystem) {
+        this.owner = tracker.uniqueOwner(owner);
+        this.subsystem = subsystem;
+    }
+
+    public <T extends Disposable> T add(T resource) {
+        return add(resource, ResourceTracker.estimateBytes(resource));
+    }
+
+    public <T extends Disposable> T add(T resource, long bytes) {
+        resources.add(resource);
+        tracker.track(resource, owner, subsystem, bytes);
+        return resource;
+    }
+
+    /**
+     * Libera un recurso del ámbito antes que los demás
+     */
+    public void dispose(Disposable resource) {
+        if (resources.removeValue(resource, true)) {
+            tracker.untrack(resource);
+        }
+        resource.dispose();
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public int size() {
+        return resources.size;
+    }
+
+    @Override
+    public void dispose() {
+        for (int i = resources.size - 1; i >= 0; i--) {
+            Disposable resource = resources.get(i);
+            tracker.untrack(resource);
+            resource.dispose();
+        }
+        resources.clear();
+    }
+}
@@ -0,0 +1,281 @@
+package com.agustinbenitez.obsidianarcane.memory;
+
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.GLTexture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.GLFrameBuffer;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongArray;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Registro de los recursos nativos vivos (texturas, buffers, shaders, batches...)
+ *
+ * Cada recurso se registra al crearlo (normalmente a través de un ResourceScope) con su
+ * dueño (una pantalla o un subsistema concreto, p. ej. "OptionsScreen#2"), su subsistema
+ * ("menu", "render", "fonts"...), una estimación de la memoria que ocupa y la pila de la
+ * creación, y se borra al liberarlo. Lo que sigue vivo cuando no debería es una fuga: el
+ * informe agrupa los recursos vivos por dueño y muestra dónde se creó cada uno.
+ */
+public final class ResourceTracker {
+
+    private static final int STACK_FRAMES = 6;
+
+    // Estimaciones para objetos cuyo tamaño no se puede consultar (buffers por defecto)
+    private static final long SHAPE_RENDERER_BYTES = 5000 * 16 * 2;
+
+    private static ResourceTracker instance;
+
+    private final Map<Object, Entry> live = new IdentityHashMap<>();
+    private final ObjectIntMap<String> ownerSequence = new ObjectIntMap<>();
+    private boolean captureStacks = true;
+    private long createdCount;
+    private long disposedCount;
+
+    /**
+     * Un recurso vivo
+     */
+    private static final class Entry {
+        final String owner;
+        final String subsystem;
+        final String type;
+        final long bytes;
+        final Throwable origin;
+
+        Entry(String owner, String subsystem, String type, long bytes, Throwable origin) {
+            this.owner = owner;
+            this.subsystem = subsystem;
+            this.type = type;
+            this.bytes = bytes;
+            this.origin = origin;
+        }
+    }
+
+    private ResourceTracker() {
+    }
+
+    public static ResourceTracker getInstance() {
+        if (instance == null) {
+            instance = new ResourceTracker();
+        }
+        return instance;
+    }
+
+    /**
+     * Nombre único para un dueño: base#n, con n creciente por cada base
+     */
+    public synchronized String uniqueOwner(String base) {
+        int sequence = ownerSequence.getAndIncrement(base, 0, 1) + 1;
+        return base + "#" + sequence;
+    }
+
+    public synchronized void track(Object resource, String owner, String subsystem, long bytes) {
+        Throwable origin = captureStacks ? new Throwable("created here") : null;
+        live.put(resource, new Entry(owner, subsystem, resource.getClass().getSimpleName(), bytes, origin));
+        createdCount++;
+    }
+
+    /**
+     * Quita un recurso liberado; devuelve false si no estaba registrado
+     */
+    public synchronized boolean untrack(Object resource) {
+        if (live.remove(resource) == null) {
+            return false;
+        }
+        disposedCount++;
+        return true;
+    }
+
+    /**
+     * Guardar la pila de cada creación (activado por defecto; crear recursos es poco frecuente)
+     */
+    public synchronized void setCaptureStacks(boolean captureStacks) {
+        this.captureStacks = captureStacks;
+    }
+
+    public synchronized int getLiveCount() {
+        return live.size();
+    }
+
+    public synchronized long getLiveBytes() {
+        long total = 0;
+        for (Entry entry : live.values()) {
+            total += entry.bytes;
+        }
+        return total;
+    }
+
+    /**
+     * Recursos vivos de los dueños que empiezan por prefix (p. ej. "OptionsScreen")
+     */
+    public synchronized int getLiveCount(String ownerPrefix) {
+        int count = 0;
+        for (Entry entry : live.values()) {
+            if (entry.owner.startsWith(ownerPrefix)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Número de dueños distintos con recursos vivos cuyo nombre empieza por prefix
+     */
+    public synchronized int getLiveOwnerCount(String ownerPrefix) {
+        ObjectIntMap<String> owners = new ObjectIntMap<>();
+        for (Entry entry : live.values()) {
+            if (entry.owner.startsWith(ownerPrefix)) {
+                owners.put(entry.owner, 1);
+            }
+        }
+        return owners.size;
+    }
+
+    public synchronized long getCreatedCount() {
+        return createdCount;
+    }
+
+    public synchronized long getDisposedCount() {
+        return disposedCount;
+    }
+
+    /**
+     * Totales por subsistema (vacía y rellena los arrays, ordenados por nombre)
+     */
+    public synchronized void collectSubsystems(Array<String> names, IntArray counts, LongArray bytes) {
+        names.clear();
+        counts.clear();
+        bytes.clear();
+        for (Entry entry : live.values()) {
+            int index = names.indexOf(entry.subsystem, false);
+            if (index < 0) {
+                index = names.size;
+                names.add(entry.subsystem);
+                counts.add(0);
+                bytes.add(0);
+            }
+            counts.incr(index, 1);
+            bytes.incr(index, entry.bytes);
+        }
+        // Ordenación por inserción: hay pocos subsistemas
+        for (int i = 1; i < names.size; i++) {
+            for (int j = i; j > 0 && names.get(j).compareTo(names.get(j - 1)) < 0; j--) {
+                names.swap(j, j - 1);
+                counts.swap(j, j - 1);
+                bytes.swap(j, j - 1);
+            }
+        }
+    }
+
+    /**
+     * Informe de los recursos vivos agrupados por subsistema y dueño (con la pila de
+     * creación de cada uno si withStacks)
+     */
+    public synchronized String report(boolean withStacks) {
+        Array<String> owners = new Array<>();
+        for (Entry entry : live.values()) {
+            String key = entry.subsystem + " / " + entry.owner;
+            if (!owners.contains(key, false)) {
+                owners.add(key);
+            }
+        }
+        owners.sort();
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%d live resources, %.1f KB (created %d, disposed %d)%n", live.size(),
+            getLiveBytes() / 1024f, createdCount, disposedCount));
+        for (String owner : owners) {
+            sb.append("  ").append(owner).append('\n');
+            for (Entry entry : live.values()) {
+                if (!owner.equals(entry.subsystem + " / " + entry.owner)) {
+                    continue;
+                }
+                sb.append(String.format("    %-16s %10.1f KB%n", entry.type, entry.bytes / 1024f));
+                if (withStacks && entry.origin != null) {
+                    appendStack(sb, entry.origin);
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Primeras llamadas de la pila fuera del propio registro
+     */
+    private static void appendStack(StringBuilder sb, Throwable origin) {
+        int printed = 0;
+        for (StackTraceElement element : origin.getStackTrace()) {
+            if (element.getClassName().startsWith(ResourceTracker.class.getPackage().getName())) {
+                continue;
+            }
+            sb.append("        at ").append(element).append('\n');
+            if (++printed == STACK_FRAMES) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Buffers de un SpriteBatch de size sprites (vértices e índices)
+     */
+    public static long spriteBatchBytes(int size) {
+        return size * 4L * 20 + size * 6L * 2;
+    }
+
+    /**
+     * Memoria aproximada (bytes) de un recurso: exacta para texturas, buffers y mallas,
+     * el tamaño por defecto de los buffers para batches y ShapeRenderer
+     */
+    public static long estimateBytes(Object resource) {
+        if (resource instanceof GLTexture) {
+            GLTexture texture = (GLTexture) resource;
+            return (long) texture.getWidth() * texture.getHeight() * 4;
+        }
+        if (resource instanceof GLFrameBuffer) {
+            GLTexture color = ((GLFrameBuffer<?>) resource).getColorBufferTexture();
+            return color != null ? estimateBytes(color) : 0;
+        }
+        if (resource instanceof Pixmap) {
+            Pixmap pixmap = (Pixmap) resource;
+            return (long) pixmap.getWidth() * pixmap.getHeight() * 4;
+        }
+        if (resource instanceof Mesh) {
+            Mesh mesh = (Mesh) resource;
+            return (long) mesh.getMaxVertices() * mesh.getVertexSize() + mesh.getMaxIndices() * 2L;
+        }
+        if (resource instanceof TextureAtlas) {
+            long total = 0;
+            for (GLTexture texture : ((TextureAtlas) resource).getTextures()) {
+                total += estimateBytes(texture);
+            }
+            return total;
+        }
+        if (resource instanceof BitmapFont) {
+            BitmapFont font = (BitmapFont) resource;
+            if (!font.ownsTexture()) {
+                return 0; // Comparte páginas (FontManager); se cuentan una vez allí
+            }
+            long total = 0;
+            for (TextureRegion region : font.getRegions()) {
+                total += estimateBytes(region.getTexture());
+            }
+            return total;
+        }
+        if (resource instanceof SpriteBatch || resource instanceof Stage) {
+            return spriteBatchBytes(1000); // Tamaño por defecto (Stage crea el suyo)
+        }
+        if (resource instanceof ShapeRenderer) {
+            return SHAPE_RENDERER_BYTES;
+        }
+        return 0;
+    }
+}
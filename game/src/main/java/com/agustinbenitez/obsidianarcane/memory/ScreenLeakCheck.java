@@ -0,0 +1,244 @@
+package com.agustinbenitez.obsidianarcane.memory;
+
+import com.agustinbenitez.obsidianarcane.GameStateManager;
+import com.agustinbenitez.obsidianarcane.menu.OptionsScreen;
+import com.agustinbenitez.obsidianarcane.stats.RunStatsLog;
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Graphics;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Files;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.glutils.GLVersion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.file.Files;
+
+/**
+ * Comprobación sin ventana de que los cambios de pantalla no pierden recursos nativos
+ *
+ * Arranca el GameStateManager con un GL falso (devuelve identificadores, compila cualquier
+ * shader y no dibuja nada) y recorre varias veces el ciclo de pantallas: menú, opciones,
+ * carga, créditos, partida, guardado, pausa y vuelta al menú, dibujando un frame en cada una.
+ * El primer ciclo crea lo que se reutiliza (menú, fuentes, pausa...); a partir de ahí el
+ * número de recursos vivos del ResourceTracker no debe crecer. Si crece, muestra el informe
+ * con la pila de creación de cada recurso y termina con código 1. Las runs que abre cada
+ * partida se registran en un directorio temporal, no en las estadísticas del jugador.
+ * <pre>
+ * mvn exec:java -Dexec.mainClass=com.agustinbenitez.obsidianarcane.memory.ScreenLeakCheck -Dexec.args="[ciclos=5]"
+ * </pre>
+ */
+public class ScreenLeakCheck {
+
+    private static final int GL_FRAMEBUFFER_COMPLETE = 0x8CD5;
+    private static final int GL_ACTIVE_UNIFORMS = 0x8B86;
+    private static final int GL_ACTIVE_ATTRIBUTES = 0x8B89;
+    private static final int GL_MAX_TEXTURE_SIZE = 0x0D33;
+    private static final int WIDTH = 800;
+    private static final int HEIGHT = 600;
+
+    private static final Array<Runnable> runnables = new Array<>();
+    private static int nextHandle = 1;
+
+    public static void main(String[] args) throws IOException {
+        int cycles = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        installHeadlessBackend();
+        FileHandle statsDirectory = Gdx.files.absolute(Files.createTempDirectory("leakcheck-stats").toString());
+        RunStatsLog.setDirectory(statsDirectory);
+
+        GameStateManager game = new GameStateManager();
+        game.create();
+        game.getAssetManager().finishLoading();
+        game.onStartupComplete();
+        frame(game);
+
+        ResourceTracker tracker = ResourceTracker.getInstance();
+        int baseline = 0;
+        System.out.println(String.format("%-6s %8s %10s %8s %8s", "cycle", "live", "KB", "created", "disposed"));
+        for (int cycle = 1; cycle <= cycles; cycle++) {
+            runCycle(game);
+            System.out.println(String.format("%-6d %8d %10.1f %8d %8d", cycle, tracker.getLiveCount(),
+                tracker.getLiveBytes() / 1024f, tracker.getCreatedCount(), tracker.getDisposedCount()));
+            if (cycle == 1) {
+                baseline = tracker.getLiveCount();
+            }
+        }
+
+        boolean leaked = tracker.getLiveCount() > baseline;
+        if (leaked) {
+            System.out.println("Live resources grew from " + baseline + " to " + tracker.getLiveCount()
+                + " across screen transitions:");
+            System.out.print(tracker.report(true));
+        }
+        game.dispose();
+        statsDirectory.deleteDirectory();
+        if (tracker.getLiveCount() > 0) {
+            System.out.println("Resources still alive after dispose:");
+            System.out.print(tracker.report(true));
+            leaked = true;
+        }
+        System.out.println(leaked ? "LEAK" : "OK");
+        System.exit(leaked ? 1 : 0);
+    }
+
+    /**
+     * Un recorrido completo por las transiciones de pantalla del juego
+     */
+    private static void runCycle(GameStateManager game) {
+        game.showOptions(OptionsScreen.ScreenContext.MAIN_MENU);
+        frame(game);
+        game.showMainMenu();
+        frame(game);
+        game.showLoadScreen();
+        frame(game);
+        game.showMainMenu();
+        frame(game);
+        game.showCredits();
+        frame(game);
+        game.startGame();
+        frame(game);
+        game.showOptions(OptionsScreen.ScreenContext.PAUSE_MENU);
+        frame(game);
+        game.resumeGame();
+        frame(game);
+        game.showSaveScreen();
+        frame(game);
+        game.showPauseMenu();
+        frame(game);
+        game.showMainMenu();
+        frame(game);
+    }
+
+    private static void frame(GameStateManager game) {
+        game.render();
+        for (int i = 0; i < runnables.size; i++) {
+            runnables.get(i).run();
+        }
+        runnables.clear();
+    }
+
+    /**
+     * Sustituye Gdx.* por versiones falsas: lo justo para crear y dibujar las pantallas
+     */
+    private static void installHeadlessBackend() {
+        GdxNativesLoader.load();
+        ShaderProgram.pedantic = false;
+        Gdx.files = new Lwjgl3Files();
+
+        GL20 gl = stub(GL20.class, ScreenLeakCheck::gl);
+        Gdx.gl = gl;
+        Gdx.gl20 = gl;
+
+        GLVersion version = new GLVersion(Application.ApplicationType.HeadlessDesktop, "2.0 headless", "none", "none");
+        Gdx.graphics = stub(Graphics.class, (method, args) -> {
+            switch (method.getName()) {
+                case "getGLVersion": return version;
+                case "getGL20": return gl;
+                case "getWidth":
+                case "getBackBufferWidth": return WIDTH;
+                case "getHeight":
+                case "getBackBufferHeight": return HEIGHT;
+                case "getDeltaTime": return 1f / 60f;
+                case "getFramesPerSecond": return 60;
+                case "getDensity":
+                case "getBackBufferScale": return 1f;
+                default: return null;
+            }
+        });
+        Gdx.input = stub(Input.class, (method, args) -> null);
+        Gdx.app = stub(Application.class, (method, args) -> {
+            switch (method.getName()) {
+                case "getType": return Application.ApplicationType.HeadlessDesktop;
+                case "log":
+                case "debug": return null; // Silencio: solo interesa el resultado
+                case "error":
+                    System.err.println("[" + args[0] + "] " + args[1]);
+                    return null;
+                case "postRunnable":
+                    runnables.add((Runnable) args[0]);
+                    return null;
+                default: return null;
+            }
+        });
+    }
+
+    /**
+     * GL falso: identificadores nuevos para cada objeto creado, shaders y framebuffers
+     * siempre correctos, y sin uniforms ni atributos activos
+     */
+    private static Object gl(Method method, Object[] args) {
+        String name = method.getName();
+        if (name.equals("glCheckFramebufferStatus")) {
+            return GL_FRAMEBUFFER_COMPLETE;
+        }
+        if (method.getReturnType() == int.class && (name.startsWith("glGen") || name.startsWith("glCreate"))) {
+            return nextHandle++;
+        }
+        if (name.startsWith("glGen") && args != null && args[args.length - 1] instanceof IntBuffer) {
+            IntBuffer handles = (IntBuffer) args[args.length - 1];
+            while (handles.hasRemaining()) {
+                handles.put(nextHandle++);
+            }
+            return null;
+        }
+        if (name.equals("glGetShaderiv") || name.equals("glGetProgramiv")) {
+            int pname = (Integer) args[1];
+            boolean active = pname == GL_ACTIVE_UNIFORMS || pname == GL_ACTIVE_ATTRIBUTES;
+            ((IntBuffer) args[2]).put(0, active ? 0 : 1);
+            return null;
+        }
+        if (name.equals("glGetIntegerv")) {
+            ((IntBuffer) args[1]).put(0, (Integer) args[0] == GL_MAX_TEXTURE_SIZE ? 4096 : 0);
+            return null;
+        }
+        if (name.equals("glGetFloatv")) {
+            ((FloatBuffer) args[1]).put(0, 1f);
+            return null;
+        }
+        if (method.getReturnType() == String.class) {
+            return "";
+        }
+        return null;
+    }
+
+    /**
+     * Handler de un stub: null se convierte en el valor por defecto del tipo de retorno
+     */
+    private interface StubHandler {
+        Object invoke(Method method, Object[] args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, StubHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "hashCode": return System.identityHashCode(proxy);
+                    case "equals": return proxy == args[0];
+                    default: return type.getSimpleName() + " stub";
+                }
+            }
+            Object result = handler.invoke(method, args);
+            return result != null ? result : defaultValue(method.getReturnType());
+        });
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == float.class) return 0f;
+        if (type == double.class) return 0d;
+        if (type == short.class) return (short) 0;
+        if (type == byte.class) return (byte) 0;
+        if (type == char.class) return '\0';
+        return null;
+    }
+}
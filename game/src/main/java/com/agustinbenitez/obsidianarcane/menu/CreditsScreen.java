@@ -8,9 +8,13 @@ import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.Input.Keys;
 import com.agustinbenitez.obsidianarcane.GameStateManager;
+import com.agustinbenitez.obsidianarcane.FontManager;
 import com.agustinbenitez.obsidianarcane.LocalizationManager;
+import com.agustinbenitez.obsidianarcane.memory.ResourceScope;
+import com.agustinbenitez.obsidianarcane.input.ActionInput;
+import com.agustinbenitez.obsidianarcane.input.InputAction;
+import com.agustinbenitez.obsidianarcane.i18n.MessageKeys;
 
 /**
  * Pantalla de créditos para Obsidian Arcane
@@ -19,6 +23,8 @@ import com.agustinbenitez.obsidianarcane.LocalizationManager;
 public class CreditsScreen implements Screen {
     
     private GameStateManager game;
+    // Recursos nativos de esta pantalla (se liberan juntos en dispose)
+    private final ResourceScope resources = new ResourceScope("CreditsScreen", "menu");
     private SpriteBatch batch;
     private BitmapFont titleFont;
     private BitmapFont font;
@@ -39,36 +45,22 @@ public class CreditsScreen implements Screen {
         this.localization = LocalizationManager.getInstance();
         
         // Inicializar componentes
-        batch = new SpriteBatch();
+        batch = resources.add(new SpriteBatch());
         glyphLayout = new GlyphLayout();
         
-        // Crear fuentes con diferentes tamaños
-        titleFont = new BitmapFont();
-        titleFont.getData().setScale(2.5f);
+        // Crear fuentes con diferentes tamaños (compartidas con el resto de pantallas)
+        FontManager fonts = FontManager.getInstance();
+        titleFont = resources.add(fonts.createFont(FontManager.SIZE_TITLE));
         titleFont.setColor(TITLE_COLOR);
         titleFont.setUseIntegerPositions(false);
-        titleFont.getRegion().getTexture().setFilter(
-            com.badlogic.gdx.graphics.Texture.TextureFilter.Linear, 
-            com.badlogic.gdx.graphics.Texture.TextureFilter.Linear
-        );
         
-        font = new BitmapFont();
-        font.getData().setScale(1.5f);
+        font = resources.add(fonts.createFont(FontManager.SIZE_LARGE));
         font.setColor(TEXT_COLOR);
         font.setUseIntegerPositions(false);
-        font.getRegion().getTexture().setFilter(
-            com.badlogic.gdx.graphics.Texture.TextureFilter.Linear, 
-            com.badlogic.gdx.graphics.Texture.TextureFilter.Linear
-        );
         
-        nameFont = new BitmapFont();
-        nameFont.getData().setScale(2f);
+        nameFont = resources.add(fonts.createFont(FontManager.SIZE_HEADING));
         nameFont.setColor(NAME_COLOR);
         nameFont.setUseIntegerPositions(false);
-        nameFont.getRegion().getTexture().setFilter(
-            com.badlogic.gdx.graphics.Texture.TextureFilter.Linear, 
-            com.badlogic.gdx.graphics.Texture.TextureFilter.Linear
-        );
         
         camera = new OrthographicCamera();
         camera.setToOrtho(false, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
@@ -94,10 +86,10 @@ public class CreditsScreen implements Screen {
     }
     
     private void handleInput() {
+        ActionInput input = ActionInput.getInstance();
+        
         // Volver al menú principal con Escape o Enter
-        if (Gdx.input.isKeyJustPressed(Keys.ESCAPE) || 
-            Gdx.input.isKeyJustPressed(Keys.ENTER) ||
-            Gdx.input.isKeyJustPressed(Keys.SPACE)) {
+        if (input.justPressed(InputAction.BACK) || input.justPressed(InputAction.CONFIRM)) {
             game.showMainMenu();
         }
     }
@@ -110,25 +102,25 @@ public class CreditsScreen implements Screen {
         float centerX = screenWidth / 2f;
         
         // Título
-        String title = localization.getText("credits.title");
+        String title = localization.getText(MessageKeys.CREDITS_TITLE);
         glyphLayout.setText(titleFont, title);
         float titleWidth = glyphLayout.width;
         titleFont.draw(batch, title, centerX - titleWidth / 2f, screenHeight - 100);
         
         // Desarrollador
-        String developerLabel = localization.getText("credits.developer") + ":";
+        String developerLabel = localization.getText(MessageKeys.CREDITS_DEVELOPER) + ":";
         glyphLayout.setText(font, developerLabel);
         float developerWidth = glyphLayout.width;
         font.draw(batch, developerLabel, centerX - developerWidth / 2f, screenHeight - 200);
         
         // Nombre del desarrollador
-        String developerName = localization.getText("credits.name");
+        String developerName = localization.getText(MessageKeys.CREDITS_NAME);
         glyphLayout.setText(nameFont, developerName);
         float nameWidth = glyphLayout.width;
         nameFont.draw(batch, developerName, centerX - nameWidth / 2f, screenHeight - 250);
         
         // Agradecimientos
-        String thanks = localization.getText("credits.thanks");
+        String thanks = localization.getText(MessageKeys.CREDITS_THANKS);
         glyphLayout.setText(font, thanks);
         float thanksWidth = glyphLayout.width;
         
@@ -138,7 +130,7 @@ public class CreditsScreen implements Screen {
         font.setColor(TEXT_COLOR); // Restaurar color original
         
         // Instrucciones para volver
-        String backInstructions = localization.getText("credits.back");
+        String backInstructions = localization.getText(MessageKeys.CREDITS_BACK);
         glyphLayout.setText(font, backInstructions);
         float instructionsWidth = glyphLayout.width;
         font.draw(batch, backInstructions, centerX - instructionsWidth / 2f, 100);
@@ -162,9 +154,6 @@ public class CreditsScreen implements Screen {
     
     @Override
     public void dispose() {
-        batch.dispose();
-        titleFont.dispose();
-        font.dispose();
-        nameFont.dispose();
+        resources.dispose();
     }
 }
\ No newline at end of file
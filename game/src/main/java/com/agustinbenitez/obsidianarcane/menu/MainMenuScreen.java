@@ -6,7 +6,6 @@ import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.Stage;
@@ -14,9 +13,14 @@ import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.Input.Keys;
 import com.agustinbenitez.obsidianarcane.GameStateManager;
+import com.agustinbenitez.obsidianarcane.FontManager;
 import com.agustinbenitez.obsidianarcane.LocalizationManager;
+import com.agustinbenitez.obsidianarcane.audio.AudioEngine;
+import com.agustinbenitez.obsidianarcane.memory.ResourceScope;
+import com.agustinbenitez.obsidianarcane.input.ActionInput;
+import com.agustinbenitez.obsidianarcane.input.InputAction;
+import com.agustinbenitez.obsidianarcane.i18n.MessageKeys;
 
 /**
  * Main Menu Screen for Obsidian Arcane
@@ -24,6 +28,8 @@ import com.agustinbenitez.obsidianarcane.LocalizationManager;
 public class MainMenuScreen implements Screen {
     
     private GameStateManager game;
+    // Native resources owned by this screen (released together in dispose)
+    private final ResourceScope resources = new ResourceScope("MainMenuScreen", "menu");
     private Stage stage;
     private SpriteBatch batch;
     private BitmapFont buttonFont;
@@ -52,22 +58,21 @@ public class MainMenuScreen implements Screen {
         this.localization = LocalizationManager.getInstance();
         
         // Initialize graphics components
-        batch = new SpriteBatch();
+        batch = resources.add(new SpriteBatch());
         camera = new OrthographicCamera();
-        stage = new Stage(new ScreenViewport(camera));
+        stage = resources.add(new Stage(new ScreenViewport(camera)));
         
-        // Load title logo
-        titleLogo = new Texture(Gdx.files.internal("title_logo.png"));
+        // Title logo is loaded by the shared AssetManager during startup
+        titleLogo = game.getAssetManager().finishLoadingAsset(GameStateManager.TITLE_LOGO);
         
-        Gdx.input.setInputProcessor(stage);
+        ActionInput.getInstance().setScreenProcessor(stage);
         
         createUI();
     }
 
     private void createUI() {
-        // Create font using default BitmapFont instead of FreeType to avoid font file dependency
-        buttonFont = new BitmapFont();
-        buttonFont.getData().setScale(1.5f); // Make it a bit larger
+        // Shared font from the font service
+        buttonFont = resources.add(FontManager.getInstance().createFont(FontManager.SIZE_LARGE));
         buttonFont.setColor(Color.WHITE);
 
         // Create button styles
@@ -93,16 +98,16 @@ public class MainMenuScreen implements Screen {
         mainTable.add(titleImage).padBottom(50).row();
 
         // Create buttons
-        playButton = new TextButton(localization.getText("menu.play"), normalStyle);
+        playButton = new TextButton(localization.getText(MessageKeys.MENU_PLAY), normalStyle);
         playButton.getLabel().setAlignment(com.badlogic.gdx.utils.Align.left);
         
-        optionsButton = new TextButton(localization.getText("menu.options"), normalStyle);
+        optionsButton = new TextButton(localization.getText(MessageKeys.MENU_OPTIONS), normalStyle);
         optionsButton.getLabel().setAlignment(com.badlogic.gdx.utils.Align.left);
         
-        creditsButton = new TextButton(localization.getText("menu.credits"), normalStyle);
+        creditsButton = new TextButton(localization.getText(MessageKeys.MENU_CREDITS), normalStyle);
         creditsButton.getLabel().setAlignment(com.badlogic.gdx.utils.Align.left);
         
-        exitButton = new TextButton(localization.getText("menu.exit"), normalStyle);
+        exitButton = new TextButton(localization.getText(MessageKeys.MENU_EXIT), normalStyle);
         exitButton.getLabel().setAlignment(com.badlogic.gdx.utils.Align.left);
         
         // Initialize menu buttons array for keyboard navigation
@@ -146,23 +151,34 @@ public class MainMenuScreen implements Screen {
         mainTable.add(exitButton).width(200).height(50).padBottom(10).row();
     }
 
+    private void playNavigationSound() {
+        AudioEngine audio = AudioEngine.getInstance();
+        if (audio.getSounds() != null) {
+            audio.playUi(audio.getSounds().menu, 0.5f);
+        }
+    }
+    
     private void handleInput() {
+        ActionInput input = ActionInput.getInstance();
+        
         // Navigate with arrow keys or WASD
-        if (Gdx.input.isKeyJustPressed(Keys.UP) || Gdx.input.isKeyJustPressed(Keys.W)) {
+        if (input.justPressed(InputAction.MOVE_UP)) {
             selectedButtonIndex = (selectedButtonIndex - 1 + menuButtons.length) % menuButtons.length;
             updateButtonStyles();
-        } else if (Gdx.input.isKeyJustPressed(Keys.DOWN) || Gdx.input.isKeyJustPressed(Keys.S)) {
+            playNavigationSound();
+        } else if (input.justPressed(InputAction.MOVE_DOWN)) {
             selectedButtonIndex = (selectedButtonIndex + 1) % menuButtons.length;
             updateButtonStyles();
+            playNavigationSound();
         }
         
         // Select with Enter or Space
-        if (Gdx.input.isKeyJustPressed(Keys.ENTER) || Gdx.input.isKeyJustPressed(Keys.SPACE)) {
+        if (input.justPressed(InputAction.CONFIRM)) {
             selectCurrentButton();
         }
         
         // Exit with Escape
-        if (Gdx.input.isKeyJustPressed(Keys.ESCAPE)) {
+        if (input.justPressed(InputAction.BACK)) {
             Gdx.app.exit();
         }
     }
@@ -198,15 +214,16 @@ public class MainMenuScreen implements Screen {
      * Refresh UI elements when language changes
      */
     public void refreshUI() {
-        playButton.setText(localization.getText("menu.play"));
-        optionsButton.setText(localization.getText("menu.options"));
-        creditsButton.setText(localization.getText("menu.credits"));
-        exitButton.setText(localization.getText("menu.exit"));
+        playButton.setText(localization.getText(MessageKeys.MENU_PLAY));
+        optionsButton.setText(localization.getText(MessageKeys.MENU_OPTIONS));
+        creditsButton.setText(localization.getText(MessageKeys.MENU_CREDITS));
+        exitButton.setText(localization.getText(MessageKeys.MENU_EXIT));
     }
 
     @Override
     public void show() {
-        Gdx.input.setInputProcessor(stage);
+        // Mouse events reach the stage through the action input layer
+        ActionInput.getInstance().setScreenProcessor(stage);
         // Refresh UI in case language changed
         refreshUI();
     }
@@ -237,15 +254,13 @@ public class MainMenuScreen implements Screen {
     public void resume() {}
 
     @Override
-    public void hide() {}
+    public void hide() {
+        ActionInput.getInstance().setScreenProcessor(null);
+    }
 
     @Override
     public void dispose() {
-        stage.dispose();
-        batch.dispose();
-        buttonFont.dispose();
-        if (titleLogo != null) {
-            titleLogo.dispose();
-        }
+        resources.dispose();
+        // titleLogo is owned by the AssetManager
     }
 }
\ No newline at end of file
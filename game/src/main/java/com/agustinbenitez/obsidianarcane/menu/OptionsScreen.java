@@ -1,7 +1,6 @@
 package com.agustinbenitez.obsidianarcane.menu;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input.Keys;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
@@ -11,8 +10,13 @@ import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.graphics.Color;
 import com.agustinbenitez.obsidianarcane.GameStateManager;
+import com.agustinbenitez.obsidianarcane.FontManager;
 import com.agustinbenitez.obsidianarcane.LocalizationManager;
 import com.agustinbenitez.obsidianarcane.GameConfig;
+import com.agustinbenitez.obsidianarcane.memory.ResourceScope;
+import com.agustinbenitez.obsidianarcane.input.ActionInput;
+import com.agustinbenitez.obsidianarcane.input.InputAction;
+import com.agustinbenitez.obsidianarcane.i18n.MessageKeys;
 
 /**
  * Options Screen for Obsidian Arcane with keyboard navigation
@@ -31,11 +35,18 @@ public class OptionsScreen implements Screen {
         RESOLUTION_SELECT,
         FPS_SELECT,
         FULLSCREEN_TOGGLE,
+        RENDER_SCALE_SELECT,
+        BLOOM_SELECT,
+        VIGNETTE_TOGGLE,
+        COLOR_GRADING_TOGGLE,
+        CRT_TOGGLE,
         APPLY_BUTTON,
         BACK_BUTTON
     }
     
     private GameStateManager game;
+    // Native resources owned by this screen (released together in dispose)
+    private final ResourceScope resources = new ResourceScope("OptionsScreen", "menu");
     private SpriteBatch batch;
     private BitmapFont font;
     private BitmapFont titleFont;
@@ -54,6 +65,11 @@ public class OptionsScreen implements Screen {
     private int selectedResolutionIndex = 0;
     private int selectedFPSIndex = 0;
     private boolean fullscreenEnabled = false;
+    private int selectedRenderScaleIndex = 0;
+    private int selectedBloomIndex = 0;
+    private boolean vignetteEnabled = true;
+    private boolean colorGradingEnabled = true;
+    private boolean crtEnabled = false;
     
     // Visual constants
     private static final Color BACKGROUND_COLOR = new Color(0.05f, 0.05f, 0.15f, 1);
@@ -75,19 +91,17 @@ public class OptionsScreen implements Screen {
         this.gameConfig = GameConfig.getInstance();
         
         // Initialize graphics components
-        batch = new SpriteBatch();
+        batch = resources.add(new SpriteBatch());
         camera = new OrthographicCamera();
         camera.setToOrtho(false, 800, 600);
-        shapeRenderer = new ShapeRenderer();
+        shapeRenderer = resources.add(new ShapeRenderer());
         glyphLayout = new GlyphLayout();
         
         // Initialize fonts
-        font = new BitmapFont();
-        font.getData().setScale(1.2f);
+        font = resources.add(FontManager.getInstance().createFont(FontManager.SIZE_MEDIUM));
         font.setColor(NORMAL_COLOR);
         
-        titleFont = new BitmapFont();
-        titleFont.getData().setScale(2.0f);
+        titleFont = resources.add(FontManager.getInstance().createFont(FontManager.SIZE_HEADING));
         titleFont.setColor(TITLE_COLOR);
         
         // Initialize menu options
@@ -117,30 +131,53 @@ public class OptionsScreen implements Screen {
         }
         
         fullscreenEnabled = gameConfig.isFullscreen();
+        
+        // Find current render scale index
+        GameConfig.RenderScaleOption currentRenderScale = gameConfig.getCurrentRenderScaleOption();
+        for (int i = 0; i < GameConfig.AVAILABLE_RENDER_SCALES.length; i++) {
+            if (GameConfig.AVAILABLE_RENDER_SCALES[i].equals(currentRenderScale)) {
+                selectedRenderScaleIndex = i;
+                break;
+            }
+        }
+        
+        // Post-processing effects
+        GameConfig.BloomOption currentBloom = gameConfig.getCurrentBloomOption();
+        for (int i = 0; i < GameConfig.AVAILABLE_BLOOM_OPTIONS.length; i++) {
+            if (GameConfig.AVAILABLE_BLOOM_OPTIONS[i].equals(currentBloom)) {
+                selectedBloomIndex = i;
+                break;
+            }
+        }
+        vignetteEnabled = gameConfig.isVignette();
+        colorGradingEnabled = gameConfig.isColorGrading();
+        crtEnabled = gameConfig.isCrtEffect();
     }
     
     private void handleInput() {
+        ActionInput input = ActionInput.getInstance();
+        
         // Navigate with arrow keys or WASD
-        if (Gdx.input.isKeyJustPressed(Keys.UP) || Gdx.input.isKeyJustPressed(Keys.W)) {
+        if (input.justPressed(InputAction.MOVE_UP)) {
             selectedOptionIndex = (selectedOptionIndex - 1 + menuOptions.length) % menuOptions.length;
-        } else if (Gdx.input.isKeyJustPressed(Keys.DOWN) || Gdx.input.isKeyJustPressed(Keys.S)) {
+        } else if (input.justPressed(InputAction.MOVE_DOWN)) {
             selectedOptionIndex = (selectedOptionIndex + 1) % menuOptions.length;
         }
         
         // Handle horizontal navigation for select boxes
-        if (Gdx.input.isKeyJustPressed(Keys.LEFT) || Gdx.input.isKeyJustPressed(Keys.A)) {
+        if (input.justPressed(InputAction.MOVE_LEFT)) {
             handleLeftNavigation();
-        } else if (Gdx.input.isKeyJustPressed(Keys.RIGHT) || Gdx.input.isKeyJustPressed(Keys.D)) {
+        } else if (input.justPressed(InputAction.MOVE_RIGHT)) {
             handleRightNavigation();
         }
         
         // Select with Enter or Space
-        if (Gdx.input.isKeyJustPressed(Keys.ENTER) || Gdx.input.isKeyJustPressed(Keys.SPACE)) {
+        if (input.justPressed(InputAction.CONFIRM)) {
             selectCurrentOption();
         }
         
         // Back with Escape
-        if (Gdx.input.isKeyJustPressed(Keys.ESCAPE)) {
+        if (input.justPressed(InputAction.BACK)) {
             goBack();
         }
     }
@@ -157,6 +194,21 @@ public class OptionsScreen implements Screen {
             case FULLSCREEN_TOGGLE:
                 fullscreenEnabled = !fullscreenEnabled;
                 break;
+            case RENDER_SCALE_SELECT:
+                selectedRenderScaleIndex = (selectedRenderScaleIndex - 1 + GameConfig.AVAILABLE_RENDER_SCALES.length) % GameConfig.AVAILABLE_RENDER_SCALES.length;
+                break;
+            case BLOOM_SELECT:
+                selectedBloomIndex = (selectedBloomIndex - 1 + GameConfig.AVAILABLE_BLOOM_OPTIONS.length) % GameConfig.AVAILABLE_BLOOM_OPTIONS.length;
+                break;
+            case VIGNETTE_TOGGLE:
+                vignetteEnabled = !vignetteEnabled;
+                break;
+            case COLOR_GRADING_TOGGLE:
+                colorGradingEnabled = !colorGradingEnabled;
+                break;
+            case CRT_TOGGLE:
+                crtEnabled = !crtEnabled;
+                break;
         }
     }
     
@@ -172,6 +224,21 @@ public class OptionsScreen implements Screen {
             case FULLSCREEN_TOGGLE:
                 fullscreenEnabled = !fullscreenEnabled;
                 break;
+            case RENDER_SCALE_SELECT:
+                selectedRenderScaleIndex = (selectedRenderScaleIndex + 1) % GameConfig.AVAILABLE_RENDER_SCALES.length;
+                break;
+            case BLOOM_SELECT:
+                selectedBloomIndex = (selectedBloomIndex + 1) % GameConfig.AVAILABLE_BLOOM_OPTIONS.length;
+                break;
+            case VIGNETTE_TOGGLE:
+                vignetteEnabled = !vignetteEnabled;
+                break;
+            case COLOR_GRADING_TOGGLE:
+                colorGradingEnabled = !colorGradingEnabled;
+                break;
+            case CRT_TOGGLE:
+                crtEnabled = !crtEnabled;
+                break;
         }
     }
     
@@ -179,16 +246,21 @@ public class OptionsScreen implements Screen {
         MenuOption currentOption = menuOptions[selectedOptionIndex];
         switch (currentOption) {
             case SPANISH_BUTTON:
-                localization.setLanguage(LocalizationManager.Language.SPANISH);
+                localization.setLanguageAsync(LocalizationManager.Language.SPANISH);
                 Gdx.app.log("OptionsScreen", "Language changed to Spanish");
                 break;
             case ENGLISH_BUTTON:
-                localization.setLanguage(LocalizationManager.Language.ENGLISH);
+                localization.setLanguageAsync(LocalizationManager.Language.ENGLISH);
                 Gdx.app.log("OptionsScreen", "Language changed to English");
                 break;
             case RESOLUTION_SELECT:
             case FPS_SELECT:
             case FULLSCREEN_TOGGLE:
+            case RENDER_SCALE_SELECT:
+            case BLOOM_SELECT:
+            case VIGNETTE_TOGGLE:
+            case COLOR_GRADING_TOGGLE:
+            case CRT_TOGGLE:
                 // These are handled by left/right navigation
                 break;
             case APPLY_BUTTON:
@@ -202,20 +274,28 @@ public class OptionsScreen implements Screen {
     
     private void applySettings() {
         try {
-            // Apply resolution
             GameConfig.Resolution selectedResolution = GameConfig.AVAILABLE_RESOLUTIONS[selectedResolutionIndex];
-            gameConfig.setResolution(selectedResolution);
-            
-            // Apply FPS setting
             GameConfig.FPSOption selectedFPS = GameConfig.AVAILABLE_FPS_OPTIONS[selectedFPSIndex];
-            gameConfig.setFPSOption(selectedFPS);
+            GameConfig.RenderScaleOption selectedRenderScale = GameConfig.AVAILABLE_RENDER_SCALES[selectedRenderScaleIndex];
+            GameConfig.BloomOption selectedBloom = GameConfig.AVAILABLE_BLOOM_OPTIONS[selectedBloomIndex];
             
-            // Apply fullscreen setting
-            gameConfig.setFullscreen(fullscreenEnabled);
+            // Apply all settings in a single transaction (one display change, one save)
+            gameConfig.edit()
+                .setResolution(selectedResolution)
+                .setFPSOption(selectedFPS)
+                .setFullscreen(fullscreenEnabled)
+                .setRenderScale(selectedRenderScale)
+                .setBloom(selectedBloom)
+                .setVignette(vignetteEnabled)
+                .setColorGrading(colorGradingEnabled)
+                .setCrtEffect(crtEnabled)
+                .commit();
             
             Gdx.app.log("OptionsScreen", "Configuration applied: " + 
                 selectedResolution.displayName + ", FPS: " + selectedFPS.displayName + 
-                ", Fullscreen: " + fullscreenEnabled);
+                ", Fullscreen: " + fullscreenEnabled + ", Render: " + selectedRenderScale.displayName +
+                ", Bloom: " + selectedBloom.displayName + ", Vignette: " + vignetteEnabled +
+                ", Grading: " + colorGradingEnabled + ", CRT: " + crtEnabled);
                 
         } catch (Exception e) {
             Gdx.app.error("OptionsScreen", "Error applying configuration: " + e.getMessage());
@@ -276,14 +356,14 @@ public class OptionsScreen implements Screen {
         
         // Draw section separators
         shapeRenderer.setColor(0.3f, 0.3f, 0.3f, 0.8f);
-        shapeRenderer.rect(100, 420, 600, 2); // After language section
-        shapeRenderer.rect(100, 220, 600, 2); // After display section
+        shapeRenderer.rect(100, 438, 600, 2); // After language section
+        shapeRenderer.rect(100, 188, 600, 2); // After display and effects section
         
         shapeRenderer.end();
     }
     
     private void drawTitle() {
-        String title = localization.getText("options.title");
+        String title = localization.getText(MessageKeys.OPTIONS_TITLE);
         glyphLayout.setText(titleFont, title);
         float x = (800 - glyphLayout.width) / 2;
         titleFont.draw(batch, title, x, 550);
@@ -292,44 +372,66 @@ public class OptionsScreen implements Screen {
     private void drawLanguageSection() {
         // Section title
         font.setColor(SECTION_COLOR);
-        String languageTitle = localization.getText("options.language") + ":";
-        font.draw(batch, languageTitle, 100, 480);
+        String languageTitle = localization.getText(MessageKeys.OPTIONS_LANGUAGE) + ":";
+        font.draw(batch, languageTitle, 100, 490);
         
         // Language buttons
-        drawOption(MenuOption.SPANISH_BUTTON, localization.getText("options.spanish"), 150, 450);
-        drawOption(MenuOption.ENGLISH_BUTTON, localization.getText("options.english"), 350, 450);
+        drawOption(MenuOption.SPANISH_BUTTON, localization.getText(MessageKeys.OPTIONS_SPANISH), 150, 460);
+        drawOption(MenuOption.ENGLISH_BUTTON, localization.getText(MessageKeys.OPTIONS_ENGLISH), 350, 460);
     }
     
     private void drawDisplaySection() {
         // Section title
         font.setColor(SECTION_COLOR);
-        String displayTitle = localization.getText("options.display") + ":";
-        font.draw(batch, displayTitle, 100, 380);
+        String displayTitle = localization.getText(MessageKeys.OPTIONS_DISPLAY) + ":";
+        font.draw(batch, displayTitle, 100, 412);
         
         // Resolution
-        String resolutionText = localization.getText("options.resolution") + ": " + 
+        String resolutionText = localization.getText(MessageKeys.OPTIONS_RESOLUTION) + ": " + 
             GameConfig.AVAILABLE_RESOLUTIONS[selectedResolutionIndex].displayName;
-        drawOption(MenuOption.RESOLUTION_SELECT, resolutionText, 150, 350);
+        drawOption(MenuOption.RESOLUTION_SELECT, resolutionText, 150, 385);
         
         // FPS
-        String fpsText = localization.getText("options.fps") + ": " + 
+        String fpsText = localization.getText(MessageKeys.OPTIONS_FPS) + ": " + 
             GameConfig.AVAILABLE_FPS_OPTIONS[selectedFPSIndex].displayName;
-        drawOption(MenuOption.FPS_SELECT, fpsText, 150, 320);
+        drawOption(MenuOption.FPS_SELECT, fpsText, 150, 360);
         
         // Fullscreen
-        String fullscreenText = localization.getText("options.fullscreen") + ": " + 
+        String fullscreenText = localization.getText(MessageKeys.OPTIONS_FULLSCREEN) + ": " + 
             (fullscreenEnabled ? "ON" : "OFF");
-        drawOption(MenuOption.FULLSCREEN_TOGGLE, fullscreenText, 150, 290);
+        drawOption(MenuOption.FULLSCREEN_TOGGLE, fullscreenText, 150, 335);
+        
+        // Render scale
+        String renderScaleText = localization.getText(MessageKeys.OPTIONS_RENDER_SCALE) + ": " + 
+            GameConfig.AVAILABLE_RENDER_SCALES[selectedRenderScaleIndex].displayName;
+        drawOption(MenuOption.RENDER_SCALE_SELECT, renderScaleText, 150, 310);
+        
+        // Post-processing effects
+        String bloomText = localization.getText(MessageKeys.OPTIONS_BLOOM) + ": " + 
+            GameConfig.AVAILABLE_BLOOM_OPTIONS[selectedBloomIndex].displayName;
+        drawOption(MenuOption.BLOOM_SELECT, bloomText, 150, 285);
+        
+        String vignetteText = localization.getText(MessageKeys.OPTIONS_VIGNETTE) + ": " + 
+            (vignetteEnabled ? "ON" : "OFF");
+        drawOption(MenuOption.VIGNETTE_TOGGLE, vignetteText, 150, 260);
+        
+        String colorGradingText = localization.getText(MessageKeys.OPTIONS_COLOR_GRADING) + ": " + 
+            (colorGradingEnabled ? "ON" : "OFF");
+        drawOption(MenuOption.COLOR_GRADING_TOGGLE, colorGradingText, 150, 235);
+        
+        String crtText = localization.getText(MessageKeys.OPTIONS_CRT) + ": " + 
+            (crtEnabled ? "ON" : "OFF");
+        drawOption(MenuOption.CRT_TOGGLE, crtText, 150, 210);
     }
     
     private void drawActionButtons() {
-        drawOption(MenuOption.APPLY_BUTTON, localization.getText("options.apply"), 250, 180);
-        drawOption(MenuOption.BACK_BUTTON, localization.getText("options.back"), 450, 180);
+        drawOption(MenuOption.APPLY_BUTTON, localization.getText(MessageKeys.OPTIONS_APPLY), 250, 160);
+        drawOption(MenuOption.BACK_BUTTON, localization.getText(MessageKeys.OPTIONS_BACK), 450, 160);
     }
     
     private void drawInstructions() {
         font.setColor(new Color(0.6f, 0.6f, 0.6f, 1));
-        String instructions = "W/S: " + localization.getText("pause.instructions").split("  ")[0].split(": ")[1] + 
+        String instructions = "W/S: " + localization.getText(MessageKeys.PAUSE_INSTRUCTIONS).split("  ")[0].split(": ")[1] + 
                             "  A/D: Cambiar  ENTER: Seleccionar  ESC: Volver";
         glyphLayout.setText(font, instructions);
         float x = (800 - glyphLayout.width) / 2;
@@ -350,19 +452,24 @@ public class OptionsScreen implements Screen {
     
     private float getOptionY(MenuOption option) {
         switch (option) {
-            case SPANISH_BUTTON: return 450;
-            case ENGLISH_BUTTON: return 450;
-            case RESOLUTION_SELECT: return 350;
-            case FPS_SELECT: return 320;
-            case FULLSCREEN_TOGGLE: return 290;
-            case APPLY_BUTTON: return 180;
-            case BACK_BUTTON: return 180;
+            case SPANISH_BUTTON: return 460;
+            case ENGLISH_BUTTON: return 460;
+            case RESOLUTION_SELECT: return 385;
+            case FPS_SELECT: return 360;
+            case FULLSCREEN_TOGGLE: return 335;
+            case RENDER_SCALE_SELECT: return 310;
+            case BLOOM_SELECT: return 285;
+            case VIGNETTE_TOGGLE: return 260;
+            case COLOR_GRADING_TOGGLE: return 235;
+            case CRT_TOGGLE: return 210;
+            case APPLY_BUTTON: return 160;
+            case BACK_BUTTON: return 160;
             default: return 0;
         }
     }
     
     private float getOptionHeight(MenuOption option) {
-        return 30; // Standard height for all options
+        return 25; // Standard height for all options
     }
     
     @Override
@@ -381,9 +488,6 @@ public class OptionsScreen implements Screen {
     
     @Override
     public void dispose() {
-        batch.dispose();
-        font.dispose();
-        titleFont.dispose();
-        shapeRenderer.dispose();
+        resources.dispose();
     }
 }
\ No newline at end of file
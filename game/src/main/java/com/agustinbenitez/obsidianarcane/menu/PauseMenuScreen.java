@@ -7,12 +7,16 @@ import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.Input.Keys;
 import com.agustinbenitez.obsidianarcane.GameStateManager;
+import com.agustinbenitez.obsidianarcane.FontManager;
 import com.agustinbenitez.obsidianarcane.LocalizationManager;
 import com.agustinbenitez.obsidianarcane.SaveManager;
 import com.agustinbenitez.obsidianarcane.SimpleGameScreen;
 import com.agustinbenitez.obsidianarcane.GameState;
+import com.agustinbenitez.obsidianarcane.memory.ResourceScope;
+import com.agustinbenitez.obsidianarcane.input.ActionInput;
+import com.agustinbenitez.obsidianarcane.input.InputAction;
+import com.agustinbenitez.obsidianarcane.i18n.MessageKeys;
 
 /**
  * Menú de pausa que aparece cuando el jugador presiona Escape durante el juego
@@ -20,8 +24,12 @@ import com.agustinbenitez.obsidianarcane.GameState;
 public class PauseMenuScreen implements Screen {
     
     private GameStateManager game;
+    // Recursos nativos de esta pantalla (se liberan juntos en dispose)
+    private final ResourceScope resources = new ResourceScope("PauseMenuScreen", "menu");
     private SpriteBatch batch;
+    private BitmapFont titleFont;
     private BitmapFont font;
+    private BitmapFont smallFont;
     private GlyphLayout glyphLayout;
     private LocalizationManager localization;
     
@@ -40,9 +48,11 @@ public class PauseMenuScreen implements Screen {
         this.game = game;
         this.localization = LocalizationManager.getInstance();
         
-        batch = new SpriteBatch();
-        font = new BitmapFont();
-        font.getData().setScale(1.5f); // Hacer la fuente más grande
+        batch = resources.add(new SpriteBatch());
+        FontManager fonts = FontManager.getInstance();
+        titleFont = resources.add(fonts.createFont(FontManager.SIZE_HEADING));
+        font = resources.add(fonts.createFont(FontManager.SIZE_LARGE));
+        smallFont = resources.add(fonts.createFont(FontManager.SIZE_SMALL));
         glyphLayout = new GlyphLayout();
         
         // Inicializar opciones del menú
@@ -51,9 +61,9 @@ public class PauseMenuScreen implements Screen {
     
     private void updateMenuOptions() {
         menuOptions = new String[] {
-            localization.getText("pause.resume"),
-            localization.getText("pause.settings"),
-            localization.getText("pause.main_menu")
+            localization.getText(MessageKeys.PAUSE_RESUME),
+            localization.getText(MessageKeys.PAUSE_SETTINGS),
+            localization.getText(MessageKeys.PAUSE_MAIN_MENU)
         };
     }
     
@@ -73,18 +83,14 @@ public class PauseMenuScreen implements Screen {
         batch.begin();
         
         // Título del menú de pausa - más grande y más arriba
-        font.setColor(Color.WHITE);
-        font.getData().setScale(2.0f); // Título aún más grande
-        String pauseTitle = localization.getText("pause.title");
-        glyphLayout.setText(font, pauseTitle);
+        titleFont.setColor(Color.WHITE);
+        String pauseTitle = localization.getText(MessageKeys.PAUSE_TITLE);
+        glyphLayout.setText(titleFont, pauseTitle);
         float titleWidth = glyphLayout.width;
-        font.draw(batch, pauseTitle, 
+        titleFont.draw(batch, pauseTitle, 
                  (Gdx.graphics.getWidth() - titleWidth) / 2, 
                  Gdx.graphics.getHeight() / 2 + 150); // Más arriba
         
-        // Restaurar tamaño de fuente para opciones
-        font.getData().setScale(1.5f);
-        
         // Opciones del menú - más espaciadas
         for (int i = 0; i < menuOptions.length; i++) {
             if (i == selectedOption) {
@@ -102,12 +108,11 @@ public class PauseMenuScreen implements Screen {
         }
         
         // Instrucciones - fuente más pequeña pero visible
-        font.getData().setScale(1.0f);
-        font.setColor(Color.LIGHT_GRAY);
-        String instructions = localization.getText("pause.instructions");
-        glyphLayout.setText(font, instructions);
+        smallFont.setColor(Color.LIGHT_GRAY);
+        String instructions = localization.getText(MessageKeys.PAUSE_INSTRUCTIONS);
+        glyphLayout.setText(smallFont, instructions);
         float instructionsWidth = glyphLayout.width;
-        font.draw(batch, instructions, 
+        smallFont.draw(batch, instructions, 
                  (Gdx.graphics.getWidth() - instructionsWidth) / 2, 
                  120); // Más arriba desde abajo
         
@@ -115,22 +120,24 @@ public class PauseMenuScreen implements Screen {
     }
     
     private void handleInput() {
+        ActionInput input = ActionInput.getInstance();
+        
         // Navegación vertical
-        if (Gdx.input.isKeyJustPressed(Keys.UP) || Gdx.input.isKeyJustPressed(Keys.W)) {
+        if (input.justPressed(InputAction.MOVE_UP)) {
             selectedOption = (selectedOption - 1 + menuOptions.length) % menuOptions.length;
         }
         
-        if (Gdx.input.isKeyJustPressed(Keys.DOWN) || Gdx.input.isKeyJustPressed(Keys.S)) {
+        if (input.justPressed(InputAction.MOVE_DOWN)) {
             selectedOption = (selectedOption + 1) % menuOptions.length;
         }
         
         // Selección
-        if (Gdx.input.isKeyJustPressed(Keys.ENTER) || Gdx.input.isKeyJustPressed(Keys.SPACE)) {
+        if (input.justPressed(InputAction.CONFIRM)) {
             selectOption();
         }
         
         // Reanudar con Escape
-        if (Gdx.input.isKeyJustPressed(Keys.ESCAPE)) {
+        if (input.justPressed(InputAction.BACK)) {
             game.resumeGame();
         }
     }
@@ -154,12 +161,14 @@ public class PauseMenuScreen implements Screen {
                     SimpleGameScreen simpleGameScreen = game.getSimpleGameScreen();
                     if (simpleGameScreen != null) {
                         // No hay posición del jugador que actualizar en SimpleGameScreen
+                        simpleGameScreen.captureTiles(currentState);
                         currentState.updateSaveDate();
                     }
                     
                     // Buscar un slot disponible o usar el último usado
                     int slotToSave = findBestSlotForAutoSave(saveManager);
-                    saveManager.saveGame(slotToSave, currentState);
+                    saveManager.autoSave(slotToSave, currentState);
+                    game.setCurrentSaveSlot(slotToSave);
                     
                     Gdx.app.log("PauseMenu", "Game automatically saved in slot " + slotToSave);
                 }
@@ -173,6 +182,11 @@ public class PauseMenuScreen implements Screen {
      * Encuentra el mejor slot para el guardado automático
      */
     private int findBestSlotForAutoSave(SaveManager saveManager) {
+        // Slot de la partida en curso
+        if (game.getCurrentSaveSlot() > 0) {
+            return game.getCurrentSaveSlot();
+        }
+        
         // Primero intentar usar el slot actual si existe
         GameState currentState = game.getCurrentGameState();
         if (currentState != null && currentState.getSaveName() != null) {
@@ -212,11 +226,6 @@ public class PauseMenuScreen implements Screen {
     
     @Override
     public void dispose() {
-        if (batch != null) {
-            batch.dispose();
-        }
-        if (font != null) {
-            font.dispose();
-        }
+        resources.dispose();
     }
 }
\ No newline at end of file
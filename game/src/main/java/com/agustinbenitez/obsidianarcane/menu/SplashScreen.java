@@ -0,0 +1,132 @@
+package com.agustinbenitez.obsidianarcane.menu;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.agustinbenitez.obsidianarcane.memory.ResourceScope;
+import com.agustinbenitez.obsidianarcane.GameStateManager;
+import com.agustinbenitez.obsidianarcane.LocalizationManager;
+import com.agustinbenitez.obsidianarcane.StartupProfiler;
+
+/**
+ * Pantalla de carga inicial
+ * Se pinta en el primer frame y después avanza la carga de recursos en segundo plano
+ */
+public class SplashScreen implements Screen {
+
+    // Tiempo máximo por frame dedicado a finalizar recursos en el hilo GL
+    private static final int LOAD_BUDGET_MS = 12;
+
+    private static final Color BACKGROUND_COLOR = new Color(0.1f, 0.1f, 0.2f, 1);
+    private static final Color BAR_BACKGROUND_COLOR = new Color(0.2f, 0.2f, 0.3f, 1);
+    private static final Color BAR_COLOR = new Color(1f, 0.8f, 0.2f, 1);
+
+    private GameStateManager game;
+    // Recursos nativos de esta pantalla (se liberan juntos en dispose)
+    private final ResourceScope resources = new ResourceScope("SplashScreen", "menu");
+    private AssetManager assetManager;
+    private SpriteBatch batch;
+    private BitmapFont font;
+    private GlyphLayout glyphLayout;
+    private ShapeRenderer shapeRenderer;
+    private OrthographicCamera camera;
+
+    private int frameCount;
+    private boolean localizationReady;
+    private boolean finished;
+
+    public SplashScreen(GameStateManager game) {
+        this.game = game;
+        this.assetManager = game.getAssetManager();
+
+        batch = resources.add(new SpriteBatch());
+        font = resources.add(new BitmapFont());
+        font.getData().setScale(2.0f);
+        glyphLayout = new GlyphLayout();
+        shapeRenderer = resources.add(new ShapeRenderer());
+        camera = new OrthographicCamera();
+        camera.setToOrtho(false, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+    }
+
+    @Override
+    public void show() {
+    }
+
+    @Override
+    public void render(float delta) {
+        Gdx.gl.glClearColor(BACKGROUND_COLOR.r, BACKGROUND_COLOR.g, BACKGROUND_COLOR.b, BACKGROUND_COLOR.a);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+        camera.update();
+        drawProgress(assetManager.getProgress());
+
+        frameCount++;
+        if (frameCount == 1) {
+            // El primer frame solo pinta; la carga empieza en el siguiente
+            StartupProfiler.mark("first-frame");
+            return;
+        }
+
+        if (!localizationReady) {
+            LocalizationManager.getInstance();
+            localizationReady = true;
+            StartupProfiler.mark("localization");
+            return;
+        }
+
+        if (!finished && assetManager.update(LOAD_BUDGET_MS)) {
+            finished = true;
+            StartupProfiler.mark("assets");
+            game.onStartupComplete();
+        }
+    }
+
+    private void drawProgress(float progress) {
+        float width = Gdx.graphics.getWidth();
+        float height = Gdx.graphics.getHeight();
+        float barWidth = width * 0.4f;
+        float barX = (width - barWidth) / 2;
+        float barY = height * 0.35f;
+
+        shapeRenderer.setProjectionMatrix(camera.combined);
+        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
+        shapeRenderer.setColor(BAR_BACKGROUND_COLOR);
+        shapeRenderer.rect(barX, barY, barWidth, 8);
+        shapeRenderer.setColor(BAR_COLOR);
+        shapeRenderer.rect(barX, barY, barWidth * progress, 8);
+        shapeRenderer.end();
+
+        batch.setProjectionMatrix(camera.combined);
+        batch.begin();
+        String title = "OBSIDIAN ARCANE";
+        glyphLayout.setText(font, title);
+        font.draw(batch, title, (width - glyphLayout.width) / 2, height * 0.55f);
+        batch.end();
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        camera.setToOrtho(false, width, height);
+    }
+
+    @Override
+    public void pause() {}
+
+    @Override
+    public void resume() {}
+
+    @Override
+    public void hide() {}
+
+    @Override
+    public void dispose() {
+        resources.dispose();
+    }
+}
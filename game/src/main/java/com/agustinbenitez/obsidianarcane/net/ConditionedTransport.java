@@ -0,0 +1,103 @@
+package com.agustinbenitez.obsidianarcane.net;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.function.LongSupplier;
+
+/**
+ * Transporte que simula una red real sobre otro transporte: añade latencia, jitter y
+ * pérdida de paquetes a los envíos. Con jitter los paquetes pueden llegar desordenados.
+ *
+ * El reloj se inyecta para que el arnés de pruebas pueda avanzar en tiempo virtual; los
+ * paquetes retenidos se envían al transporte real en receive() o flush() cuando les toca.
+ */
+public class ConditionedTransport implements PacketTransport {
+
+    private static final class Pending implements Comparable<Pending> {
+        final ByteBuffer data = ByteBuffer.allocate(RollbackSession.MAX_PACKET_BYTES);
+        int player;
+        long releaseNanos;
+        long sequence;
+
+        @Override
+        public int compareTo(Pending other) {
+            int byTime = Long.compare(releaseNanos, other.releaseNanos);
+            return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private final PacketTransport transport;
+    private final LongSupplier clock;
+    private final Random random;
+    private final PriorityQueue<Pending> inFlight = new PriorityQueue<>();
+    private final ArrayDeque<Pending> pool = new ArrayDeque<>();
+    private long latencyNanos;
+    private long jitterNanos;
+    private float lossRate;
+    private long sequence;
+    private int droppedPackets;
+
+    public ConditionedTransport(PacketTransport transport, LongSupplier clock, long seed) {
+        this.transport = transport;
+        this.clock = clock;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * @param latencyMillis retardo de ida fijo
+     * @param jitterMillis retardo adicional aleatorio (0..jitter)
+     * @param lossRate fracción de paquetes descartados (0..1)
+     */
+    public void setConditions(float latencyMillis, float jitterMillis, float lossRate) {
+        this.latencyNanos = (long) (latencyMillis * 1_000_000L);
+        this.jitterNanos = (long) (jitterMillis * 1_000_000L);
+        this.lossRate = lossRate;
+    }
+
+    @Override
+    public void send(int player, ByteBuffer packet) throws IOException {
+        if (random.nextFloat() < lossRate) {
+            droppedPackets++;
+            return;
+        }
+        Pending pending = pool.isEmpty() ? new Pending() : pool.poll();
+        pending.data.clear();
+        pending.data.put(packet).flip();
+        pending.player = player;
+        pending.releaseNanos = clock.getAsLong() + latencyNanos
+            + (jitterNanos > 0 ? (long) (random.nextDouble() * jitterNanos) : 0);
+        pending.sequence = sequence++;
+        inFlight.add(pending);
+        flush();
+    }
+
+    /**
+     * Entrega al transporte real los paquetes cuyo retardo ya ha pasado
+     */
+    public void flush() throws IOException {
+        long now = clock.getAsLong();
+        while (!inFlight.isEmpty() && inFlight.peek().releaseNanos <= now) {
+            Pending pending = inFlight.poll();
+            transport.send(pending.player, pending.data);
+            pool.add(pending);
+        }
+    }
+
+    @Override
+    public boolean receive(ByteBuffer packet) throws IOException {
+        flush();
+        return transport.receive(packet);
+    }
+
+    public int getDroppedPackets() {
+        return droppedPackets;
+    }
+
+    @Override
+    public void close() {
+        transport.close();
+    }
+}
@@ -0,0 +1,138 @@
+package com.agustinbenitez.obsidianarcane.net;
+
+import com.agustinbenitez.obsidianarcane.Room;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+
+/**
+ * Arnés de pruebas del rollback: varias sesiones en un proceso, conectadas por UDP en
+ * localhost con latencia, jitter y pérdida simulados
+ *
+ * Cada jugador sigue un guion de entradas pseudoaleatorio (función del jugador y el tick, así
+ * que es el mismo en todas las ejecuciones). El tiempo avanza en pasos virtuales de un tick,
+ * de modo que la prueba va tan rápido como la CPU. Al final se comprueba que todas las
+ * sesiones tienen el mismo CRC del último estado definitivo común y se muestra el coste del
+ * rollback por frame.
+ * <pre>
+ * mvn exec:java -Dexec.mainClass=com.agustinbenitez.obsidianarcane.net.CoopNetHarness \
+ *     -Dexec.args="[jugadores=4] [latencia ms=60] [jitter ms=20] [pérdida %=5] [ticks=3600]"
+ * </pre>
+ */
+public class CoopNetHarness {
+
+    private static final long TICK_NANOS = 1_000_000_000L / 60;
+    private static final int MAX_DRAIN_FRAMES = 600;
+
+    private static long virtualNanos;
+
+    public static void main(String[] args) throws IOException {
+        int players = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        float latencyMillis = args.length > 1 ? Float.parseFloat(args[1]) : 60f;
+        float jitterMillis = args.length > 2 ? Float.parseFloat(args[2]) : 20f;
+        float lossPercent = args.length > 3 ? Float.parseFloat(args[3]) : 5f;
+        int ticks = args.length > 4 ? Integer.parseInt(args[4]) : 3600;
+
+        System.out.println(String.format("%d players, latency %.0f ms, jitter %.0f ms, loss %.1f%%, %d ticks",
+            players, latencyMillis, jitterMillis, lossPercent, ticks));
+        boolean converged = run(players, latencyMillis, jitterMillis, lossPercent / 100f, ticks);
+        if (!converged) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Ejecuta la prueba y devuelve si todas las sesiones convergen al mismo estado
+     */
+    public static boolean run(int players, float latencyMillis, float jitterMillis, float lossRate, int ticks)
+            throws IOException {
+        InetSocketAddress loopback = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+        UdpTransport[] sockets = new UdpTransport[players];
+        ConditionedTransport[] links = new ConditionedTransport[players];
+        RollbackSession[] sessions = new RollbackSession[players];
+        virtualNanos = 0;
+
+        for (int i = 0; i < players; i++) {
+            sockets[i] = new UdpTransport(loopback, players);
+        }
+        for (int i = 0; i < players; i++) {
+            for (int j = 0; j < players; j++) {
+                sockets[i].setPeer(j, sockets[j].getLocalAddress());
+            }
+            links[i] = new ConditionedTransport(sockets[i], () -> virtualNanos, 1000L + i);
+            links[i].setConditions(latencyMillis, jitterMillis, lossRate);
+            CoopSimulation simulation = new CoopSimulation(new Room(0, 0, 800, 600), players);
+            sessions[i] = new RollbackSession(simulation, links[i], i);
+        }
+
+        try {
+            // Todas las sesiones simulan los ticks del guion...
+            int frames = 0;
+            while (minTick(sessions) < ticks) {
+                step(sessions, ticks);
+                frames++;
+            }
+            // ...y siguen sin entradas hasta que todas han confirmado el final
+            int drain = 0;
+            while (minFinalTick(sessions) < ticks && drain++ < MAX_DRAIN_FRAMES) {
+                step(sessions, ticks);
+                frames++;
+            }
+
+            int checkTick = minFinalTick(sessions);
+            int expected = sessions[0].getChecksum(checkTick);
+            boolean converged = checkTick >= ticks;
+            for (int i = 0; i < players; i++) {
+                RollbackSession session = sessions[i];
+                converged &= session.getChecksum(checkTick) == expected && session.getDesyncs() == 0;
+                System.out.println("  " + session.formatStats() + ", dropped " + links[i].getDroppedPackets());
+            }
+            System.out.println(String.format("%d frames; state at tick %d: CRC %08x, %s", frames, checkTick, expected,
+                converged ? "all peers converged" : "DESYNC"));
+            return converged;
+        } finally {
+            for (ConditionedTransport link : links) {
+                link.close();
+            }
+        }
+    }
+
+    private static void step(RollbackSession[] sessions, int scriptedTicks) throws IOException {
+        virtualNanos += TICK_NANOS;
+        for (int i = 0; i < sessions.length; i++) {
+            RollbackSession session = sessions[i];
+            int tick = session.getCurrentTick();
+            session.advance(tick < scriptedTicks ? scriptedInput(i, tick) : NetInput.NONE);
+        }
+    }
+
+    /**
+     * Entrada del guion: rachas de movimiento de medio segundo y algún salto
+     */
+    private static byte scriptedInput(int player, int tick) {
+        int hash = (player * 0x9E3779B1) ^ ((tick / 30) * 0x85EBCA6B);
+        hash ^= hash >>> 15;
+        hash *= 0x2C1B3C6D;
+        hash ^= hash >>> 13;
+        boolean left = (hash & 3) == 1;
+        boolean right = (hash & 3) == 2;
+        boolean jump = tick % 30 == (hash >>> 8 & 15) && (hash & 0x100) != 0;
+        return NetInput.encode(left, right, jump);
+    }
+
+    private static int minTick(RollbackSession[] sessions) {
+        int min = Integer.MAX_VALUE;
+        for (RollbackSession session : sessions) {
+            min = Math.min(min, session.getCurrentTick());
+        }
+        return min;
+    }
+
+    private static int minFinalTick(RollbackSession[] sessions) {
+        int min = Integer.MAX_VALUE;
+        for (RollbackSession session : sessions) {
+            min = Math.min(min, session.getFinalTick());
+        }
+        return min;
+    }
+}
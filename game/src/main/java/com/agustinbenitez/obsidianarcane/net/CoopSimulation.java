@@ -0,0 +1,109 @@
+package com.agustinbenitez.obsidianarcane.net;
+
+import com.agustinbenitez.obsidianarcane.Player;
+import com.agustinbenitez.obsidianarcane.Room;
+import java.nio.ByteBuffer;
+
+/**
+ * Simulación determinista de la partida cooperativa (2-4 jugadores en una sala)
+ *
+ * Solo contiene el estado que decide la partida: los jugadores y el número de tick. Los
+ * efectos (partículas, eventos) quedan fuera, así que resimular tras un rollback no repite
+ * nada visible. Con las mismas entradas, todas las máquinas llegan al mismo estado bit a
+ * bit (la aritmética float de Java es determinista y el paso de tiempo es fijo).
+ */
+public class CoopSimulation {
+
+    public static final int MIN_PLAYERS = 2;
+    public static final int MAX_PLAYERS = 4;
+    public static final float TICK_SECONDS = 1f / 60f;
+
+    private static final float SPAWN_SPACING = 48f;
+
+    private final Room room;
+    private final Player[] players;
+    private int tick;
+
+    public CoopSimulation(Room room, int playerCount) {
+        if (playerCount < MIN_PLAYERS || playerCount > MAX_PLAYERS) {
+            throw new IllegalArgumentException("Co-op needs " + MIN_PLAYERS + "-" + MAX_PLAYERS + " players: " + playerCount);
+        }
+        this.room = room;
+        this.players = new Player[playerCount];
+        float firstX = room.getPlayerSpawn().x - SPAWN_SPACING * (playerCount - 1) / 2;
+        for (int i = 0; i < playerCount; i++) {
+            players[i] = new Player(firstX + SPAWN_SPACING * i, room.getPlayerSpawn().y);
+        }
+    }
+
+    /**
+     * Avanza un tick con la entrada de cada jugador (ver NetInput)
+     */
+    public void step(byte[] inputs) {
+        for (int i = 0; i < players.length; i++) {
+            Player player = players[i];
+            byte input = inputs[i];
+            player.moveHorizontal(NetInput.direction(input));
+            if (NetInput.isJump(input)) {
+                player.bufferJump(0);
+            }
+            player.jumpIfBuffered();
+
+            player.update(TICK_SECONDS);
+            room.handlePlayerCollision(player);
+            keepInsideRoom(player);
+        }
+        tick++;
+    }
+
+    private void keepInsideRoom(Player player) {
+        float playerX = player.getPosition().x;
+        float playerY = player.getPosition().y;
+        if (playerX < room.getX()) {
+            player.setPosition(room.getX(), playerY);
+        } else if (playerX + player.getWidth() > room.getX() + room.getWidth()) {
+            player.setPosition(room.getX() + room.getWidth() - player.getWidth(), playerY);
+        }
+    }
+
+    /**
+     * Bytes que ocupa el estado completo
+     */
+    public int getStateBytes() {
+        return stateBytes(players.length);
+    }
+
+    public static int stateBytes(int playerCount) {
+        return 4 + playerCount * Player.STATE_BYTES;
+    }
+
+    public void saveState(ByteBuffer buffer) {
+        buffer.putInt(tick);
+        for (Player player : players) {
+            player.writeState(buffer);
+        }
+    }
+
+    public void loadState(ByteBuffer buffer) {
+        tick = buffer.getInt();
+        for (Player player : players) {
+            player.readState(buffer);
+        }
+    }
+
+    public int getTick() {
+        return tick;
+    }
+
+    public int getPlayerCount() {
+        return players.length;
+    }
+
+    public Player getPlayer(int index) {
+        return players[index];
+    }
+
+    public Room getRoom() {
+        return room;
+    }
+}
@@ -0,0 +1,39 @@
+package com.agustinbenitez.obsidianarcane.net;
+
+/**
+ * Entrada de un jugador en un tick, empaquetada en un byte (la misma tupla que
+ * GameWorld.handleInput, sin la edad de la pulsación)
+ */
+public final class NetInput {
+
+    public static final byte NONE = 0;
+    public static final byte LEFT = 1;
+    public static final byte RIGHT = 2;
+    public static final byte JUMP = 4; // pulsación nueva en este tick
+
+    private NetInput() {
+    }
+
+    public static byte encode(boolean moveLeft, boolean moveRight, boolean jumpPressed) {
+        return (byte) ((moveLeft ? LEFT : 0) | (moveRight ? RIGHT : 0) | (jumpPressed ? JUMP : 0));
+    }
+
+    public static float direction(byte input) {
+        float direction = 0;
+        if ((input & LEFT) != 0) direction -= 1;
+        if ((input & RIGHT) != 0) direction += 1;
+        return direction;
+    }
+
+    public static boolean isJump(byte input) {
+        return (input & JUMP) != 0;
+    }
+
+    /**
+     * Predicción para un tick sin confirmar a partir de la última entrada conocida: las
+     * direcciones se mantienen, pero una pulsación de salto no se repite
+     */
+    public static byte predict(byte lastConfirmed) {
+        return (byte) (lastConfirmed & ~JUMP);
+    }
+}
@@ -0,0 +1,23 @@
+package com.agustinbenitez.obsidianarcane.net;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Transporte de datagramas entre los jugadores de una sesión (sin bloqueos)
+ */
+public interface PacketTransport {
+
+    /**
+     * Envía el contenido del buffer (de position a limit) al jugador indicado
+     */
+    void send(int player, ByteBuffer packet) throws IOException;
+
+    /**
+     * Lee el siguiente datagrama recibido en el buffer (limpio y listo para leer al volver)
+     * @return false si no hay ninguno pendiente
+     */
+    boolean receive(ByteBuffer packet) throws IOException;
+
+    void close();
+}
@@ -0,0 +1,351 @@
+package com.agustinbenitez.obsidianarcane.net;
+
+import com.badlogic.gdx.Gdx;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Locale;
+import java.util.zip.CRC32;
+
+/**
+ * Sesión cooperativa con rollback determinista
+ *
+ * Cada tick la entrada local se aplica con unos ticks de retardo (inputDelay) y se envía a
+ * todos los demás jugadores. Las entradas remotas que aún no han llegado se predicen (se
+ * repite la última conocida sin la pulsación de salto) y la simulación sigue sin esperar.
+ * Cuando llega una entrada que no coincide con la predicha, se restaura el estado guardado
+ * de ese tick y se resimula hasta el actual con las entradas corregidas.
+ *
+ * El estado se guarda al inicio de cada tick en un ring buffer de HISTORY ticks (unos 100
+ * bytes por tick con 4 jugadores). Si un jugador se queda más de MAX_PREDICTION ticks sin
+ * confirmar, la sesión se detiene hasta recibir sus entradas, así que nunca hace falta
+ * volver más atrás que el historial.
+ *
+ * Paquete (uno por jugador y tick, por UDP):
+ * <pre>
+ * short magic, byte jugador, int ack (último tick recibido del destinatario),
+ * int tick y int CRC del último estado definitivo, int primer tick, byte n, n entradas
+ * </pre>
+ * Las entradas se reenvían desde la última confirmada por el destinatario, de modo que la
+ * pérdida de un paquete se corrige con el siguiente. Los CRC de los estados definitivos
+ * (todas sus entradas confirmadas) se comparan para detectar desincronizaciones.
+ */
+public class RollbackSession {
+
+    public static final int HISTORY = 128; // potencia de dos
+    private static final int HISTORY_MASK = HISTORY - 1;
+    public static final int MAX_PREDICTION = 8;
+    public static final int DEFAULT_INPUT_DELAY = 2;
+    private static final int MAX_INPUT_DELAY = 16;
+    private static final int MAX_INPUTS_PER_PACKET = 32;
+
+    private static final short MAGIC = 0x4F41; // "OA"
+    private static final int HEADER_BYTES = 2 + 1 + 4 + 4 + 4 + 4 + 1;
+    public static final int MAX_PACKET_BYTES = HEADER_BYTES + MAX_INPUTS_PER_PACKET;
+
+    private final CoopSimulation simulation;
+    private final PacketTransport transport;
+    private final int localPlayer;
+    private final int playerCount;
+    private final int inputDelay;
+
+    // Entradas por jugador y tick (ring buffers)
+    private final byte[][] inputs;
+    private final byte[][] usedInputs;
+    private final int[] confirmedTick;
+    private final int[] ackedByPeer;
+    private final byte[] tickInputs;
+
+    // Estado al inicio de cada tick y CRC de los definitivos
+    private final ByteBuffer[] states = new ByteBuffer[HISTORY];
+    private final int[] checksums = new int[HISTORY];
+    private final CRC32 crc = new CRC32();
+    private final int[] peerChecksumTick;
+    private final int[] peerChecksum;
+
+    private final ByteBuffer sendBuffer = ByteBuffer.allocate(MAX_PACKET_BYTES);
+    private final ByteBuffer receiveBuffer = ByteBuffer.allocate(MAX_PACKET_BYTES);
+
+    private int currentTick;
+    private int finalTick = -1;
+    private int rollbackFrom = Integer.MAX_VALUE;
+
+    // Métricas
+    private int frames;
+    private int stalledFrames;
+    private int rollbacks;
+    private long rolledBackTicks;
+    private int maxRollbackTicks;
+    private long rollbackNanos;
+    private long maxRollbackNanos;
+    private int desyncs;
+    private int firstDesyncTick = -1;
+    private int packetsSent;
+    private int packetsReceived;
+    private int invalidPackets;
+
+    public RollbackSession(CoopSimulation simulation, PacketTransport transport, int localPlayer) {
+        this(simulation, transport, localPlayer, DEFAULT_INPUT_DELAY);
+    }
+
+    public RollbackSession(CoopSimulation simulation, PacketTransport transport, int localPlayer, int inputDelay) {
+        if (localPlayer < 0 || localPlayer >= simulation.getPlayerCount()) {
+            throw new IllegalArgumentException("Invalid local player: " + localPlayer);
+        }
+        if (inputDelay < 1 || inputDelay > MAX_INPUT_DELAY) {
+            throw new IllegalArgumentException("Input delay must be 1-" + MAX_INPUT_DELAY + ": " + inputDelay);
+        }
+        this.simulation = simulation;
+        this.transport = transport;
+        this.localPlayer = localPlayer;
+        this.playerCount = simulation.getPlayerCount();
+        this.inputDelay = inputDelay;
+
+        inputs = new byte[playerCount][HISTORY];
+        usedInputs = new byte[playerCount][HISTORY];
+        confirmedTick = new int[playerCount];
+        ackedByPeer = new int[playerCount];
+        tickInputs = new byte[playerCount];
+        peerChecksumTick = new int[playerCount];
+        peerChecksum = new int[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            // Los primeros ticks (el retardo de entrada) no tienen entrada en ninguna máquina
+            confirmedTick[i] = inputDelay - 1;
+            ackedByPeer[i] = inputDelay - 1;
+            peerChecksumTick[i] = -1;
+        }
+        int stateBytes = simulation.getStateBytes();
+        for (int i = 0; i < HISTORY; i++) {
+            states[i] = ByteBuffer.allocate(stateBytes);
+        }
+    }
+
+    /**
+     * Avanza un tick con la entrada local (ver NetInput); se llama a ritmo fijo
+     * @return false si la sesión está detenida esperando a algún jugador
+     */
+    public boolean advance(byte localInput) throws IOException {
+        frames++;
+        poll();
+        if (currentTick - minConfirmedTick() > MAX_PREDICTION) {
+            stalledFrames++;
+            sendInputs();
+            return false;
+        }
+
+        int inputTick = currentTick + inputDelay;
+        inputs[localPlayer][inputTick & HISTORY_MASK] = localInput;
+        confirmedTick[localPlayer] = inputTick;
+
+        rollbackIfNeeded();
+
+        ByteBuffer state = states[currentTick & HISTORY_MASK];
+        state.clear();
+        simulation.saveState(state);
+        simulateTick(currentTick);
+        currentTick++;
+
+        finalizeTicks();
+        sendInputs();
+        return true;
+    }
+
+    /**
+     * Lee todos los paquetes pendientes
+     */
+    public void poll() throws IOException {
+        while (transport.receive(receiveBuffer)) {
+            readPacket(receiveBuffer);
+        }
+    }
+
+    private void readPacket(ByteBuffer packet) {
+        if (packet.remaining() < HEADER_BYTES || packet.getShort() != MAGIC) {
+            invalidPackets++;
+            return;
+        }
+        int player = packet.get();
+        if (player < 0 || player >= playerCount || player == localPlayer) {
+            invalidPackets++;
+            return;
+        }
+        int ack = packet.getInt();
+        int checksumTick = packet.getInt();
+        int checksum = packet.getInt();
+        int startTick = packet.getInt();
+        int count = packet.get() & 0xFF;
+        if (count > packet.remaining()) {
+            invalidPackets++;
+            return;
+        }
+        packetsReceived++;
+
+        if (ack > ackedByPeer[player] && ack <= confirmedTick[localPlayer]) {
+            ackedByPeer[player] = ack;
+        }
+        if (checksumTick > peerChecksumTick[player]) {
+            peerChecksumTick[player] = checksumTick;
+            peerChecksum[player] = checksum;
+            compareChecksum(player);
+        }
+
+        // Solo se aceptan entradas contiguas a las ya confirmadas y dentro del historial
+        for (int i = 0; i < count; i++) {
+            int tick = startTick + i;
+            byte input = packet.get();
+            if (tick != confirmedTick[player] + 1 || tick - currentTick >= HISTORY - MAX_PREDICTION - 1) {
+                continue;
+            }
+            inputs[player][tick & HISTORY_MASK] = input;
+            confirmedTick[player] = tick;
+            if (tick < currentTick && usedInputs[player][tick & HISTORY_MASK] != input) {
+                rollbackFrom = Math.min(rollbackFrom, tick);
+            }
+        }
+    }
+
+    private void rollbackIfNeeded() {
+        if (rollbackFrom >= currentTick) {
+            rollbackFrom = Integer.MAX_VALUE;
+            return;
+        }
+        long start = System.nanoTime();
+        ByteBuffer state = states[rollbackFrom & HISTORY_MASK];
+        state.rewind();
+        simulation.loadState(state);
+        for (int tick = rollbackFrom; tick < currentTick; tick++) {
+            if (tick > rollbackFrom) {
+                state = states[tick & HISTORY_MASK];
+                state.clear();
+                simulation.saveState(state);
+            }
+            simulateTick(tick);
+        }
+        long elapsed = System.nanoTime() - start;
+        int ticks = currentTick - rollbackFrom;
+
+        rollbacks++;
+        rolledBackTicks += ticks;
+        maxRollbackTicks = Math.max(maxRollbackTicks, ticks);
+        rollbackNanos += elapsed;
+        maxRollbackNanos = Math.max(maxRollbackNanos, elapsed);
+        rollbackFrom = Integer.MAX_VALUE;
+    }
+
+    private void simulateTick(int tick) {
+        int slot = tick & HISTORY_MASK;
+        for (int player = 0; player < playerCount; player++) {
+            byte input = tick <= confirmedTick[player]
+                ? inputs[player][slot]
+                : NetInput.predict(inputs[player][confirmedTick[player] & HISTORY_MASK]);
+            usedInputs[player][slot] = input;
+            tickInputs[player] = input;
+        }
+        simulation.step(tickInputs);
+    }
+
+    /**
+     * Calcula el CRC de los estados cuyas entradas anteriores ya están todas confirmadas
+     */
+    private void finalizeTicks() {
+        int last = Math.min(minConfirmedTick() + 1, currentTick - 1);
+        while (finalTick < last) {
+            finalTick++;
+            ByteBuffer state = states[finalTick & HISTORY_MASK];
+            state.rewind();
+            crc.reset();
+            crc.update(state);
+            checksums[finalTick & HISTORY_MASK] = (int) crc.getValue();
+        }
+        for (int player = 0; player < playerCount; player++) {
+            if (player != localPlayer) {
+                compareChecksum(player);
+            }
+        }
+    }
+
+    private void compareChecksum(int player) {
+        int tick = peerChecksumTick[player];
+        if (tick < 0 || tick > finalTick || tick <= finalTick - HISTORY) {
+            return;
+        }
+        if (checksums[tick & HISTORY_MASK] != peerChecksum[player]) {
+            desyncs++;
+            if (firstDesyncTick < 0) {
+                firstDesyncTick = tick;
+                if (Gdx.app != null) {
+                    Gdx.app.error("RollbackSession", "Desync with player " + player + " at tick " + tick);
+                }
+            }
+        }
+        // Comparado: se espera al siguiente CRC de ese jugador
+        peerChecksumTick[player] = -1;
+    }
+
+    private void sendInputs() throws IOException {
+        int lastLocal = confirmedTick[localPlayer];
+        for (int player = 0; player < playerCount; player++) {
+            if (player == localPlayer) {
+                continue;
+            }
+            int from = ackedByPeer[player] + 1;
+            int count = Math.max(0, Math.min(MAX_INPUTS_PER_PACKET, lastLocal - from + 1));
+
+            ByteBuffer packet = sendBuffer;
+            packet.clear();
+            packet.putShort(MAGIC).put((byte) localPlayer).putInt(confirmedTick[player]);
+            packet.putInt(finalTick).putInt(finalTick >= 0 ? checksums[finalTick & HISTORY_MASK] : 0);
+            packet.putInt(from).put((byte) count);
+            for (int i = 0; i < count; i++) {
+                packet.put(inputs[localPlayer][(from + i) & HISTORY_MASK]);
+            }
+            packet.flip();
+            transport.send(player, packet);
+            packetsSent++;
+        }
+    }
+
+    private int minConfirmedTick() {
+        int min = Integer.MAX_VALUE;
+        for (int player = 0; player < playerCount; player++) {
+            min = Math.min(min, confirmedTick[player]);
+        }
+        return min;
+    }
+
+    /**
+     * CRC del estado definitivo de un tick reciente (0 si ya no está en el historial)
+     */
+    public int getChecksum(int tick) {
+        if (tick < 0 || tick > finalTick || tick <= finalTick - HISTORY) {
+            return 0;
+        }
+        return checksums[tick & HISTORY_MASK];
+    }
+
+    /**
+     * Resumen de las métricas de la sesión
+     */
+    public String formatStats() {
+        float simulatedFrames = Math.max(1, frames - stalledFrames);
+        return String.format(Locale.ROOT,
+            "player %d: ticks %d, stalled frames %d, rollbacks %d (avg %.1f ticks, max %d), "
+                + "rollback cost %.1f us/frame (max %.1f us), packets %d sent / %d received, desyncs %d",
+            localPlayer, currentTick, stalledFrames, rollbacks,
+            rollbacks > 0 ? rolledBackTicks / (float) rollbacks : 0f, maxRollbackTicks,
+            rollbackNanos / simulatedFrames / 1000f, maxRollbackNanos / 1000f,
+            packetsSent, packetsReceived, desyncs);
+    }
+
+    public CoopSimulation getSimulation() { return simulation; }
+    public int getLocalPlayer() { return localPlayer; }
+    public int getCurrentTick() { return currentTick; }
+    public int getFinalTick() { return finalTick; }
+    public int getFrames() { return frames; }
+    public int getStalledFrames() { return stalledFrames; }
+    public int getRollbacks() { return rollbacks; }
+    public long getRolledBackTicks() { return rolledBackTicks; }
+    public long getRollbackNanos() { return rollbackNanos; }
+    public int getDesyncs() { return desyncs; }
+    public int getFirstDesyncTick() { return firstDesyncTick; }
+    public int getInvalidPackets() { return invalidPackets; }
+}
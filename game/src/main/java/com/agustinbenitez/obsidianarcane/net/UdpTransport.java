@@ -0,0 +1,59 @@
+package com.agustinbenitez.obsidianarcane.net;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+
+/**
+ * Transporte UDP con un DatagramChannel de NIO en modo no bloqueante
+ * Cada jugador tiene una dirección; la propia no se usa.
+ */
+public class UdpTransport implements PacketTransport {
+
+    private final DatagramChannel channel;
+    private final SocketAddress[] peers;
+
+    public UdpTransport(InetSocketAddress bindAddress, int playerCount) throws IOException {
+        channel = DatagramChannel.open();
+        channel.configureBlocking(false);
+        channel.bind(bindAddress);
+        peers = new SocketAddress[playerCount];
+    }
+
+    public void setPeer(int player, SocketAddress address) {
+        peers[player] = address;
+    }
+
+    public InetSocketAddress getLocalAddress() throws IOException {
+        return (InetSocketAddress) channel.getLocalAddress();
+    }
+
+    @Override
+    public void send(int player, ByteBuffer packet) throws IOException {
+        SocketAddress peer = peers[player];
+        if (peer != null) {
+            channel.send(packet, peer);
+        }
+    }
+
+    @Override
+    public boolean receive(ByteBuffer packet) throws IOException {
+        packet.clear();
+        if (channel.receive(packet) == null) {
+            return false;
+        }
+        packet.flip();
+        return true;
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Ya cerrado
+        }
+    }
+}
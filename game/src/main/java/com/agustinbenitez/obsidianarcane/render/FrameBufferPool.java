@@ -0,0 +1,83 @@
+package com.agustinbenitez.obsidianarcane.render;
+
+import com.agustinbenitez.obsidianarcane.memory.ResourceScope;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Pool de FrameBuffers de color (RGBA8888, sin profundidad) reutilizados entre frames
+ *
+ * Los pases intermedios piden un buffer del tamaño que necesitan y lo devuelven al
+ * terminar, así que cada frame reutiliza los del anterior sin crear texturas. Los buffers
+ * que llevan un rato sin usarse (p.ej. de una resolución anterior) se liberan en endFrame().
+ */
+public class FrameBufferPool implements Disposable {
+
+    private static final int UNUSED_FRAMES_BEFORE_DISPOSE = 120;
+
+    private final Array<FrameBuffer> free = new Array<>(false, 8, FrameBuffer.class);
+    private final IntArray freeSince = new IntArray(false, 8);
+    private int frame;
+    private int created;
+    private final ResourceScope resources = new ResourceScope("FrameBufferPool", "render");
+
+    /**
+     * Buffer libre del tamaño pedido (filtrado linear, sin repetición); crea uno si no hay
+     */
+    public FrameBuffer obtain(int width, int height) {
+        for (int i = 0; i < free.size; i++) {
+            FrameBuffer buffer = free.get(i);
+            if (buffer.getWidth() == width && buffer.getHeight() == height) {
+                free.removeIndex(i);
+                freeSince.removeIndex(i);
+                return buffer;
+            }
+        }
+        FrameBuffer buffer = resources.add(new FrameBuffer(Pixmap.Format.RGBA8888, width, height, false));
+        Texture texture = buffer.getColorBufferTexture();
+        texture.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        texture.setWrap(Texture.TextureWrap.ClampToEdge, Texture.TextureWrap.ClampToEdge);
+        created++;
+        return buffer;
+    }
+
+    public void free(FrameBuffer buffer) {
+        free.add(buffer);
+        freeSince.add(frame);
+    }
+
+    /**
+     * Avanza un frame y libera los buffers que no se han pedido en un tiempo
+     */
+    public void endFrame() {
+        frame++;
+        for (int i = free.size - 1; i >= 0; i--) {
+            if (frame - freeSince.get(i) > UNUSED_FRAMES_BEFORE_DISPOSE) {
+                resources.dispose(free.removeIndex(i));
+                freeSince.removeIndex(i);
+                created--;
+            }
+        }
+    }
+
+    /**
+     * Buffers vivos (en uso o libres)
+     */
+    public int getBufferCount() {
+        return created;
+    }
+
+    @Override
+    public void dispose() {
+        for (int i = 0; i < free.size; i++) {
+            resources.dispose(free.get(i));
+        }
+        created -= free.size;
+        free.clear();
+        freeSince.clear();
+    }
+}
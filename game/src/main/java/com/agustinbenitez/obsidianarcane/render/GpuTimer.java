@@ -0,0 +1,117 @@
+package com.agustinbenitez.obsidianarcane.render;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Disposable;
+import java.util.Arrays;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL33;
+
+/**
+ * Tiempos de GPU por pase con consultas de tiempo de GL (GL_TIME_ELAPSED)
+ *
+ * Cada temporizador tiene un anillo de consultas: el resultado de una se lee unos frames
+ * después, cuando la GPU ya la ha terminado, así que medir nunca detiene el pipeline. Si
+ * la consulta de la ranura aún no tiene resultado, ese frame no se mide. Las consultas de
+ * tiempo no se pueden anidar: begin/end de pases distintos van uno detrás de otro.
+ *
+ * Sin GL 3.3 ni ARB_timer_query no hace nada y los tiempos valen -1.
+ */
+public class GpuTimer implements Disposable {
+
+    private static final int QUERIES_IN_FLIGHT = 4;
+    private static final float SMOOTHING = 0.1f;
+
+    private final boolean supported;
+    private final String[] names;
+    private final int[][] queries;
+    private final boolean[][] pending;
+    private final int[] cursor;
+    private final float[] millis;
+    private int active = -1;
+
+    public GpuTimer(String... names) {
+        this.names = names;
+        supported = isSupported();
+        queries = new int[names.length][QUERIES_IN_FLIGHT];
+        pending = new boolean[names.length][QUERIES_IN_FLIGHT];
+        cursor = new int[names.length];
+        millis = new float[names.length];
+        Arrays.fill(millis, -1f);
+        if (supported) {
+            for (int[] timerQueries : queries) {
+                for (int i = 0; i < QUERIES_IN_FLIGHT; i++) {
+                    timerQueries[i] = GL15.glGenQueries();
+                }
+            }
+        }
+    }
+
+    public static boolean isSupported() {
+        return Gdx.graphics != null && (Gdx.graphics.getGLVersion().isVersionEqualToOrHigher(3, 3)
+            || Gdx.graphics.supportsExtension("GL_ARB_timer_query"));
+    }
+
+    public void begin(int timer) {
+        if (!supported) {
+            return;
+        }
+        int slot = cursor[timer];
+        int query = queries[timer][slot];
+        if (pending[timer][slot]) {
+            if (GL15.glGetQueryObjecti(query, GL15.GL_QUERY_RESULT_AVAILABLE) == 0) {
+                return; // La GPU va más de QUERIES_IN_FLIGHT frames por detrás: este no se mide
+            }
+            float elapsed = GL33.glGetQueryObjecti64(query, GL15.GL_QUERY_RESULT) / 1_000_000f;
+            millis[timer] = millis[timer] < 0 ? elapsed : millis[timer] + (elapsed - millis[timer]) * SMOOTHING;
+        }
+        GL15.glBeginQuery(GL33.GL_TIME_ELAPSED, query);
+        pending[timer][slot] = true;
+        active = timer;
+    }
+
+    public void end(int timer) {
+        if (active != timer) {
+            return;
+        }
+        GL15.glEndQuery(GL33.GL_TIME_ELAPSED);
+        cursor[timer] = (cursor[timer] + 1) % QUERIES_IN_FLIGHT;
+        active = -1;
+    }
+
+    /**
+     * Tiempo medio suavizado del pase en milisegundos (-1 sin datos)
+     */
+    public float getMillis(int timer) {
+        return millis[timer];
+    }
+
+    /**
+     * Olvida la media de un pase que ha dejado de ejecutarse
+     */
+    public void reset(int timer) {
+        millis[timer] = -1f;
+    }
+
+    public String getName(int timer) {
+        return names[timer];
+    }
+
+    public int getTimerCount() {
+        return names.length;
+    }
+
+    public boolean isEnabled() {
+        return supported;
+    }
+
+    @Override
+    public void dispose() {
+        if (supported) {
+            for (int[] timerQueries : queries) {
+                for (int query : timerQueries) {
+                    GL15.glDeleteQueries(query);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package com.agustinbenitez.obsidianarcane.render;
+
+import com.agustinbenitez.obsidianarcane.memory.ResourceScope;
+import com.agustinbenitez.obsidianarcane.Room;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.FloatArray;
+import java.util.List;
+
+/**
+ * Iluminación 2D con sombras de las plataformas de la sala
+ *
+ * Los segmentos que proyectan sombra (bordes de las plataformas y de la sala) se construyen
+ * una vez al entrar en la sala. El polígono de visibilidad de cada luz estática se calcula
+ * una sola vez y queda en caché; solo las luces dinámicas (p.ej. la del jugador) se
+ * recalculan cada frame. Las luces viven en arrays primitivos, como las partículas.
+ *
+ * Todas las luces se dibujan en un único draw call con mezcla aditiva sobre un lightmap de
+ * baja resolución; la caída con la distancia se calcula por pixel en el shader. Después el
+ * lightmap se multiplica (x2) sobre el mundo: 0.5 deja el color tal cual y el ambiente
+ * oscurece lo que no alcanza ninguna luz.
+ */
+public class LightSystem implements Disposable {
+
+    public static final int MAX_LIGHTS = 64;
+
+    private static final int LIGHTMAP_DIVISOR = 4;
+    private static final int MIN_LIGHTMAP_HEIGHT = 64;
+    private static final int MAX_VERTICES = 32768;
+    private static final int MAX_CACHED_OUTLINE_FLOATS = 65536;
+    // x, y, centro x, centro y, radio, color empaquetado
+    private static final int VERTEX_FLOATS = 6;
+    private static final Color DEFAULT_AMBIENT = new Color(0.16f, 0.14f, 0.22f, 1f);
+
+    private static final String VERTEX_SHADER =
+        "attribute vec2 a_position;\n"
+            + "attribute vec2 a_center;\n"
+            + "attribute float a_radius;\n"
+            + "attribute vec4 a_color;\n"
+            + "uniform mat4 u_projTrans;\n"
+            + "varying vec2 v_offset;\n"
+            + "varying float v_radius;\n"
+            + "varying vec4 v_color;\n"
+            + "void main() {\n"
+            + "    v_offset = a_position - a_center;\n"
+            + "    v_radius = a_radius;\n"
+            + "    v_color = a_color;\n"
+            + "    gl_Position = u_projTrans * vec4(a_position, 0.0, 1.0);\n"
+            + "}\n";
+
+    private static final String FRAGMENT_SHADER =
+        "#ifdef GL_ES\nprecision mediump float;\n#endif\n"
+            + "varying vec2 v_offset;\n"
+            + "varying float v_radius;\n"
+            + "varying vec4 v_color;\n"
+            + "void main() {\n"
+            + "    float falloff = clamp(1.0 - length(v_offset) / v_radius, 0.0, 1.0);\n"
+            + "    gl_FragColor = vec4(v_color.rgb * v_color.a * falloff * falloff, 1.0);\n"
+            + "}\n";
+
+    private final FrameBufferPool pool;
+    private final VisibilityPolygon visibility = new VisibilityPolygon();
+    private final ShaderProgram shader;
+    private final Mesh mesh;
+    private final float[] vertices = new float[MAX_VERTICES * VERTEX_FLOATS];
+    private final Color ambient = new Color(DEFAULT_AMBIENT);
+    private final Color scratchColor = new Color();
+
+    // Segmentos de la sala actual (x1, y1, x2, y2)
+    private final FloatArray segments = new FloatArray();
+    private Room room;
+    private int roomPlatformCount;
+
+    // Struct-of-arrays de luces
+    private final float[] lightX = new float[MAX_LIGHTS];
+    private final float[] lightY = new float[MAX_LIGHTS];
+    private final float[] radius = new float[MAX_LIGHTS];
+    private final float[] red = new float[MAX_LIGHTS];
+    private final float[] green = new float[MAX_LIGHTS];
+    private final float[] blue = new float[MAX_LIGHTS];
+    private final float[] intensity = new float[MAX_LIGHTS];
+    private final float[] flicker = new float[MAX_LIGHTS];
+    private final boolean[] dynamic = new boolean[MAX_LIGHTS];
+    // Contorno en caché de las luces estáticas: [offset, offset + count * 2) en staticOutlines
+    private final int[] outlineOffset = new int[MAX_LIGHTS];
+    private final int[] outlineCount = new int[MAX_LIGHTS];
+    private final boolean[] outlineValid = new boolean[MAX_LIGHTS];
+    private final FloatArray staticOutlines = new FloatArray();
+    private final FloatArray dynamicOutline = new FloatArray();
+    private int lightCount;
+
+    private FrameBuffer lightmap;
+    private final ResourceScope resources = new ResourceScope("LightSystem", "render");
+    private final Rectangle lightmapBounds = new Rectangle();
+    private float time;
+
+    // Métricas del último frame
+    private int lastVertexCount;
+    private int lastDynamicCount;
+
+    public LightSystem(FrameBufferPool pool) {
+        this.pool = pool;
+        shader = resources.add(new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER));
+        if (!shader.isCompiled()) {
+            Gdx.app.error("LightSystem", "Error compiling light shader: " + shader.getLog());
+        }
+        mesh = resources.add(new Mesh(false, MAX_VERTICES, 0,
+            new VertexAttribute(VertexAttributes.Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+            new VertexAttribute(VertexAttributes.Usage.Generic, 2, "a_center"),
+            new VertexAttribute(VertexAttributes.Usage.Generic, 1, "a_radius"),
+            VertexAttribute.ColorPacked()));
+    }
+
+    /**
+     * Cambia de sala: reconstruye los segmentos y quita todas las luces
+     * No hace nada si la sala y sus plataformas no han cambiado.
+     */
+    public boolean setRoom(Room room) {
+        if (room == this.room && room != null && room.getPlatforms().size() == roomPlatformCount) {
+            return false;
+        }
+        this.room = room;
+        segments.clear();
+        lightCount = 0;
+        staticOutlines.clear();
+        if (room == null) {
+            return true;
+        }
+        addRectangle(room.getBounds());
+        List<Room.Platform> platforms = room.getPlatforms();
+        for (int i = 0; i < platforms.size(); i++) {
+            addRectangle(platforms.get(i).getBounds());
+        }
+        roomPlatformCount = platforms.size();
+        return true;
+    }
+
+    private void addRectangle(Rectangle rect) {
+        float left = rect.x;
+        float bottom = rect.y;
+        float right = rect.x + rect.width;
+        float top = rect.y + rect.height;
+        segments.add(left, bottom, right, bottom);
+        segments.add(right, bottom, right, top);
+        segments.add(right, top, left, top);
+        segments.add(left, top, left, bottom);
+    }
+
+    /**
+     * Añade una luz y devuelve su índice (-1 si no caben más)
+     *
+     * @param lightIntensity 1 = el doble del color original en el centro de la luz
+     * @param flickerAmount variación de intensidad (0 = fija, 0.15 = antorcha)
+     * @param isDynamic true si se va a mover (su sombra se recalcula cada frame)
+     */
+    public int addLight(float x, float y, float lightRadius, Color color, float lightIntensity,
+                        float flickerAmount, boolean isDynamic) {
+        if (lightCount >= MAX_LIGHTS) {
+            return -1;
+        }
+        int index = lightCount++;
+        lightX[index] = x;
+        lightY[index] = y;
+        radius[index] = lightRadius;
+        red[index] = color.r;
+        green[index] = color.g;
+        blue[index] = color.b;
+        intensity[index] = lightIntensity;
+        flicker[index] = flickerAmount;
+        dynamic[index] = isDynamic;
+        outlineValid[index] = false;
+        return index;
+    }
+
+    /**
+     * Mueve una luz (una estática pierde su sombra en caché y se recalcula una vez)
+     */
+    public void setLightPosition(int index, float x, float y) {
+        if (lightX[index] != x || lightY[index] != y) {
+            lightX[index] = x;
+            lightY[index] = y;
+            outlineValid[index] = false;
+        }
+    }
+
+    public void setAmbient(Color color) {
+        ambient.set(color);
+    }
+
+    /**
+     * Dibuja todas las luces visibles en el lightmap (fuera de cualquier otro FrameBuffer)
+     *
+     * @param targetHeight altura del render del mundo; el lightmap usa una fracción
+     */
+    public void renderLightmap(OrthographicCamera camera, int targetHeight, float delta) {
+        time += delta;
+        int height = Math.max(MIN_LIGHTMAP_HEIGHT, targetHeight / LIGHTMAP_DIVISOR);
+        int width = Math.round(height * camera.viewportWidth / camera.viewportHeight);
+        lightmap = pool.obtain(width, height);
+
+        float viewWidth = camera.viewportWidth * camera.zoom;
+        float viewHeight = camera.viewportHeight * camera.zoom;
+        lightmapBounds.set(camera.position.x - viewWidth / 2, camera.position.y - viewHeight / 2, viewWidth, viewHeight);
+
+        int floats = 0;
+        lastDynamicCount = 0;
+        for (int i = 0; i < lightCount; i++) {
+            float r = radius[i];
+            if (lightX[i] + r < lightmapBounds.x || lightX[i] - r > lightmapBounds.x + lightmapBounds.width
+                    || lightY[i] + r < lightmapBounds.y || lightY[i] - r > lightmapBounds.y + lightmapBounds.height) {
+                continue;
+            }
+            FloatArray outline;
+            int offset;
+            int count;
+            if (dynamic[i]) {
+                dynamicOutline.clear();
+                count = visibility.compute(lightX[i], lightY[i], r, segments, dynamicOutline);
+                outline = dynamicOutline;
+                offset = 0;
+                lastDynamicCount++;
+            } else {
+                if (!outlineValid[i]) {
+                    cacheOutline(i);
+                }
+                outline = staticOutlines;
+                offset = outlineOffset[i];
+                count = outlineCount[i];
+            }
+            floats = appendFan(i, outline.items, offset, count, floats);
+        }
+        lastVertexCount = floats / VERTEX_FLOATS;
+
+        lightmap.begin();
+        Gdx.gl.glClearColor(ambient.r * 0.5f, ambient.g * 0.5f, ambient.b * 0.5f, 1f);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        if (floats > 0 && shader.isCompiled()) {
+            Gdx.gl.glEnable(GL20.GL_BLEND);
+            Gdx.gl.glBlendFunc(GL20.GL_ONE, GL20.GL_ONE);
+            mesh.setVertices(vertices, 0, floats);
+            shader.bind();
+            shader.setUniformMatrix("u_projTrans", camera.combined);
+            mesh.render(shader, GL20.GL_TRIANGLES, 0, lastVertexCount);
+            Gdx.gl.glDisable(GL20.GL_BLEND);
+        }
+        lightmap.end();
+    }
+
+    /**
+     * Calcula la sombra de una luz estática y la guarda al final de la caché
+     * (las versiones antiguas de una luz movida quedan huecas hasta que se vacía la caché)
+     */
+    private void cacheOutline(int light) {
+        if (staticOutlines.size > MAX_CACHED_OUTLINE_FLOATS) {
+            // Demasiadas versiones antiguas: se vacía y cada luz estática se recalcula al usarse
+            staticOutlines.clear();
+            for (int i = 0; i < lightCount; i++) {
+                outlineValid[i] = false;
+            }
+        }
+        outlineOffset[light] = staticOutlines.size;
+        outlineCount[light] = visibility.compute(lightX[light], lightY[light], radius[light], segments, staticOutlines);
+        outlineValid[light] = true;
+    }
+
+    /**
+     * Convierte un contorno en triángulos (centro, vértice i, vértice i + 1) con los datos de la luz
+     */
+    private int appendFan(int light, float[] outline, int offset, int count, int floats) {
+        if (count < 2 || floats + count * 3 * VERTEX_FLOATS > vertices.length) {
+            return floats;
+        }
+        float wave = flicker[light] == 0 ? 1f
+            : 1f - flicker[light] * (0.5f + 0.3f * (float) Math.sin(time * 11f + light * 1.7f)
+                + 0.2f * (float) Math.sin(time * 23f + light * 3.1f));
+        scratchColor.set(red[light], green[light], blue[light], Math.min(1f, intensity[light] * wave));
+        float color = scratchColor.toFloatBits();
+        float centerX = lightX[light];
+        float centerY = lightY[light];
+        float r = radius[light];
+        for (int i = 0; i < count; i++) {
+            int a = offset + i * 2;
+            int b = offset + ((i + 1) % count) * 2;
+            floats = putVertex(floats, centerX, centerY, centerX, centerY, r, color);
+            floats = putVertex(floats, outline[a], outline[a + 1], centerX, centerY, r, color);
+            floats = putVertex(floats, outline[b], outline[b + 1], centerX, centerY, r, color);
+        }
+        return floats;
+    }
+
+    private int putVertex(int floats, float x, float y, float centerX, float centerY, float r, float color) {
+        vertices[floats] = x;
+        vertices[floats + 1] = y;
+        vertices[floats + 2] = centerX;
+        vertices[floats + 3] = centerY;
+        vertices[floats + 4] = r;
+        vertices[floats + 5] = color;
+        return floats + VERTEX_FLOATS;
+    }
+
+    /**
+     * Multiplica el lightmap sobre lo ya dibujado (entre batch.begin y batch.end, con la
+     * proyección de la cámara) y devuelve el buffer al pool
+     */
+    public void composite(SpriteBatch batch) {
+        if (lightmap == null) {
+            return;
+        }
+        Texture texture = lightmap.getColorBufferTexture();
+        int srcFunc = batch.getBlendSrcFunc();
+        int dstFunc = batch.getBlendDstFunc();
+        batch.setBlendFunction(GL20.GL_DST_COLOR, GL20.GL_SRC_COLOR);
+        batch.draw(texture, lightmapBounds.x, lightmapBounds.y, lightmapBounds.width, lightmapBounds.height,
+            0, 0, texture.getWidth(), texture.getHeight(), false, true);
+        batch.setBlendFunction(srcFunc, dstFunc);
+        pool.free(lightmap);
+        lightmap = null;
+    }
+
+    public int getLightCount() {
+        return lightCount;
+    }
+
+    /**
+     * Luces dinámicas recalculadas en el último frame
+     */
+    public int getDynamicLightCount() {
+        return lastDynamicCount;
+    }
+
+    public int getLastVertexCount() {
+        return lastVertexCount;
+    }
+
+    @Override
+    public void dispose() {
+        if (lightmap != null) {
+            pool.free(lightmap);
+            lightmap = null;
+        }
+        resources.dispose();
+    }
+}
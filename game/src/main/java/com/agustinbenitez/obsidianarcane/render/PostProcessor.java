@@ -0,0 +1,378 @@
+package com.agustinbenitez.obsidianarcane.render;
+
+import com.agustinbenitez.obsidianarcane.memory.ResourceScope;
+import com.agustinbenitez.obsidianarcane.GameConfig;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.Disposable;
+import java.util.Locale;
+
+/**
+ * Cadena de post-procesado sobre el render del mundo: bloom, viñeta, gradación de color
+ * con LUT y efecto CRT
+ *
+ * El bloom trabaja a media o a cuarto de la resolución interna: un pase extrae y reduce las
+ * zonas brillantes y dos pases de blur gaussiano separable van y vuelven entre dos buffers
+ * del FrameBufferPool. El resto de efectos no tienen pases propios: se resuelven en el
+ * pase final que escala la imagen a la ventana, con una variante del shader compilada para
+ * cada combinación de efectos activos. Así, a 4K el coste a resolución completa es una
+ * sola lectura por pixel, haya uno o cuatro efectos.
+ *
+ * Cada pase se mide en la GPU con GpuTimer (ver formatTimings).
+ */
+public class PostProcessor implements Disposable {
+
+    public static final int TIMER_BLOOM = 0;
+    public static final int TIMER_COMPOSITE = 1;
+
+    private static final int EFFECT_BLOOM = 1;
+    private static final int EFFECT_VIGNETTE = 2;
+    private static final int EFFECT_GRADING = 4;
+    private static final int EFFECT_CRT = 8;
+
+    private static final String LUT_FILE = "postfx/grade_lut.png";
+    private static final int LUT_SIZE = 16;
+    private static final float BLOOM_THRESHOLD = 0.55f;
+    private static final float BLOOM_INTENSITY = 0.9f;
+    private static final float VIGNETTE_STRENGTH = 0.45f;
+
+    private static final String VERTEX_SHADER =
+        "attribute vec2 a_position;\n"
+            + "attribute vec2 a_texCoord0;\n"
+            + "varying vec2 v_texCoord;\n"
+            + "void main() {\n"
+            + "    v_texCoord = a_texCoord0;\n"
+            + "    gl_Position = vec4(a_position, 0.0, 1.0);\n"
+            + "}\n";
+
+    private static final String PRECISION = "#ifdef GL_ES\nprecision mediump float;\n#endif\n";
+
+    // Media de 4x4 texels (4 lecturas bilineales) con umbral suave
+    private static final String BRIGHT_PASS_SHADER = PRECISION
+        + "uniform sampler2D u_texture;\n"
+        + "uniform vec2 u_texel;\n"
+        + "uniform float u_threshold;\n"
+        + "varying vec2 v_texCoord;\n"
+        + "void main() {\n"
+        + "    vec3 c = texture2D(u_texture, v_texCoord + u_texel * vec2(-1.0, -1.0)).rgb\n"
+        + "           + texture2D(u_texture, v_texCoord + u_texel * vec2(1.0, -1.0)).rgb\n"
+        + "           + texture2D(u_texture, v_texCoord + u_texel * vec2(-1.0, 1.0)).rgb\n"
+        + "           + texture2D(u_texture, v_texCoord + u_texel * vec2(1.0, 1.0)).rgb;\n"
+        + "    c *= 0.25;\n"
+        + "    float brightness = max(c.r, max(c.g, c.b));\n"
+        + "    c *= max(brightness - u_threshold, 0.0) / max(brightness, 0.0001);\n"
+        + "    gl_FragColor = vec4(c, 1.0);\n"
+        + "}\n";
+
+    // Gaussiana de 9 taps con 5 lecturas aprovechando el filtrado bilineal
+    private static final String BLUR_SHADER = PRECISION
+        + "uniform sampler2D u_texture;\n"
+        + "uniform vec2 u_direction;\n"
+        + "varying vec2 v_texCoord;\n"
+        + "void main() {\n"
+        + "    vec3 c = texture2D(u_texture, v_texCoord).rgb * 0.2270270270;\n"
+        + "    c += texture2D(u_texture, v_texCoord + u_direction * 1.3846153846).rgb * 0.3162162162;\n"
+        + "    c += texture2D(u_texture, v_texCoord - u_direction * 1.3846153846).rgb * 0.3162162162;\n"
+        + "    c += texture2D(u_texture, v_texCoord + u_direction * 3.2307692308).rgb * 0.0702702703;\n"
+        + "    c += texture2D(u_texture, v_texCoord - u_direction * 3.2307692308).rgb * 0.0702702703;\n"
+        + "    gl_FragColor = vec4(c, 1.0);\n"
+        + "}\n";
+
+    private static final String COMPOSITE_SHADER = PRECISION
+        + "uniform sampler2D u_texture;\n"
+        + "uniform sampler2D u_bloom;\n"
+        + "uniform sampler2D u_lut;\n"
+        + "uniform float u_bloomIntensity;\n"
+        + "uniform float u_vignette;\n"
+        + "uniform vec2 u_sourceSize;\n"
+        + "varying vec2 v_texCoord;\n"
+        + "#ifdef GRADING\n"
+        // LUT de 16x16x16 en una tira de 256x16: cada rebanada de azul es un cuadro de 16x16
+        + "vec3 grade(vec3 c) {\n"
+        + "    float blue = c.b * 15.0;\n"
+        + "    float slice = floor(blue);\n"
+        + "    vec2 uv = vec2((c.r * 15.0 + 0.5) / 256.0, (c.g * 15.0 + 0.5) / 16.0);\n"
+        + "    vec3 low = texture2D(u_lut, uv + vec2(slice / 16.0, 0.0)).rgb;\n"
+        + "    vec3 high = texture2D(u_lut, uv + vec2(min(slice + 1.0, 15.0) / 16.0, 0.0)).rgb;\n"
+        + "    return mix(low, high, blue - slice);\n"
+        + "}\n"
+        + "#endif\n"
+        + "void main() {\n"
+        + "    vec2 uv = v_texCoord;\n"
+        + "#ifdef CRT\n"
+        + "    vec2 centered = uv * 2.0 - 1.0;\n"
+        + "    vec2 bend = centered.yx / 5.0;\n"
+        + "    centered += centered * bend * bend;\n"
+        + "    uv = centered * 0.5 + 0.5;\n"
+        + "    if (uv.x < 0.0 || uv.x > 1.0 || uv.y < 0.0 || uv.y > 1.0) {\n"
+        + "        gl_FragColor = vec4(0.0, 0.0, 0.0, 1.0);\n"
+        + "        return;\n"
+        + "    }\n"
+        + "#endif\n"
+        + "    vec3 color = texture2D(u_texture, uv).rgb;\n"
+        + "#ifdef BLOOM\n"
+        + "    color += texture2D(u_bloom, uv).rgb * u_bloomIntensity;\n"
+        + "#endif\n"
+        + "#ifdef GRADING\n"
+        + "    color = grade(clamp(color, 0.0, 1.0));\n"
+        + "#endif\n"
+        + "#ifdef VIGNETTE\n"
+        + "    color *= 1.0 - u_vignette * smoothstep(0.3, 0.75, length(uv - 0.5));\n"
+        + "#endif\n"
+        + "#ifdef CRT\n"
+        + "    color *= 0.82 + 0.18 * sin(uv.y * u_sourceSize.y * 6.2831853);\n"
+        + "    color *= 0.94 + 0.06 * sin(gl_FragCoord.x * 2.0943951);\n"
+        + "#endif\n"
+        + "    gl_FragColor = vec4(color, 1.0);\n"
+        + "}\n";
+
+    private final ResourceScope resources = new ResourceScope("PostProcessor", "render");
+    private final FrameBufferPool pool = resources.add(new FrameBufferPool());
+    private final GpuTimer timer = resources.add(new GpuTimer("bloom", "composite"));
+    private final Mesh quad;
+    private final ShaderProgram[] compositeShaders = new ShaderProgram[16];
+    private ShaderProgram brightPassShader;
+    private ShaderProgram blurShader;
+    private Texture lut;
+    private boolean failed;
+
+    public PostProcessor() {
+        quad = resources.add(new Mesh(true, 4, 0,
+            new VertexAttribute(VertexAttributes.Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+            new VertexAttribute(VertexAttributes.Usage.TextureCoordinates, 2, ShaderProgram.TEXCOORD_ATTRIBUTE + "0")));
+        quad.setVertices(new float[] {
+            -1, -1, 0, 0,
+             1, -1, 1, 0,
+             1,  1, 1, 1,
+            -1,  1, 0, 1
+        });
+    }
+
+    /**
+     * Aplica los efectos activos en la configuración y escala el resultado a la ventana
+     * Como ScaledRenderTarget.draw(), deja el viewport en la zona visible para la interfaz.
+     */
+    public void render(ScaledRenderTarget target, GameConfig config) {
+        int effects = 0;
+        if (config.getBloomDivisor() > 0) effects |= EFFECT_BLOOM;
+        if (config.isVignette()) effects |= EFFECT_VIGNETTE;
+        if (config.isColorGrading()) effects |= EFFECT_GRADING;
+        if (config.isCrtEffect()) effects |= EFFECT_CRT;
+
+        ShaderProgram composite = effects != 0 && !failed ? getCompositeShader(effects) : null;
+        if (composite == null) {
+            target.draw();
+            pool.endFrame();
+            return;
+        }
+
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+        Texture scene = target.getColorTexture();
+        FrameBuffer bloom = null;
+        if ((effects & EFFECT_BLOOM) != 0) {
+            bloom = renderBloom(scene, config.getBloomDivisor());
+        } else {
+            timer.reset(TIMER_BLOOM);
+        }
+
+        target.bindWindowViewport();
+        timer.begin(TIMER_COMPOSITE);
+        if (bloom != null) {
+            bloom.getColorBufferTexture().bind(1);
+        }
+        if ((effects & EFFECT_GRADING) != 0) {
+            getLut().bind(2);
+        }
+        scene.bind(0);
+        composite.bind();
+        composite.setUniformi("u_texture", 0);
+        if (bloom != null) {
+            composite.setUniformi("u_bloom", 1);
+            composite.setUniformf("u_bloomIntensity", BLOOM_INTENSITY);
+        }
+        if ((effects & EFFECT_GRADING) != 0) {
+            composite.setUniformi("u_lut", 2);
+        }
+        if ((effects & EFFECT_VIGNETTE) != 0) {
+            composite.setUniformf("u_vignette", VIGNETTE_STRENGTH);
+        }
+        if ((effects & EFFECT_CRT) != 0) {
+            composite.setUniformf("u_sourceSize", scene.getWidth(), scene.getHeight());
+        }
+        quad.render(composite, GL20.GL_TRIANGLE_FAN);
+        timer.end(TIMER_COMPOSITE);
+
+        if (bloom != null) {
+            pool.free(bloom);
+        }
+        pool.endFrame();
+    }
+
+    /**
+     * Zonas brillantes reducidas y desenfocadas; el buffer devuelto se libera tras componer
+     */
+    private FrameBuffer renderBloom(Texture scene, int divisor) {
+        int width = Math.max(1, scene.getWidth() / divisor);
+        int height = Math.max(1, scene.getHeight() / divisor);
+        FrameBuffer bright = pool.obtain(width, height);
+        FrameBuffer blurred = pool.obtain(width, height);
+
+        timer.begin(TIMER_BLOOM);
+        bright.begin();
+        scene.bind(0);
+        brightPassShader.bind();
+        brightPassShader.setUniformi("u_texture", 0);
+        brightPassShader.setUniformf("u_texel", 1f / scene.getWidth(), 1f / scene.getHeight());
+        brightPassShader.setUniformf("u_threshold", BLOOM_THRESHOLD);
+        quad.render(brightPassShader, GL20.GL_TRIANGLE_FAN);
+        bright.end();
+
+        blurShader.bind();
+        blurShader.setUniformi("u_texture", 0);
+        blurred.begin();
+        bright.getColorBufferTexture().bind(0);
+        blurShader.setUniformf("u_direction", 1f / width, 0f);
+        quad.render(blurShader, GL20.GL_TRIANGLE_FAN);
+        blurred.end();
+
+        bright.begin();
+        blurred.getColorBufferTexture().bind(0);
+        blurShader.setUniformf("u_direction", 0f, 1f / height);
+        quad.render(blurShader, GL20.GL_TRIANGLE_FAN);
+        bright.end();
+        timer.end(TIMER_BLOOM);
+
+        pool.free(blurred);
+        return bright;
+    }
+
+    /**
+     * Variante del shader final para una combinación de efectos (se compila la primera vez)
+     */
+    private ShaderProgram getCompositeShader(int effects) {
+        ShaderProgram shader = compositeShaders[effects];
+        if (shader != null) {
+            return shader;
+        }
+        if (brightPassShader == null) {
+            brightPassShader = compile("bright-pass", BRIGHT_PASS_SHADER);
+            blurShader = compile("blur", BLUR_SHADER);
+        }
+        if (brightPassShader == null || blurShader == null) {
+            // Sin los shaders base no se compila ninguna variante: se dibuja la imagen tal cual
+            failed = true;
+            return null;
+        }
+        StringBuilder defines = new StringBuilder();
+        if ((effects & EFFECT_BLOOM) != 0) defines.append("#define BLOOM\n");
+        if ((effects & EFFECT_VIGNETTE) != 0) defines.append("#define VIGNETTE\n");
+        if ((effects & EFFECT_GRADING) != 0) defines.append("#define GRADING\n");
+        if ((effects & EFFECT_CRT) != 0) defines.append("#define CRT\n");
+        shader = compile("composite " + defines.toString().replace("#define ", "").trim().replace('\n', '+'),
+            defines + COMPOSITE_SHADER);
+        if (shader == null) {
+            failed = true;
+            return null;
+        }
+        compositeShaders[effects] = shader;
+        return shader;
+    }
+
+    private ShaderProgram compile(String name, String fragmentShader) {
+        ShaderProgram shader = new ShaderProgram(VERTEX_SHADER, fragmentShader);
+        if (!shader.isCompiled()) {
+            Gdx.app.error("PostProcessor", "Error compiling " + name + " shader: " + shader.getLog());
+            shader.dispose();
+            return null;
+        }
+        return resources.add(shader);
+    }
+
+    /**
+     * LUT de gradación: postfx/grade_lut.png si existe o la gradación por defecto del juego
+     */
+    private Texture getLut() {
+        if (lut == null) {
+            FileHandle file = Gdx.files.internal(LUT_FILE);
+            lut = resources.add(file.exists() ? new Texture(file) : createDefaultLut());
+            lut.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+            lut.setWrap(Texture.TextureWrap.ClampToEdge, Texture.TextureWrap.ClampToEdge);
+        }
+        return lut;
+    }
+
+    /**
+     * Gradación arcana: sombras hacia violeta, luces cálidas, algo más de contraste y saturación
+     */
+    private static Texture createDefaultLut() {
+        Pixmap pixmap = new Pixmap(LUT_SIZE * LUT_SIZE, LUT_SIZE, Pixmap.Format.RGBA8888);
+        Color color = new Color();
+        for (int b = 0; b < LUT_SIZE; b++) {
+            for (int g = 0; g < LUT_SIZE; g++) {
+                for (int r = 0; r < LUT_SIZE; r++) {
+                    float red = r / (LUT_SIZE - 1f);
+                    float green = g / (LUT_SIZE - 1f);
+                    float blue = b / (LUT_SIZE - 1f);
+                    float luma = 0.2126f * red + 0.7152f * green + 0.0722f * blue;
+                    red = grade(luma + (red - luma) * 1.15f, luma, 0.03f, 0.05f);
+                    green = grade(luma + (green - luma) * 1.15f, luma, 0.0f, 0.03f);
+                    blue = grade(luma + (blue - luma) * 1.15f, luma, 0.06f, 0.0f);
+                    color.set(red, green, blue, 1f);
+                    pixmap.drawPixel(b * LUT_SIZE + r, g, Color.rgba8888(color));
+                }
+            }
+        }
+        Texture texture = new Texture(pixmap);
+        pixmap.dispose();
+        return texture;
+    }
+
+    private static float grade(float value, float luma, float shadowTint, float highlightTint) {
+        value += shadowTint * (1f - luma) + highlightTint * luma;
+        value = Math.max(0f, Math.min(1f, value));
+        float curved = value * value * (3f - 2f * value);
+        return value + (curved - value) * 0.35f;
+    }
+
+    /**
+     * Tiempos de GPU de cada pase, p.ej. "GPU bloom 0.12 ms  composite 0.30 ms"
+     */
+    public String formatTimings() {
+        if (!timer.isEnabled()) {
+            return "GPU timers unavailable";
+        }
+        StringBuilder text = new StringBuilder("GPU");
+        for (int i = 0; i < timer.getTimerCount(); i++) {
+            float millis = timer.getMillis(i);
+            if (millis >= 0) {
+                text.append(String.format(Locale.ROOT, " %s %.2f ms", timer.getName(i), millis));
+            }
+        }
+        return text.append("  FBOs ").append(pool.getBufferCount()).toString();
+    }
+
+    /**
+     * Pool de buffers compartido con otros pases offscreen del frame (p.ej. el lightmap)
+     */
+    public FrameBufferPool getFrameBufferPool() {
+        return pool;
+    }
+
+    public GpuTimer getTimer() {
+        return timer;
+    }
+
+    @Override
+    public void dispose() {
+        resources.dispose();
+    }
+}
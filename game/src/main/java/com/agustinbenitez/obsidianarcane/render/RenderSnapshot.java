@@ -0,0 +1,71 @@
+package com.agustinbenitez.obsidianarcane.render;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+
+/**
+ * Estado del mundo necesario para dibujar un tick de simulación
+ *
+ * La simulación lo rellena (GameWorld.writeSnapshot) y lo publica en un TripleBuffer; a
+ * partir de ahí el hilo de render solo lo lee. Los arrays se reutilizan entre ticks.
+ */
+public class RenderSnapshot {
+
+    public long tick;
+    public long publishNanos;
+    public int roomIndex = -1;
+
+    // Posición del jugador en este tick y en el anterior (para interpolar)
+    public float playerX;
+    public float playerY;
+    public float previousPlayerX;
+    public float previousPlayerY;
+
+    // Movimiento del jugador en este tick (para elegir su animación)
+    public float playerVelocityX;
+    public float playerVelocityY;
+    public boolean playerOnGround;
+
+    // Partículas vivas, ya con el tamaño final de este tick
+    public int particleCount;
+    public float[] particleX = new float[0];
+    public float[] particleY = new float[0];
+    public float[] particleSize = new float[0];
+    public float[] particleColor = new float[0];
+
+    /**
+     * Asegura espacio para el número de partículas indicado (crece con margen para no
+     * reservar en cada tick mientras aumenta el número de partículas)
+     */
+    public void ensureParticleCapacity(int capacity) {
+        if (particleX.length < capacity) {
+            int grown = Math.max(capacity, particleX.length + particleX.length / 2);
+            particleX = new float[grown];
+            particleY = new float[grown];
+            particleSize = new float[grown];
+            particleColor = new float[grown];
+        }
+    }
+
+    public float getPlayerX(float alpha) {
+        return MathUtils.lerp(previousPlayerX, playerX, alpha);
+    }
+
+    public float getPlayerY(float alpha) {
+        return MathUtils.lerp(previousPlayerY, playerY, alpha);
+    }
+
+    /**
+     * Dibuja las partículas en una sola pasada (el batch debe estar iniciado)
+     */
+    public void renderParticles(SpriteBatch batch, TextureRegion region) {
+        float previousColor = batch.getPackedColor();
+        for (int i = 0; i < particleCount; i++) {
+            float s = particleSize[i];
+            batch.setPackedColor(particleColor[i]);
+            batch.draw(region, particleX[i] - s / 2, particleY[i] - s / 2, s, s);
+        }
+        batch.setPackedColor(previousColor);
+    }
+}
@@ -0,0 +1,148 @@
+package com.agustinbenitez.obsidianarcane.render;
+
+import com.agustinbenitez.obsidianarcane.memory.ResourceScope;
+import com.agustinbenitez.obsidianarcane.memory.ResourceTracker;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Render target offscreen con resolución interna independiente de la ventana
+ *
+ * El mundo (de tamaño virtual fijo, p.ej. 800x600) se dibuja en un FrameBuffer de la
+ * altura configurada y después se escala a la ventana manteniendo la proporción, con
+ * filtrado nearest (pixel perfect) o linear. El coste de relleno depende así de la
+ * resolución interna y no del tamaño de la ventana.
+ */
+public class ScaledRenderTarget implements Disposable {
+
+    private static final int MIN_HEIGHT = 120;
+
+    private final float virtualWidth;
+    private final float virtualHeight;
+    private final ResourceScope resources = new ResourceScope("ScaledRenderTarget", "render");
+    private final SpriteBatch blitBatch;
+
+    private FrameBuffer frameBuffer;
+    private TextureRegion region;
+    private boolean smooth = true;
+
+    // Zona de la ventana donde se muestra el mundo (con bandas si la proporción no coincide)
+    private int viewportX;
+    private int viewportY;
+    private int viewportWidth;
+    private int viewportHeight;
+
+    public ScaledRenderTarget(float virtualWidth, float virtualHeight) {
+        this.virtualWidth = virtualWidth;
+        this.virtualHeight = virtualHeight;
+        this.blitBatch = resources.add(new SpriteBatch(1), ResourceTracker.spriteBatchBytes(1));
+        blitBatch.getProjectionMatrix().setToOrtho2D(0, 0, virtualWidth, virtualHeight);
+        resize(Gdx.graphics.getBackBufferWidth(), Gdx.graphics.getBackBufferHeight());
+    }
+
+    /**
+     * Recalcula la zona visible para un backbuffer del tamaño indicado (en pixels)
+     */
+    public void resize(int backBufferWidth, int backBufferHeight) {
+        float scale = Math.min(backBufferWidth / virtualWidth, backBufferHeight / virtualHeight);
+        viewportWidth = Math.max(1, Math.round(virtualWidth * scale));
+        viewportHeight = Math.max(1, Math.round(virtualHeight * scale));
+        viewportX = (backBufferWidth - viewportWidth) / 2;
+        viewportY = (backBufferHeight - viewportHeight) / 2;
+    }
+
+    /**
+     * Empieza a dibujar en el buffer offscreen
+     *
+     * @param internalHeight altura interna configurada (0 = la de la zona visible)
+     * @param dynamicScale factor adicional de la calidad adaptativa (1 = sin reducir)
+     * @param smooth true para escalar con filtrado linear, false para nearest
+     */
+    public void begin(int internalHeight, float dynamicScale, boolean smooth) {
+        // Nunca renderizar por encima de la resolución en pantalla
+        int baseHeight = internalHeight > 0 ? Math.min(internalHeight, viewportHeight) : viewportHeight;
+        int height = Math.max(MIN_HEIGHT, Math.round(baseHeight * dynamicScale));
+        int width = Math.round(height * virtualWidth / virtualHeight);
+
+        if (frameBuffer == null || frameBuffer.getWidth() != width || frameBuffer.getHeight() != height) {
+            createFrameBuffer(width, height);
+        }
+        if (this.smooth != smooth) {
+            this.smooth = smooth;
+            applyFilter();
+        }
+        frameBuffer.begin();
+    }
+
+    /**
+     * Termina de dibujar en el buffer offscreen (restaura el backbuffer)
+     */
+    public void end() {
+        frameBuffer.end();
+    }
+
+    /**
+     * Escala el buffer a la ventana y deja el viewport en la zona visible, de modo que
+     * la interfaz dibujada a continuación con la cámara virtual queda alineada y nítida
+     */
+    public void draw() {
+        bindWindowViewport();
+        blitBatch.disableBlending();
+        blitBatch.begin();
+        blitBatch.draw(region, 0, 0, virtualWidth, virtualHeight);
+        blitBatch.end();
+    }
+
+    /**
+     * Limpia la ventana (bandas incluidas) y deja el viewport en la zona visible
+     */
+    public void bindWindowViewport() {
+        Gdx.gl.glViewport(0, 0, Gdx.graphics.getBackBufferWidth(), Gdx.graphics.getBackBufferHeight());
+        Gdx.gl.glClearColor(0, 0, 0, 1);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        Gdx.gl.glViewport(viewportX, viewportY, viewportWidth, viewportHeight);
+    }
+
+    /**
+     * Textura con el último frame dibujado (origen abajo a la izquierda, como en GL)
+     */
+    public Texture getColorTexture() {
+        return frameBuffer.getColorBufferTexture();
+    }
+
+    private void createFrameBuffer(int width, int height) {
+        if (frameBuffer != null) {
+            resources.dispose(frameBuffer);
+        }
+        frameBuffer = resources.add(new FrameBuffer(Pixmap.Format.RGBA8888, width, height, false));
+        region = new TextureRegion(frameBuffer.getColorBufferTexture());
+        region.flip(false, true);
+        applyFilter();
+        Gdx.app.log("ScaledRenderTarget", "Internal resolution " + width + "x" + height
+            + " -> " + viewportWidth + "x" + viewportHeight);
+    }
+
+    private void applyFilter() {
+        if (frameBuffer != null) {
+            Texture.TextureFilter filter = smooth ? Texture.TextureFilter.Linear : Texture.TextureFilter.Nearest;
+            frameBuffer.getColorBufferTexture().setFilter(filter, filter);
+        }
+    }
+
+    public int getWidth() { return frameBuffer != null ? frameBuffer.getWidth() : 0; }
+    public int getHeight() { return frameBuffer != null ? frameBuffer.getHeight() : 0; }
+    public int getViewportWidth() { return viewportWidth; }
+    public int getViewportHeight() { return viewportHeight; }
+
+    @Override
+    public void dispose() {
+        resources.dispose();
+        frameBuffer = null;
+    }
+}
@@ -0,0 +1,55 @@
+package com.agustinbenitez.obsidianarcane.render;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Triple buffer sin bloqueos entre un productor y un consumidor
+ *
+ * El productor escribe siempre en su buffer y lo publica intercambiándolo con el del
+ * medio; el consumidor toma el del medio solo si hay uno nuevo. Ninguno espera al otro y
+ * el consumidor ve siempre el último buffer completo publicado.
+ */
+public final class TripleBuffer<T> {
+
+    private static final int INDEX_MASK = 3;
+    private static final int FRESH = 4;
+
+    private final Object[] buffers = new Object[3];
+    private final AtomicInteger middle = new AtomicInteger(2);
+    private int writeIndex = 0;
+    private int readIndex = 1;
+
+    public TripleBuffer(Supplier<T> factory) {
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = factory.get();
+        }
+    }
+
+    /**
+     * Buffer que el productor puede rellenar (solo desde el hilo productor)
+     */
+    @SuppressWarnings("unchecked")
+    public T getWriteBuffer() {
+        return (T) buffers[writeIndex];
+    }
+
+    /**
+     * Publica el buffer de escritura (solo desde el hilo productor)
+     */
+    public void publish() {
+        writeIndex = middle.getAndSet(writeIndex | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * Último buffer publicado (solo desde el hilo consumidor); sigue siendo válido hasta
+     * la siguiente llamada
+     */
+    @SuppressWarnings("unchecked")
+    public T acquire() {
+        if ((middle.get() & FRESH) != 0) {
+            readIndex = middle.getAndSet(readIndex) & INDEX_MASK;
+        }
+        return (T) buffers[readIndex];
+    }
+}
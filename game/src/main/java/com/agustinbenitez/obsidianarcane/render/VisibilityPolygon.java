@@ -0,0 +1,106 @@
+package com.agustinbenitez.obsidianarcane.render;
+
+import com.badlogic.gdx.utils.FloatArray;
+import java.util.Arrays;
+
+/**
+ * Polígono de visibilidad de una luz puntual frente a segmentos que proyectan sombra
+ *
+ * Se lanzan rayos hacia cada extremo de segmento dentro del radio (y dos más a cada lado,
+ * para pasar rozando las esquinas) más un anillo de rayos uniformes que redondea el borde
+ * del radio. Cada rayo se corta con el segmento más cercano o con el radio de la luz; los
+ * puntos, ordenados por ángulo, forman el contorno de un abanico centrado en la luz.
+ *
+ * Los arrays de trabajo se reutilizan entre llamadas: no se reserva memoria por luz.
+ */
+public class VisibilityPolygon {
+
+    private static final int RADIUS_RAYS = 32;
+    private static final float CORNER_EPSILON = 0.0001f;
+
+    private float[] angles = new float[128];
+    private float[] candidates = new float[64];
+
+    /**
+     * Añade a out el contorno (x, y por vértice, en orden angular) y devuelve su número de vértices
+     *
+     * @param segments segmentos como x1, y1, x2, y2 consecutivos
+     */
+    public int compute(float lightX, float lightY, float radius, FloatArray segments, FloatArray out) {
+        // Segmentos que pueden tocar el círculo de la luz
+        int segmentFloats = segments.size;
+        if (candidates.length < segmentFloats) {
+            candidates = new float[segmentFloats * 2];
+        }
+        int candidateCount = 0;
+        float[] items = segments.items;
+        for (int i = 0; i < segmentFloats; i += 4) {
+            float minX = Math.min(items[i], items[i + 2]);
+            float maxX = Math.max(items[i], items[i + 2]);
+            float minY = Math.min(items[i + 1], items[i + 3]);
+            float maxY = Math.max(items[i + 1], items[i + 3]);
+            if (maxX < lightX - radius || minX > lightX + radius || maxY < lightY - radius || minY > lightY + radius) {
+                continue;
+            }
+            System.arraycopy(items, i, candidates, candidateCount, 4);
+            candidateCount += 4;
+        }
+
+        // Ángulos de los rayos
+        int maxRays = RADIUS_RAYS + candidateCount / 4 * 2 * 3;
+        if (angles.length < maxRays) {
+            angles = new float[maxRays * 2];
+        }
+        int rayCount = 0;
+        for (int i = 0; i < RADIUS_RAYS; i++) {
+            angles[rayCount++] = (float) (-Math.PI + 2 * Math.PI * i / RADIUS_RAYS);
+        }
+        float radiusSquared = radius * radius;
+        for (int i = 0; i < candidateCount; i += 2) {
+            float dx = candidates[i] - lightX;
+            float dy = candidates[i + 1] - lightY;
+            if (dx * dx + dy * dy > radiusSquared) {
+                continue;
+            }
+            float angle = (float) Math.atan2(dy, dx);
+            angles[rayCount++] = angle - CORNER_EPSILON;
+            angles[rayCount++] = angle;
+            angles[rayCount++] = angle + CORNER_EPSILON;
+        }
+        Arrays.sort(angles, 0, rayCount);
+
+        // Cada rayo hasta el segmento más cercano (o el radio)
+        for (int r = 0; r < rayCount; r++) {
+            float dirX = (float) Math.cos(angles[r]);
+            float dirY = (float) Math.sin(angles[r]);
+            float nearest = radius;
+            for (int i = 0; i < candidateCount; i += 4) {
+                float hit = intersect(lightX, lightY, dirX, dirY, candidates[i], candidates[i + 1],
+                    candidates[i + 2], candidates[i + 3]);
+                if (hit >= 0 && hit < nearest) {
+                    nearest = hit;
+                }
+            }
+            out.add(lightX + dirX * nearest, lightY + dirY * nearest);
+        }
+        return rayCount;
+    }
+
+    /**
+     * Distancia a lo largo del rayo hasta el segmento, o -1 si no lo corta
+     */
+    private static float intersect(float originX, float originY, float dirX, float dirY,
+                                   float x1, float y1, float x2, float y2) {
+        float segmentX = x2 - x1;
+        float segmentY = y2 - y1;
+        float denominator = dirX * segmentY - dirY * segmentX;
+        if (Math.abs(denominator) < 1e-6f) {
+            return -1; // Paralelos
+        }
+        float offsetX = x1 - originX;
+        float offsetY = y1 - originY;
+        float t = (offsetX * segmentY - offsetY * segmentX) / denominator;
+        float u = (offsetX * dirY - offsetY * dirX) / denominator;
+        return t >= 0 && u >= 0 && u <= 1 ? t : -1;
+    }
+}
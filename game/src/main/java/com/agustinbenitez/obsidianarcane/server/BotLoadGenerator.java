@@ -0,0 +1,228 @@
+package com.agustinbenitez.obsidianarcane.server;
+
+import com.agustinbenitez.obsidianarcane.jobs.JobSystem;
+import com.agustinbenitez.obsidianarcane.net.NetInput;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Generador de carga: cientos de clientes bot contra el servidor dedicado en localhost
+ *
+ * Todos los bots comparten un Selector en un solo hilo. Cada uno entra en una instancia,
+ * envía entradas a 30 Hz (rachas de movimiento y saltos) confirmando el último snapshot, y
+ * reconstruye cada snapshot delta comprobando su CRC. Sin puerto arranca un servidor en el
+ * mismo proceso con los workers indicados, para medir instancias por núcleo.
+ * <pre>
+ * mvn exec:java -Dexec.mainClass=com.agustinbenitez.obsidianarcane.server.BotLoadGenerator \
+ *     -Dexec.args="[bots=400] [segundos=20] [workers] [puerto]"
+ * </pre>
+ */
+public class BotLoadGenerator {
+
+    private static final long INPUT_INTERVAL_NANOS = 1_000_000_000L / 30;
+    private static final int STATE_BYTES = DungeonInstance.STATE_BYTES;
+    private static final int HISTORY = 64; // potencia de dos, en snapshots
+
+    private static final class Bot {
+        final int index;
+        final SocketChannel channel;
+        final ByteBuffer inbound = ByteBuffer.allocate(16 * 1024);
+        final ByteBuffer outbound = ByteBuffer.allocate(1024);
+        final byte[][] states = new byte[HISTORY][STATE_BYTES];
+        final int[] stateTicks = new int[HISTORY];
+        int instance = -1;
+        int lastTick = -1;
+
+        Bot(int index, SocketChannel channel) {
+            this.index = index;
+            this.channel = channel;
+            Arrays.fill(stateTicks, -1);
+        }
+    }
+
+    private final CRC32 crc = new CRC32();
+    private final byte[] scratch = new byte[STATE_BYTES];
+
+    // Métricas
+    private long snapshots;
+    private long fullSnapshots;
+    private long snapshotBytes;
+    private long decodeErrors;
+    private long checksumErrors;
+
+    public static void main(String[] args) throws Exception {
+        int botCount = args.length > 0 ? Integer.parseInt(args[0]) : 400;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int workers = args.length > 2 ? Integer.parseInt(args[2]) : JobSystem.defaultWorkerCount();
+        int port = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+
+        DedicatedServer server = null;
+        Thread serverThread = null;
+        if (port == 0) {
+            server = new DedicatedServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), workers);
+            port = server.getPort();
+            serverThread = new Thread(server, "DedicatedServer");
+            serverThread.start();
+            System.out.println("BotLoadGenerator: in-process server on port " + port + " with " + workers + " workers");
+        }
+
+        new BotLoadGenerator().run(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), botCount, seconds);
+
+        if (server != null) {
+            System.out.println("BotLoadGenerator: last server report: " + server.getLastReport());
+            server.stop();
+            serverThread.join();
+        }
+    }
+
+    public void run(InetSocketAddress address, int botCount, int seconds) throws IOException {
+        Selector selector = Selector.open();
+        Bot[] bots = new Bot[botCount];
+        for (int i = 0; i < botCount; i++) {
+            SocketChannel channel = SocketChannel.open(address);
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            bots[i] = new Bot(i, channel);
+            channel.register(selector, SelectionKey.OP_READ, bots[i]);
+            int message = ServerProtocol.beginMessage(bots[i].outbound, ServerProtocol.JOIN);
+            ServerProtocol.endMessage(bots[i].outbound, message);
+            flush(bots[i]);
+        }
+
+        long start = System.nanoTime();
+        long end = start + seconds * 1_000_000_000L;
+        long nextInput = start;
+        while (System.nanoTime() < end) {
+            selector.select(1);
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                if (key.isValid() && key.isReadable()) {
+                    read((Bot) key.attachment());
+                }
+            }
+
+            long now = System.nanoTime();
+            if (now - nextInput >= 0) {
+                nextInput += INPUT_INTERVAL_NANOS;
+                for (Bot bot : bots) {
+                    sendInput(bot, now - start);
+                }
+            }
+        }
+
+        float elapsed = (System.nanoTime() - start) / 1_000_000_000f;
+        int connected = 0;
+        Set<Integer> instances = new HashSet<>();
+        for (Bot bot : bots) {
+            if (bot.instance >= 0) {
+                connected++;
+                instances.add(bot.instance);
+            }
+            bot.channel.close();
+        }
+        selector.close();
+
+        int fullBytes = ServerProtocol.LENGTH_BYTES + ServerProtocol.SNAPSHOT_HEADER_BYTES + STATE_BYTES + 2;
+        System.out.println(String.format(Locale.ROOT,
+            "BotLoadGenerator: %d/%d bots in %d instances, %.0f snapshots/s (%.1f%% full), "
+                + "avg %.1f bytes per snapshot (full state %d), %.1f KB/s in, decode errors %d, CRC errors %d",
+            connected, botCount, instances.size(), snapshots / elapsed, snapshots > 0 ? fullSnapshots * 100f / snapshots : 0,
+            snapshots > 0 ? snapshotBytes / (float) snapshots : 0, fullBytes, snapshotBytes / 1024f / elapsed,
+            decodeErrors, checksumErrors));
+    }
+
+    private void read(Bot bot) throws IOException {
+        ByteBuffer in = bot.inbound;
+        if (bot.channel.read(in) < 0) {
+            bot.channel.close();
+            return;
+        }
+        in.flip();
+        int length;
+        while ((length = ServerProtocol.nextMessageLength(in)) >= 0) {
+            int next = in.position() + ServerProtocol.LENGTH_BYTES + length;
+            in.position(in.position() + ServerProtocol.LENGTH_BYTES);
+            byte type = in.get();
+            if (type == ServerProtocol.WELCOME) {
+                bot.instance = in.getInt();
+            } else if (type == ServerProtocol.SNAPSHOT) {
+                readSnapshot(bot, in, length);
+            }
+            in.position(next);
+        }
+        in.compact();
+    }
+
+    private void readSnapshot(Bot bot, ByteBuffer in, int length) {
+        int tick = in.getInt();
+        int baseTick = in.getInt();
+        int checksum = in.getInt();
+        in.get(); // jugadores activos
+        int encoded = in.getShort() & 0xFFFF;
+        snapshots++;
+        snapshotBytes += ServerProtocol.LENGTH_BYTES + length;
+
+        byte[] base = null;
+        if (baseTick >= 0) {
+            int index = (baseTick / DungeonInstance.SNAPSHOT_INTERVAL) & (HISTORY - 1);
+            if (bot.stateTicks[index] != baseTick) {
+                decodeErrors++;
+                return;
+            }
+            base = bot.states[index];
+        } else {
+            fullSnapshots++;
+        }
+        if (!SnapshotDelta.decode(base, in, encoded, scratch, DungeonInstance.MAX_PLAYERS)) {
+            decodeErrors++;
+            return;
+        }
+        crc.reset();
+        crc.update(scratch, 0, STATE_BYTES);
+        if ((int) crc.getValue() != checksum) {
+            checksumErrors++;
+            return;
+        }
+        int index = (tick / DungeonInstance.SNAPSHOT_INTERVAL) & (HISTORY - 1);
+        System.arraycopy(scratch, 0, bot.states[index], 0, STATE_BYTES);
+        bot.stateTicks[index] = tick;
+        bot.lastTick = Math.max(bot.lastTick, tick);
+    }
+
+    private void sendInput(Bot bot, long elapsedNanos) throws IOException {
+        if (bot.instance < 0 || !bot.channel.isOpen()) {
+            return;
+        }
+        // Cada bot cambia de dirección cada medio segundo y salta de vez en cuando
+        int phase = (int) (elapsedNanos / 500_000_000L) + bot.index * 7;
+        boolean left = phase % 3 == 0;
+        boolean right = phase % 3 == 1;
+        boolean jump = (elapsedNanos / INPUT_INTERVAL_NANOS + bot.index) % 20 == 0;
+
+        ByteBuffer out = bot.outbound;
+        int message = ServerProtocol.beginMessage(out, ServerProtocol.INPUT);
+        out.putInt(bot.lastTick).put(NetInput.encode(left, right, jump));
+        ServerProtocol.endMessage(out, message);
+        flush(bot);
+    }
+
+    private static void flush(Bot bot) throws IOException {
+        ByteBuffer out = bot.outbound;
+        out.flip();
+        bot.channel.write(out);
+        out.compact();
+    }
+}
@@ -0,0 +1,348 @@
+package com.agustinbenitez.obsidianarcane.server;
+
+import com.agustinbenitez.obsidianarcane.jobs.JobSystem;
+import com.agustinbenitez.obsidianarcane.jobs.TaskGraph;
+import com.agustinbenitez.obsidianarcane.net.NetInput;
+import com.badlogic.gdx.utils.Array;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Locale;
+
+/**
+ * Servidor dedicado sin gráficos con muchas instancias de mazmorra en la misma JVM
+ *
+ * Un solo hilo atiende a todos los clientes con un Selector (aceptar, leer entradas y
+ * escribir snapshots, todo sin bloqueos) y a 60 Hz ejecuta el tick: un TaskGraph con una
+ * tarea por instancia sobre el JobSystem, que reparte las instancias entre un número fijo
+ * de workers. Cada instancia escribe los snapshots de sus clientes en sus buffers de
+ * salida, y al terminar el tick el hilo del Selector los envía.
+ * <pre>
+ * mvn exec:java -Dexec.mainClass=com.agustinbenitez.obsidianarcane.server.DedicatedServer \
+ *     -Dexec.args="[puerto=7777] [workers]"
+ * </pre>
+ */
+public class DedicatedServer implements Runnable {
+
+    public static final int DEFAULT_PORT = 7777;
+    private static final long TICK_NANOS = 1_000_000_000L / 60;
+    private static final long REPORT_INTERVAL_NANOS = 5_000_000_000L;
+    private static final int MAX_CATCH_UP_TICKS = 5;
+    private static final int ACCEPT_BACKLOG = 1024;
+    private static final int DEFAULT_MAX_INSTANCES = 4096;
+
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final JobSystem jobs;
+    private final Array<DungeonInstance> instances = new Array<>(false, 64, DungeonInstance.class);
+    private final Array<ServerClient> clients = new Array<>(false, 256, ServerClient.class);
+    private final int maxInstances;
+    private TaskGraph tickGraph;
+    private boolean graphDirty = true;
+    private int nextInstanceId = 1;
+    private volatile boolean running;
+
+    // Métricas del intervalo actual
+    private long reportStart;
+    private int ticks;
+    private long tickNanos;
+    private long maxTickNanos;
+    private long instanceNanos;
+    private long instanceTicks;
+    private long bytesSent;
+    private volatile String lastReport = "";
+
+    public DedicatedServer(InetSocketAddress bindAddress, int workers) throws IOException {
+        this(bindAddress, workers, DEFAULT_MAX_INSTANCES);
+    }
+
+    public DedicatedServer(InetSocketAddress bindAddress, int workers, int maxInstances) throws IOException {
+        this.maxInstances = maxInstances;
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.configureBlocking(false);
+        serverChannel.bind(bindAddress, ACCEPT_BACKLOG);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        jobs = new JobSystem(workers);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int workers = args.length > 1 ? Integer.parseInt(args[1]) : JobSystem.defaultWorkerCount();
+        DedicatedServer server = new DedicatedServer(new InetSocketAddress(port), workers);
+        System.out.println("DedicatedServer: listening on port " + server.getPort() + " with "
+            + workers + " workers (+ selector thread)");
+        server.run();
+    }
+
+    public int getPort() throws IOException {
+        return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+    }
+
+    /**
+     * Bucle del servidor; vuelve cuando se llama a stop()
+     */
+    @Override
+    public void run() {
+        running = true;
+        long nextTick = System.nanoTime();
+        reportStart = nextTick;
+        try {
+            while (running) {
+                long wait = nextTick - System.nanoTime();
+                if (wait > 1_000_000L) {
+                    selector.select(wait / 1_000_000L);
+                } else {
+                    selector.selectNow();
+                }
+                handleSelectedKeys();
+
+                long now = System.nanoTime();
+                if (now - nextTick >= 0) {
+                    tick();
+                    nextTick += TICK_NANOS;
+                    if (now - nextTick > TICK_NANOS * MAX_CATCH_UP_TICKS) {
+                        nextTick = now;
+                    }
+                }
+                if (now - reportStart >= REPORT_INTERVAL_NANOS) {
+                    report(now);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("DedicatedServer: " + e.getMessage());
+        } finally {
+            close();
+        }
+    }
+
+    public void stop() {
+        running = false;
+        selector.wakeup();
+    }
+
+    private void handleSelectedKeys() throws IOException {
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+            SelectionKey key = keys.next();
+            keys.remove();
+            if (!key.isValid()) {
+                continue;
+            }
+            if (key.isAcceptable()) {
+                accept();
+                continue;
+            }
+            ServerClient client = (ServerClient) key.attachment();
+            try {
+                if (key.isReadable()) {
+                    read(client);
+                }
+                if (key.isValid() && key.isWritable()) {
+                    flush(client);
+                }
+            } catch (IOException e) {
+                disconnect(client);
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+            ServerClient client = new ServerClient(channel, key);
+            key.attach(client);
+            clients.add(client);
+        }
+    }
+
+    private void read(ServerClient client) throws IOException {
+        ByteBuffer in = client.inbound;
+        if (client.channel.read(in) < 0) {
+            disconnect(client);
+            return;
+        }
+        in.flip();
+        int length;
+        while ((length = ServerProtocol.nextMessageLength(in)) >= 0) {
+            int next = in.position() + ServerProtocol.LENGTH_BYTES + length;
+            in.position(in.position() + ServerProtocol.LENGTH_BYTES);
+            if (length > 0) {
+                handleMessage(client, in.get(), length - 1, in);
+            }
+            if (!client.channel.isOpen()) {
+                return;
+            }
+            in.position(next);
+        }
+        in.compact();
+        if (!in.hasRemaining()) {
+            // Un mensaje más grande que el buffer: el cliente no habla este protocolo
+            disconnect(client);
+        }
+    }
+
+    private void handleMessage(ServerClient client, byte type, int length, ByteBuffer in) throws IOException {
+        switch (type) {
+            case ServerProtocol.JOIN:
+                if (client.instance == null) {
+                    join(client);
+                }
+                break;
+            case ServerProtocol.INPUT:
+                if (length < 5) {
+                    disconnect(client);
+                    break;
+                }
+                client.ackTick = in.getInt();
+                client.input = in.get();
+                if (NetInput.isJump(client.input)) {
+                    client.jumpPending = true;
+                }
+                break;
+            default:
+                disconnect(client);
+                break;
+        }
+    }
+
+    /**
+     * Coloca al cliente en la primera instancia con hueco (o en una nueva)
+     */
+    private void join(ServerClient client) throws IOException {
+        DungeonInstance target = null;
+        for (int i = 0; i < instances.size; i++) {
+            if (!instances.get(i).isFull()) {
+                target = instances.get(i);
+                break;
+            }
+        }
+        if (target == null) {
+            if (instances.size >= maxInstances) {
+                disconnect(client);
+                return;
+            }
+            target = new DungeonInstance(nextInstanceId++);
+            instances.add(target);
+            graphDirty = true;
+        }
+        int slot = target.join(client);
+
+        ByteBuffer out = client.outbound;
+        int message = ServerProtocol.beginMessage(out, ServerProtocol.WELCOME);
+        out.putInt(target.id).put((byte) slot);
+        ServerProtocol.endMessage(out, message);
+        flush(client);
+    }
+
+    private void disconnect(ServerClient client) {
+        DungeonInstance instance = client.instance;
+        if (instance != null) {
+            instance.leave(client);
+            if (instance.isEmpty()) {
+                instances.removeValue(instance, true);
+                graphDirty = true;
+            }
+        }
+        clients.removeValue(client, true);
+        client.key.cancel();
+        try {
+            client.channel.close();
+        } catch (IOException e) {
+            // Ya cerrado
+        }
+    }
+
+    private void tick() {
+        long start = System.nanoTime();
+        if (graphDirty) {
+            tickGraph = new TaskGraph("server-tick");
+            for (int i = 0; i < instances.size; i++) {
+                DungeonInstance instance = instances.get(i);
+                tickGraph.add("instance-" + instance.id, instance::tick);
+            }
+            graphDirty = false;
+        }
+        jobs.execute(tickGraph);
+
+        for (int i = 0; i < instances.size; i++) {
+            instanceNanos += instances.get(i).lastTickNanos;
+        }
+        instanceTicks += instances.size;
+
+        for (int i = clients.size - 1; i >= 0; i--) {
+            ServerClient client = clients.get(i);
+            try {
+                flush(client);
+            } catch (IOException e) {
+                disconnect(client);
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        ticks++;
+        tickNanos += elapsed;
+        maxTickNanos = Math.max(maxTickNanos, elapsed);
+    }
+
+    private void flush(ServerClient client) throws IOException {
+        ByteBuffer out = client.outbound;
+        if (out.position() > 0) {
+            out.flip();
+            bytesSent += client.channel.write(out);
+            out.compact();
+        }
+        int interest = out.position() > 0 ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ;
+        if (client.key.isValid() && client.key.interestOps() != interest) {
+            client.key.interestOps(interest);
+        }
+    }
+
+    private void report(long now) {
+        float seconds = (now - reportStart) / 1_000_000_000f;
+        float averageInstanceMicros = instanceTicks > 0 ? instanceNanos / (float) instanceTicks / 1000f : 0;
+        float instancesPerCore = averageInstanceMicros > 0 ? TICK_NANOS / 1000f / averageInstanceMicros : 0;
+        lastReport = String.format(Locale.ROOT,
+            "clients %d, instances %d, tick avg %.2f ms max %.2f ms, instance %.1f us/tick "
+                + "(~%.0f instances per core at 60 Hz), out %.1f KB/s",
+            clients.size, instances.size, ticks > 0 ? tickNanos / (float) ticks / 1_000_000f : 0,
+            maxTickNanos / 1_000_000f, averageInstanceMicros, instancesPerCore, bytesSent / 1024f / seconds);
+        System.out.println("DedicatedServer: " + lastReport);
+
+        reportStart = now;
+        ticks = 0;
+        tickNanos = 0;
+        maxTickNanos = 0;
+        instanceNanos = 0;
+        instanceTicks = 0;
+        bytesSent = 0;
+    }
+
+    /**
+     * Último informe periódico (lo puede leer cualquier hilo)
+     */
+    public String getLastReport() {
+        return lastReport;
+    }
+
+    private void close() {
+        for (int i = clients.size - 1; i >= 0; i--) {
+            disconnect(clients.get(i));
+        }
+        jobs.shutdown();
+        try {
+            serverChannel.close();
+            selector.close();
+        } catch (IOException e) {
+            System.err.println("DedicatedServer: " + e.getMessage());
+        }
+    }
+}
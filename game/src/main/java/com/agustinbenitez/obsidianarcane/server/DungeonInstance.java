@@ -0,0 +1,147 @@
+package com.agustinbenitez.obsidianarcane.server;
+
+import com.agustinbenitez.obsidianarcane.Room;
+import com.agustinbenitez.obsidianarcane.net.CoopSimulation;
+import com.agustinbenitez.obsidianarcane.net.NetInput;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Instancia de mazmorra del servidor dedicado: una simulación de hasta 4 jugadores
+ *
+ * tick() lo ejecuta un worker del JobSystem; avanza la simulación con la última entrada de
+ * cada cliente y, cada SNAPSHOT_INTERVAL ticks, escribe a cada cliente un snapshot delta
+ * respecto al último que confirmó. Lo que se envía es el estado cuantizado de SnapshotState,
+ * no el de la simulación; los estados enviados se guardan en un ring buffer para usarlos
+ * como base.
+ */
+final class DungeonInstance {
+
+    static final int MAX_PLAYERS = CoopSimulation.MAX_PLAYERS;
+    static final int STATE_BYTES = SnapshotState.bytes(MAX_PLAYERS);
+    static final int SNAPSHOT_INTERVAL = 2; // 30 snapshots por segundo
+    private static final int HISTORY = 32; // potencia de dos
+    private static final int HISTORY_MASK = HISTORY - 1;
+    private static final int MAX_SNAPSHOT_BYTES = ServerProtocol.LENGTH_BYTES + ServerProtocol.SNAPSHOT_HEADER_BYTES
+        + SnapshotDelta.maxEncodedSize(MAX_PLAYERS);
+
+    final int id;
+    private final CoopSimulation simulation;
+    final ServerClient[] clients = new ServerClient[MAX_PLAYERS];
+    int clientCount;
+
+    private final byte[] inputs = new byte[MAX_PLAYERS];
+    private final byte[][] history = new byte[HISTORY][STATE_BYTES];
+    private final ByteBuffer[] historyWriters = new ByteBuffer[HISTORY];
+    private final int[] historyTick = new int[HISTORY];
+    private final CRC32 crc = new CRC32();
+    long lastTickNanos;
+
+    DungeonInstance(int id) {
+        this.id = id;
+        this.simulation = new CoopSimulation(new Room(0, 0, 800, 600), MAX_PLAYERS);
+        Arrays.fill(historyTick, -1);
+        for (int i = 0; i < HISTORY; i++) {
+            historyWriters[i] = ByteBuffer.wrap(history[i]);
+        }
+    }
+
+    /**
+     * Añade un cliente al primer hueco libre
+     * @return el hueco, o -1 si la instancia está llena
+     */
+    int join(ServerClient client) {
+        for (int slot = 0; slot < MAX_PLAYERS; slot++) {
+            if (clients[slot] == null) {
+                clients[slot] = client;
+                clientCount++;
+                client.instance = this;
+                client.slot = slot;
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    void leave(ServerClient client) {
+        if (client.instance == this && clients[client.slot] == client) {
+            clients[client.slot] = null;
+            clientCount--;
+        }
+        client.instance = null;
+        client.slot = -1;
+    }
+
+    void tick() {
+        long start = System.nanoTime();
+        int activeMask = 0;
+        for (int slot = 0; slot < MAX_PLAYERS; slot++) {
+            ServerClient client = clients[slot];
+            if (client == null) {
+                inputs[slot] = NetInput.NONE;
+                continue;
+            }
+            activeMask |= 1 << slot;
+            inputs[slot] = (byte) ((client.input & ~NetInput.JUMP) | (client.jumpPending ? NetInput.JUMP : 0));
+            client.jumpPending = false;
+        }
+        simulation.step(inputs);
+
+        int tick = simulation.getTick();
+        if (tick % SNAPSHOT_INTERVAL == 0) {
+            int index = (tick / SNAPSHOT_INTERVAL) & HISTORY_MASK;
+            byte[] state = history[index];
+            ByteBuffer writer = historyWriters[index];
+            writer.clear();
+            SnapshotState.write(simulation, writer);
+            historyTick[index] = tick;
+            crc.reset();
+            crc.update(state, 0, STATE_BYTES);
+            int checksum = (int) crc.getValue();
+
+            for (ServerClient client : clients) {
+                if (client != null) {
+                    writeSnapshot(client, tick, state, checksum, activeMask);
+                }
+            }
+        }
+        lastTickNanos = System.nanoTime() - start;
+    }
+
+    private void writeSnapshot(ServerClient client, int tick, byte[] state, int checksum, int activeMask) {
+        ByteBuffer out = client.outbound;
+        if (out.remaining() < MAX_SNAPSHOT_BYTES) {
+            // El cliente no lee lo bastante rápido; recibirá el siguiente respecto a su última base
+            client.droppedSnapshots++;
+            return;
+        }
+        int baseTick = client.ackTick;
+        byte[] base = null;
+        if (baseTick >= 0 && baseTick % SNAPSHOT_INTERVAL == 0) {
+            int index = (baseTick / SNAPSHOT_INTERVAL) & HISTORY_MASK;
+            if (historyTick[index] == baseTick) {
+                base = history[index];
+            }
+        }
+        if (base == null) {
+            baseTick = -1;
+        }
+
+        int message = ServerProtocol.beginMessage(out, ServerProtocol.SNAPSHOT);
+        out.putInt(tick).putInt(baseTick).putInt(checksum).put((byte) activeMask);
+        int lengthPosition = out.position();
+        out.putShort((short) 0);
+        int encoded = SnapshotDelta.encode(base, state, MAX_PLAYERS, out);
+        out.putShort(lengthPosition, (short) encoded);
+        ServerProtocol.endMessage(out, message);
+    }
+
+    boolean isFull() {
+        return clientCount == MAX_PLAYERS;
+    }
+
+    boolean isEmpty() {
+        return clientCount == 0;
+    }
+}
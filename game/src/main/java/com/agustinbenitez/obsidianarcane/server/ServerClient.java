@@ -0,0 +1,35 @@
+package com.agustinbenitez.obsidianarcane.server;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Conexión de un cliente al servidor dedicado
+ * Los buffers y la entrada los usa el hilo del Selector, salvo durante el tick, cuando la
+ * instancia del cliente lee la entrada y escribe los snapshots (nunca a la vez).
+ */
+final class ServerClient {
+
+    static final int OUTBOUND_BYTES = 32 * 1024;
+
+    final SocketChannel channel;
+    final SelectionKey key;
+    final ByteBuffer inbound = ByteBuffer.allocate(ServerProtocol.MAX_MESSAGE_BYTES);
+    final ByteBuffer outbound = ByteBuffer.allocate(OUTBOUND_BYTES);
+
+    DungeonInstance instance;
+    int slot = -1;
+
+    // Última entrada recibida; las pulsaciones de salto se guardan hasta el siguiente tick
+    byte input;
+    boolean jumpPending;
+    int ackTick = -1;
+
+    int droppedSnapshots;
+
+    ServerClient(SocketChannel channel, SelectionKey key) {
+        this.channel = channel;
+        this.key = key;
+    }
+}
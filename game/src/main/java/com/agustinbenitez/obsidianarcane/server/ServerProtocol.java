@@ -0,0 +1,59 @@
+package com.agustinbenitez.obsidianarcane.server;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Protocolo entre el servidor dedicado y sus clientes (TCP)
+ *
+ * Cada mensaje va precedido de su longitud (short, incluye el tipo):
+ * <pre>
+ * cliente → servidor
+ *   JOIN      (sin datos) entrar en la primera instancia con hueco
+ *   INPUT     int último tick de snapshot recibido, byte entrada (NetInput)
+ * servidor → cliente
+ *   WELCOME   int instancia, byte hueco del jugador
+ *   SNAPSHOT  int tick, int tick base (-1 = completo), int CRC del estado, byte jugadores
+ *             activos (bits), short n, n bytes de delta (SnapshotDelta) sobre el estado
+ *             de SnapshotState; el CRC es el de ese estado
+ * </pre>
+ */
+public final class ServerProtocol {
+
+    public static final byte JOIN = 1;
+    public static final byte WELCOME = 2;
+    public static final byte INPUT = 3;
+    public static final byte SNAPSHOT = 4;
+
+    public static final int LENGTH_BYTES = 2;
+    public static final int SNAPSHOT_HEADER_BYTES = 1 + 4 + 4 + 4 + 1 + 2;
+    public static final int MAX_MESSAGE_BYTES = 4096;
+
+    private ServerProtocol() {
+    }
+
+    /**
+     * Empieza un mensaje: reserva la longitud y escribe el tipo
+     * @return posición de la longitud, para endMessage
+     */
+    public static int beginMessage(ByteBuffer out, byte type) {
+        int start = out.position();
+        out.putShort((short) 0).put(type);
+        return start;
+    }
+
+    public static void endMessage(ByteBuffer out, int start) {
+        out.putShort(start, (short) (out.position() - start - LENGTH_BYTES));
+    }
+
+    /**
+     * Longitud del siguiente mensaje completo en el buffer (en modo lectura), o -1 si aún no
+     * ha llegado entero
+     */
+    public static int nextMessageLength(ByteBuffer in) {
+        if (in.remaining() < LENGTH_BYTES) {
+            return -1;
+        }
+        int length = in.getShort(in.position()) & 0xFFFF;
+        return in.remaining() - LENGTH_BYTES >= length ? length : -1;
+    }
+}
@@ -0,0 +1,172 @@
+package com.agustinbenitez.obsidianarcane.server;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Compresión delta de snapshots de estado (formato de SnapshotState)
+ *
+ * Cada campo se envía como la diferencia con el mismo campo de un snapshot anterior que el
+ * cliente ya tiene (la base), en varint zigzag: un jugador que se mueve poco entre dos
+ * snapshots cambia cada short en unas decenas y cuesta un byte por campo. Las máscaras
+ * hacen que lo que no cambia no cueste nada:
+ * <pre>
+ * varint diferencia de tick, byte jugadores cambiados (bits),
+ * por jugador cambiado: byte campos cambiados (bits x, y, vx, vy, flags),
+ *                       varint diferencia por short cambiado, byte flags si cambiaron
+ * </pre>
+ * Sin base (primer snapshot o base demasiado antigua) se usa un estado a cero, de modo que
+ * el mismo formato sirve para un snapshot completo.
+ */
+public final class SnapshotDelta {
+
+    private static final int SHORT_FIELDS = 4;
+    private static final int FLAGS_BIT = 1 << SHORT_FIELDS;
+    private static final int MAX_VARINT_BYTES = 5;
+
+    private SnapshotDelta() {
+    }
+
+    /**
+     * Tamaño máximo codificado del estado de n jugadores
+     */
+    public static int maxEncodedSize(int playerCount) {
+        return MAX_VARINT_BYTES + 1 + playerCount * (1 + SHORT_FIELDS * 3 + 1);
+    }
+
+    /**
+     * Codifica current respecto a base (null = estado a cero)
+     * @return bytes escritos en out
+     */
+    public static int encode(byte[] base, byte[] current, int playerCount, ByteBuffer out) {
+        int start = out.position();
+        writeVarint(out, readInt(current, 0) - (base != null ? readInt(base, 0) : 0));
+        int playerMaskPosition = out.position();
+        out.put((byte) 0);
+        int playerMask = 0;
+        for (int player = 0; player < playerCount; player++) {
+            int offset = 4 + player * SnapshotState.PLAYER_BYTES;
+            int fieldMaskPosition = out.position();
+            out.put((byte) 0);
+            int fieldMask = 0;
+            for (int field = 0; field < SHORT_FIELDS; field++) {
+                int at = offset + field * 2;
+                short difference = (short) (readShort(current, at) - (base != null ? readShort(base, at) : 0));
+                if (difference != 0) {
+                    writeVarint(out, difference);
+                    fieldMask |= 1 << field;
+                }
+            }
+            int flagsAt = offset + SHORT_FIELDS * 2;
+            if (base == null ? current[flagsAt] != 0 : current[flagsAt] != base[flagsAt]) {
+                out.put(current[flagsAt]);
+                fieldMask |= FLAGS_BIT;
+            }
+            if (fieldMask == 0) {
+                out.position(fieldMaskPosition); // Jugador sin cambios: no ocupa nada
+            } else {
+                out.put(fieldMaskPosition, (byte) fieldMask);
+                playerMask |= 1 << player;
+            }
+        }
+        out.put(playerMaskPosition, (byte) playerMask);
+        return out.position() - start;
+    }
+
+    /**
+     * Reconstruye el estado a partir de la base (null = estado a cero) y el delta
+     * @return false si el delta está mal formado
+     */
+    public static boolean decode(byte[] base, ByteBuffer in, int encodedBytes, byte[] out, int playerCount) {
+        int length = SnapshotState.bytes(playerCount);
+        if (base != null) {
+            System.arraycopy(base, 0, out, 0, length);
+        } else {
+            Arrays.fill(out, 0, length, (byte) 0);
+        }
+        int end = in.position() + encodedBytes;
+        long tickDifference = readVarint(in, end);
+        if (tickDifference == Long.MIN_VALUE || end - in.position() < 1) {
+            return false;
+        }
+        writeInt(out, 0, readInt(out, 0) + (int) tickDifference);
+        int playerMask = in.get() & 0xFF;
+        if (playerMask >>> playerCount != 0) {
+            return false;
+        }
+        for (int player = 0; player < playerCount; player++) {
+            if ((playerMask & (1 << player)) == 0) {
+                continue;
+            }
+            if (end - in.position() < 1) {
+                return false;
+            }
+            int offset = 4 + player * SnapshotState.PLAYER_BYTES;
+            int fieldMask = in.get() & 0xFF;
+            for (int field = 0; field < SHORT_FIELDS; field++) {
+                if ((fieldMask & (1 << field)) != 0) {
+                    long difference = readVarint(in, end);
+                    if (difference == Long.MIN_VALUE) {
+                        return false;
+                    }
+                    int at = offset + field * 2;
+                    writeShort(out, at, (short) (readShort(out, at) + difference));
+                }
+            }
+            if ((fieldMask & FLAGS_BIT) != 0) {
+                if (end - in.position() < 1) {
+                    return false;
+                }
+                out[offset + SHORT_FIELDS * 2] = in.get();
+            }
+        }
+        return in.position() == end;
+    }
+
+    private static void writeVarint(ByteBuffer out, int value) {
+        int zigzag = (value << 1) ^ (value >> 31);
+        while ((zigzag & ~0x7F) != 0) {
+            out.put((byte) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        out.put((byte) zigzag);
+    }
+
+    /**
+     * @return el valor, o Long.MIN_VALUE si el varint está cortado o es demasiado largo
+     */
+    private static long readVarint(ByteBuffer in, int end) {
+        int zigzag = 0;
+        for (int shift = 0; shift < 7 * MAX_VARINT_BYTES; shift += 7) {
+            if (in.position() >= end) {
+                return Long.MIN_VALUE;
+            }
+            byte b = in.get();
+            zigzag |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+        }
+        return Long.MIN_VALUE;
+    }
+
+    private static int readInt(byte[] state, int at) {
+        return (state[at] & 0xFF) << 24 | (state[at + 1] & 0xFF) << 16 | (state[at + 2] & 0xFF) << 8 | (state[at + 3] & 0xFF);
+    }
+
+    private static void writeInt(byte[] state, int at, int value) {
+        state[at] = (byte) (value >>> 24);
+        state[at + 1] = (byte) (value >>> 16);
+        state[at + 2] = (byte) (value >>> 8);
+        state[at + 3] = (byte) value;
+    }
+
+    private static short readShort(byte[] state, int at) {
+        return (short) ((state[at] & 0xFF) << 8 | (state[at + 1] & 0xFF));
+    }
+
+    private static void writeShort(byte[] state, int at, short value) {
+        state[at] = (byte) (value >>> 8);
+        state[at + 1] = (byte) value;
+    }
+}
@@ -0,0 +1,52 @@
+package com.agustinbenitez.obsidianarcane.server;
+
+import com.agustinbenitez.obsidianarcane.Player;
+import com.agustinbenitez.obsidianarcane.net.CoopSimulation;
+import java.nio.ByteBuffer;
+
+/**
+ * Estado que el servidor envía en los snapshots: lo que el cliente dibuja, no lo que la
+ * simulación necesita para avanzar
+ *
+ * Posiciones y velocidades van en punto fijo (short, 1/SCALE de píxel) en lugar de float:
+ * la diferencia entre dos floats no se comprime, la de dos shorts cercanos es un número
+ * pequeño que SnapshotDelta codifica en un byte. Los temporizadores de salto no se envían.
+ * <pre>
+ * int tick, por jugador: short x, short y, short vx, short vy, byte flags (1 = en el suelo)
+ * </pre>
+ */
+public final class SnapshotState {
+
+    public static final int PLAYER_BYTES = 4 * 2 + 1;
+    // 1/8 de píxel: ±4095 px de posición y ±4095 px/s de velocidad
+    public static final float SCALE = 8f;
+
+    private SnapshotState() {
+    }
+
+    public static int bytes(int playerCount) {
+        return 4 + playerCount * PLAYER_BYTES;
+    }
+
+    /**
+     * Escribe el estado cuantizado de la simulación
+     */
+    public static void write(CoopSimulation simulation, ByteBuffer out) {
+        out.putInt(simulation.getTick());
+        for (int i = 0; i < simulation.getPlayerCount(); i++) {
+            Player player = simulation.getPlayer(i);
+            out.putShort(quantize(player.getPosition().x)).putShort(quantize(player.getPosition().y));
+            out.putShort(quantize(player.getVelocity().x)).putShort(quantize(player.getVelocity().y));
+            out.put((byte) (player.isOnGround() ? 1 : 0));
+        }
+    }
+
+    static short quantize(float value) {
+        int fixed = Math.round(value * SCALE);
+        return (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, fixed));
+    }
+
+    public static float dequantize(short value) {
+        return value / SCALE;
+    }
+}
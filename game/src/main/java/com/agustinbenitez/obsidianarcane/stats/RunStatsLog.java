@@ -0,0 +1,290 @@
+package com.agustinbenitez.obsidianarcane.stats;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Estadísticas de las partidas (runs): duración, salas visitadas, muertes y resultado
+ *
+ * Cada evento se añade a stats/runs.log como un registro binario de tamaño fijo:
+ * <pre>
+ * int run, byte tipo, byte resultado, short sala, float segundos de la run, int valor, long fecha
+ * </pre>
+ * Al terminar una run su resumen se añade a stats/runs.idx (ver RunSummaryIndex), que es lo
+ * único que hay que leer para mostrar estadísticas. Las escrituras se hacen en orden en un
+ * hilo propio; si el juego se cierra sin actualizar el índice, los eventos del log que aún
+ * no estaban indexados se resumen al arrancar.
+ */
+public class RunStatsLog {
+
+    private static final String STATS_DIRECTORY = "stats/";
+    private static final String LOG_FILE = "runs.log";
+    private static final String INDEX_FILE = "runs.idx";
+    private static final String INDEX_TEMP_FILE = "runs.idx.tmp";
+
+    // Directorio de los archivos; null = STATS_DIRECTORY en el directorio local del juego
+    private static FileHandle directory;
+
+    public static final int RECORD_SIZE = 24;
+
+    public static final byte EVENT_RUN_START = 1;
+    public static final byte EVENT_ROOM_ENTER = 2;
+    public static final byte EVENT_DEATH = 4;
+    public static final byte EVENT_RUN_END = 6;
+
+    private static RunStatsLog instance;
+
+    private final ExecutorService statsWorker;
+    private RunSummaryIndex index;
+    private long logBytes;
+
+    // Run en curso (protegida por el monitor: con la simulación en su propio hilo, addTime,
+    // enterRoom y playerDied llegan desde ese hilo y el resto desde el de render)
+    private int runId;
+    private long runStartMillis;
+    private float runSeconds;
+    private int currentRoom = -1;
+    private int deaths;
+
+    private final FileHandle logFile;
+    private final FileHandle indexFile;
+    private final FileHandle indexTempFile;
+
+    private RunStatsLog() {
+        FileHandle statsDirectory = directory != null ? directory : Gdx.files.local(STATS_DIRECTORY);
+        logFile = statsDirectory.child(LOG_FILE);
+        indexFile = statsDirectory.child(INDEX_FILE);
+        indexTempFile = statsDirectory.child(INDEX_TEMP_FILE);
+        statsWorker = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "StatsWorker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        open();
+    }
+
+    /**
+     * Cambia el directorio de las estadísticas (herramientas y comprobaciones que no deben
+     * tocar las del jugador); solo antes de la primera llamada a getInstance()
+     */
+    public static void setDirectory(FileHandle statsDirectory) {
+        if (instance != null) {
+            throw new IllegalStateException("RunStatsLog is already open in " + instance.logFile.parent());
+        }
+        directory = statsDirectory;
+    }
+
+    public static RunStatsLog getInstance() {
+        if (instance == null) {
+            instance = new RunStatsLog();
+        }
+        return instance;
+    }
+
+    /**
+     * Carga el índice y resume los eventos del log que no llegaron a indexarse
+     */
+    private void open() {
+        index = new RunSummaryIndex();
+        try {
+            if (indexFile.exists()) {
+                index = RunSummaryIndex.decode(indexFile.readBytes());
+            }
+        } catch (Exception e) {
+            // El índice se puede reconstruir entero a partir del log
+            Gdx.app.error("RunStatsLog", "Índice de estadísticas no válido, se reconstruye: " + e.getMessage());
+            index = new RunSummaryIndex();
+        }
+
+        logBytes = logFile.exists() ? logFile.length() : 0;
+        if (logBytes == 0) {
+            return;
+        }
+        byte[] log = logFile.readBytes();
+        // Un registro incompleto al final (cierre durante la escritura) se descarta
+        long completeBytes = logBytes - logBytes % RECORD_SIZE;
+        if (completeBytes != logBytes) {
+            byte[] valid = new byte[(int) completeBytes];
+            System.arraycopy(log, 0, valid, 0, valid.length);
+            logFile.writeBytes(valid, false);
+            logBytes = completeBytes;
+        }
+        if (index.getIndexedLogBytes() > completeBytes) {
+            index = new RunSummaryIndex();
+        }
+        if (index.getIndexedLogBytes() < completeBytes) {
+            long start = System.nanoTime();
+            int recovered = recover(log, (int) index.getIndexedLogBytes(), (int) completeBytes);
+            index.setIndexedLogBytes(completeBytes);
+            writeIndex(index.encode());
+            Gdx.app.log("RunStatsLog", "Indexadas " + recovered + " runs del log en "
+                + (System.nanoTime() - start) / 1000 + " us");
+        }
+    }
+
+    /**
+     * Resume las runs de un tramo del log; las que no terminaron cuentan como abandonadas
+     */
+    private int recover(byte[] log, int from, int to) {
+        ByteBuffer buffer = ByteBuffer.wrap(log, from, to - from).order(ByteOrder.LITTLE_ENDIAN);
+        Map<Integer, float[]> pending = new HashMap<>();
+        Map<Integer, Long> starts = new HashMap<>();
+        int recovered = 0;
+        while (buffer.remaining() >= RECORD_SIZE) {
+            int id = buffer.getInt();
+            byte type = buffer.get();
+            byte outcome = buffer.get();
+            buffer.getShort();
+            float seconds = buffer.getFloat();
+            int value = buffer.getInt();
+            long millis = buffer.getLong();
+
+            // [segundos, muertes]
+            float[] run = pending.get(id);
+            if (type == EVENT_RUN_START || run == null) {
+                run = new float[2];
+                pending.put(id, run);
+                starts.put(id, millis);
+            }
+            run[0] = Math.max(run[0], seconds);
+            switch (type) {
+                case EVENT_DEATH:
+                    run[1]++;
+                    break;
+                case EVENT_RUN_END:
+                    index.add(id, starts.get(id), run[0], (int) run[1], outcome);
+                    pending.remove(id);
+                    recovered++;
+                    break;
+                default:
+                    break;
+            }
+        }
+        for (Map.Entry<Integer, float[]> entry : pending.entrySet()) {
+            float[] run = entry.getValue();
+            index.add(entry.getKey(), starts.get(entry.getKey()), run[0], (int) run[1], RunSummaryIndex.OUTCOME_ABANDONED);
+            recovered++;
+        }
+        return recovered;
+    }
+
+    /**
+     * Empieza una run nueva; si había una en curso se cierra como abandonada
+     */
+    public synchronized void beginRun() {
+        if (isRunActive()) {
+            endRun(RunSummaryIndex.OUTCOME_ABANDONED);
+        }
+        runId = index.allocateRunId();
+        runStartMillis = System.currentTimeMillis();
+        runSeconds = 0;
+        currentRoom = -1;
+        deaths = 0;
+        record(EVENT_RUN_START, (byte) 0, 0);
+    }
+
+    /**
+     * Avanza el reloj de la run (solo el tiempo de juego, sin pausas)
+     */
+    public synchronized void addTime(float delta) {
+        if (isRunActive()) {
+            runSeconds += delta;
+        }
+    }
+
+    public synchronized void enterRoom(int room) {
+        if (!isRunActive()) {
+            return;
+        }
+        currentRoom = room;
+        record(EVENT_ROOM_ENTER, (byte) 0, 0);
+    }
+
+    /**
+     * El jugador ha caído fuera de la sala y reaparece (PlayerRespawned con died)
+     */
+    public synchronized void playerDied() {
+        if (isRunActive()) {
+            deaths++;
+            record(EVENT_DEATH, (byte) 0, deaths);
+        }
+    }
+
+    /**
+     * Termina la run en curso y añade su resumen al índice
+     */
+    public synchronized void endRun(byte outcome) {
+        if (!isRunActive()) {
+            return;
+        }
+        record(EVENT_RUN_END, outcome, deaths);
+        index.add(runId, runStartMillis, runSeconds, deaths, outcome);
+        index.setIndexedLogBytes(logBytes);
+        runId = 0;
+
+        RunSummaryIndex snapshot = index;
+        statsWorker.execute(() -> writeIndex(snapshot.encode()));
+    }
+
+    private void record(byte type, byte outcome, int value) {
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(runId).put(type).put(outcome).putShort((short) currentRoom)
+            .putFloat(runSeconds).putInt(value).putLong(System.currentTimeMillis());
+        byte[] data = buffer.array();
+        logBytes += RECORD_SIZE;
+
+        statsWorker.execute(() -> {
+            try {
+                logFile.writeBytes(data, true);
+            } catch (Exception e) {
+                Gdx.app.error("RunStatsLog", "Error al escribir estadísticas", e);
+            }
+        });
+    }
+
+    /**
+     * Escribe el índice en un archivo temporal y lo reemplaza, para no dejarlo a medias
+     */
+    private void writeIndex(byte[] data) {
+        try {
+            indexTempFile.writeBytes(data, false);
+            indexTempFile.moveTo(indexFile);
+        } catch (Exception e) {
+            Gdx.app.error("RunStatsLog", "Error al escribir el índice de estadísticas", e);
+        }
+    }
+
+    /**
+     * Agrega todas las runs terminadas (solo lee el índice)
+     */
+    public synchronized RunSummaryIndex.Summary summarize() {
+        return index.summarize();
+    }
+
+    public synchronized boolean isRunActive() {
+        return runId != 0;
+    }
+
+    public synchronized int getDeaths() { return deaths; }
+    public synchronized float getRunSeconds() { return runSeconds; }
+
+    /**
+     * Espera a que se escriban los eventos pendientes (al salir del juego)
+     */
+    public void flush() {
+        try {
+            statsWorker.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Gdx.app.error("RunStatsLog", "Error al escribir estadísticas", e.getCause());
+        }
+    }
+}
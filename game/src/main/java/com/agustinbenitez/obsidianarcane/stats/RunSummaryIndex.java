@@ -0,0 +1,152 @@
+package com.agustinbenitez.obsidianarcane.stats;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Índice columnar con un resumen por partida (run)
+ *
+ * Cada campo se guarda en su propio array primitivo y en disco las columnas van una tras
+ * otra, así que agregar miles de partidas es recorrer unos pocos arrays sin leer el log.
+ * <pre>
+ * cabecera: int MAGIC, int versión, int partidas, long bytes del log indexados, int siguiente id
+ * columnas: int[] id, long[] inicio, float[] duración, short[] muertes, byte[] resultado
+ * </pre>
+ * Un índice de otra versión no se lee; RunStatsLog lo reconstruye a partir del log.
+ */
+public class RunSummaryIndex {
+
+    private static final int MAGIC = 0x4F415249; // "OARI"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 24;
+    private static final int ROW_SIZE = 4 + 8 + 4 + 2 + 1;
+    private static final int INITIAL_CAPACITY = 64;
+
+    public static final byte OUTCOME_ABANDONED = 0;
+    public static final byte OUTCOME_DIED = 1;
+    public static final byte OUTCOME_COMPLETED = 2;
+
+    private int count;
+    private int[] runIds = new int[INITIAL_CAPACITY];
+    private long[] startMillis = new long[INITIAL_CAPACITY];
+    private float[] durations = new float[INITIAL_CAPACITY];
+    private short[] deaths = new short[INITIAL_CAPACITY];
+    private byte[] outcomes = new byte[INITIAL_CAPACITY];
+
+    private long indexedLogBytes;
+    private int nextRunId = 1;
+
+    /**
+     * Resultado de agregar todas las partidas
+     */
+    public static class Summary {
+        public int runs;
+        public int completedRuns;
+        public int totalDeaths;
+        public float totalSeconds;
+        public float averageSeconds;
+        public float bestCompletedSeconds;
+    }
+
+    /**
+     * Añade una fila con el resumen de una partida terminada
+     */
+    public synchronized void add(int runId, long start, float duration, int deathCount, byte outcome) {
+        if (count == runIds.length) {
+            grow(count * 2);
+        }
+        runIds[count] = runId;
+        startMillis[count] = start;
+        durations[count] = duration;
+        deaths[count] = (short) Math.min(deathCount, Short.MAX_VALUE);
+        outcomes[count] = outcome;
+        count++;
+        nextRunId = Math.max(nextRunId, runId + 1);
+    }
+
+    /**
+     * Agrega todas las columnas en una pasada
+     */
+    public synchronized Summary summarize() {
+        Summary summary = new Summary();
+        summary.runs = count;
+        summary.bestCompletedSeconds = Float.NaN;
+        for (int i = 0; i < count; i++) {
+            summary.totalDeaths += deaths[i];
+            summary.totalSeconds += durations[i];
+            if (outcomes[i] == OUTCOME_COMPLETED) {
+                summary.completedRuns++;
+                if (!(durations[i] >= summary.bestCompletedSeconds)) {
+                    summary.bestCompletedSeconds = durations[i];
+                }
+            }
+        }
+        summary.averageSeconds = count > 0 ? summary.totalSeconds / count : 0;
+        return summary;
+    }
+
+    /**
+     * Serializa el índice (columna a columna)
+     */
+    public synchronized byte[] encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + count * ROW_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(count).putLong(indexedLogBytes).putInt(nextRunId);
+        for (int i = 0; i < count; i++) buffer.putInt(runIds[i]);
+        for (int i = 0; i < count; i++) buffer.putLong(startMillis[i]);
+        for (int i = 0; i < count; i++) buffer.putFloat(durations[i]);
+        for (int i = 0; i < count; i++) buffer.putShort(deaths[i]);
+        buffer.put(outcomes, 0, count);
+        return buffer.array();
+    }
+
+    /**
+     * Lee un índice serializado con encode()
+     */
+    public static RunSummaryIndex decode(byte[] data) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+        if (data.length < HEADER_SIZE || buffer.getInt() != MAGIC) {
+            throw new IOException("Invalid run index (bad magic)");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported run index version: " + version);
+        }
+        int count = buffer.getInt();
+        if (count < 0 || data.length != HEADER_SIZE + count * ROW_SIZE) {
+            throw new IOException("Corrupt run index");
+        }
+
+        RunSummaryIndex index = new RunSummaryIndex();
+        index.indexedLogBytes = buffer.getLong();
+        index.nextRunId = buffer.getInt();
+        index.grow(Math.max(INITIAL_CAPACITY, count));
+        index.count = count;
+        for (int i = 0; i < count; i++) index.runIds[i] = buffer.getInt();
+        for (int i = 0; i < count; i++) index.startMillis[i] = buffer.getLong();
+        for (int i = 0; i < count; i++) index.durations[i] = buffer.getFloat();
+        for (int i = 0; i < count; i++) index.deaths[i] = buffer.getShort();
+        buffer.get(index.outcomes, 0, count);
+        return index;
+    }
+
+    private void grow(int capacity) {
+        runIds = Arrays.copyOf(runIds, capacity);
+        startMillis = Arrays.copyOf(startMillis, capacity);
+        durations = Arrays.copyOf(durations, capacity);
+        deaths = Arrays.copyOf(deaths, capacity);
+        outcomes = Arrays.copyOf(outcomes, capacity);
+    }
+
+    public synchronized int getRunCount() { return count; }
+    public synchronized long getIndexedLogBytes() { return indexedLogBytes; }
+    public synchronized void setIndexedLogBytes(long bytes) { this.indexedLogBytes = bytes; }
+
+    /**
+     * Reserva el id de una nueva partida
+     */
+    public synchronized int allocateRunId() {
+        return nextRunId++;
+    }
+}